@@ -0,0 +1,115 @@
+package io.quarkiverse.langchain4j.benchmarks.aiservice;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.quarkiverse.langchain4j.benchmarks.aiservice.BenchmarkAssistants.Forecast;
+import io.quarkiverse.langchain4j.benchmarks.aiservice.BenchmarkAssistants.MemoryAssistant;
+import io.quarkiverse.langchain4j.benchmarks.aiservice.BenchmarkAssistants.PlainAssistant;
+import io.quarkiverse.langchain4j.benchmarks.aiservice.BenchmarkAssistants.StreamingAssistant;
+import io.quarkiverse.langchain4j.benchmarks.aiservice.BenchmarkAssistants.StructuredAssistant;
+import io.quarkiverse.langchain4j.benchmarks.aiservice.BenchmarkAssistants.ToolAssistant;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ManagedContext;
+
+/**
+ * Measures the overhead of an AI service invocation, from the method call to the returned value, with models answering
+ * immediately: everything measured is done by the extension and by LangChain4j.
+ * <p>
+ * The benchmarks need a running application and are started by {@link AiServiceBenchmarkRunner}, in the JVM of the
+ * application. The throughput mode reports the invocations per microsecond, the sample time mode the percentiles of
+ * their duration, and the {@code gc} profiler their allocations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(0)
+public class AiServiceBenchmark {
+
+    private static final AtomicInteger THREADS = new AtomicInteger();
+
+    private PlainAssistant plainAssistant;
+    private StructuredAssistant structuredAssistant;
+    private ToolAssistant toolAssistant;
+    private StreamingAssistant streamingAssistant;
+    private MemoryAssistant memoryAssistant;
+    private ManagedContext requestContext;
+    private String conversation;
+
+    @Setup
+    public void setup() {
+        plainAssistant = Arc.container().instance(PlainAssistant.class).get();
+        structuredAssistant = Arc.container().instance(StructuredAssistant.class).get();
+        toolAssistant = Arc.container().instance(ToolAssistant.class).get();
+        streamingAssistant = Arc.container().instance(StreamingAssistant.class).get();
+        memoryAssistant = Arc.container().instance(MemoryAssistant.class).get();
+        // one conversation per benchmark thread, so that the memory stays as large as its window
+        conversation = "conversation-" + THREADS.incrementAndGet();
+        // the AI services are request scoped, like the ones of the applications
+        requestContext = Arc.container().requestContext();
+        requestContext.activate();
+    }
+
+    @TearDown
+    public void tearDown() {
+        requestContext.terminate();
+    }
+
+    @Benchmark
+    public String plainString() {
+        return plainAssistant.chat("Hello!", "ACME");
+    }
+
+    @Benchmark
+    public Forecast structuredOutput() {
+        return structuredAssistant.forecast("Brussels");
+    }
+
+    @Benchmark
+    public String toolLoop(ToolLoop toolLoop) {
+        return toolAssistant.chat(conversation, toolLoop.message);
+    }
+
+    @Benchmark
+    public List<String> streaming() {
+        return streamingAssistant.chat("Hello!").collect().asList().await().indefinitely();
+    }
+
+    @Benchmark
+    public String chatMemory() {
+        return memoryAssistant.chat(conversation, "Hello!");
+    }
+
+    @State(Scope.Thread)
+    public static class ToolLoop {
+
+        /**
+         * The number of tool executions requested by the model.
+         */
+        @Param({ "1", "4" })
+        public int toolCalls;
+
+        private String message;
+
+        @Setup
+        public void setup() {
+            message = "What is the weather in Brussels for the next days? " + toolCalls;
+        }
+    }
+}
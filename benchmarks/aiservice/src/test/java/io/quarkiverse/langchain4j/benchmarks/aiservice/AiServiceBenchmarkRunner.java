@@ -0,0 +1,51 @@
+package io.quarkiverse.langchain4j.benchmarks.aiservice;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.quarkus.test.QuarkusUnitTest;
+
+/**
+ * Starts an application with the AI services of {@link BenchmarkAssistants}, then runs {@link AiServiceBenchmark} in
+ * its JVM. The name of the class keeps it out of the regular test runs; run it with:
+ *
+ * <pre>
+ * mvn -pl benchmarks/aiservice test -Dtest=AiServiceBenchmarkRunner -Djmh.args="-prof gc"
+ * </pre>
+ *
+ * where {@code jmh.args} takes the usual JMH command line options, for example {@code -p toolCalls=8},
+ * {@code -wi 1 -i 3} or {@code plainString} to only run the benchmarks matching an expression.
+ */
+public class AiServiceBenchmarkRunner {
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    // the benchmarks, with the classes and the list generated by JMH
+                    .addPackages(true, AiServiceBenchmarkRunner.class.getPackage())
+                    .addAsResource("META-INF/BenchmarkList")
+                    // JMH loads the benchmarks with its own class loader, which has to be the one of the application
+                    .addPackages(true, "org.openjdk.jmh"))
+            // the AI services are only looked up by the benchmarks
+            .overrideConfigKey("quarkus.arc.remove-unused-beans", "false");
+
+    @Test
+    void run() throws Exception {
+        String jmhArgs = System.getProperty("jmh.args", "").trim();
+        CommandLineOptions arguments = new CommandLineOptions(jmhArgs.isEmpty() ? new String[0] : jmhArgs.split("\\s+"));
+        OptionsBuilder options = new OptionsBuilder();
+        if (arguments.getIncludes().isEmpty()) {
+            options.include(AiServiceBenchmark.class.getName());
+        }
+        new Runner(options
+                .parent(arguments)
+                // the benchmarks need the application started by this test
+                .forks(0)
+                .build()).run();
+    }
+}
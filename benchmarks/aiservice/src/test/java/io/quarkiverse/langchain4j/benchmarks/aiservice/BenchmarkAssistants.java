@@ -0,0 +1,73 @@
+package io.quarkiverse.langchain4j.benchmarks.aiservice;
+
+import java.util.List;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import dev.langchain4j.agent.tool.Tool;
+import dev.langchain4j.service.MemoryId;
+import dev.langchain4j.service.SystemMessage;
+import dev.langchain4j.service.UserMessage;
+import io.quarkiverse.langchain4j.RegisterAiService;
+import io.smallrye.mutiny.Multi;
+
+/**
+ * The AI services exercised by {@link AiServiceBenchmark}, one per scenario.
+ */
+public final class BenchmarkAssistants {
+
+    private BenchmarkAssistants() {
+    }
+
+    @RegisterAiService(chatLanguageModelSupplier = FakeChatModel.FakeChatModelSupplier.class, chatMemoryProviderSupplier = RegisterAiService.NoChatMemoryProviderSupplier.class)
+    public interface PlainAssistant {
+
+        @SystemMessage("You are a friendly assistant working for {company}.")
+        String chat(@UserMessage String message, String company);
+    }
+
+    @RegisterAiService(chatLanguageModelSupplier = FakeChatModel.FakeChatModelSupplier.class, chatMemoryProviderSupplier = RegisterAiService.NoChatMemoryProviderSupplier.class)
+    public interface StructuredAssistant {
+
+        @UserMessage("What is the weather forecast for {city}?")
+        Forecast forecast(String city);
+    }
+
+    // the tools require a chat memory
+    @RegisterAiService(chatLanguageModelSupplier = FakeChatModel.FakeChatModelSupplier.class, tools = WeatherTools.class)
+    public interface ToolAssistant {
+
+        /**
+         * @param message a message ending with the number of tool executions the model requests
+         */
+        String chat(@MemoryId String conversation, @UserMessage String message);
+    }
+
+    @RegisterAiService(streamingChatLanguageModelSupplier = FakeStreamingChatModel.FakeStreamingChatModelSupplier.class, chatMemoryProviderSupplier = RegisterAiService.NoChatMemoryProviderSupplier.class)
+    public interface StreamingAssistant {
+
+        Multi<String> chat(@UserMessage String message);
+    }
+
+    @RegisterAiService(chatLanguageModelSupplier = FakeChatModel.FakeChatModelSupplier.class)
+    public interface MemoryAssistant {
+
+        String chat(@MemoryId String conversation, @UserMessage String message);
+    }
+
+    public static class Forecast {
+
+        public String city;
+        public int temperature;
+        public List<String> conditions;
+    }
+
+    @ApplicationScoped
+    public static class WeatherTools {
+
+        @Tool("Returns the weather forecast of a city for the given day, 0 being today")
+        public String forecast(String city, int days) {
+            return "Sunny in " + city + " in " + days + " days";
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package io.quarkiverse.langchain4j.benchmarks.aiservice;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.inject.Inject;
+
+import org.jboss.logging.Logger;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import dev.langchain4j.service.UserMessage;
+import io.quarkiverse.langchain4j.RegisterAiService;
+import io.quarkus.arc.Arc;
+import io.quarkus.test.QuarkusUnitTest;
+import io.smallrye.mutiny.Multi;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+
+/**
+ * Streams the responses of a local fake model to many concurrent subscribers, and checks that the emissions switched to
+ * worker threads neither start a thread per stream nor get stuck behind the other streams. The name of the class keeps
+ * it out of the regular test runs; run it with:
+ *
+ * <pre>
+ * mvn -pl benchmarks/aiservice test -Dtest=ConcurrentStreamsLoadRunner
+ * </pre>
+ */
+public class ConcurrentStreamsLoadRunner {
+
+    private static final Logger log = Logger.getLogger(ConcurrentStreamsLoadRunner.class);
+
+    private static final int STREAMS = 5_000;
+    private static final int TOKENS = 20;
+    private static final long TOKEN_INTERVAL_MS = 5;
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class));
+
+    @Inject
+    MyAiService service;
+
+    @Test
+    @ActivateRequestContext
+    void emitsTheTokensOfThousandsOfStreamsInOrderWithABoundedNumberOfThreads() throws Exception {
+        long startedThreads = ManagementFactory.getThreadMXBean().getTotalStartedThreadCount();
+
+        CountDownLatch done = new CountDownLatch(STREAMS);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<long[]> arrivals = new ArrayList<>(STREAMS);
+        for (int i = 0; i < STREAMS; i++) {
+            long[] streamArrivals = new long[TOKENS];
+            arrivals.add(streamArrivals);
+            int[] received = new int[1];
+            // subscribed from the test thread, which is not an event loop: the tokens are emitted on worker threads
+            service.chat("stream " + i).subscribe().with(
+                    token -> {
+                        int index = received[0]++;
+                        if (!token.equals(Integer.toString(index))) {
+                            failure.compareAndSet(null, new AssertionError("Expected token " + index + " got " + token));
+                        }
+                        streamArrivals[index] = System.nanoTime();
+                    },
+                    t -> {
+                        failure.compareAndSet(null, t);
+                        done.countDown();
+                    },
+                    done::countDown);
+        }
+        assertThat(done.await(2, TimeUnit.MINUTES)).isTrue();
+        assertThat(failure.get()).isNull();
+
+        long threadsCreated = ManagementFactory.getThreadMXBean().getTotalStartedThreadCount() - startedThreads;
+        long[] gaps = new long[STREAMS * (TOKENS - 1)];
+        int gap = 0;
+        for (long[] streamArrivals : arrivals) {
+            for (int i = 1; i < TOKENS; i++) {
+                gaps[gap++] = streamArrivals[i] - streamArrivals[i - 1];
+            }
+        }
+        Arrays.sort(gaps);
+        long p99 = TimeUnit.NANOSECONDS.toMillis(gaps[(int) (gaps.length * 0.99)]);
+        log.infof("%d streams of %d tokens: %d threads created, p99 inter-token latency %d ms", STREAMS, TOKENS,
+                threadsCreated, p99);
+
+        // a thread per stream used to be started
+        assertThat(threadsCreated).isLessThan(STREAMS / 10);
+    }
+
+    @RegisterAiService(streamingChatLanguageModelSupplier = TimedTokensModelSupplier.class, chatMemoryProviderSupplier = RegisterAiService.NoChatMemoryProviderSupplier.class)
+    public interface MyAiService {
+
+        Multi<String> chat(@UserMessage String message);
+    }
+
+    public static class TimedTokensModelSupplier implements Supplier<StreamingChatModel> {
+
+        @Override
+        public StreamingChatModel get() {
+            return new TimedTokensModel();
+        }
+    }
+
+    /**
+     * Emits the tokens {@code 0} to {@code TOKENS - 1} on the event loop, one every {@code TOKEN_INTERVAL_MS}.
+     */
+    public static class TimedTokensModel implements StreamingChatModel {
+
+        @Override
+        public void doChat(ChatRequest chatRequest, StreamingChatResponseHandler handler) {
+            Context context = Arc.container().select(Vertx.class).get().getOrCreateContext();
+            context.runOnContext(x -> emit(context, 0, handler));
+        }
+
+        private void emit(Context context, int token, StreamingChatResponseHandler handler) {
+            if (token == TOKENS) {
+                handler.onCompleteResponse(ChatResponse.builder().aiMessage(new AiMessage("done")).build());
+                return;
+            }
+            handler.onPartialResponse(Integer.toString(token));
+            context.owner().setTimer(TOKEN_INTERVAL_MS, x -> emit(context, token + 1, handler));
+        }
+    }
+}
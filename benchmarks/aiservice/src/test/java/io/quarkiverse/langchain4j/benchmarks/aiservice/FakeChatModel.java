@@ -0,0 +1,79 @@
+package io.quarkiverse.langchain4j.benchmarks.aiservice;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.Capability;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.request.ResponseFormatType;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.output.FinishReason;
+import dev.langchain4j.model.output.TokenUsage;
+
+/**
+ * A deterministic model answering immediately, so that the benchmarks only measure the work done by the extension:
+ * <ul>
+ * <li>when tools are available and none was executed yet, it requests as many executions of the first one as the
+ * number ending the user message</li>
+ * <li>when a JSON response is expected, it returns a {@link BenchmarkAssistants.Forecast}</li>
+ * <li>otherwise it returns a short text</li>
+ * </ul>
+ */
+public class FakeChatModel implements ChatModel {
+
+    static final String FORECAST = "{\"city\": \"Brussels\", \"temperature\": 21, \"conditions\": [\"sunny\", \"windy\"]}";
+    private static final TokenUsage TOKEN_USAGE = new TokenUsage(42, 8);
+
+    @Override
+    public ChatResponse doChat(ChatRequest chatRequest) {
+        List<ChatMessage> messages = chatRequest.messages();
+        List<ToolSpecification> tools = chatRequest.toolSpecifications();
+        if (tools != null && !tools.isEmpty() && !(messages.get(messages.size() - 1) instanceof ToolExecutionResultMessage)) {
+            String text = ((UserMessage) messages.get(messages.size() - 1)).singleText();
+            int calls = Integer.parseInt(text.substring(text.lastIndexOf(' ') + 1));
+            List<ToolExecutionRequest> requests = new ArrayList<>(calls);
+            for (int i = 0; i < calls; i++) {
+                requests.add(ToolExecutionRequest.builder()
+                        .id("call-" + i)
+                        .name(tools.get(0).name())
+                        .arguments("{\"city\": \"Brussels\", \"days\": " + i + "}")
+                        .build());
+            }
+            return response(AiMessage.from(requests), FinishReason.TOOL_EXECUTION);
+        }
+        if (chatRequest.responseFormat() != null && chatRequest.responseFormat().type() == ResponseFormatType.JSON) {
+            return response(AiMessage.from(FORECAST), FinishReason.STOP);
+        }
+        return response(AiMessage.from("Hello! How can I help you today?"), FinishReason.STOP);
+    }
+
+    private static ChatResponse response(AiMessage message, FinishReason finishReason) {
+        return ChatResponse.builder()
+                .aiMessage(message)
+                .tokenUsage(TOKEN_USAGE)
+                .finishReason(finishReason)
+                .build();
+    }
+
+    @Override
+    public Set<Capability> supportedCapabilities() {
+        return Set.of(Capability.RESPONSE_FORMAT_JSON_SCHEMA);
+    }
+
+    public static class FakeChatModelSupplier implements Supplier<ChatModel> {
+
+        @Override
+        public ChatModel get() {
+            return new FakeChatModel();
+        }
+    }
+}
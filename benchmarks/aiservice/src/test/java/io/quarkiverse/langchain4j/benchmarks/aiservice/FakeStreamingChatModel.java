@@ -0,0 +1,39 @@
+package io.quarkiverse.langchain4j.benchmarks.aiservice;
+
+import java.util.function.Supplier;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import dev.langchain4j.model.output.FinishReason;
+import dev.langchain4j.model.output.TokenUsage;
+
+/**
+ * A deterministic streaming model emitting {@link #TOKENS} on the calling thread, without any delay.
+ */
+public class FakeStreamingChatModel implements StreamingChatModel {
+
+    static final String[] TOKENS = { "Hello", "!", " How", " can", " I", " help", " you", " today", "?", "" };
+
+    @Override
+    public void doChat(ChatRequest chatRequest, StreamingChatResponseHandler handler) {
+        for (String token : TOKENS) {
+            handler.onPartialResponse(token);
+        }
+        handler.onCompleteResponse(ChatResponse.builder()
+                .aiMessage(AiMessage.from(String.join("", TOKENS)))
+                .tokenUsage(new TokenUsage(42, TOKENS.length))
+                .finishReason(FinishReason.STOP)
+                .build());
+    }
+
+    public static class FakeStreamingChatModelSupplier implements Supplier<StreamingChatModel> {
+
+        @Override
+        public StreamingChatModel get() {
+            return new FakeStreamingChatModel();
+        }
+    }
+}
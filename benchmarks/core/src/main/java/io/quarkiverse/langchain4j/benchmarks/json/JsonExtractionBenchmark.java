@@ -0,0 +1,134 @@
+package io.quarkiverse.langchain4j.benchmarks.json;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import io.quarkiverse.langchain4j.runtime.JsonLocator;
+
+/**
+ * Compares the way {@code QuarkusJsonCodecFactory} used to extract a structured output from the response of a model
+ * (a greedy regular expression, then a copy of the match) with the current one ({@link JsonLocator}, then Jackson
+ * reading the located range of the response).
+ * <p>
+ * The complete responses wrap the JSON value in some prose and in a Markdown code block, like most models do. The
+ * truncated responses are a tree cut by the token limit: they have no closing bracket at all, which is the worst case of
+ * the expression as it scans the rest of the response from each opening bracket.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonExtractionBenchmark {
+
+    private static final Pattern LEGACY_PATTERN = Pattern.compile("(?s)\\{.*\\}|\\[.*\\]");
+
+    /**
+     * The approximate size of the response, in KB.
+     */
+    @Param({ "1", "10", "50" })
+    public int sizeKb;
+
+    @Param({ "complete", "truncated" })
+    public String shape;
+
+    private String response;
+    private ObjectReader reader;
+
+    @Setup
+    public void setup() {
+        ObjectMapper mapper = new ObjectMapper()
+                .setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE)
+                .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+                .configure(JsonReadFeature.ALLOW_UNESCAPED_CONTROL_CHARS.mappedFeature(), true)
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        reader = mapper.readerFor(Report.class);
+
+        if (shape.equals("truncated")) {
+            StringBuilder tree = new StringBuilder("Here is the tree:\n```json\n");
+            for (int level = 0; tree.length() < sizeKb * 1024; level++) {
+                tree.append("{\"level\": ").append(level).append(", \"name\": \"node ").append(level)
+                        .append("\", \"children\": [");
+            }
+            response = tree.toString();
+            return;
+        }
+
+        StringBuilder json = new StringBuilder("{\"title\": \"Quarterly review\", \"findings\": [");
+        int finding = 0;
+        while (json.length() < sizeKb * 1024 - 200) {
+            if (finding > 0) {
+                json.append(", ");
+            }
+            json.append("{\"id\": ").append(finding)
+                    .append(", \"summary\": \"Finding ").append(finding)
+                    .append(" mentions {braces} and [brackets] in the text, as well as \\\"quotes\\\".\"")
+                    .append(", \"severity\": \"").append(finding % 3 == 0 ? "HIGH" : "LOW").append("\"}");
+            finding++;
+        }
+        json.append("]}");
+        response = "Sure! Here is the report you asked for:\n\n```json\n" + json
+                + "\n```\n\nLet me know if you need anything else, for example a version with [more details].";
+    }
+
+    @Benchmark
+    public Object legacy() {
+        Matcher matcher = LEGACY_PATTERN.matcher(response);
+        String json = matcher.find() ? matcher.group() : response;
+        try {
+            return reader.readValue(json);
+        } catch (IOException e) {
+            // the truncated responses cannot be parsed, like in the application
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object current() {
+        int start = JsonLocator.start(response);
+        try {
+            if (start < 0) {
+                return reader.readValue(response);
+            }
+            return reader.readValue(JsonLocator.reader(response, start, JsonLocator.end(response, start)));
+        } catch (IOException e) {
+            return e;
+        }
+    }
+
+    public static class Report {
+
+        String title;
+        List<Finding> findings;
+    }
+
+    public static class Finding {
+
+        int id;
+        String summary;
+        String severity;
+    }
+}
@@ -0,0 +1,134 @@
+package io.quarkiverse.langchain4j.benchmarks.memory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.memory.ChatMemory;
+import dev.langchain4j.memory.chat.MessageWindowChatMemory;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+import io.quarkiverse.langchain4j.runtime.BatchingChatMemoryStore;
+
+/**
+ * Compares the way the chat memory of an AI service invocation used to be committed (the memory cleared, then each
+ * message of the conversation added, every addition writing the whole conversation to the store) with the current one
+ * (the same operations in a {@link BatchingChatMemoryStore#batch(Runnable) batch}, so that the conversation is written
+ * once).
+ * <p>
+ * The commit mirrors the one of {@code DefaultCommittableChatMemory}, which is not accessible from here. The store
+ * encodes the whole conversation on each write, like the remote stores do (the JSON codec of the extension needs a
+ * running application, so a plain text encoding stands in for it), and counts the writes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChatMemoryCommitBenchmark {
+
+    private static final String MEMORY_ID = "conversation";
+
+    @Param({ "10", "50", "200" })
+    int conversationLength;
+
+    private List<ChatMessage> conversation;
+    private SerializingChatMemoryStore store;
+    private ChatMemory memory;
+    private ChatMemory batchingMemory;
+
+    @Setup
+    public void setup() {
+        conversation = new ArrayList<>(conversationLength);
+        conversation.add(SystemMessage.from("You are a helpful assistant working for ACME."));
+        for (int i = 1; i < conversationLength; i++) {
+            conversation.add(i % 2 == 1 ? UserMessage.from("What is the status of the order number " + i + "?")
+                    : AiMessage.from("The order number " + (i - 1) + " has been shipped and should arrive tomorrow."));
+        }
+        store = new SerializingChatMemoryStore();
+        memory = MessageWindowChatMemory.builder()
+                .id(MEMORY_ID)
+                .maxMessages(conversationLength)
+                .chatMemoryStore(store)
+                .build();
+        batchingMemory = MessageWindowChatMemory.builder()
+                .id(MEMORY_ID)
+                .maxMessages(conversationLength)
+                .chatMemoryStore(new BatchingChatMemoryStore(store))
+                .build();
+    }
+
+    @Benchmark
+    public long perMessage() {
+        commit(memory);
+        return store.writes;
+    }
+
+    @Benchmark
+    public long batched() {
+        BatchingChatMemoryStore.batch(new Runnable() {
+            @Override
+            public void run() {
+                commit(batchingMemory);
+            }
+        });
+        return store.writes;
+    }
+
+    private void commit(ChatMemory memory) {
+        memory.clear();
+        for (ChatMessage message : conversation) {
+            memory.add(message);
+        }
+    }
+
+    static final class SerializingChatMemoryStore implements ChatMemoryStore {
+
+        private final Map<String, Stored> memories = new ConcurrentHashMap<>();
+        long writes;
+
+        @Override
+        public List<ChatMessage> getMessages(Object memoryId) {
+            Stored stored = memories.get(memoryId.toString());
+            return stored == null ? List.of() : stored.messages();
+        }
+
+        @Override
+        public void updateMessages(Object memoryId, List<ChatMessage> messages) {
+            writes++;
+            StringBuilder encoded = new StringBuilder();
+            for (ChatMessage message : messages) {
+                encoded.append('{').append(message.type()).append(':').append(message).append('}');
+            }
+            memories.put(memoryId.toString(), new Stored(List.copyOf(messages), encoded.toString()));
+        }
+
+        @Override
+        public void deleteMessages(Object memoryId) {
+            writes++;
+            memories.remove(memoryId.toString());
+        }
+    }
+
+    private record Stored(List<ChatMessage> messages, String encoded) {
+
+    }
+}
@@ -0,0 +1,108 @@
+package io.quarkiverse.langchain4j.benchmarks.prompt;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.quarkiverse.langchain4j.QuarkusPromptTemplateFactory;
+import io.quarkus.qute.Engine;
+import io.quarkus.qute.ReflectionValueResolver;
+import io.quarkus.qute.Template;
+import io.quarkus.qute.TemplateInstance;
+
+/**
+ * Compares the way the system and user messages of an AI service method used to be built (the template parsed on
+ * every invocation) with the current one (the annotation templates parsed once per method). The templates passed as
+ * method parameters are still parsed on every invocation, as they may contain user data that must not be retained.
+ * <p>
+ * The engine is configured like the one of {@link QuarkusPromptTemplateFactory}, which needs a running application,
+ * and the cache mirrors the one of {@code AiServiceMethodCreateInfo}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class PromptConstructionBenchmark {
+
+    private static final String SYSTEM_MESSAGE = """
+            You are a professional {{role}} working for {{company}}.
+            Answer in {{language}}, using at most {{maxWords}} words.
+            {response_schema}
+            """;
+
+    private static final String USER_MESSAGE = """
+            Summarize the following review of {{product}} written by {{author}}:
+            ---
+            {{review}}
+            ---
+            """;
+
+    private Engine engine;
+    private Map<String, Template> methodTemplates;
+    private Map<String, Object> systemMessageVariables;
+    private Map<String, Object> userMessageVariables;
+
+    @Setup
+    public void setup() {
+        engine = Engine.builder()
+                .addDefaults()
+                .addValueResolver(new ReflectionValueResolver())
+                .addParserHook(new QuarkusPromptTemplateFactory.MustacheTemplateVariableStyleParserHook())
+                .build();
+        methodTemplates = new ConcurrentHashMap<>();
+
+        systemMessageVariables = new HashMap<>();
+        systemMessageVariables.put("role", "editor");
+        systemMessageVariables.put("company", "ACME");
+        systemMessageVariables.put("language", "English");
+        systemMessageVariables.put("maxWords", 120);
+        systemMessageVariables.put("response_schema", "");
+
+        userMessageVariables = new HashMap<>();
+        userMessageVariables.put("product", "the X-1000 vacuum cleaner");
+        userMessageVariables.put("author", "Jane");
+        userMessageVariables.put("review", "It is loud, but it does the job and the battery lasts the whole house.");
+    }
+
+    @Benchmark
+    public String legacy() {
+        return render(engine.parse(SYSTEM_MESSAGE), systemMessageVariables)
+                + render(engine.parse(USER_MESSAGE), userMessageVariables);
+    }
+
+    @Benchmark
+    public String annotationTemplates() {
+        return render(methodTemplates.computeIfAbsent(SYSTEM_MESSAGE, engine::parse), systemMessageVariables)
+                + render(methodTemplates.computeIfAbsent(USER_MESSAGE, engine::parse), userMessageVariables);
+    }
+
+    @Benchmark
+    public String dynamicUserMessage() {
+        return render(methodTemplates.computeIfAbsent(SYSTEM_MESSAGE, engine::parse), systemMessageVariables)
+                + render(engine.parse(USER_MESSAGE), userMessageVariables);
+    }
+
+    private static String render(Template template, Map<String, Object> variables) {
+        TemplateInstance instance = template.instance();
+        for (var entry : variables.entrySet()) {
+            instance = instance.data(entry.getKey(), entry.getValue());
+        }
+        return instance.render();
+    }
+}
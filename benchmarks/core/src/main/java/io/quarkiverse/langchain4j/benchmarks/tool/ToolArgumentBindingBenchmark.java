@@ -0,0 +1,137 @@
+package io.quarkiverse.langchain4j.benchmarks.tool;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import io.quarkiverse.langchain4j.runtime.prompt.Mappable;
+import io.quarkiverse.langchain4j.runtime.tool.ToolArguments;
+import io.quarkiverse.langchain4j.runtime.tool.ToolInvoker;
+
+/**
+ * Compares the way {@code QuarkusToolExecutor} used to bind the JSON arguments of a tool execution request
+ * (invoker created reflectively on every call, arguments read into a {@code Map} first) with the current one
+ * (invoker and {@link ObjectReader} resolved once, arguments copied straight into the parameter array).
+ * <p>
+ * The invoker and argument classes mirror the ones generated by the {@code ToolProcessor} at build time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ToolArgumentBindingBenchmark {
+
+    private static final String ARGUMENTS = "{\"city\": \"Brussels\", \"days\": 3, \"units\": \"metric\", \"hourly\": true}";
+
+    private ObjectMapper mapper;
+    private ToolInvoker invoker;
+    private ToolInvoker.MethodMetadata methodMetadata;
+    private ObjectReader argumentsReader;
+    private WeatherTool tool;
+
+    @Setup
+    public void setup() {
+        mapper = new ObjectMapper()
+                .setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE)
+                .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+        invoker = new WeatherToolInvoker();
+        methodMetadata = invoker.methodMetadata();
+        argumentsReader = mapper.readerFor(WeatherToolArguments.class);
+        tool = new WeatherTool();
+    }
+
+    @Benchmark
+    public Object legacy() throws Exception {
+        ToolInvoker invokerInstance = (ToolInvoker) Class.forName(WeatherToolInvoker.class.getName(), true,
+                Thread.currentThread().getContextClassLoader()).getConstructor().newInstance();
+        ToolInvoker.MethodMetadata metadata = invokerInstance.methodMetadata();
+        @SuppressWarnings("unchecked")
+        Class<? extends Mappable> mapperClass = (Class<? extends Mappable>) Class.forName(
+                WeatherToolArguments.class.getName(), true, Thread.currentThread().getContextClassLoader());
+        Map<String, Object> argumentsFromRequest = mapper.readValue(ARGUMENTS, mapperClass).obtainFieldValuesMap();
+        if (argumentsFromRequest.size() != metadata.getNameToParamPosition().size()) {
+            throw new IllegalArgumentException();
+        }
+        Object[] params = new Object[argumentsFromRequest.size()];
+        for (var entry : argumentsFromRequest.entrySet()) {
+            params[metadata.getNameToParamPosition().get(entry.getKey())] = entry.getValue();
+        }
+        return invokerInstance.invoke(tool, params);
+    }
+
+    @Benchmark
+    public Object current() throws Exception {
+        Object[] params = argumentsReader.<ToolArguments> readValue(ARGUMENTS).toParams();
+        if (methodMetadata.getMemoryIdParamPosition() != null) {
+            params[methodMetadata.getMemoryIdParamPosition()] = "memory";
+        }
+        return invoker.invoke(tool, params);
+    }
+
+    public static class WeatherTool {
+
+        public String forecast(String city, int days, String units, boolean hourly) {
+            return city;
+        }
+    }
+
+    public static class WeatherToolInvoker implements ToolInvoker {
+
+        @Override
+        public MethodMetadata methodMetadata() {
+            Map<String, Integer> nameToParamPosition = new HashMap<>();
+            nameToParamPosition.put("city", 0);
+            nameToParamPosition.put("days", 1);
+            nameToParamPosition.put("units", 2);
+            nameToParamPosition.put("hourly", 3);
+            return new MethodMetadata(false, nameToParamPosition, null);
+        }
+
+        @Override
+        public Object invoke(Object tool, Object[] params) {
+            return ((WeatherTool) tool).forecast((String) params[0], (Integer) params[1], (String) params[2],
+                    (Boolean) params[3]);
+        }
+    }
+
+    public static class WeatherToolArguments implements Mappable, ToolArguments {
+
+        public String city;
+        public int days;
+        public String units;
+        public boolean hourly;
+
+        @Override
+        public Map<String, Object> obtainFieldValuesMap() {
+            Map<String, Object> map = new HashMap<>();
+            map.put("city", city);
+            map.put("days", days);
+            map.put("units", units);
+            map.put("hourly", hourly);
+            return map;
+        }
+
+        @Override
+        public Object[] toParams() {
+            return new Object[] { city, days, units, hourly };
+        }
+    }
+}
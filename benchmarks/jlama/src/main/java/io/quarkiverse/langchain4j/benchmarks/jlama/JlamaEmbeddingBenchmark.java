@@ -0,0 +1,100 @@
+package io.quarkiverse.langchain4j.benchmarks.jlama;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import io.quarkiverse.langchain4j.jlama.JlamaEmbeddingModel;
+
+/**
+ * Measures the number of segments per second embedded by the Jlama embedding model, depending on the number of
+ * segments embedded concurrently.
+ * <p>
+ * The model is downloaded to the default model cache on first use. A different model can be used by setting the
+ * {@code modelName} parameter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = { "--enable-preview", "--add-modules=jdk.incubator.vector",
+        "--enable-native-access=ALL-UNNAMED" })
+public class JlamaEmbeddingBenchmark {
+
+    private static final int SEGMENTS = 64;
+
+    @Param({ "1", "8", "32" })
+    int concurrency;
+
+    @Param("intfloat/e5-small-v2")
+    String modelName;
+
+    private JlamaEmbeddingModel model;
+    private List<TextSegment> segments;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        model = JlamaEmbeddingModel.builder()
+                .modelCachePath(Optional.empty())
+                .modelName(modelName)
+                .concurrency(concurrency)
+                .build();
+        segments = new ArrayList<>(SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            // segments of a few dozen tokens, as produced by the document splitters
+            segments.add(TextSegment.from("Segment " + i + " of a document describing the rental conditions of a car: "
+                    + "the car must be returned with a full tank, and any damage must be reported within "
+                    + (i % 7 + 1) + " days of the end of the rental."));
+        }
+
+        // the segments embedded concurrently must get the embeddings they get when embedded one at a time
+        List<Embedding> embeddings = model.embedAll(segments).content();
+        for (int i = 0; i < SEGMENTS; i++) {
+            if (!embeddings.get(i).equals(model.embed(segments.get(i)).content())) {
+                throw new IllegalStateException("The concurrent embedding of segment " + i
+                        + " differs from its sequential embedding");
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        model.close();
+    }
+
+    /**
+     * Reports the number of embedded segments per second next to the number of embedAll calls
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Segments {
+
+        public long embeddedSegments;
+    }
+
+    @Benchmark
+    public Object embedAll(Segments counter) {
+        Object embeddings = model.embedAll(segments).content();
+        counter.embeddedSegments += SEGMENTS;
+        return embeddings;
+    }
+}
@@ -0,0 +1,108 @@
+package io.quarkiverse.langchain4j.benchmarks.llama3;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import io.quarkiverse.langchain4j.llama3.Llama3ChatModel;
+
+/**
+ * Measures the generation throughput of the Llama3.java chat model when several requests are in flight at the same
+ * time, with and without the continuous batching scheduler.
+ * <p>
+ * The model is downloaded to the default model cache on first use. A different model can be used by setting the
+ * {@code modelName} and {@code quantization} parameters, e.g. {@code -p modelName=mukel/Llama-3.2-3B-Instruct-GGUF}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 30)
+@Measurement(iterations = 3, time = 30)
+@Fork(value = 1, jvmArgsAppend = { "--add-modules=jdk.incubator.vector" })
+public class ConcurrentInferenceBenchmark {
+
+    private static final int MAX_TOKENS = 256;
+
+    @Param({ "1", "4", "16" })
+    int streams;
+
+    @Param({ "true", "false" })
+    boolean continuousBatching;
+
+    @Param("mukel/Llama-3.2-1B-Instruct-GGUF")
+    String modelName;
+
+    @Param("Q4_0")
+    String quantization;
+
+    private Llama3ChatModel model;
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        model = Llama3ChatModel.builder()
+                .modelCachePath(Optional.empty())
+                .modelName(modelName)
+                .quantization(quantization)
+                .maxTokens(MAX_TOKENS)
+                .temperature(0f)
+                .continuousBatching(continuousBatching)
+                .maxBatchSize(streams)
+                // every request must ingest its whole prompt
+                .promptCacheEnabled(false)
+                .build();
+        executor = Executors.newFixedThreadPool(streams);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        model.close();
+    }
+
+    /**
+     * Reports the number of generated tokens per second next to the number of completed rounds
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Tokens {
+
+        public long generatedTokens;
+    }
+
+    @Benchmark
+    public void concurrentRequests(Tokens tokens) throws Exception {
+        List<Future<ChatResponse>> responses = new ArrayList<>(streams);
+        for (int i = 0; i < streams; i++) {
+            ChatRequest request = ChatRequest.builder()
+                    .messages(UserMessage.from("Write a short story about request number " + i))
+                    .build();
+            responses.add(executor.submit(() -> model.chat(request)));
+        }
+        for (Future<ChatResponse> response : responses) {
+            tokens.generatedTokens += response.get().tokenUsage().outputTokenCount();
+        }
+    }
+}
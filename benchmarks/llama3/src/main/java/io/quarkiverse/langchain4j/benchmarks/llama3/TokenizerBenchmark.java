@@ -0,0 +1,98 @@
+package io.quarkiverse.langchain4j.benchmarks.llama3;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.quarkiverse.langchain4j.llama3.Llama3ModelRegistry;
+import io.quarkiverse.langchain4j.llama3.copy.Tokenizer;
+
+/**
+ * Measures the number of prompts per second encoded by the Llama3.java tokenizer, for a short chat prompt and for a
+ * long prompt of several thousand tokens as built by a retrieval augmentor.
+ * <p>
+ * Only the tokenizer of the model is loaded, the model is downloaded to the default model cache on first use.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = { "--add-modules=jdk.incubator.vector" })
+public class TokenizerBenchmark {
+
+    private static final String CHAT_PROMPT = "You are a helpful assistant working for a car rental company. "
+            + "Answer the questions of the customers politely and concisely.\n\n"
+            + "Can I return the car I rented in Lyon to the agency of Marseille, and how much would it cost?";
+
+    private static final String[] PASSAGES = {
+            "The car must be returned with a full tank. If it is not, the refuelling is charged at a rate of %d euros "
+                    + "per litre, in addition to a service fee.",
+            "Any damage must be reported within %d days of the end of the rental, with pictures of the damaged parts "
+                    + "and the report of the police when applicable.",
+            "Cancellations made less than %d days before the start of the rental are not refunded. Cancellations made "
+                    + "earlier are refunded, minus a fee of 25 euros.",
+            "One-way rentals are possible between the agencies of the same country (reference %d). An additional fee "
+                    + "depending on the distance between the agencies is charged when the car is picked up.",
+    };
+
+    @Param({ "chat", "rag" })
+    String prompt;
+
+    @Param("mukel/Llama-3.2-1B-Instruct-GGUF")
+    String modelName;
+
+    @Param("Q4_0")
+    String quantization;
+
+    private Tokenizer tokenizer;
+    private String text;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, InterruptedException {
+        Llama3ModelRegistry registry = Llama3ModelRegistry.getOrCreate(Optional.empty());
+        registry.downloadModel(modelName, quantization, Optional.empty(), Optional.empty());
+        tokenizer = registry.loadModel(modelName, quantization, 512, false).tokenizer();
+        if (prompt.equals("chat")) {
+            text = CHAT_PROMPT;
+        } else {
+            // about 10k tokens of retrieved passages, followed by the question
+            StringBuilder sb = new StringBuilder("Answer the question using the following information:\n\n");
+            for (int i = 0; i < 320; i++) {
+                sb.append(PASSAGES[i % PASSAGES.length].formatted(i)).append("\n\n");
+            }
+            text = sb.append(CHAT_PROMPT).toString();
+        }
+    }
+
+    /**
+     * Reports the number of encoded tokens per second next to the number of encode calls
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Tokens {
+
+        public long encodedTokens;
+    }
+
+    @Benchmark
+    public int[] encode(Tokens counter) {
+        int[] tokens = tokenizer.encode(text);
+        counter.encodedTokens += tokens.length;
+        return tokens;
+    }
+}
@@ -0,0 +1,118 @@
+package io.quarkiverse.langchain4j.llama3.copy;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the dot product kernel of each tensor format, on a single thread: the rows of a matrix of random weights are
+ * multiplied with a vector, as in a forward pass.
+ * <p>
+ * This benchmark lives in the package of the Llama3.java engine, as its tensors are not public. The vector size used by
+ * the kernels can be changed with {@code -jvmArgsAppend -Dllama.VectorBitSize=128}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = { "--add-modules=jdk.incubator.vector" })
+public class FloatTensorBenchmark {
+
+    @Param({ "Q4_0", "Q8_0", "Q4_K", "Q6_K", "F16", "BF16", "F32" })
+    String type;
+
+    @Param("2048")
+    int dim;
+
+    @Param("1024")
+    int rows;
+
+    private FloatTensor weights;
+    private ArrayFloatTensor input;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        GGMLType ggmlType = GGMLType.valueOf(type);
+        int size = rows * dim;
+        Random random = new Random(42);
+
+        byte[] bytes = new byte[Math.toIntExact(ggmlType.byteSizeFor(size))];
+        random.nextBytes(bytes);
+        MemorySegment data = MemorySegment.ofArray(bytes);
+        // random bits would make some of the floats NaNs or subnormals, which are slower to compute with
+        ValueLayout.OfShort shortLayout = ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+        switch (ggmlType) {
+            case F32 -> {
+                for (int i = 0; i < size; i++) {
+                    data.setAtIndex(ValueLayout.JAVA_FLOAT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN), i,
+                            (float) random.nextGaussian());
+                }
+            }
+            case F16 -> {
+                for (int i = 0; i < size; i++) {
+                    data.setAtIndex(shortLayout, i, Float.floatToFloat16((float) random.nextGaussian()));
+                }
+            }
+            case BF16 -> {
+                for (int i = 0; i < size; i++) {
+                    data.setAtIndex(shortLayout, i,
+                            (short) (Float.floatToRawIntBits((float) random.nextGaussian()) >>> 16));
+                }
+            }
+            default -> {
+                for (long block = 0; block < size / ggmlType.getBlockSize(); block++) {
+                    for (int scaleOffset : scaleOffsets(ggmlType)) {
+                        data.set(shortLayout, block * ggmlType.getTypeSize() + scaleOffset,
+                                Float.floatToFloat16(random.nextFloat() / 64));
+                    }
+                }
+            }
+        }
+
+        MemorySegment segment = Arena.ofAuto().allocate(bytes.length, 64);
+        segment.copyFrom(data);
+        weights = ModelLoader.loadQuantized(new GGMLTensorEntry(segment, type, ggmlType, new int[] { dim, rows }, segment));
+
+        float[] values = new float[dim];
+        for (int i = 0; i < dim; i++) {
+            values[i] = (float) random.nextGaussian();
+        }
+        input = new ArrayFloatTensor(values);
+    }
+
+    // offsets of the half precision floats scaling the quants of a block
+    private static int[] scaleOffsets(GGMLType type) {
+        return switch (type) {
+            case Q4_0, Q8_0 -> new int[] { 0 };
+            case Q4_K -> new int[] { 0, Float16.BYTES };
+            case Q6_K -> new int[] { type.getTypeSize() - Float16.BYTES };
+            default -> throw new IllegalArgumentException(type.name());
+        };
+    }
+
+    @Benchmark
+    public float dot() {
+        float result = 0f;
+        for (int row = 0; row < rows; row++) {
+            result += weights.dot(row * dim, input, 0, dim);
+        }
+        return result;
+    }
+}
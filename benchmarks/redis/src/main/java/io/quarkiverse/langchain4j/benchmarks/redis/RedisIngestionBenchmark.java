@@ -0,0 +1,135 @@
+package io.quarkiverse.langchain4j.benchmarks.redis;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import io.quarkiverse.langchain4j.redis.RedisEmbeddingStore;
+import io.quarkiverse.langchain4j.redis.runtime.RedisSchema;
+import io.quarkiverse.langchain4j.redis.runtime.RedisStorageType;
+import io.quarkus.redis.datasource.search.DistanceMetric;
+import io.quarkus.redis.datasource.search.VectorAlgorithm;
+import io.quarkus.redis.runtime.datasource.ReactiveRedisDataSourceImpl;
+import io.vertx.mutiny.core.Vertx;
+import io.vertx.mutiny.redis.client.Redis;
+import io.vertx.mutiny.redis.client.RedisAPI;
+import io.vertx.redis.client.RedisOptions;
+
+/**
+ * Measures how many embeddings per second {@link RedisEmbeddingStore#addAll(List, List, List)} writes to Redis,
+ * depending on the storage type and on the size of the pipelined batches.
+ * <p>
+ * Requires a Redis Stack server, for example started with
+ * {@code docker run --rm -p 6379:6379 redis/redis-stack-server:latest}. The server can be changed with the
+ * {@code redisUrl} parameter. A batch size larger than the number of embeddings corresponds to the former
+ * behavior where all the commands were sent in a single batch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@OperationsPerInvocation(RedisIngestionBenchmark.EMBEDDINGS)
+public class RedisIngestionBenchmark {
+
+    static final int EMBEDDINGS = 10_000;
+    private static final int DIMENSION = 384;
+
+    @Param({ "JSON", "HASH" })
+    RedisStorageType storageType;
+
+    @Param({ "100", "500", "1000000" })
+    int batchSize;
+
+    @Param("4")
+    int maxInFlightBatches;
+
+    @Param("redis://localhost:6379")
+    String redisUrl;
+
+    private Vertx vertx;
+    private Redis redis;
+    private RedisEmbeddingStore store;
+    private List<String> ids;
+    private List<Embedding> embeddings;
+    private List<TextSegment> segments;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        vertx = Vertx.vertx();
+        redis = Redis.createClient(vertx, new RedisOptions()
+                .setConnectionString(redisUrl)
+                .setMaxPoolSize(maxInFlightBatches)
+                .setMaxPoolWaiting(Integer.MAX_VALUE));
+        RedisSchema schema = new RedisSchema.Builder()
+                .indexName("benchmark-" + storageType.name().toLowerCase())
+                .prefix("benchmark-" + storageType.name().toLowerCase())
+                .vectorFieldName("vector")
+                .scalarFieldName("scalar")
+                .numericMetadataFields(List.of("page"))
+                .textualMetadataFields(List.of("source"))
+                .vectorAlgorithm(VectorAlgorithm.HNSW)
+                .dimension((long) DIMENSION)
+                .metricType(DistanceMetric.COSINE)
+                .storageType(storageType)
+                .build();
+        store = RedisEmbeddingStore.builder()
+                .dataSource(new ReactiveRedisDataSourceImpl(vertx, redis, RedisAPI.api(redis)))
+                .schema(schema)
+                .ingestionBatchSize(batchSize)
+                .ingestionMaxInFlightBatches(maxInFlightBatches)
+                .build();
+
+        Random random = new Random(42);
+        ids = new ArrayList<>(EMBEDDINGS);
+        embeddings = new ArrayList<>(EMBEDDINGS);
+        segments = new ArrayList<>(EMBEDDINGS);
+        for (int i = 0; i < EMBEDDINGS; i++) {
+            float[] vector = new float[DIMENSION];
+            for (int j = 0; j < DIMENSION; j++) {
+                vector[j] = random.nextFloat();
+            }
+            ids.add(Integer.toString(i));
+            embeddings.add(Embedding.from(vector));
+            segments.add(TextSegment.from("Segment number " + i,
+                    Metadata.from("source", "benchmark").put("page", i / 10)));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void clear() {
+        store.deleteAll();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        store.deleteAll();
+        redis.close();
+        vertx.closeAndAwait();
+    }
+
+    @Benchmark
+    public void addAll() {
+        store.addAll(ids, embeddings, segments);
+    }
+}
@@ -431,6 +431,8 @@ public class AiServicesProcessor {
             Integer maxSequentialToolInvocations = instance.value("maxSequentialToolInvocations") != null
                     ? instance.value("maxSequentialToolInvocations").asInt()
                     : 0;
+            boolean executeToolsConcurrently = instance.value("executeToolsConcurrently") != null
+                    && instance.value("executeToolsConcurrently").asBoolean();
             declarativeAiServiceProducer.produce(
                     new DeclarativeAiServiceBuildItem(
                             declarativeAiServiceClassInfo,
@@ -452,7 +454,8 @@ public class AiServicesProcessor {
                             toolHallucinationStrategy(instance),
                             classInputGuardrails(declarativeAiServiceClassInfo, index),
                             classOutputGuardrails(declarativeAiServiceClassInfo, index),
-                            maxSequentialToolInvocations));
+                            maxSequentialToolInvocations,
+                            executeToolsConcurrently));
 
         }
         toolProviderProducer.produce(new ToolProviderMetaBuildItem(toolProviderInfos));
@@ -805,7 +808,8 @@ public class AiServicesProcessor {
                                     toolHallucinationStrategyClassName,
                                     classInputGuardrails(bi),
                                     classOutputGuardrails(bi),
-                                    maxSequentialToolInvocations)))
+                                    maxSequentialToolInvocations,
+                                    bi.isExecuteToolsConcurrently())))
                     .setRuntimeInit()
                     .addQualifier()
                     .annotation(LangChain4jDotNames.QUARKUS_AI_SERVICE_CONTEXT_QUALIFIER).addValue("value", serviceClassName)
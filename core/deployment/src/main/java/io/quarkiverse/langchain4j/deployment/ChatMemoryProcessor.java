@@ -1,14 +1,17 @@
 package io.quarkiverse.langchain4j.deployment;
 
+import java.util.Optional;
 import java.util.function.Function;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Singleton;
 
 import org.jboss.jandex.ClassType;
 
 import dev.langchain4j.memory.chat.ChatMemoryProvider;
 import dev.langchain4j.model.TokenCountEstimator;
 import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+import io.quarkiverse.langchain4j.runtime.CachingChatMemoryStore;
 import io.quarkiverse.langchain4j.runtime.ChatMemoryRecorder;
 import io.quarkus.arc.SyntheticCreationalContext;
 import io.quarkus.arc.deployment.SyntheticBeanBuildItem;
@@ -17,12 +20,15 @@ import io.quarkus.deployment.annotations.BuildProducer;
 import io.quarkus.deployment.annotations.BuildStep;
 import io.quarkus.deployment.annotations.ExecutionTime;
 import io.quarkus.deployment.annotations.Record;
+import io.quarkus.deployment.metrics.MetricsCapabilityBuildItem;
+import io.quarkus.runtime.metrics.MetricsFactory;
 
 public class ChatMemoryProcessor {
 
     @BuildStep
     @Record(ExecutionTime.RUNTIME_INIT)
     void setupBeans(ChatMemoryBuildConfig buildConfig,
+            Optional<MetricsCapabilityBuildItem> metricsCapability,
             ChatMemoryRecorder recorder,
             BuildProducer<UnremovableBeanBuildItem> unremovableProducer,
             BuildProducer<SyntheticBeanBuildItem> syntheticBeanProducer) {
@@ -33,6 +39,7 @@ public class ChatMemoryProcessor {
                 .configure(ChatMemoryProvider.class)
                 .setRuntimeInit()
                 .addInjectionPoint(ClassType.create(ChatMemoryStore.class))
+                .addInjectionPoint(ClassType.create(CachingChatMemoryStore.class))
                 .scope(ApplicationScoped.class)
                 .defaultBean();
 
@@ -48,6 +55,17 @@ public class ChatMemoryProcessor {
         configurator.createWith(fun);
 
         syntheticBeanProducer.produce(configurator.done());
+
+        boolean metricsEnabled = metricsCapability.isPresent()
+                && metricsCapability.get().metricsSupported(MetricsFactory.MICROMETER);
+        syntheticBeanProducer.produce(SyntheticBeanBuildItem
+                .configure(CachingChatMemoryStore.class)
+                .setRuntimeInit()
+                .addInjectionPoint(ClassType.create(ChatMemoryStore.class))
+                .scope(Singleton.class)
+                .unremovable()
+                .createWith(recorder.cachingStore(metricsEnabled))
+                .done());
         unremovableProducer.produce(UnremovableBeanBuildItem.beanTypes(ChatMemoryStore.class));
     }
 }
@@ -34,6 +34,7 @@ public final class DeclarativeAiServiceBuildItem extends MultiBuildItem {
     private final DeclarativeAiServiceInputGuardrails inputGuardrails;
     private final DeclarativeAiServiceOutputGuardrails outputGuardrails;
     private final Integer maxSequentialToolInvocations;
+    private final boolean executeToolsConcurrently;
 
     public DeclarativeAiServiceBuildItem(
             ClassInfo serviceClassInfo,
@@ -55,7 +56,8 @@ public final class DeclarativeAiServiceBuildItem extends MultiBuildItem {
             DotName toolHallucinationStrategyClassDotName,
             DeclarativeAiServiceInputGuardrails inputGuardrails,
             DeclarativeAiServiceOutputGuardrails outputGuardrails,
-            Integer maxSequentialToolInvocations) {
+            Integer maxSequentialToolInvocations,
+            boolean executeToolsConcurrently) {
         this.serviceClassInfo = serviceClassInfo;
         this.chatLanguageModelSupplierClassDotName = chatLanguageModelSupplierClassDotName;
         this.streamingChatLanguageModelSupplierClassDotName = streamingChatLanguageModelSupplierClassDotName;
@@ -76,6 +78,7 @@ public final class DeclarativeAiServiceBuildItem extends MultiBuildItem {
         this.inputGuardrails = inputGuardrails;
         this.outputGuardrails = outputGuardrails;
         this.maxSequentialToolInvocations = maxSequentialToolInvocations;
+        this.executeToolsConcurrently = executeToolsConcurrently;
     }
 
     public ClassInfo getServiceClassInfo() {
@@ -178,4 +181,8 @@ public final class DeclarativeAiServiceBuildItem extends MultiBuildItem {
     public Integer getMaxSequentialToolInvocations() {
         return maxSequentialToolInvocations;
     }
+
+    public boolean isExecuteToolsConcurrently() {
+        return executeToolsConcurrently;
+    }
 }
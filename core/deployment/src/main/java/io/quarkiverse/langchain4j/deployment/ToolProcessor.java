@@ -56,6 +56,7 @@ import dev.langchain4j.model.output.structured.Description;
 import io.quarkiverse.langchain4j.deployment.items.ToolMethodBuildItem;
 import io.quarkiverse.langchain4j.runtime.ToolsRecorder;
 import io.quarkiverse.langchain4j.runtime.prompt.Mappable;
+import io.quarkiverse.langchain4j.runtime.tool.ToolArguments;
 import io.quarkiverse.langchain4j.runtime.tool.ToolInvoker;
 import io.quarkiverse.langchain4j.runtime.tool.ToolMethodCreateInfo;
 import io.quarkiverse.langchain4j.runtime.tool.ToolSpanWrapper;
@@ -508,7 +509,7 @@ public class ToolProcessor {
         try (ClassCreator classCreator = ClassCreator.builder()
                 .classOutput(classOutput)
                 .className(implClassName)
-                .interfaces(Mappable.class)
+                .interfaces(Mappable.class, ToolArguments.class)
                 .build()) {
 
             List<FieldDescriptor> fieldDescriptors = new ArrayList<>();
@@ -527,6 +528,16 @@ public class ToolProcessor {
                 mc.invokeInterfaceMethod(MAP_PUT, mapHandle, mc.load(field.getName()), fieldValue);
             }
             mc.returnValue(mapHandle);
+
+            // the fields are declared in parameter order, so they can be copied straight into the invocation parameters
+            MethodCreator toParamsMc = classCreator
+                    .getMethodCreator(MethodDescriptor.ofMethod(implClassName, "toParams", Object[].class));
+            ResultHandle paramsHandle = toParamsMc.newArray(Object.class, fieldDescriptors.size());
+            for (int i = 0; i < fieldDescriptors.size(); i++) {
+                ResultHandle fieldValue = toParamsMc.readInstanceField(fieldDescriptors.get(i), toParamsMc.getThis());
+                toParamsMc.writeArrayValue(paramsHandle, i, toParamsMc.checkCast(fieldValue, Object.class));
+            }
+            toParamsMc.returnValue(paramsHandle);
         }
         return implClassName;
     }
@@ -0,0 +1,208 @@
+package io.quarkiverse.langchain4j.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.service.MemoryId;
+import dev.langchain4j.service.UserMessage;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+import io.quarkiverse.langchain4j.RegisterAiService;
+import io.quarkiverse.langchain4j.runtime.CachingChatMemoryStore;
+import io.quarkus.test.QuarkusUnitTest;
+
+public class CachingChatMemoryStoreTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class))
+            .overrideRuntimeConfigKey("quarkus.langchain4j.chat-memory.cache.enabled", "true")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.chat-memory.cache.max-size", "1");
+
+    @Inject
+    MyAiService aiService;
+
+    @Inject
+    CountingChatMemoryStore store;
+
+    @Inject
+    CachingChatMemoryStore cache;
+
+    @Test
+    @ActivateRequestContext
+    void readsAreServedFromTheCache() {
+        aiService.chat("first", "hello");
+        aiService.chat("first", "hello again");
+
+        // the memory is only read from the store once, every write goes through
+        assertThat(store.reads.get()).isEqualTo(1);
+        assertThat(store.messages.get("first")).hasSize(4);
+        assertThat(cache.hitCount()).isPositive();
+
+        // the second memory evicts the first one from the cache
+        aiService.chat("second", "hello");
+        aiService.chat("first", "hello");
+        assertThat(store.reads.get()).isEqualTo(3);
+        assertThat(cache.evictionCount()).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(1);
+
+        // modifications made by another application instance are visible once the memory is invalidated
+        store.messages.remove("first");
+        cache.invalidate("first");
+        aiService.chat("first", "hello");
+        assertThat(store.reads.get()).isEqualTo(4);
+        assertThat(store.messages.get("first")).hasSize(2);
+    }
+
+    @Test
+    void loadsAreOnlyDiscardedWhenTheirMemoryIsModified() {
+        CountingChatMemoryStore delegate = new CountingChatMemoryStore();
+        delegate.messages.put("first", List.of(dev.langchain4j.data.message.UserMessage.from("hello")));
+        CachingChatMemoryStore[] cache = new CachingChatMemoryStore[1];
+        cache[0] = new CachingChatMemoryStore(new ChatMemoryStore() {
+            @Override
+            public List<ChatMessage> getMessages(Object memoryId) {
+                // modifications of memories happening while the memory is loaded
+                cache[0].invalidate("other");
+                if (delegate.reads.get() == 0) {
+                    cache[0].invalidate(memoryId);
+                }
+                return delegate.getMessages(memoryId);
+            }
+
+            @Override
+            public void updateMessages(Object memoryId, List<ChatMessage> messages) {
+                delegate.updateMessages(memoryId, messages);
+            }
+
+            @Override
+            public void deleteMessages(Object memoryId) {
+                delegate.deleteMessages(memoryId);
+            }
+        }, 10, Duration.ofMinutes(1));
+
+        // the memory is modified while it is first loaded, so the loaded messages are not cached
+        assertThat(cache[0].getMessages("first")).hasSize(1);
+        assertThat(cache[0].size()).isZero();
+
+        // the modification of another memory does not prevent caching
+        assertThat(cache[0].getMessages("first")).hasSize(1);
+        assertThat(cache[0].getMessages("first")).hasSize(1);
+        assertThat(delegate.reads.get()).isEqualTo(2);
+        assertThat(cache[0].size()).isEqualTo(1);
+    }
+
+    @Test
+    void updatesOfAMemoryAreWrittenOneAtATime() throws Exception {
+        CountingChatMemoryStore delegate = new CountingChatMemoryStore();
+        AtomicInteger writing = new AtomicInteger();
+        AtomicInteger maxWriting = new AtomicInteger();
+        CachingChatMemoryStore cache = new CachingChatMemoryStore(new ChatMemoryStore() {
+            @Override
+            public List<ChatMessage> getMessages(Object memoryId) {
+                return delegate.getMessages(memoryId);
+            }
+
+            @Override
+            public void updateMessages(Object memoryId, List<ChatMessage> messages) {
+                maxWriting.accumulateAndGet(writing.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                delegate.updateMessages(memoryId, messages);
+                writing.decrementAndGet();
+            }
+
+            @Override
+            public void deleteMessages(Object memoryId) {
+                delegate.deleteMessages(memoryId);
+            }
+        }, 10, Duration.ofMinutes(1));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                List<ChatMessage> messages = List.of(dev.langchain4j.data.message.UserMessage.from("message " + i));
+                futures.add(executor.submit(() -> cache.updateMessages("first", messages)));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // the cached messages are the ones of the last write to the delegate
+        assertThat(maxWriting.get()).isEqualTo(1);
+        assertThat(cache.getMessages("first")).isEqualTo(delegate.messages.get("first"));
+        assertThat(delegate.reads.get()).isZero();
+    }
+
+    @RegisterAiService(chatLanguageModelSupplier = ModelSupplier.class)
+    public interface MyAiService {
+
+        String chat(@MemoryId String memoryId, @UserMessage String message);
+    }
+
+    @Singleton
+    public static class CountingChatMemoryStore implements ChatMemoryStore {
+
+        final ConcurrentHashMap<Object, List<ChatMessage>> messages = new ConcurrentHashMap<>();
+        final AtomicInteger reads = new AtomicInteger();
+
+        @Override
+        public List<ChatMessage> getMessages(Object memoryId) {
+            reads.incrementAndGet();
+            return messages.getOrDefault(memoryId, List.of());
+        }
+
+        @Override
+        public void updateMessages(Object memoryId, List<ChatMessage> messages) {
+            this.messages.put(memoryId, List.copyOf(messages));
+        }
+
+        @Override
+        public void deleteMessages(Object memoryId) {
+            messages.remove(memoryId);
+        }
+    }
+
+    public static class ModelSupplier implements Supplier<ChatModel> {
+
+        @Override
+        public ChatModel get() {
+            return new ChatModel() {
+                @Override
+                public ChatResponse chat(ChatRequest chatRequest) {
+                    return ChatResponse.builder().aiMessage(AiMessage.from("hi")).build();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package io.quarkiverse.langchain4j.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import dev.langchain4j.agent.tool.Tool;
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.service.MemoryId;
+import dev.langchain4j.service.UserMessage;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+import io.quarkiverse.langchain4j.RegisterAiService;
+import io.quarkus.test.QuarkusUnitTest;
+
+public class ChatMemoryCommitTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class))
+            .overrideRuntimeConfigKey("quarkus.langchain4j.chat-memory.memory-window.max-messages", "4");
+
+    @Inject
+    MyAiService aiService;
+
+    @Inject
+    CountingChatMemoryStore store;
+
+    @Test
+    @ActivateRequestContext
+    void theMessagesOfAnInvocationAreWrittenOnce() {
+        assertThat(aiService.chat("first", "hello")).isEqualTo("sunny");
+
+        // the user message, the tool execution request and result, and the answer
+        assertThat(store.updates.get()).isEqualTo(1);
+        assertThat(store.deletes.get()).isZero();
+        assertThat(store.messages.get("first")).hasSize(4);
+
+        assertThat(aiService.chat("first", "hello again")).isEqualTo("sunny");
+
+        // the window only keeps the messages of the last invocation
+        assertThat(store.updates.get()).isEqualTo(2);
+        assertThat(store.deletes.get()).isZero();
+        List<ChatMessage> messages = store.messages.get("first");
+        assertThat(messages).hasSize(4);
+        assertThat(((dev.langchain4j.data.message.UserMessage) messages.get(0)).singleText()).isEqualTo("hello again");
+        assertThat(messages.get(2)).isInstanceOf(ToolExecutionResultMessage.class);
+    }
+
+    @RegisterAiService(chatLanguageModelSupplier = ModelSupplier.class, tools = WeatherTool.class)
+    public interface MyAiService {
+
+        String chat(@MemoryId String memoryId, @UserMessage String message);
+    }
+
+    @Singleton
+    public static class WeatherTool {
+
+        @Tool
+        public String weather() {
+            return "sunny";
+        }
+    }
+
+    @Singleton
+    public static class CountingChatMemoryStore implements ChatMemoryStore {
+
+        final ConcurrentHashMap<Object, List<ChatMessage>> messages = new ConcurrentHashMap<>();
+        final AtomicInteger updates = new AtomicInteger();
+        final AtomicInteger deletes = new AtomicInteger();
+
+        @Override
+        public List<ChatMessage> getMessages(Object memoryId) {
+            return messages.getOrDefault(memoryId, List.of());
+        }
+
+        @Override
+        public void updateMessages(Object memoryId, List<ChatMessage> messages) {
+            updates.incrementAndGet();
+            this.messages.put(memoryId, List.copyOf(messages));
+        }
+
+        @Override
+        public void deleteMessages(Object memoryId) {
+            deletes.incrementAndGet();
+            messages.remove(memoryId);
+        }
+    }
+
+    public static class ModelSupplier implements Supplier<ChatModel> {
+
+        @Override
+        public ChatModel get() {
+            return new ChatModel() {
+                @Override
+                public ChatResponse chat(ChatRequest chatRequest) {
+                    List<ChatMessage> messages = chatRequest.messages();
+                    if (messages.get(messages.size() - 1) instanceof ToolExecutionResultMessage) {
+                        return ChatResponse.builder().aiMessage(AiMessage.from("sunny")).build();
+                    }
+                    return ChatResponse.builder()
+                            .aiMessage(AiMessage.from(ToolExecutionRequest.builder().id("1").name("weather").build()))
+                            .build();
+                }
+            };
+        }
+    }
+}
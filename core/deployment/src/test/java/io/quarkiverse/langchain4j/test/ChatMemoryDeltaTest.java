@@ -0,0 +1,119 @@
+package io.quarkiverse.langchain4j.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.langchain4j.runtime.ChatMemoryDelta;
+
+class ChatMemoryDeltaTest {
+
+    @Test
+    void nothingStored() {
+        assertDelta(List.of(), List.of("u1", "a1"), new ChatMemoryDelta(0, 0, 0));
+    }
+
+    @Test
+    void unchanged() {
+        ChatMemoryDelta delta = assertDelta(List.of("u1", "a1"), List.of("u1", "a1"), new ChatMemoryDelta(0, 0, 2));
+        assertThat(delta.isEmpty(2)).isTrue();
+    }
+
+    @Test
+    void appended() {
+        assertDelta(List.of("u1", "a1"), List.of("u1", "a1", "u2"), new ChatMemoryDelta(0, 0, 2));
+    }
+
+    @Test
+    void oldestEvicted() {
+        assertDelta(List.of("u1", "a1", "u2", "a2"), List.of("u2", "a2", "u3"), new ChatMemoryDelta(0, 2, 2));
+    }
+
+    @Test
+    void systemMessageKeptWhileEvicting() {
+        assertDelta(List.of("s", "u1", "a1", "u2"), List.of("s", "a1", "u2", "a2"), new ChatMemoryDelta(1, 1, 3));
+    }
+
+    @Test
+    void systemMessageKeptWithoutEviction() {
+        // keeping the head in place is not needed when nothing is removed
+        assertDelta(List.of("s", "u1"), List.of("s", "u1", "a1"), new ChatMemoryDelta(0, 0, 2));
+    }
+
+    @Test
+    void systemMessageReplaced() {
+        assertDelta(List.of("s1", "u1", "a1"), List.of("s2", "u1", "a1", "u2"), new ChatMemoryDelta(0, 3, 0));
+    }
+
+    @Test
+    void cleared() {
+        ChatMemoryDelta delta = assertDelta(List.of("u1", "a1"), List.of(), new ChatMemoryDelta(0, 2, 0));
+        assertThat(delta.isEmpty(0)).isFalse();
+    }
+
+    @Test
+    void repeatedMessages() {
+        assertDelta(List.of("u", "a", "u", "a"), List.of("u", "a", "u", "a", "u"), new ChatMemoryDelta(0, 0, 4));
+        assertDelta(List.of("u", "a", "u", "a"), List.of("u", "a", "u"), new ChatMemoryDelta(0, 2, 2));
+        assertDelta(List.of("a", "a", "a"), List.of("a", "a", "b"), new ChatMemoryDelta(0, 1, 2));
+    }
+
+    @Test
+    void longConversation() {
+        List<String> stored = new ArrayList<>();
+        stored.add("s");
+        for (int i = 0; i < 10_000; i++) {
+            stored.add(i % 2 == 0 ? "u" : "a" + (i % 7));
+        }
+        List<String> updated = new ArrayList<>(stored.subList(0, 1));
+        updated.addAll(stored.subList(101, stored.size()));
+        updated.add("u");
+        updated.add("a1");
+        ChatMemoryDelta delta = assertDelta(stored, updated, bruteForce(stored, updated));
+        assertThat(delta).isEqualTo(new ChatMemoryDelta(1, 100, updated.size() - 2));
+    }
+
+    private static ChatMemoryDelta assertDelta(List<String> stored, List<String> updated, ChatMemoryDelta expected) {
+        ChatMemoryDelta delta = ChatMemoryDelta.compute(stored, updated, Objects::equals);
+        assertThat(delta).isEqualTo(expected);
+        assertThat(apply(stored, updated, delta)).isEqualTo(updated);
+        return delta;
+    }
+
+    private static List<String> apply(List<String> stored, List<String> updated, ChatMemoryDelta delta) {
+        List<String> result = new ArrayList<>(stored.subList(0, delta.keptHead()));
+        result.addAll(stored.subList(delta.keptHead() + delta.removed(), stored.size()));
+        result.addAll(updated.subList(delta.appendedFrom(), updated.size()));
+        return result;
+    }
+
+    /**
+     * Tries all the possible deltas, as a reference for the linear computation.
+     */
+    private static ChatMemoryDelta bruteForce(List<String> stored, List<String> updated) {
+        ChatMemoryDelta best = null;
+        int bestWrites = Integer.MAX_VALUE;
+        for (int keptHead = 0; keptHead <= 1; keptHead++) {
+            if (keptHead == 1 && (stored.isEmpty() || updated.isEmpty() || !stored.get(0).equals(updated.get(0)))) {
+                break;
+            }
+            for (int removed = 0; removed <= stored.size() - keptHead; removed++) {
+                int kept = stored.size() - keptHead - removed;
+                if (kept <= updated.size() - keptHead && stored.subList(keptHead + removed, stored.size())
+                        .equals(updated.subList(keptHead, keptHead + kept))) {
+                    int writes = updated.size() - keptHead - kept + (keptHead == 1 && removed > 0 ? 1 : 0);
+                    if (writes < bestWrites) {
+                        best = new ChatMemoryDelta(keptHead, removed, keptHead + kept);
+                        bestWrites = writes;
+                    }
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+}
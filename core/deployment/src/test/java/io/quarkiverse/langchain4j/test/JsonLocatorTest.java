@@ -0,0 +1,121 @@
+package io.quarkiverse.langchain4j.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.quarkiverse.langchain4j.runtime.JsonLocator;
+
+class JsonLocatorTest {
+
+    // the expression used to extract the JSON value before the locator
+    private static final Pattern LEGACY_PATTERN = Pattern.compile("(?s)\\{.*\\}|\\[.*\\]");
+
+    private static final String[] FRAGMENTS = { "{", "}", "[", "]", "\"", "\\", "'", ":", ",", " ", "\n", "a", "1",
+            "true", "null", "\"key\"", "\"va}l]ue\"", "\"esc\\\"aped\"", "Here is the JSON: ", "```json\n", "\n```" };
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .configure(JsonReadFeature.ALLOW_UNESCAPED_CONTROL_CHARS.mappedFeature(), true);
+
+    @Test
+    void locatesTheValueWrappedInProse() {
+        assertLocated("Sure! Here it is:\n```json\n{\"name\": \"Alice\", \"tags\": [\"a\", \"b\"]}\n```\nAnything else?",
+                "{\"name\": \"Alice\", \"tags\": [\"a\", \"b\"]}");
+        assertLocated("[1, 2, 3] are the numbers {you asked for}", "[1, 2, 3]");
+    }
+
+    @Test
+    void ignoresTheBracketsOfStringLiterals() {
+        assertLocated("{\"text\": \"a } and a ] and an escaped \\\" }\"} trailing }",
+                "{\"text\": \"a } and a ] and an escaped \\\" }\"}");
+    }
+
+    @Test
+    void skipsTheOpeningBracketsWithoutClosingOne() {
+        assertLocated("a [ that is never closed, then {\"a\": 1}", "{\"a\": 1}");
+    }
+
+    @Test
+    void endsWithTheLastClosingBracketWhenUnbalanced() {
+        assertLocated("{\"a\": {\"b\": 1} truncated", "{\"a\": {\"b\": 1}");
+    }
+
+    @Test
+    void findsNothingWithoutObjectOrArray() {
+        assertThat(JsonLocator.start("just some text } ] {")).isEqualTo(-1);
+        assertThat(JsonLocator.start("")).isEqualTo(-1);
+    }
+
+    @Test
+    void readsTheRangeOfTheString() throws IOException {
+        String text = "prefix {\"a\": [1, 2]} suffix";
+        int start = JsonLocator.start(text);
+        int end = JsonLocator.end(text, start);
+        assertThat(mapper.readTree(JsonLocator.reader(text, start, end))).isEqualTo(mapper.readTree("{\"a\": [1, 2]}"));
+    }
+
+    /**
+     * Checks on random outputs that the value parsed from the located range is the one parsed from the range matched by
+     * the legacy expression, or that both fail.
+     */
+    @Test
+    void parsesTheSameValuesAsTheLegacyExpression() {
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder text = new StringBuilder();
+            int fragments = random.nextInt(30);
+            for (int j = 0; j < fragments; j++) {
+                if (random.nextInt(10) == 0) {
+                    text.append("{\"id\": ").append(j).append(", \"items\": [\"x]\", {\"y\": \"}\"}]}");
+                } else {
+                    text.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+                }
+            }
+            String output = text.toString();
+            assertThat(parseLocated(output)).as(output).isEqualTo(parseLegacy(output));
+        }
+    }
+
+    private void assertLocated(String text, String expected) {
+        int start = JsonLocator.start(text);
+        assertThat(start).isNotNegative();
+        assertThat(text.substring(start, JsonLocator.end(text, start))).isEqualTo(expected);
+    }
+
+    private Object parseLegacy(String output) {
+        Matcher matcher = LEGACY_PATTERN.matcher(output);
+        return parse(matcher.find() ? matcher.group() : output);
+    }
+
+    private Object parseLocated(String output) {
+        int start = JsonLocator.start(output);
+        if (start < 0) {
+            return parse(output);
+        }
+        try {
+            return mapper.readValue(JsonLocator.reader(output, start, JsonLocator.end(output, start)), Object.class);
+        } catch (IOException e) {
+            return Failure.INSTANCE;
+        }
+    }
+
+    private Object parse(String json) {
+        try {
+            return mapper.readValue(json, Object.class);
+        } catch (IOException e) {
+            return Failure.INSTANCE;
+        }
+    }
+
+    private enum Failure {
+        INSTANCE
+    }
+}
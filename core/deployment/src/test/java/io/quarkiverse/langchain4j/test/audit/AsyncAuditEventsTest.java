@@ -0,0 +1,112 @@
+package io.quarkiverse.langchain4j.test.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.service.UserMessage;
+import io.quarkiverse.langchain4j.RegisterAiService;
+import io.quarkiverse.langchain4j.audit.InitialMessagesCreatedEvent;
+import io.quarkiverse.langchain4j.audit.LLMInteractionCompleteEvent;
+import io.quarkiverse.langchain4j.audit.LLMInteractionEvent;
+import io.quarkiverse.langchain4j.audit.ResponseFromLLMReceivedEvent;
+import io.quarkus.test.QuarkusUnitTest;
+
+public class AsyncAuditEventsTest {
+
+    private static final int INVOCATIONS = 200;
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class))
+            .overrideRuntimeConfigKey("quarkus.langchain4j.audit.async", "true");
+
+    @Inject
+    MyAiService service;
+
+    @Inject
+    Auditor auditor;
+
+    @Test
+    @ActivateRequestContext
+    void deliversTheEventsInOrderOnOtherThreads() throws InterruptedException {
+        for (int i = 0; i < INVOCATIONS; i++) {
+            assertThat(service.chat("Hello " + i)).isEqualTo("Hi!");
+        }
+
+        assertThat(auditor.completed.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(auditor.threads).doesNotContain(Thread.currentThread());
+        List<LLMInteractionEvent> events = auditor.events;
+        assertThat(events).hasSize(INVOCATIONS * 3);
+        for (int i = 0; i < INVOCATIONS; i++) {
+            assertThat(events.get(i * 3)).isInstanceOfSatisfying(InitialMessagesCreatedEvent.class,
+                    e -> assertThat(e.userMessage().singleText()).startsWith("Hello "));
+            assertThat(events.get(i * 3 + 1)).isInstanceOf(ResponseFromLLMReceivedEvent.class);
+            assertThat(events.get(i * 3 + 2)).isInstanceOf(LLMInteractionCompleteEvent.class);
+            assertThat(events.get(i * 3 + 2).sourceInfo().methodParams()).containsExactly("Hello " + i);
+        }
+    }
+
+    @RegisterAiService(chatLanguageModelSupplier = MyChatModelSupplier.class, chatMemoryProviderSupplier = RegisterAiService.NoChatMemoryProviderSupplier.class)
+    public interface MyAiService {
+
+        String chat(@UserMessage String message);
+    }
+
+    @Singleton
+    public static class Auditor {
+
+        final List<LLMInteractionEvent> events = new CopyOnWriteArrayList<>();
+        final List<Thread> threads = new CopyOnWriteArrayList<>();
+        final CountDownLatch completed = new CountDownLatch(INVOCATIONS);
+
+        void initialMessages(@Observes InitialMessagesCreatedEvent event) {
+            record(event);
+        }
+
+        void responseReceived(@Observes ResponseFromLLMReceivedEvent event) {
+            record(event);
+        }
+
+        void complete(@Observes LLMInteractionCompleteEvent event) {
+            record(event);
+            completed.countDown();
+        }
+
+        private void record(LLMInteractionEvent event) {
+            events.add(event);
+            threads.add(Thread.currentThread());
+        }
+    }
+
+    public static class MyChatModelSupplier implements Supplier<ChatModel> {
+
+        @Override
+        public ChatModel get() {
+            return new ChatModel() {
+                @Override
+                public ChatResponse doChat(ChatRequest chatRequest) {
+                    return ChatResponse.builder().aiMessage(new AiMessage("Hi!")).build();
+                }
+            };
+        }
+    }
+}
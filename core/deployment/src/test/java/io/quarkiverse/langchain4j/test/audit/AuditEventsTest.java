@@ -0,0 +1,94 @@
+package io.quarkiverse.langchain4j.test.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.service.UserMessage;
+import io.quarkiverse.langchain4j.RegisterAiService;
+import io.quarkiverse.langchain4j.audit.LLMInteractionCompleteEvent;
+import io.quarkiverse.langchain4j.audit.LLMInteractionEvent;
+import io.quarkiverse.langchain4j.audit.ResponseFromLLMReceivedEvent;
+import io.quarkus.test.QuarkusUnitTest;
+
+/**
+ * Only some of the audit events are observed, the other ones are not fired.
+ */
+public class AuditEventsTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class));
+
+    @Inject
+    MyAiService service;
+
+    @Inject
+    Auditor auditor;
+
+    @Test
+    @ActivateRequestContext
+    void notifiesTheObserversDuringTheInvocation() {
+        auditor.events.clear();
+
+        assertThat(service.chat("Hello")).isEqualTo("Hi!");
+
+        // the observers are called before the invocation returns
+        assertThat(auditor.events).hasSize(2);
+        assertThat(auditor.events.get(0)).isInstanceOf(ResponseFromLLMReceivedEvent.class);
+        assertThat(auditor.events.get(1)).isInstanceOfSatisfying(LLMInteractionCompleteEvent.class,
+                e -> assertThat(e.result()).isEqualTo("Hi!"));
+        assertThat(auditor.events).extracting(e -> e.sourceInfo().interactionId()).containsOnly(
+                auditor.events.get(0).sourceInfo().interactionId());
+        assertThat(auditor.events.get(0).sourceInfo().methodName()).isEqualTo("chat");
+    }
+
+    @RegisterAiService(chatLanguageModelSupplier = MyChatModelSupplier.class, chatMemoryProviderSupplier = RegisterAiService.NoChatMemoryProviderSupplier.class)
+    public interface MyAiService {
+
+        String chat(@UserMessage String message);
+    }
+
+    @Singleton
+    public static class Auditor {
+
+        final List<LLMInteractionEvent> events = new CopyOnWriteArrayList<>();
+
+        void responseReceived(@Observes ResponseFromLLMReceivedEvent event) {
+            events.add(event);
+        }
+
+        void complete(@Observes LLMInteractionCompleteEvent event) {
+            events.add(event);
+        }
+    }
+
+    public static class MyChatModelSupplier implements Supplier<ChatModel> {
+
+        @Override
+        public ChatModel get() {
+            return new ChatModel() {
+                @Override
+                public ChatResponse doChat(ChatRequest chatRequest) {
+                    return ChatResponse.builder().aiMessage(new AiMessage("Hi!")).build();
+                }
+            };
+        }
+    }
+}
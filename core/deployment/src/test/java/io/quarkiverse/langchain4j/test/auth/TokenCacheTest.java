@@ -0,0 +1,225 @@
+package io.quarkiverse.langchain4j.test.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.langchain4j.auth.TokenCache;
+import io.smallrye.mutiny.Uni;
+
+class TokenCacheTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(16);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentReadsShareOneRequestAndNeverSeeAnExpiredToken() throws Exception {
+        CountingSupplier supplier = new CountingSupplier(Clock.systemUTC(), Duration.ofMillis(50), Duration.ofMillis(5));
+        TokenCache cache = TokenCache.builder(supplier).refreshRatio(0.5).build();
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> readers = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            readers.add(executor.submit(() -> {
+                start.await();
+                int reads = 0;
+                long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(500);
+                while (System.nanoTime() < end) {
+                    Instant readAt = Instant.now();
+                    String token = reads % 2 == 0 ? cache.getToken() : cache.get().await().indefinitely();
+                    assertThat(supplier.isValidAt(token, readAt)).as(token).isTrue();
+                    reads++;
+                }
+                return reads;
+            }));
+        }
+        start.countDown();
+        int reads = 0;
+        for (Future<Integer> reader : readers) {
+            reads += reader.get(10, TimeUnit.SECONDS);
+        }
+
+        assertThat(supplier.maxConcurrentRequests.get()).isEqualTo(1);
+        // a token lives 50 ms and is refreshed after 25 ms: a few dozen requests for hundreds of thousands of reads
+        assertThat(supplier.requests.get()).isBetween(5, 100);
+        assertThat(reads).isGreaterThan(supplier.requests.get() * 100);
+    }
+
+    @Test
+    void firstReadsWaitForTheSameRequest() throws Exception {
+        CountingSupplier supplier = new CountingSupplier(Clock.systemUTC(), Duration.ofMinutes(1), Duration.ofMillis(100));
+        TokenCache cache = TokenCache.builder(supplier).build();
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> readers = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            readers.add(executor.submit(() -> {
+                start.await();
+                return cache.getToken();
+            }));
+        }
+        start.countDown();
+        for (Future<String> reader : readers) {
+            assertThat(reader.get(10, TimeUnit.SECONDS)).isEqualTo("token-1");
+        }
+        assertThat(supplier.requests.get()).isEqualTo(1);
+    }
+
+    @Test
+    void refreshesInTheBackgroundAfterTheRefreshRatio() {
+        MutableClock clock = new MutableClock();
+        CountingSupplier supplier = new CountingSupplier(clock, Duration.ofSeconds(100), Duration.ZERO);
+        TokenCache cache = TokenCache.builder(supplier).refreshRatio(0.5).clock(clock).build();
+
+        assertThat(cache.getToken()).isEqualTo("token-1");
+        clock.advance(Duration.ofSeconds(49));
+        assertThat(cache.getToken()).isEqualTo("token-1");
+        assertThat(supplier.requests.get()).isEqualTo(1);
+
+        // the read triggering the refresh still gets the current token
+        clock.advance(Duration.ofSeconds(2));
+        supplier.delay = Duration.ofMillis(200);
+        assertThat(cache.getToken()).isEqualTo("token-1");
+        assertThat(supplier.requests.get()).isEqualTo(2);
+    }
+
+    @Test
+    void failedBackgroundRefreshesBackOff() {
+        MutableClock clock = new MutableClock();
+        CountingSupplier supplier = new CountingSupplier(clock, Duration.ofSeconds(100), Duration.ZERO);
+        TokenCache cache = TokenCache.builder(supplier)
+                .refreshRatio(0.5)
+                .backoff(Duration.ofSeconds(4), Duration.ofSeconds(10))
+                .clock(clock)
+                .build();
+        assertThat(cache.getToken()).isEqualTo("token-1");
+
+        supplier.failing = true;
+        clock.advance(Duration.ofSeconds(60));
+        assertThat(cache.getToken()).isEqualTo("token-1");
+        assertThat(supplier.requests.get()).isEqualTo(2);
+
+        // the jittered delay is between 2 and 4 seconds
+        clock.advance(Duration.ofMillis(1900));
+        assertThat(cache.getToken()).isEqualTo("token-1");
+        assertThat(supplier.requests.get()).isEqualTo(2);
+
+        clock.advance(Duration.ofMillis(2200));
+        assertThat(cache.getToken()).isEqualTo("token-1");
+        assertThat(supplier.requests.get()).isEqualTo(3);
+
+        supplier.failing = false;
+        clock.advance(Duration.ofSeconds(10));
+        assertThat(cache.getToken()).isEqualTo("token-1");
+        assertThat(cache.getToken()).isEqualTo("token-4");
+    }
+
+    @Test
+    void readsWithoutValidTokenReportTheFailure() {
+        MutableClock clock = new MutableClock();
+        CountingSupplier supplier = new CountingSupplier(clock, Duration.ofSeconds(100), Duration.ZERO);
+        TokenCache cache = TokenCache.builder(supplier).clock(clock).build();
+
+        supplier.failing = true;
+        assertThatThrownBy(cache::getToken).hasMessage("token endpoint unavailable");
+        assertThatThrownBy(cache::getToken).hasMessage("token endpoint unavailable");
+        assertThat(supplier.requests.get()).isEqualTo(2);
+
+        supplier.failing = false;
+        assertThat(cache.getToken()).isEqualTo("token-3");
+    }
+
+    private static class CountingSupplier implements Supplier<Uni<TokenCache.Token>> {
+
+        private final Clock clock;
+        private final Duration lifetime;
+        private final AtomicInteger requests = new AtomicInteger();
+        private final AtomicInteger concurrentRequests = new AtomicInteger();
+        private final AtomicInteger maxConcurrentRequests = new AtomicInteger();
+        private final List<TokenCache.Token> tokens = new ArrayList<>();
+        private volatile Duration delay;
+        private volatile boolean failing;
+
+        CountingSupplier(Clock clock, Duration lifetime, Duration delay) {
+            this.clock = clock;
+            this.lifetime = lifetime;
+            this.delay = delay;
+        }
+
+        @Override
+        public Uni<TokenCache.Token> get() {
+            int request = requests.incrementAndGet();
+            maxConcurrentRequests.accumulateAndGet(concurrentRequests.incrementAndGet(), Math::max);
+            Uni<TokenCache.Token> token = Uni.createFrom().item(() -> {
+                concurrentRequests.decrementAndGet();
+                if (failing) {
+                    throw new IllegalStateException("token endpoint unavailable");
+                }
+                TokenCache.Token result = new TokenCache.Token("token-" + request, clock.instant().plus(lifetime));
+                synchronized (tokens) {
+                    tokens.add(result);
+                }
+                return result;
+            });
+            return delay.isZero() ? token : Uni.createFrom().voidItem().onItem().delayIt().by(delay).replaceWith(token);
+        }
+
+        boolean isValidAt(String value, Instant instant) {
+            synchronized (tokens) {
+                return tokens.stream().anyMatch(token -> token.value().equals(value)
+                        && token.expiresAt().isAfter(instant));
+            }
+        }
+    }
+
+    private static class MutableClock extends Clock {
+
+        private final AtomicLong millis = new AtomicLong(Instant.parse("2025-01-01T00:00:00Z").toEpochMilli());
+
+        void advance(Duration duration) {
+            millis.addAndGet(duration.toMillis());
+        }
+
+        @Override
+        public long millis() {
+            return millis.get();
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis());
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package io.quarkiverse.langchain4j.test.moderation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.moderation.Moderation;
+import dev.langchain4j.model.moderation.ModerationModel;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.service.Moderate;
+import dev.langchain4j.service.ModerationException;
+import io.quarkiverse.langchain4j.RegisterAiService;
+import io.quarkiverse.langchain4j.moderation.AsyncModerationModel;
+import io.quarkus.test.QuarkusUnitTest;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * Verify that an {@link AsyncModerationModel} is used without going through the blocking {@link ModerationModel} API
+ */
+public class AsyncModerationTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class));
+
+    @Inject
+    MyAiService aiService;
+
+    @Test
+    @ActivateRequestContext
+    void testNotFlagged() {
+        assertThat(aiService.chat("hello")).isEqualTo("hi");
+    }
+
+    @Test
+    @ActivateRequestContext
+    void testFlagged() {
+        assertThatThrownBy(() -> aiService.chat("bad words"))
+                .isInstanceOf(ModerationException.class)
+                .hasMessageContaining("bad words");
+    }
+
+    @RegisterAiService(chatLanguageModelSupplier = ChatModelSupplier.class, moderationModelSupplier = ModerationModelSupplier.class)
+    public interface MyAiService {
+
+        @Moderate
+        String chat(String message);
+    }
+
+    public static class ChatModelSupplier implements Supplier<ChatModel> {
+
+        @Override
+        public ChatModel get() {
+            return new ChatModel() {
+                @Override
+                public ChatResponse chat(ChatRequest chatRequest) {
+                    return ChatResponse.builder().aiMessage(AiMessage.from("hi")).build();
+                }
+            };
+        }
+    }
+
+    public static class ModerationModelSupplier implements Supplier<ModerationModel> {
+
+        @Override
+        public ModerationModel get() {
+            return new MyModerationModel();
+        }
+    }
+
+    public static class MyModerationModel implements ModerationModel, AsyncModerationModel {
+
+        @Override
+        public Response<Moderation> moderate(String text) {
+            throw new IllegalStateException("blocking moderation should not be used");
+        }
+
+        @Override
+        public Response<Moderation> moderate(List<ChatMessage> messages) {
+            throw new IllegalStateException("blocking moderation should not be used");
+        }
+
+        @Override
+        public Uni<Moderation> moderateAsync(List<ChatMessage> messages) {
+            for (ChatMessage message : messages) {
+                if (message instanceof UserMessage userMessage && userMessage.singleText().contains("bad")) {
+                    return Uni.createFrom().item(Moderation.flagged(userMessage.singleText()));
+                }
+            }
+            return Uni.createFrom().item(Moderation.notFlagged());
+        }
+    }
+}
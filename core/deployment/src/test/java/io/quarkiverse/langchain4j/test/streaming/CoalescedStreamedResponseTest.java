@@ -0,0 +1,94 @@
+package io.quarkiverse.langchain4j.test.streaming;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import io.quarkiverse.langchain4j.RegisterAiService;
+import io.quarkus.arc.Arc;
+import io.quarkus.test.QuarkusUnitTest;
+import io.smallrye.mutiny.Multi;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+
+public class CoalescedStreamedResponseTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class))
+            .overrideRuntimeConfigKey("quarkus.langchain4j.streaming.coalesce-window", "100ms")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.streaming.coalesce-max-length", "3");
+
+    @Inject
+    MyAiService service;
+
+    @Test
+    @ActivateRequestContext
+    void groupsThePartialResponsesUpToTheMaximumLength() {
+        List<String> list = service.chat("a b c d e f g").collect().asList().await().indefinitely();
+        assertThat(list).containsExactly("abc", "def", "g");
+    }
+
+    @Test
+    @ActivateRequestContext
+    void emitsThePartialResponsesAtTheEndOfTheWindow() {
+        List<String> list = service.chat("a b --pause-- c").collect().asList().await().indefinitely();
+        assertThat(list).containsExactly("ab", "c");
+    }
+
+    @RegisterAiService(streamingChatLanguageModelSupplier = SpaceSeparatedTokensModelSupplier.class, chatMemoryProviderSupplier = RegisterAiService.NoChatMemoryProviderSupplier.class)
+    public interface MyAiService {
+
+        Multi<String> chat(@dev.langchain4j.service.UserMessage String message);
+    }
+
+    public static class SpaceSeparatedTokensModelSupplier implements Supplier<StreamingChatModel> {
+
+        @Override
+        public StreamingChatModel get() {
+            return new SpaceSeparatedTokensModel();
+        }
+    }
+
+    /**
+     * Streams the words of the user message one by one, waiting longer than the coalescing window on {@code --pause--}.
+     */
+    public static class SpaceSeparatedTokensModel implements StreamingChatModel {
+
+        @Override
+        public void doChat(ChatRequest chatRequest, StreamingChatResponseHandler handler) {
+            Context context = Arc.container().select(Vertx.class).get().getOrCreateContext();
+            UserMessage message = (UserMessage) chatRequest.messages().get(chatRequest.messages().size() - 1);
+            emit(context, List.of(message.singleText().split(" ")), 0, handler);
+        }
+
+        private void emit(Context context, List<String> tokens, int index, StreamingChatResponseHandler handler) {
+            if (index == tokens.size()) {
+                context.runOnContext(x -> handler.onCompleteResponse(
+                        ChatResponse.builder().aiMessage(new AiMessage(String.join("", tokens))).build()));
+            } else if (tokens.get(index).equals("--pause--")) {
+                context.owner().setTimer(500, x -> emit(context, tokens, index + 1, handler));
+            } else {
+                context.runOnContext(x -> {
+                    handler.onPartialResponse(tokens.get(index));
+                    emit(context, tokens, index + 1, handler);
+                });
+            }
+        }
+    }
+}
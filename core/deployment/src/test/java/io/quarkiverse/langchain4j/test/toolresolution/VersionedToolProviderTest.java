@@ -0,0 +1,114 @@
+package io.quarkiverse.langchain4j.test.toolresolution;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.service.MemoryId;
+import dev.langchain4j.service.UserMessage;
+import dev.langchain4j.service.tool.ToolExecutor;
+import dev.langchain4j.service.tool.ToolProvider;
+import dev.langchain4j.service.tool.ToolProviderRequest;
+import dev.langchain4j.service.tool.ToolProviderResult;
+import io.quarkiverse.langchain4j.RegisterAiService;
+import io.quarkiverse.langchain4j.runtime.aiservice.VersionedToolProvider;
+import io.quarkus.test.QuarkusUnitTest;
+
+/**
+ * The tools of a {@link VersionedToolProvider} should only be requested again when their version changes.
+ */
+public class VersionedToolProviderTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(TestAiSupplier.class,
+                            TestAiModel.class,
+                            ServiceWithVersionedToolProvider.class,
+                            CountingToolProviderSupplier.class,
+                            CountingToolProvider.class));
+
+    @RegisterAiService(toolProviderSupplier = CountingToolProviderSupplier.class, chatLanguageModelSupplier = TestAiSupplier.class)
+    interface ServiceWithVersionedToolProvider {
+
+        String chat(@UserMessage String msg, @MemoryId Object id);
+
+    }
+
+    @Inject
+    ServiceWithVersionedToolProvider service;
+
+    @Inject
+    CountingToolProvider toolProvider;
+
+    @Test
+    @ActivateRequestContext
+    void testCall() {
+        assertEquals("TOOL0", service.chat("hello", 1));
+        assertEquals("TOOL0", service.chat("hello", 2));
+        assertEquals("TOOL0", service.chat("hello", 1));
+        assertEquals(1, toolProvider.provided());
+
+        toolProvider.changeTools();
+        assertEquals("TOOL1", service.chat("hello", 1));
+        assertEquals("TOOL1", service.chat("hello", 2));
+        assertEquals(2, toolProvider.provided());
+    }
+
+    @ApplicationScoped
+    public static class CountingToolProviderSupplier implements Supplier<ToolProvider> {
+
+        @Inject
+        CountingToolProvider toolProvider;
+
+        @Override
+        public ToolProvider get() {
+            return toolProvider;
+        }
+    }
+
+    @ApplicationScoped
+    public static class CountingToolProvider implements VersionedToolProvider {
+
+        private final AtomicInteger version = new AtomicInteger();
+        private final AtomicInteger provided = new AtomicInteger();
+
+        public int provided() {
+            return provided.get();
+        }
+
+        public void changeTools() {
+            version.incrementAndGet();
+        }
+
+        @Override
+        public long toolsVersion() {
+            return version.get();
+        }
+
+        @Override
+        public ToolProviderResult provideTools(ToolProviderRequest request) {
+            provided.incrementAndGet();
+            ToolSpecification toolSpecification = ToolSpecification.builder()
+                    .name("get_booking_details")
+                    .description("Returns booking details")
+                    .build();
+            String result = "TOOL" + version.get();
+            ToolExecutor toolExecutor = (t, m) -> result;
+            return ToolProviderResult.builder()
+                    .add(toolSpecification, toolExecutor)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package io.quarkiverse.langchain4j.test.tools;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import dev.langchain4j.agent.tool.Tool;
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import io.quarkiverse.langchain4j.RegisterAiService;
+import io.quarkus.test.QuarkusUnitTest;
+
+/**
+ * Verify functionality of {@link RegisterAiService#executeToolsConcurrently()}
+ */
+public class ConcurrentToolExecutionTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class));
+
+    @Inject
+    MyAiService aiService;
+
+    @Test
+    @ActivateRequestContext
+    void testToolsAreExecutedConcurrentlyAndResultsKeepTheRequestOrder() {
+        // every tool waits for all the others to start, so this can only succeed if the tools run concurrently
+        assertThat(aiService.chat("hello")).isEqualTo("first,second,third");
+    }
+
+    @RegisterAiService(tools = MyTools.class, chatLanguageModelSupplier = ModelSupplier.class, executeToolsConcurrently = true)
+    public interface MyAiService {
+
+        String chat(String message);
+    }
+
+    @ApplicationScoped
+    public static class MyTools {
+
+        final CountDownLatch latch = new CountDownLatch(3);
+
+        @Tool
+        public String slow(String name) throws InterruptedException {
+            latch.countDown();
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                return "timeout";
+            }
+            // make the first requested tool finish last
+            if ("first".equals(name)) {
+                Thread.sleep(100);
+            }
+            return name;
+        }
+    }
+
+    public static class ModelSupplier implements Supplier<ChatModel> {
+
+        @Override
+        public ChatModel get() {
+            return new ChatModel() {
+                @Override
+                public ChatResponse chat(ChatRequest chatRequest) {
+                    List<ChatMessage> messages = chatRequest.messages();
+                    if (messages.get(messages.size() - 1) instanceof ToolExecutionResultMessage) {
+                        String text = messages.stream()
+                                .filter(m -> m instanceof ToolExecutionResultMessage)
+                                .map(m -> ((ToolExecutionResultMessage) m).text().replace("\"", ""))
+                                .collect(Collectors.joining(","));
+                        return ChatResponse.builder().aiMessage(AiMessage.from(text)).build();
+                    }
+                    return ChatResponse.builder().aiMessage(AiMessage.from(List.of(
+                            toolExecutionRequest("1", "first"),
+                            toolExecutionRequest("2", "second"),
+                            toolExecutionRequest("3", "third")))).build();
+                }
+            };
+        }
+
+        private static ToolExecutionRequest toolExecutionRequest(String id, String name) {
+            return ToolExecutionRequest.builder()
+                    .id(id)
+                    .name("slow")
+                    .arguments("{\"name\":\"" + name + "\"}")
+                    .build();
+        }
+    }
+}
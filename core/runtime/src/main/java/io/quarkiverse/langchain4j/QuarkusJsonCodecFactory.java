@@ -1,13 +1,12 @@
 package io.quarkiverse.langchain4j;
 
+import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.lang.reflect.Type;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonInclude;
@@ -18,6 +17,7 @@ import com.fasterxml.jackson.core.json.JsonReadFeature;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.SerializationFeature;
@@ -26,6 +26,7 @@ import com.fasterxml.jackson.databind.module.SimpleModule;
 
 import dev.langchain4j.internal.Json;
 import dev.langchain4j.spi.json.JsonCodecFactory;
+import io.quarkiverse.langchain4j.runtime.JsonLocator;
 import io.quarkiverse.langchain4j.runtime.jackson.CustomLocalDateDeserializer;
 import io.quarkiverse.langchain4j.runtime.jackson.CustomLocalDateTimeDeserializer;
 import io.quarkiverse.langchain4j.runtime.jackson.CustomLocalTimeDeserializer;
@@ -40,8 +41,6 @@ public class QuarkusJsonCodecFactory implements JsonCodecFactory {
 
     private static class Codec implements Json.JsonCodec {
 
-        private static final Pattern sanitizePattern = Pattern.compile("(?s)\\{.*\\}|\\[.*\\]");
-
         @Override
         public String toJson(Object o) {
             try {
@@ -54,8 +53,7 @@ public class QuarkusJsonCodecFactory implements JsonCodecFactory {
         @Override
         public <T> T fromJson(String json, Class<T> type) {
             try {
-                String sanitizedJson = sanitize(json, type);
-                return ObjectMapperHolder.MAPPER.readValue(sanitizedJson, type);
+                return readSanitized(json, type, ObjectMapperHolder.MAPPER.readerFor(type));
             } catch (JsonProcessingException e) {
                 if ((e instanceof JsonParseException) && (type.isEnum())) {
                     // this is the case where LangChain4j simply passes the string value of the enum to Json.fromJson()
@@ -71,8 +69,7 @@ public class QuarkusJsonCodecFactory implements JsonCodecFactory {
         public <T> T fromJson(String json, Type type) {
             JavaType javaType = ObjectMapperHolder.MAPPER.constructType(type);
             try {
-                String sanitizedJson = sanitize(json, javaType.getRawClass());
-                return ObjectMapperHolder.MAPPER.readValue(sanitizedJson, javaType);
+                return readSanitized(json, javaType.getRawClass(), ObjectMapperHolder.MAPPER.readerFor(javaType));
             } catch (JsonProcessingException e) {
                 if ((e instanceof JsonParseException) && (javaType.isEnumType())) {
                     // this is the case where LangChain4j simply passes the string value of the enum to Json.fromJson()
@@ -84,16 +81,30 @@ public class QuarkusJsonCodecFactory implements JsonCodecFactory {
             }
         }
 
-        private <T> String sanitize(String original, Class<T> type) {
+        /**
+         * Reads the JSON object or array found in the output of a model, from its range in the original string.
+         */
+        private static <T> T readSanitized(String original, Class<?> type, ObjectReader reader)
+                throws JsonProcessingException {
             if (String.class.equals(type)) {
-                return original;
+                return reader.readValue(original);
             }
-
-            Matcher matcher = sanitizePattern.matcher(original);
-            if (matcher.find()) {
-                return matcher.group();
+            int start = JsonLocator.start(original);
+            if (start < 0) {
+                return reader.readValue(original);
+            }
+            int end = JsonLocator.end(original, start);
+            if (start == 0 && end == original.length()) {
+                return reader.readValue(original);
+            }
+            try {
+                return reader.readValue(JsonLocator.reader(original, start, end));
+            } catch (JsonProcessingException e) {
+                throw e;
+            } catch (IOException e) {
+                // reading a string never fails
+                throw new UncheckedIOException(e);
             }
-            return original;
         }
     }
 
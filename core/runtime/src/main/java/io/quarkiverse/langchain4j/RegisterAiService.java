@@ -90,6 +90,16 @@ public @interface RegisterAiService {
      */
     int maxSequentialToolInvocations() default 0;
 
+    /**
+     * When the model requests the execution of multiple tools in a single response, this determines whether these tools
+     * are executed concurrently instead of one after the other.
+     * Blocking tools are dispatched to the worker pool, tools annotated with {@code @RunOnVirtualThread} are dispatched
+     * to a virtual thread and non-blocking tools are executed on the caller thread.
+     * Regardless of the order in which the tools complete, their results are added to the chat memory in the order
+     * in which the model requested them.
+     */
+    boolean executeToolsConcurrently() default false;
+
     /**
      * Tool classes to use. All tools are expected to be CDI beans.
      */
@@ -0,0 +1,219 @@
+package io.quarkiverse.langchain4j.auth;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.jboss.logging.Logger;
+
+import io.smallrye.mutiny.Uni;
+
+/**
+ * Caches a token, such as an OAuth2 access token, shared by all the requests sent to a model provider.
+ * <p>
+ * Reading a valid token never blocks: it is read from a volatile snapshot. Once a fraction of the lifetime of the token
+ * has elapsed, the next read starts a refresh in the background and still returns the current token, so that callers
+ * only wait when there is no valid token at all. Concurrent refreshes are collapsed into a single request to the token
+ * endpoint. A failed background refresh is not attempted again before an exponential, jittered, backoff delay; a caller
+ * without a valid token always waits for a new request, so that it gets the actual error.
+ * <p>
+ * {@link ModelAuthProvider} implementations getting their tokens from a token endpoint, for example with the client
+ * credentials grant, can share an instance and return {@code "Bearer " + cache.getToken()}.
+ */
+public class TokenCache {
+
+    private static final Logger log = Logger.getLogger(TokenCache.class);
+
+    private final Supplier<Uni<Token>> tokenSupplier;
+    private final double refreshRatio;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Clock clock;
+
+    private final AtomicReference<CompletableFuture<Token>> refreshing = new AtomicReference<>();
+    private volatile Snapshot snapshot;
+    private volatile Backoff backoff;
+
+    private TokenCache(Builder builder) {
+        this.tokenSupplier = builder.tokenSupplier;
+        this.refreshRatio = builder.refreshRatio;
+        this.initialBackoff = builder.initialBackoff;
+        this.maxBackoff = builder.maxBackoff;
+        this.clock = builder.clock;
+    }
+
+    /**
+     * @param tokenSupplier requests a new token from the token endpoint, it is never called concurrently
+     * @return the builder of a cache
+     */
+    public static Builder builder(Supplier<Uni<Token>> tokenSupplier) {
+        return new Builder(tokenSupplier);
+    }
+
+    /**
+     * Returns the cached token if it is still valid, or the token returned by a new request otherwise.
+     *
+     * @return the token
+     */
+    public Uni<String> get() {
+        String token = validToken();
+        if (token != null) {
+            return Uni.createFrom().item(token);
+        }
+        // each caller gets its own stage, so that a cancelled caller does not cancel the request shared with the others
+        return Uni.createFrom().completionStage(() -> refresh().minimalCompletionStage()).map(Token::value);
+    }
+
+    /**
+     * Same as {@link #get()}, but blocks the calling thread when there is no valid token.
+     *
+     * @return the token
+     */
+    public String getToken() {
+        String token = validToken();
+        if (token != null) {
+            return token;
+        }
+        return get().await().indefinitely();
+    }
+
+    private String validToken() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return null;
+        }
+        long now = clock.millis();
+        if (now >= current.expiresAt()) {
+            return null;
+        }
+        if (now >= current.refreshAt() && refreshing.get() == null) {
+            Backoff currentBackoff = backoff;
+            if (currentBackoff == null || now >= currentBackoff.retryAt()) {
+                refresh();
+            }
+        }
+        return current.token();
+    }
+
+    private CompletableFuture<Token> refresh() {
+        while (true) {
+            CompletableFuture<Token> inProgress = refreshing.get();
+            if (inProgress != null) {
+                return inProgress;
+            }
+            CompletableFuture<Token> result = new CompletableFuture<>();
+            if (refreshing.compareAndSet(null, result)) {
+                request(result);
+                return result;
+            }
+        }
+    }
+
+    private void request(CompletableFuture<Token> result) {
+        Uni<Token> token;
+        try {
+            token = tokenSupplier.get();
+        } catch (Throwable t) {
+            token = Uni.createFrom().failure(t);
+        }
+        token.subscribe().with(
+                value -> {
+                    long now = clock.millis();
+                    long expiresAt = value.expiresAt().toEpochMilli();
+                    long refreshAt = now + (long) (Math.max(0, expiresAt - now) * refreshRatio);
+                    snapshot = new Snapshot(value.value(), expiresAt, refreshAt);
+                    backoff = null;
+                    refreshing.set(null);
+                    result.complete(value);
+                },
+                failure -> {
+                    Backoff previous = backoff;
+                    int failures = previous == null ? 1 : previous.failures() + 1;
+                    long delay = backoffDelay(failures);
+                    backoff = new Backoff(failures, clock.millis() + delay);
+                    log.debugf(failure, "Unable to refresh the token, next background attempt in %d ms", delay);
+                    refreshing.set(null);
+                    result.completeExceptionally(failure);
+                });
+    }
+
+    private long backoffDelay(int failures) {
+        long max = maxBackoff.toMillis();
+        long delay = Math.min(max, initialBackoff.toMillis() << Math.min(failures - 1, 30));
+        // between half and all of the exponential delay, so that the instances of an application do not retry together
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    /**
+     * A token and the instant it expires.
+     */
+    public record Token(String value, Instant expiresAt) {
+    }
+
+    private record Snapshot(String token, long expiresAt, long refreshAt) {
+    }
+
+    private record Backoff(int failures, long retryAt) {
+    }
+
+    public static class Builder {
+
+        private final Supplier<Uni<Token>> tokenSupplier;
+        private double refreshRatio = 0.8;
+        private Duration initialBackoff = Duration.ofSeconds(1);
+        private Duration maxBackoff = Duration.ofMinutes(1);
+        private Clock clock = Clock.systemUTC();
+
+        private Builder(Supplier<Uni<Token>> tokenSupplier) {
+            if (tokenSupplier == null) {
+                throw new IllegalArgumentException("The token supplier must be set");
+            }
+            this.tokenSupplier = tokenSupplier;
+        }
+
+        /**
+         * @param refreshRatio the fraction of the lifetime of a token after which it is refreshed in the background,
+         *        between 0 (excluded) and 1 (included). Defaults to 0.8.
+         * @return the builder
+         */
+        public Builder refreshRatio(double refreshRatio) {
+            if (!(refreshRatio > 0 && refreshRatio <= 1)) {
+                throw new IllegalArgumentException("The refresh ratio must be greater than 0 and at most 1");
+            }
+            this.refreshRatio = refreshRatio;
+            return this;
+        }
+
+        /**
+         * @param initialBackoff the delay before a failed background refresh is attempted again, doubled after each
+         *        consecutive failure. Defaults to 1 second.
+         * @param maxBackoff the maximum delay between two failed background refreshes. Defaults to 1 minute.
+         * @return the builder
+         */
+        public Builder backoff(Duration initialBackoff, Duration maxBackoff) {
+            if (initialBackoff.isNegative() || initialBackoff.isZero() || maxBackoff.compareTo(initialBackoff) < 0) {
+                throw new IllegalArgumentException("The initial backoff must be positive and at most the maximum backoff");
+            }
+            this.initialBackoff = initialBackoff;
+            this.maxBackoff = maxBackoff;
+            return this;
+        }
+
+        /**
+         * @param clock the clock the expiration of the tokens is compared to
+         * @return the builder
+         */
+        public Builder clock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public TokenCache build() {
+            return new TokenCache(this);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package io.quarkiverse.langchain4j.moderation;
+
+import java.util.List;
+
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.moderation.Moderation;
+import dev.langchain4j.model.moderation.ModerationModel;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * Can be implemented by {@link ModerationModel} implementations whose client is able to perform the moderation
+ * request without blocking the caller thread.
+ * <p>
+ * When the moderation model of an AI service method annotated with {@link dev.langchain4j.service.Moderate} implements
+ * this interface, the moderation request is sent in parallel to the chat request without occupying a worker thread.
+ */
+public interface AsyncModerationModel {
+
+    /**
+     * Moderates the given chat messages.
+     *
+     * @param messages the messages to moderate
+     * @return a {@link Uni} that emits the moderation result once the model provider has answered
+     */
+    Uni<Moderation> moderateAsync(List<ChatMessage> messages);
+}
@@ -31,6 +31,7 @@ import io.quarkiverse.langchain4j.runtime.aiservice.QuarkusAiServiceContext;
 import io.quarkus.arc.Arc;
 import io.quarkus.arc.SyntheticCreationalContext;
 import io.quarkus.runtime.annotations.Recorder;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
 
 @Recorder
 public class AiServicesRecorder {
@@ -304,6 +305,9 @@ public class AiServicesRecorder {
                     if (info.maxSequentialToolInvocations() != null && info.maxSequentialToolInvocations() > 0) {
                         quarkusAiServices.maxSequentialToolInvocations(info.maxSequentialToolInvocations());
                     }
+                    if (info.executeToolsConcurrently()) {
+                        quarkusAiServices.executeToolsConcurrently(Infrastructure.getDefaultWorkerPool());
+                    }
 
                     return aiServiceContext;
                 } catch (ClassNotFoundException e) {
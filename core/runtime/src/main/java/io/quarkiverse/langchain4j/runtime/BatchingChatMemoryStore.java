@@ -0,0 +1,115 @@
+package io.quarkiverse.langchain4j.runtime;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+
+/**
+ * A {@link ChatMemoryStore} which defers its writes until the end of a {@link #batch(Runnable) batch}, so that a chat
+ * memory which is cleared and then filled again one message at a time is only written once.
+ * <p>
+ * The chat memories write the whole conversation to their store each time a message is added. While a batch runs on
+ * the current thread, the messages written to this store are kept in memory and served to the subsequent reads, then
+ * only the last state of each modified memory is written to the delegate store: a single {@code updateMessages}, or a
+ * single {@code deleteMessages} if the memory was deleted last. Nothing is written if the operations of the batch
+ * fail. The memories are then written one after the other, without a transaction: if writing one of them fails, the
+ * ones written before it are kept and the ones after it are not written.
+ * <p>
+ * Outside of a batch, all the operations go straight to the delegate store. Memory ids are compared using their string
+ * representation, as the remote stores do.
+ */
+public class BatchingChatMemoryStore implements ChatMemoryStore {
+
+    private static final ThreadLocal<Batch> CURRENT_BATCH = new ThreadLocal<>();
+
+    private final ChatMemoryStore delegate;
+
+    public BatchingChatMemoryStore(ChatMemoryStore delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Runs the given operations on chat memories, then writes the last state of the memories they modified. A batch
+     * started while another one is running on the same thread is part of the outer one.
+     * <p>
+     * A failure of the operations, or of the writes to the delegate stores, is thrown to the caller.
+     */
+    public static void batch(Runnable operations) {
+        if (CURRENT_BATCH.get() != null) {
+            operations.run();
+            return;
+        }
+        Batch batch = new Batch();
+        CURRENT_BATCH.set(batch);
+        try {
+            operations.run();
+            batch.flush();
+        } finally {
+            CURRENT_BATCH.remove();
+        }
+    }
+
+    @Override
+    public List<ChatMessage> getMessages(Object memoryId) {
+        Batch batch = CURRENT_BATCH.get();
+        if (batch != null) {
+            PendingWrite write = batch.writes.get(new Key(this, memoryId.toString()));
+            if (write != null) {
+                return write.messages == null ? new ArrayList<>() : new ArrayList<>(write.messages);
+            }
+        }
+        return delegate.getMessages(memoryId);
+    }
+
+    @Override
+    public void updateMessages(Object memoryId, List<ChatMessage> messages) {
+        Batch batch = CURRENT_BATCH.get();
+        if (batch == null) {
+            delegate.updateMessages(memoryId, messages);
+            return;
+        }
+        // the memory may reuse the list it passed
+        batch.writes.put(new Key(this, memoryId.toString()), new PendingWrite(delegate, memoryId, new ArrayList<>(messages)));
+    }
+
+    @Override
+    public void deleteMessages(Object memoryId) {
+        Batch batch = CURRENT_BATCH.get();
+        if (batch == null) {
+            delegate.deleteMessages(memoryId);
+            return;
+        }
+        batch.writes.put(new Key(this, memoryId.toString()), new PendingWrite(delegate, memoryId, null));
+    }
+
+    private static final class Batch {
+
+        // in the order of the first write of each memory
+        private final Map<Key, PendingWrite> writes = new LinkedHashMap<>();
+
+        void flush() {
+            for (PendingWrite write : writes.values()) {
+                if (write.messages == null) {
+                    write.store.deleteMessages(write.memoryId);
+                } else {
+                    write.store.updateMessages(write.memoryId, write.messages);
+                }
+            }
+        }
+    }
+
+    private record Key(BatchingChatMemoryStore store, String memoryId) {
+
+    }
+
+    /**
+     * @param messages the messages to write, or {@code null} if the memory needs to be deleted
+     */
+    private record PendingWrite(ChatMemoryStore store, Object memoryId, List<ChatMessage> messages) {
+
+    }
+}
@@ -0,0 +1,221 @@
+package io.quarkiverse.langchain4j.runtime;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+
+/**
+ * A bounded, local read-through cache in front of a (typically remote) {@link ChatMemoryStore}.
+ * <p>
+ * A single AI service invocation reads the memory several times, so serving these reads locally avoids a network round
+ * trip and the deserialization of the whole conversation each time. Updates are written through to the delegate
+ * store, and then cached. The updates of a given memory are written one at a time, so that the cached messages are
+ * the ones of the latest write to the delegate.
+ * <p>
+ * Entries are evicted in LRU order once the maximum number of cached memories is reached, and expire after a fixed
+ * amount of time since they were loaded or updated. This bounds how stale an entry can be when the same memory is
+ * modified by another instance of the application, unless the store notifies the cache using
+ * {@link #invalidate(Object)}.
+ * <p>
+ * Memory ids are compared using their string representation, as the remote stores do.
+ */
+public class CachingChatMemoryStore implements ChatMemoryStore {
+
+    private final ChatMemoryStore delegate;
+    private final int maxSize;
+    private final long expireAfterWriteNanos;
+
+    // guarded by itself, in access order so that the eldest entry is the least recently used one
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // guarded by entries, the memories being loaded from the delegate, so that a load that raced with a modification of
+    // its memory is not cached
+    private final HashMap<String, Load> loads = new HashMap<>();
+    // guarded by entries, the memories being written to the delegate
+    private final HashMap<String, Write> writes = new HashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public CachingChatMemoryStore(ChatMemoryStore delegate, int maxSize, Duration expireAfterWrite) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("The maximum size of the chat memory cache must be strictly positive");
+        }
+        this.delegate = delegate;
+        this.maxSize = maxSize;
+        this.expireAfterWriteNanos = expireAfterWrite.toNanos();
+    }
+
+    @Override
+    public List<ChatMessage> getMessages(Object memoryId) {
+        String key = memoryId.toString();
+        long loadedAt = System.nanoTime();
+        Load load;
+        long modificationsBeforeLoad;
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (loadedAt - entry.writtenAt < expireAfterWriteNanos) {
+                    hits.incrementAndGet();
+                    return new ArrayList<>(entry.messages);
+                }
+                entries.remove(key);
+                evictions.incrementAndGet();
+            }
+            load = loads.computeIfAbsent(key, k -> new Load());
+            load.loaders++;
+            modificationsBeforeLoad = load.modifications;
+        }
+        misses.incrementAndGet();
+        List<ChatMessage> messages = null;
+        try {
+            messages = delegate.getMessages(memoryId);
+            return messages;
+        } finally {
+            synchronized (entries) {
+                if (messages != null && load.modifications == modificationsBeforeLoad) {
+                    put(key, messages, loadedAt);
+                }
+                if (--load.loaders == 0) {
+                    loads.remove(key);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void updateMessages(Object memoryId, List<ChatMessage> messages) {
+        writeThrough(memoryId, () -> delegate.updateMessages(memoryId, messages), messages);
+    }
+
+    @Override
+    public void deleteMessages(Object memoryId) {
+        // memories are typically cleared right before being written again
+        writeThrough(memoryId, () -> delegate.deleteMessages(memoryId), List.of());
+    }
+
+    /**
+     * Runs the write to the delegate and caches the resulting messages while holding the write lock of the memory, as
+     * two concurrent writes could otherwise reach the delegate and the cache in different orders.
+     */
+    private void writeThrough(Object memoryId, Runnable write, List<ChatMessage> messages) {
+        String key = memoryId.toString();
+        Write lock;
+        synchronized (entries) {
+            lock = writes.computeIfAbsent(key, k -> new Write());
+            lock.writers++;
+        }
+        lock.lock();
+        try {
+            try {
+                write.run();
+            } catch (RuntimeException e) {
+                // the state of the delegate is unknown
+                invalidate(key);
+                throw e;
+            }
+            synchronized (entries) {
+                modified(key);
+                put(key, messages, System.nanoTime());
+            }
+        } finally {
+            lock.unlock();
+            synchronized (entries) {
+                if (--lock.writers == 0) {
+                    writes.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the cached messages of a memory, typically because it has been modified by another instance of the
+     * application.
+     */
+    public void invalidate(Object memoryId) {
+        String key = memoryId.toString();
+        synchronized (entries) {
+            modified(key);
+            entries.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            for (Load load : loads.values()) {
+                load.modifications++;
+            }
+            entries.clear();
+        }
+    }
+
+    // called while holding the lock on entries
+    private void modified(String key) {
+        Load load = loads.get(key);
+        if (load != null) {
+            load.modifications++;
+        }
+    }
+
+    private void put(String key, List<ChatMessage> messages, long writtenAt) {
+        entries.put(key, new Entry(List.copyOf(messages), writtenAt));
+        if (entries.size() > maxSize) {
+            Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+            it.next();
+            it.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    public long hitCount() {
+        return hits.get();
+    }
+
+    public long missCount() {
+        return misses.get();
+    }
+
+    public long evictionCount() {
+        return evictions.get();
+    }
+
+    /**
+     * @return the ratio of reads served from the cache, or {@code NaN} if there has not been any read yet
+     */
+    public double hitRatio() {
+        long hits = hitCount();
+        long requests = hits + missCount();
+        return requests == 0 ? Double.NaN : (double) hits / requests;
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private record Entry(List<ChatMessage> messages, long writtenAt) {
+
+    }
+
+    private static final class Load {
+
+        int loaders;
+        long modifications;
+    }
+
+    private static final class Write extends ReentrantLock {
+
+        // guarded by entries
+        int writers;
+    }
+}
@@ -0,0 +1,34 @@
+package io.quarkiverse.langchain4j.runtime;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+
+/**
+ * Exposes the statistics of a {@link CachingChatMemoryStore} through Micrometer
+ */
+final class CachingChatMemoryStoreMetrics {
+
+    private CachingChatMemoryStoreMetrics() {
+    }
+
+    static void register(CachingChatMemoryStore cache) {
+        FunctionCounter.builder("langchain4j.chat.memory.cache.requests", cache, CachingChatMemoryStore::hitCount)
+                .description("Number of chat memory reads, by whether they were served from the cache")
+                .tag("result", "hit")
+                .register(Metrics.globalRegistry);
+        FunctionCounter.builder("langchain4j.chat.memory.cache.requests", cache, CachingChatMemoryStore::missCount)
+                .description("Number of chat memory reads, by whether they were served from the cache")
+                .tag("result", "miss")
+                .register(Metrics.globalRegistry);
+        FunctionCounter.builder("langchain4j.chat.memory.cache.evictions", cache, CachingChatMemoryStore::evictionCount)
+                .description("Number of chat memories evicted from the cache because of its size or their age")
+                .register(Metrics.globalRegistry);
+        Gauge.builder("langchain4j.chat.memory.cache.hit.ratio", cache, CachingChatMemoryStore::hitRatio)
+                .description("Ratio of chat memory reads served from the cache")
+                .register(Metrics.globalRegistry);
+        Gauge.builder("langchain4j.chat.memory.cache.size", cache, CachingChatMemoryStore::size)
+                .description("Number of chat memories held in the cache")
+                .register(Metrics.globalRegistry);
+    }
+}
@@ -0,0 +1,105 @@
+package io.quarkiverse.langchain4j.runtime;
+
+import java.util.List;
+import java.util.function.BiPredicate;
+
+/**
+ * Describes how the messages persisted by an append-oriented chat memory store must be changed so that they match the
+ * messages passed to {@code ChatMemoryStore#updateMessages}, without rewriting the messages that are already stored.
+ * <p>
+ * Chat memories only evict their oldest messages (possibly keeping the system message in first position) and append
+ * new messages at the end, so the updated list is always the stored list where:
+ * <ol>
+ * <li>the first {@link #keptHead()} messages are kept,</li>
+ * <li>the next {@link #removed()} messages are removed,</li>
+ * <li>the remaining stored messages are kept,</li>
+ * <li>the messages of the updated list starting at {@link #appendedFrom()} are appended.</li>
+ * </ol>
+ * A delta always exists, as in the worst case all the stored messages are removed and all the messages are appended.
+ *
+ * @param keptHead the number of messages at the start of the stored list that are kept in place, either 0 or 1
+ * @param removed the number of messages that are removed right after the kept head
+ * @param appendedFrom the index of the first message of the updated list that needs to be appended
+ */
+public record ChatMemoryDelta(int keptHead, int removed, int appendedFrom) {
+
+    /**
+     * Computes the delta requiring the fewest messages to be written, in a time linear in the number of messages.
+     *
+     * @param stored the messages that are currently persisted, in their serialized form
+     * @param updated the messages that need to be persisted, in their serialized form
+     * @param equality how to compare serialized messages
+     */
+    public static <T> ChatMemoryDelta compute(List<? extends T> stored, List<? extends T> updated,
+            BiPredicate<? super T, ? super T> equality) {
+        ChatMemoryDelta best = null;
+        int bestWrites = Integer.MAX_VALUE;
+        for (int keptHead = 0; keptHead <= 1; keptHead++) {
+            if (keptHead == 1 && (stored.isEmpty() || updated.isEmpty()
+                    || !equality.test(stored.get(0), updated.get(0)))) {
+                break;
+            }
+            // keep as many of the stored messages as possible
+            int kept = longestSuffixPrefix(stored.subList(keptHead, stored.size()),
+                    updated.subList(keptHead, updated.size()), equality);
+            int removed = stored.size() - keptHead - kept;
+            int appendedFrom = keptHead + kept;
+            // a kept head that is not at the start of the list anymore needs to be written again
+            int writes = updated.size() - appendedFrom + (keptHead == 1 && removed > 0 ? 1 : 0);
+            if (writes < bestWrites) {
+                best = new ChatMemoryDelta(keptHead, removed, appendedFrom);
+                bestWrites = writes;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the length of the longest suffix of {@code stored} which is a prefix of {@code updated}, by running the
+     * Knuth-Morris-Pratt matcher of {@code updated} over {@code stored}.
+     */
+    private static <T> int longestSuffixPrefix(List<? extends T> stored, List<? extends T> updated,
+            BiPredicate<? super T, ? super T> equality) {
+        if (updated.isEmpty()) {
+            return 0;
+        }
+        // failure[i] is the length of the longest proper prefix of updated[0..i] which is also a suffix of it
+        int[] failure = new int[updated.size()];
+        for (int i = 1, length = 0; i < updated.size(); i++) {
+            while (length > 0 && !equality.test(updated.get(i), updated.get(length))) {
+                length = failure[length - 1];
+            }
+            if (equality.test(updated.get(i), updated.get(length))) {
+                length++;
+            }
+            failure[i] = length;
+        }
+        int matched = 0;
+        for (T message : stored) {
+            if (matched == updated.size()) {
+                matched = failure[matched - 1];
+            }
+            while (matched > 0 && !equality.test(message, updated.get(matched))) {
+                matched = failure[matched - 1];
+            }
+            if (equality.test(message, updated.get(matched))) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * @return the number of stored messages that are kept after the removed ones
+     */
+    public int keptTail(int storedSize) {
+        return storedSize - keptHead - removed;
+    }
+
+    /**
+     * @return {@code true} if nothing needs to be written
+     */
+    public boolean isEmpty(int updatedSize) {
+        return removed == 0 && appendedFrom == updatedSize;
+    }
+}
@@ -21,11 +21,28 @@ public class ChatMemoryRecorder {
         this.config = config;
     }
 
+    public Function<SyntheticCreationalContext<CachingChatMemoryStore>, CachingChatMemoryStore> cachingStore(
+            boolean metricsEnabled) {
+        return new Function<>() {
+            @Override
+            public CachingChatMemoryStore apply(SyntheticCreationalContext<CachingChatMemoryStore> context) {
+                ChatMemoryConfig.Cache cacheConfig = config.getValue().cache();
+                CachingChatMemoryStore cache = new CachingChatMemoryStore(
+                        context.getInjectedReference(ChatMemoryStore.class), cacheConfig.maxSize(),
+                        cacheConfig.expireAfterWrite());
+                if (metricsEnabled && cacheConfig.enabled()) {
+                    CachingChatMemoryStoreMetrics.register(cache);
+                }
+                return cache;
+            }
+        };
+    }
+
     public Function<SyntheticCreationalContext<ChatMemoryProvider>, ChatMemoryProvider> messageWindow() {
         return new Function<>() {
             @Override
             public ChatMemoryProvider apply(SyntheticCreationalContext<ChatMemoryProvider> context) {
-                ChatMemoryStore chatMemoryStore = context.getInjectedReference(ChatMemoryStore.class);
+                ChatMemoryStore chatMemoryStore = chatMemoryStore(context);
                 int maxMessages = config.getValue().memoryWindow().maxMessages();
                 return new ChatMemoryProvider() {
                     @Override
@@ -45,7 +62,7 @@ public class ChatMemoryRecorder {
         return new Function<>() {
             @Override
             public ChatMemoryProvider apply(SyntheticCreationalContext<ChatMemoryProvider> context) {
-                ChatMemoryStore chatMemoryStore = context.getInjectedReference(ChatMemoryStore.class);
+                ChatMemoryStore chatMemoryStore = chatMemoryStore(context);
                 TokenCountEstimator tokenizer = context.getInjectedReference(TokenCountEstimator.class);
                 int maxTokens = config.getValue().tokenWindow().maxTokens();
                 return new ChatMemoryProvider() {
@@ -61,4 +78,12 @@ public class ChatMemoryRecorder {
             }
         };
     }
+
+    private ChatMemoryStore chatMemoryStore(SyntheticCreationalContext<ChatMemoryProvider> context) {
+        // the memories of an AI service invocation are committed in a batch, so that they are only written once
+        if (config.getValue().cache().enabled()) {
+            return new BatchingChatMemoryStore(context.getInjectedReference(CachingChatMemoryStore.class));
+        }
+        return new BatchingChatMemoryStore(context.getInjectedReference(ChatMemoryStore.class));
+    }
 }
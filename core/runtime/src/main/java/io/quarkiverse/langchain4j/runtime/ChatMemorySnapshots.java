@@ -0,0 +1,65 @@
+package io.quarkiverse.langchain4j.runtime;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The serialized messages that an append-oriented chat memory store last read or wrote, along with the version they
+ * had in the store.
+ * <p>
+ * A store which finds that a memory still has the version of its snapshot can compute the {@link ChatMemoryDelta delta}
+ * of an update against the snapshot, instead of reading all the stored messages again. The snapshots of the least
+ * recently used memories are dropped once the maximum number of snapshots is reached.
+ *
+ * @param <T> the serialized form of a message
+ */
+public class ChatMemorySnapshots<T> {
+
+    private final int maxSize;
+
+    // guarded by itself, in access order so that the eldest entry is the least recently used one
+    private final LinkedHashMap<String, Snapshot<T>> snapshots = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Snapshot<T>> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    public ChatMemorySnapshots(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("The maximum number of chat memory snapshots must be strictly positive");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return the snapshot of the memory, or {@code null} if there is none
+     */
+    public Snapshot<T> get(String key) {
+        synchronized (snapshots) {
+            return snapshots.get(key);
+        }
+    }
+
+    public void put(String key, long version, List<T> messages) {
+        Snapshot<T> snapshot = new Snapshot<>(version, List.copyOf(messages));
+        synchronized (snapshots) {
+            snapshots.put(key, snapshot);
+        }
+    }
+
+    public void remove(String key) {
+        synchronized (snapshots) {
+            snapshots.remove(key);
+        }
+    }
+
+    /**
+     * @param version the version of the memory in the store when the messages were read or written
+     * @param messages the serialized messages of the memory
+     */
+    public record Snapshot<T>(long version, List<T> messages) {
+
+    }
+}
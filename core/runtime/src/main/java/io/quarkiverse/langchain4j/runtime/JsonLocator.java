@@ -0,0 +1,139 @@
+package io.quarkiverse.langchain4j.runtime;
+
+import java.io.Reader;
+
+/**
+ * Locates the JSON object or array in the output of a model, which often wraps it in some prose or in a Markdown code
+ * block, in linear time and without copying the output.
+ * <p>
+ * The JSON value starts at the first opening curly bracket followed, somewhere in the output, by a closing one, or at
+ * the first opening square bracket followed by a closing one, whichever comes first. It ends with the bracket balancing
+ * the first one, brackets within string literals being ignored. When the brackets are not balanced, for example
+ * because the output was truncated, the value ends with the last closing bracket of the output, and it is up to the
+ * parser to report the error.
+ */
+public final class JsonLocator {
+
+    private JsonLocator() {
+    }
+
+    /**
+     * @param text the output of a model
+     * @return the index of the first character of the JSON value, or {@code -1} if there is no object or array
+     */
+    public static int start(String text) {
+        int start = -1;
+        // if the first opening bracket is not followed by a closing one, none of the next ones is
+        int brace = text.indexOf('{');
+        if (brace >= 0 && brace < text.lastIndexOf('}')) {
+            start = brace;
+        }
+        int bracket = text.indexOf('[');
+        if (bracket >= 0 && (start < 0 || bracket < start) && bracket < text.lastIndexOf(']')) {
+            start = bracket;
+        }
+        return start;
+    }
+
+    /**
+     * @param text the output of a model
+     * @param start the index returned by {@link #start(String)}
+     * @return the index following the last character of the JSON value
+     */
+    public static int end(String text, int start) {
+        int depth = 0;
+        int length = text.length();
+        for (int i = start; i < length; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                // single quoted strings are only valid when the parser is lenient, but never appear outside strings otherwise
+                case '"', '\'' -> {
+                    i = endOfString(text, c, i + 1);
+                    if (i < 0) {
+                        return text.lastIndexOf(text.charAt(start) == '{' ? '}' : ']') + 1;
+                    }
+                }
+                case '{', '[' -> depth++;
+                case '}', ']' -> {
+                    if (--depth == 0) {
+                        return i + 1;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        return text.lastIndexOf(text.charAt(start) == '{' ? '}' : ']') + 1;
+    }
+
+    /**
+     * @return the index of the quote closing the string literal starting at {@code from}, or {@code -1}
+     */
+    private static int endOfString(String text, char quote, int from) {
+        // most of the characters of a JSON document are in string literals, jumping to the next quote is much faster
+        // than checking them one by one
+        int i = from;
+        while (true) {
+            int closing = text.indexOf(quote, i);
+            if (closing < 0) {
+                return -1;
+            }
+            int backslashes = 0;
+            while (closing - backslashes - 1 >= from && text.charAt(closing - backslashes - 1) == '\\') {
+                backslashes++;
+            }
+            if (backslashes % 2 == 0) {
+                return closing;
+            }
+            i = closing + 1;
+        }
+    }
+
+    /**
+     * Returns a reader of a range of a string, which avoids copying it into a substring before parsing it.
+     *
+     * @param text the string
+     * @param start the index of the first character to read
+     * @param end the index following the last character to read
+     * @return the reader
+     */
+    public static Reader reader(String text, int start, int end) {
+        return new RangeReader(text, start, end);
+    }
+
+    private static final class RangeReader extends Reader {
+
+        private final String text;
+        private final int end;
+        private int position;
+
+        private RangeReader(String text, int start, int end) {
+            this.text = text;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read() {
+            return position < end ? text.charAt(position++) : -1;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (position >= end) {
+                return -1;
+            }
+            int count = Math.min(length, end - position);
+            text.getChars(position, position + count, buffer, offset);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package io.quarkiverse.langchain4j.runtime;
 
 import io.quarkiverse.langchain4j.QuarkusPromptTemplateFactory;
+import io.quarkiverse.langchain4j.runtime.aiservice.AuditEvents;
+import io.quarkiverse.langchain4j.runtime.aiservice.QuarkusAiServiceTokenStream;
 import io.quarkus.runtime.ShutdownContext;
 import io.quarkus.runtime.annotations.Recorder;
 
@@ -15,6 +17,8 @@ public class LangChain4jRecorder {
                 QuarkusPromptTemplateFactory.clear();
                 AiServicesRecorder.clearMetadata();
                 ToolsRecorder.clearMetadata();
+                AuditEvents.clear();
+                QuarkusAiServiceTokenStream.clear();
             }
         });
     }
@@ -6,6 +6,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import jakarta.enterprise.util.AnnotationLiteral;
@@ -14,6 +15,7 @@ import org.eclipse.microprofile.config.ConfigProvider;
 
 import dev.langchain4j.agent.tool.ToolSpecification;
 import dev.langchain4j.model.chat.request.json.JsonSchema;
+import dev.langchain4j.model.input.PromptTemplate;
 import dev.langchain4j.service.tool.ToolExecutor;
 import io.quarkiverse.langchain4j.guardrails.InputGuardrailsLiteral;
 import io.quarkiverse.langchain4j.guardrails.OutputGuardrailsLiteral;
@@ -66,6 +68,10 @@ public final class AiServiceMethodCreateInfo {
     // these are populated when the AiService method is first called which can happen on any thread
     private transient final List<ToolSpecification> toolSpecifications = new CopyOnWriteArrayList<>();
     private transient final Map<String, ToolExecutor> toolExecutors = new ConcurrentHashMap<>();
+    // the parsed templates of the annotations of the method, the response schema may be appended to the user message
+    private transient final Map<String, PromptTemplate> promptTemplates = new ConcurrentHashMap<>();
+    // the tools of the method merged with the ones of a versioned tool provider, replaced when its tools change
+    private transient volatile ProvidedTools providedTools;
 
     // Don't cache the instances, because of scope issues (some will need to be re-queried)
     /**
@@ -212,6 +218,31 @@ public final class AiServiceMethodCreateInfo {
         return toolExecutors;
     }
 
+    /**
+     * Returns the parsed form of a template of the {@code @SystemMessage} or {@code @UserMessage} annotations of the
+     * method. Such a template never changes, so it is only parsed the first time it is used.
+     */
+    public PromptTemplate getPromptTemplate(String text) {
+        PromptTemplate template = promptTemplates.get(text);
+        if (template == null) {
+            template = promptTemplates.computeIfAbsent(text, new Function<String, PromptTemplate>() {
+                @Override
+                public PromptTemplate apply(String text) {
+                    return PromptTemplate.from(text);
+                }
+            });
+        }
+        return template;
+    }
+
+    ProvidedTools getProvidedTools() {
+        return providedTools;
+    }
+
+    void setProvidedTools(ProvidedTools providedTools) {
+        this.providedTools = providedTools;
+    }
+
     /**
      * @deprecated Will go away once the Quarkus-specific guardrail implementation has been fully removed
      */
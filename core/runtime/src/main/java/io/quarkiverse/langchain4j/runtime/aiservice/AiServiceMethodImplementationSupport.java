@@ -25,14 +25,14 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Flow;
 import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
-import jakarta.enterprise.inject.spi.BeanManager;
-
 import org.eclipse.microprofile.config.ConfigProvider;
 import org.jboss.logging.Logger;
 
@@ -78,15 +78,10 @@ import dev.langchain4j.service.Result;
 import dev.langchain4j.service.output.ServiceOutputParser;
 import dev.langchain4j.service.tool.ToolErrorHandlerResult;
 import dev.langchain4j.service.tool.ToolExecutor;
+import dev.langchain4j.service.tool.ToolProvider;
 import dev.langchain4j.service.tool.ToolProviderRequest;
-import dev.langchain4j.service.tool.ToolProviderResult;
 import dev.langchain4j.spi.ServiceHelper;
 import io.quarkiverse.langchain4j.audit.AuditSourceInfo;
-import io.quarkiverse.langchain4j.audit.InitialMessagesCreatedEvent;
-import io.quarkiverse.langchain4j.audit.LLMInteractionCompleteEvent;
-import io.quarkiverse.langchain4j.audit.LLMInteractionFailureEvent;
-import io.quarkiverse.langchain4j.audit.ResponseFromLLMReceivedEvent;
-import io.quarkiverse.langchain4j.audit.ToolExecutedEvent;
 import io.quarkiverse.langchain4j.audit.internal.DefaultInitialMessagesCreatedEvent;
 import io.quarkiverse.langchain4j.audit.internal.DefaultLLMInteractionCompleteEvent;
 import io.quarkiverse.langchain4j.audit.internal.DefaultLLMInteractionFailureEvent;
@@ -94,15 +89,21 @@ import io.quarkiverse.langchain4j.audit.internal.DefaultResponseFromLLMReceivedE
 import io.quarkiverse.langchain4j.audit.internal.DefaultToolExecutedEvent;
 import io.quarkiverse.langchain4j.guardrails.OutputGuardrailParams;
 import io.quarkiverse.langchain4j.guardrails.OutputGuardrailResult;
+import io.quarkiverse.langchain4j.moderation.AsyncModerationModel;
 import io.quarkiverse.langchain4j.response.ResponseAugmenterParams;
 import io.quarkiverse.langchain4j.runtime.ContextLocals;
 import io.quarkiverse.langchain4j.runtime.QuarkusServiceOutputParser;
 import io.quarkiverse.langchain4j.runtime.ResponseSchemaUtil;
 import io.quarkiverse.langchain4j.runtime.aiservice.GuardrailsSupport.GuardrailRetryException;
 import io.quarkiverse.langchain4j.runtime.aiservice.GuardrailsSupport.OutputGuardrailStreamingMapper;
+import io.quarkiverse.langchain4j.runtime.tool.QuarkusToolExecutor;
 import io.quarkiverse.langchain4j.runtime.types.TypeUtil;
 import io.quarkiverse.langchain4j.spi.DefaultMemoryIdProvider;
 import io.quarkus.arc.Arc;
+import io.quarkus.arc.ClientProxy;
+import io.quarkus.arc.InjectableContext;
+import io.quarkus.arc.ManagedContext;
+import io.quarkus.virtual.threads.VirtualThreadsRecorder;
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.infrastructure.Infrastructure;
 import io.vertx.core.Context;
@@ -147,20 +148,22 @@ public class AiServiceMethodImplementationSupport {
         AiServiceMethodCreateInfo createInfo = input.createInfo;
         Object[] methodArgs = input.methodArgs;
 
-        var auditSourceInfo = new AuditSourceInfoImpl(createInfo, methodArgs);
-        var beanManager = Arc.container().beanManager();
+        // only needed by the audit events, and not created when none is observed as its random id is not cheap
+        var auditSourceInfo = AuditEvents.anyObserved() ? new AuditSourceInfoImpl(createInfo, methodArgs) : null;
 
         // TODO: add validation
         try {
             var result = doImplement(createInfo, methodArgs, context, auditSourceInfo);
 
-            beanManager.getEvent().select(LLMInteractionCompleteEvent.class)
-                    .fire(new DefaultLLMInteractionCompleteEvent(auditSourceInfo, result));
+            if (AuditEvents.LLM_INTERACTION_COMPLETE.isObserved()) {
+                AuditEvents.LLM_INTERACTION_COMPLETE.fire(new DefaultLLMInteractionCompleteEvent(auditSourceInfo, result));
+            }
 
             return result;
         } catch (Exception e) {
-            beanManager.getEvent().select(LLMInteractionFailureEvent.class)
-                    .fire(new DefaultLLMInteractionFailureEvent(auditSourceInfo, e));
+            if (AuditEvents.LLM_INTERACTION_FAILURE.isObserved()) {
+                AuditEvents.LLM_INTERACTION_FAILURE.fire(new DefaultLLMInteractionFailureEvent(auditSourceInfo, e));
+            }
 
             throw e;
         }
@@ -187,9 +190,10 @@ public class AiServiceMethodImplementationSupport {
                     templateVariables, auditSourceInfo);
         }
 
-        var beanManager = Arc.container().beanManager();
-        beanManager.getEvent().select(InitialMessagesCreatedEvent.class)
-                .fire(new DefaultInitialMessagesCreatedEvent(auditSourceInfo, systemMessage, userMessage));
+        if (AuditEvents.INITIAL_MESSAGES_CREATED.isObserved()) {
+            AuditEvents.INITIAL_MESSAGES_CREATED
+                    .fire(new DefaultInitialMessagesCreatedEvent(auditSourceInfo, systemMessage, userMessage));
+        }
 
         boolean needsMemorySeed = needsMemorySeed(context, memoryId); // we need to know figure this out before we add the system and user message
 
@@ -201,15 +205,10 @@ public class AiServiceMethodImplementationSupport {
                 : context.toolService.toolExecutors();
 
         if (context.toolService.toolProvider() != null) {
-            toolSpecifications = toolSpecifications != null ? new ArrayList<>(toolSpecifications) : new ArrayList<>();
-            toolExecutors = toolExecutors != null ? new HashMap<>(toolExecutors) : new HashMap<>();
-            ToolProviderRequest request = new QuarkusToolProviderRequest(memoryId, userMessage,
-                    methodCreateInfo.getMcpClientNames());
-            ToolProviderResult result = context.toolService.toolProvider().provideTools(request);
-            for (ToolSpecification specification : result.tools().keySet()) {
-                toolSpecifications.add(specification);
-                toolExecutors.put(specification.name(), result.tools().get(specification));
-            }
+            ProvidedTools providedTools = provideTools(context.toolService.toolProvider(), methodCreateInfo, memoryId,
+                    userMessage, toolSpecifications, toolExecutors);
+            toolSpecifications = providedTools.toolSpecifications();
+            toolExecutors = providedTools.toolExecutors();
         }
         List<ToolSpecification> effectiveToolSpecifications = toolSpecifications;
         Map<String, ToolExecutor> finalToolExecutors = toolExecutors;
@@ -247,7 +246,7 @@ public class AiServiceMethodImplementationSupport {
                                  */
                                 UserMessage guardrailsMessage = GuardrailsSupport.invokeInputGuardRails(methodCreateInfo,
                                         (UserMessage) augmentedUserMessage,
-                                        memory, ar, templateVariables, beanManager, auditSourceInfo);
+                                        memory, ar, templateVariables, auditSourceInfo);
                                 guardrailsMessage = GuardrailsSupport.executeInputGuardrails(context.guardrailService(),
                                         guardrailsMessage,
                                         methodCreateInfo, memory, ar, templateVariables);
@@ -289,7 +288,7 @@ public class AiServiceMethodImplementationSupport {
          * @deprecated Deprecated in favor of upstream implementation
          */
         userMessage = GuardrailsSupport.invokeInputGuardRails(methodCreateInfo, userMessage, chatMemory, augmentationResult,
-                templateVariables, beanManager, auditSourceInfo);
+                templateVariables, auditSourceInfo);
 
         userMessage = GuardrailsSupport.executeInputGuardrails(guardrailService, userMessage, methodCreateInfo, chatMemory,
                 augmentationResult, templateVariables);
@@ -363,7 +362,7 @@ public class AiServiceMethodImplementationSupport {
                                             actualAugmentationResult,
                                             methodCreateInfo.getUserMessageTemplate(),
                                             Collections.unmodifiableMap(templateVariables)),
-                                    beanManager, auditSourceInfo);
+                                    auditSourceInfo);
                         } catch (Exception e) {
                             throw new GuardrailException(e.getMessage(), e);
                         }
@@ -444,8 +443,9 @@ public class AiServiceMethodImplementationSupport {
 
         log.debug("AI response obtained");
 
-        beanManager.getEvent().select(ResponseFromLLMReceivedEvent.class)
-                .fire(new DefaultResponseFromLLMReceivedEvent(auditSourceInfo, response));
+        if (AuditEvents.RESPONSE_FROM_LLM_RECEIVED.isObserved()) {
+            AuditEvents.RESPONSE_FROM_LLM_RECEIVED.fire(new DefaultResponseFromLLMReceivedEvent(auditSourceInfo, response));
+        }
 
         TokenUsage tokenUsageAccumulator = response.tokenUsage();
 
@@ -468,15 +468,22 @@ public class AiServiceMethodImplementationSupport {
                 break;
             }
 
-            for (ToolExecutionRequest toolExecutionRequest : aiMessage.toolExecutionRequests()) {
-                log.debugv("Attempting to execute tool {0}", toolExecutionRequest);
-                ToolExecutor toolExecutor = toolExecutors.get(toolExecutionRequest.name());
+            if ((context.toolService.executor() != null) && (aiMessage.toolExecutionRequests().size() > 1)) {
+                for (ToolExecutionResultMessage toolExecutionResultMessage : executeToolsConcurrently(context,
+                        auditSourceInfo, aiMessage.toolExecutionRequests(), toolExecutors, memoryId)) {
+                    committableChatMemory.add(toolExecutionResultMessage);
+                }
+            } else {
+                for (ToolExecutionRequest toolExecutionRequest : aiMessage.toolExecutionRequests()) {
+                    log.debugv("Attempting to execute tool {0}", toolExecutionRequest);
+                    ToolExecutor toolExecutor = toolExecutors.get(toolExecutionRequest.name());
 
-                ToolExecutionResultMessage toolExecutionResultMessage = toolExecutor == null
-                        ? context.toolService.applyToolHallucinationStrategy(toolExecutionRequest)
-                        : executeTool(auditSourceInfo, toolExecutionRequest, toolExecutor, memoryId, beanManager);
+                    ToolExecutionResultMessage toolExecutionResultMessage = toolExecutor == null
+                            ? context.toolService.applyToolHallucinationStrategy(toolExecutionRequest)
+                            : executeTool(auditSourceInfo, toolExecutionRequest, toolExecutor, memoryId);
 
-                committableChatMemory.add(toolExecutionResultMessage);
+                    committableChatMemory.add(toolExecutionResultMessage);
+                }
             }
 
             log.debug("Attempting to obtain AI response");
@@ -509,8 +516,10 @@ public class AiServiceMethodImplementationSupport {
             response = effectiveChatModel.chat(chatRequestBuilder.parameters(parametersBuilder.build()).build());
             log.debug("AI response obtained");
 
-            beanManager.getEvent().select(ResponseFromLLMReceivedEvent.class)
-                    .fire(new DefaultResponseFromLLMReceivedEvent(auditSourceInfo, response));
+            if (AuditEvents.RESPONSE_FROM_LLM_RECEIVED.isObserved()) {
+                AuditEvents.RESPONSE_FROM_LLM_RECEIVED
+                        .fire(new DefaultResponseFromLLMReceivedEvent(auditSourceInfo, response));
+            }
 
             tokenUsageAccumulator = sum(tokenUsageAccumulator, response.tokenUsage());
         }
@@ -526,7 +535,7 @@ public class AiServiceMethodImplementationSupport {
                 toolSpecifications,
                 new OutputGuardrailParams(response.aiMessage(), committableChatMemory, augmentationResult, userMessageTemplate,
                         Collections.unmodifiableMap(templateVariables)),
-                beanManager, auditSourceInfo);
+                auditSourceInfo);
 
         response = guardrailResponse.response();
         Object guardrailResult = guardrailResponse
@@ -568,18 +577,101 @@ public class AiServiceMethodImplementationSupport {
     }
 
     private static ToolExecutionResultMessage executeTool(AuditSourceInfo auditSourceInfo,
-            ToolExecutionRequest toolExecutionRequest, ToolExecutor toolExecutor, Object memoryId,
-            BeanManager beanManager) {
+            ToolExecutionRequest toolExecutionRequest, ToolExecutor toolExecutor, Object memoryId) {
         String toolExecutionResult = toolExecutor.execute(toolExecutionRequest, memoryId);
         log.debugv("Result of {0} is '{1}'", toolExecutionRequest, toolExecutionResult);
         ToolExecutionResultMessage toolExecutionResultMessage = ToolExecutionResultMessage.from(
                 toolExecutionRequest,
                 toolExecutionResult);
-        beanManager.getEvent().select(ToolExecutedEvent.class)
-                .fire(new DefaultToolExecutedEvent(auditSourceInfo, toolExecutionRequest, toolExecutionResult));
+        if (AuditEvents.TOOL_EXECUTED.isObserved()) {
+            AuditEvents.TOOL_EXECUTED
+                    .fire(new DefaultToolExecutedEvent(auditSourceInfo, toolExecutionRequest, toolExecutionResult));
+        }
         return toolExecutionResultMessage;
     }
 
+    /**
+     * Executes the requested tools concurrently and returns their results in the order in which they were requested.
+     * Non-blocking tools are executed on the caller thread once all the other tools have been dispatched.
+     */
+    private static List<ToolExecutionResultMessage> executeToolsConcurrently(QuarkusAiServiceContext context,
+            AuditSourceInfo auditSourceInfo, List<ToolExecutionRequest> toolExecutionRequests,
+            Map<String, ToolExecutor> toolExecutors, Object memoryId) {
+        ManagedContext requestContext = Arc.container().requestContext();
+        InjectableContext.ContextState requestContextState = requestContext.getStateIfActive();
+
+        int size = toolExecutionRequests.size();
+        List<CompletableFuture<ToolExecutionResultMessage>> futures = new ArrayList<>(Collections.nCopies(size, null));
+        for (int i = 0; i < size; i++) {
+            ToolExecutionRequest toolExecutionRequest = toolExecutionRequests.get(i);
+            ToolExecutor toolExecutor = toolExecutors.get(toolExecutionRequest.name());
+            if (toolExecutor == null) {
+                futures.set(i, CompletableFuture.completedFuture(
+                        context.toolService.applyToolHallucinationStrategy(toolExecutionRequest)));
+                continue;
+            }
+            Executor executor = toolExecutionExecutor(context, toolExecutor);
+            if (executor == null) {
+                continue;
+            }
+            log.debugv("Dispatching execution of tool {0}", toolExecutionRequest);
+            futures.set(i, CompletableFuture.supplyAsync(new Supplier<>() {
+                @Override
+                public ToolExecutionResultMessage get() {
+                    if (requestContextState == null) {
+                        return executeTool(auditSourceInfo, toolExecutionRequest, toolExecutor, memoryId);
+                    }
+                    requestContext.activate(requestContextState);
+                    try {
+                        return executeTool(auditSourceInfo, toolExecutionRequest, toolExecutor, memoryId);
+                    } finally {
+                        requestContext.deactivate();
+                    }
+                }
+            }, executor));
+        }
+
+        List<ToolExecutionResultMessage> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            CompletableFuture<ToolExecutionResultMessage> future = futures.get(i);
+            if (future == null) {
+                ToolExecutionRequest toolExecutionRequest = toolExecutionRequests.get(i);
+                log.debugv("Attempting to execute tool {0}", toolExecutionRequest);
+                result.add(executeTool(auditSourceInfo, toolExecutionRequest, toolExecutors.get(toolExecutionRequest.name()),
+                        memoryId));
+                continue;
+            }
+            try {
+                result.add(future.join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException re) {
+                    throw re;
+                }
+                throw e;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Determines where a tool should be executed when tools are executed concurrently.
+     * A {@code null} result means that the tool should be executed on the caller thread.
+     */
+    private static Executor toolExecutionExecutor(QuarkusAiServiceContext context, ToolExecutor toolExecutor) {
+        if (toolExecutor instanceof QuarkusToolExecutor quarkusToolExecutor) {
+            switch (quarkusToolExecutor.executionModel()) {
+                case NON_BLOCKING:
+                    return null;
+                case VIRTUAL_THREAD:
+                    return VirtualThreadsRecorder.getCurrent();
+                default:
+                    return context.toolService.executor();
+            }
+        }
+        // tools coming from a ToolProvider are assumed to be blocking
+        return context.toolService.executor();
+    }
+
     /**
      * @deprecated Deprecated in favor of upstream implementation
      */
@@ -668,10 +760,10 @@ public class AiServiceMethodImplementationSupport {
             imagePrompt = userMessage.singleText();
         }
 
-        var beanManager = Arc.container().beanManager();
-
-        beanManager.getEvent().select(InitialMessagesCreatedEvent.class)
-                .fire(new DefaultInitialMessagesCreatedEvent(auditSourceInfo, systemMessage, userMessage));
+        if (AuditEvents.INITIAL_MESSAGES_CREATED.isObserved()) {
+            AuditEvents.INITIAL_MESSAGES_CREATED
+                    .fire(new DefaultInitialMessagesCreatedEvent(auditSourceInfo, systemMessage, userMessage));
+        }
 
         // TODO: does it make sense to use the retrievalAugmentor here? What good would be for us telling the LLM to use this or that information to create an
         // image?
@@ -680,12 +772,14 @@ public class AiServiceMethodImplementationSupport {
         // TODO: we can only support input guardrails for now as it is tied to AiMessage
         GuardrailsSupport.invokeInputGuardRails(methodCreateInfo, userMessage,
                 context.hasChatMemory() ? context.chatMemoryService.getChatMemory(memoryId) : null,
-                augmentationResult, templateVariables, beanManager, auditSourceInfo);
+                augmentationResult, templateVariables, auditSourceInfo);
 
         Response<Image> imageResponse = context.imageModel.generate(imagePrompt);
 
-        beanManager.getEvent().select(LLMInteractionCompleteEvent.class)
-                .fire(new DefaultLLMInteractionCompleteEvent(auditSourceInfo, imageResponse.content()));
+        if (AuditEvents.LLM_INTERACTION_COMPLETE.isObserved()) {
+            AuditEvents.LLM_INTERACTION_COMPLETE
+                    .fire(new DefaultLLMInteractionCompleteEvent(auditSourceInfo, imageResponse.content()));
+        }
 
         if (TypeUtil.isImage(returnType)) {
             return imageResponse.content();
@@ -701,6 +795,34 @@ public class AiServiceMethodImplementationSupport {
         }
     }
 
+    /**
+     * Merges the tools of the method with the ones of the tool provider. The tools of a {@link VersionedToolProvider}
+     * are only requested again when their version changes, until then the merged tools are shared by the calls.
+     */
+    private static ProvidedTools provideTools(ToolProvider toolProvider, AiServiceMethodCreateInfo methodCreateInfo,
+            Object memoryId, UserMessage userMessage, List<ToolSpecification> methodToolSpecifications,
+            Map<String, ToolExecutor> methodToolExecutors) {
+        ToolProviderRequest request = new QuarkusToolProviderRequest(memoryId, userMessage,
+                methodCreateInfo.getMcpClientNames());
+        if (!(toolProvider instanceof VersionedToolProvider versionedToolProvider)) {
+            return ProvidedTools.merge(toolProvider, VersionedToolProvider.UNVERSIONED, methodToolSpecifications,
+                    methodToolExecutors, toolProvider.provideTools(request));
+        }
+        // the version is read before the tools, so that tools changing in between are requested again on the next call
+        long version = versionedToolProvider.toolsVersion();
+        ProvidedTools providedTools = methodCreateInfo.getProvidedTools();
+        if (version != VersionedToolProvider.UNVERSIONED && providedTools != null
+                && providedTools.isValid(toolProvider, version, methodToolSpecifications, methodToolExecutors)) {
+            return providedTools;
+        }
+        providedTools = ProvidedTools.merge(toolProvider, version, methodToolSpecifications, methodToolExecutors,
+                toolProvider.provideTools(request));
+        if (version != VersionedToolProvider.UNVERSIONED) {
+            methodCreateInfo.setProvidedTools(providedTools);
+        }
+        return providedTools;
+    }
+
     private static boolean needsMemorySeed(QuarkusAiServiceContext context, Object memoryId) {
         if (context.chatMemorySeeder == null) {
             return false;
@@ -781,7 +903,11 @@ public class AiServiceMethodImplementationSupport {
         if (createInfo.isRequiresModeration()) {
             log.debug("Moderation is required and it will be executed in the background");
 
-            // TODO: don't occupy a worker thread for this and instead use the reactive API provided by the client
+            if (ClientProxy.unwrap(context.moderationModel) instanceof AsyncModerationModel asyncModerationModel) {
+                // the moderation request is in flight while the chat request is being executed and no thread waits for it
+                log.debug("Attempting to moderate messages asynchronously");
+                return asyncModerationModel.moderateAsync(removeToolMessages(messages)).subscribeAsCompletionStage();
+            }
 
             ExecutorService defaultExecutor = (ExecutorService) Infrastructure.getDefaultExecutor();
             moderationFuture = defaultExecutor.submit(new Callable<>() {
@@ -819,7 +945,7 @@ public class AiServiceMethodImplementationSupport {
         templateParams.put(ResponseSchemaUtil.templateParam(),
                 createInfo.getResponseSchemaInfo().outputFormatInstructions());
         templateParams.put("chat_memory", previousChatMessages);
-        Prompt prompt = PromptTemplate.from(systemMessageInfo.text().get()).apply(templateParams);
+        Prompt prompt = createInfo.getPromptTemplate(systemMessageInfo.text().get()).apply(templateParams);
         return Optional.of(prompt.toSystemMessage());
     }
 
@@ -926,7 +1052,10 @@ public class AiServiceMethodImplementationSupport {
                         createInfo.getResponseSchemaInfo().outputFormatInstructions());
             }
 
-            Prompt prompt = PromptTemplate.from(templateText).apply(templateVariables);
+            // only the templates known at build time are cached, the ones passed as a parameter may contain user data
+            PromptTemplate promptTemplate = templateInfo.text().isPresent() ? createInfo.getPromptTemplate(templateText)
+                    : PromptTemplate.from(templateText);
+            Prompt prompt = promptTemplate.apply(templateVariables);
             return createUserMessage(userName, imageContent, audioContent, pdfFileContent, prompt.text());
 
         } else if (userMessageInfo.paramPosition().isPresent()) {
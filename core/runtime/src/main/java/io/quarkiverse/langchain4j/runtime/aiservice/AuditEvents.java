@@ -0,0 +1,174 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import java.util.concurrent.Executor;
+
+import jakarta.enterprise.event.Event;
+
+import org.eclipse.microprofile.config.ConfigProvider;
+
+import io.quarkiverse.langchain4j.audit.InitialMessagesCreatedEvent;
+import io.quarkiverse.langchain4j.audit.InputGuardrailExecutedEvent;
+import io.quarkiverse.langchain4j.audit.LLMInteractionCompleteEvent;
+import io.quarkiverse.langchain4j.audit.LLMInteractionFailureEvent;
+import io.quarkiverse.langchain4j.audit.OutputGuardrailExecutedEvent;
+import io.quarkiverse.langchain4j.audit.ResponseFromLLMReceivedEvent;
+import io.quarkiverse.langchain4j.audit.ToolExecutedEvent;
+import io.quarkiverse.langchain4j.audit.internal.DefaultInitialMessagesCreatedEvent;
+import io.quarkiverse.langchain4j.audit.internal.DefaultInputGuardrailExecutedEvent;
+import io.quarkiverse.langchain4j.audit.internal.DefaultLLMInteractionCompleteEvent;
+import io.quarkiverse.langchain4j.audit.internal.DefaultLLMInteractionFailureEvent;
+import io.quarkiverse.langchain4j.audit.internal.DefaultOutputGuardrailExecutedEvent;
+import io.quarkiverse.langchain4j.audit.internal.DefaultResponseFromLLMReceivedEvent;
+import io.quarkiverse.langchain4j.audit.internal.DefaultToolExecutedEvent;
+import io.quarkiverse.langchain4j.runtime.config.LangChain4jConfig;
+import io.quarkus.arc.Arc;
+import io.smallrye.config.SmallRyeConfig;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+
+/**
+ * The audit events fired during the AI service invocations.
+ * <p>
+ * Most applications observe none or few of them, so whether an event type is observed is resolved once, the first time
+ * an event of this type could be fired, and the callers only create the event when {@link #isObserved()} returns
+ * {@code true}:
+ *
+ * <pre>
+ * if (AuditEvents.TOOL_EXECUTED.isObserved()) {
+ *     AuditEvents.TOOL_EXECUTED.fire(new DefaultToolExecutedEvent(...));
+ * }
+ * </pre>
+ *
+ * When {@code quarkus.langchain4j.audit.async} is enabled, the observed events are queued and delivered, in order, by
+ * worker threads which each deliver a batch of events.
+ */
+public final class AuditEvents<E> {
+
+    static final AuditEvents<InitialMessagesCreatedEvent> INITIAL_MESSAGES_CREATED = new AuditEvents<>(
+            InitialMessagesCreatedEvent.class, DefaultInitialMessagesCreatedEvent.class);
+    static final AuditEvents<ResponseFromLLMReceivedEvent> RESPONSE_FROM_LLM_RECEIVED = new AuditEvents<>(
+            ResponseFromLLMReceivedEvent.class, DefaultResponseFromLLMReceivedEvent.class);
+    static final AuditEvents<ToolExecutedEvent> TOOL_EXECUTED = new AuditEvents<>(
+            ToolExecutedEvent.class, DefaultToolExecutedEvent.class);
+    static final AuditEvents<InputGuardrailExecutedEvent> INPUT_GUARDRAIL_EXECUTED = new AuditEvents<>(
+            InputGuardrailExecutedEvent.class, DefaultInputGuardrailExecutedEvent.class);
+    static final AuditEvents<OutputGuardrailExecutedEvent> OUTPUT_GUARDRAIL_EXECUTED = new AuditEvents<>(
+            OutputGuardrailExecutedEvent.class, DefaultOutputGuardrailExecutedEvent.class);
+    static final AuditEvents<LLMInteractionCompleteEvent> LLM_INTERACTION_COMPLETE = new AuditEvents<>(
+            LLMInteractionCompleteEvent.class, DefaultLLMInteractionCompleteEvent.class);
+    static final AuditEvents<LLMInteractionFailureEvent> LLM_INTERACTION_FAILURE = new AuditEvents<>(
+            LLMInteractionFailureEvent.class, DefaultLLMInteractionFailureEvent.class);
+
+    private static final AuditEvents<?>[] ALL = { INITIAL_MESSAGES_CREATED, RESPONSE_FROM_LLM_RECEIVED, TOOL_EXECUTED,
+            INPUT_GUARDRAIL_EXECUTED, OUTPUT_GUARDRAIL_EXECUTED, LLM_INTERACTION_COMPLETE, LLM_INTERACTION_FAILURE };
+
+    private static final Executor SYNCHRONOUS = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    // null until resolved, shared by all the event types so that the events are delivered in the order they were fired
+    private static volatile Executor asyncLane;
+    private static volatile Boolean anyObserved;
+
+    private final Class<E> eventType;
+    private final Class<? extends E> implementationType;
+    private volatile Resolution<E> resolution;
+
+    private AuditEvents(Class<E> eventType, Class<? extends E> implementationType) {
+        this.eventType = eventType;
+        this.implementationType = implementationType;
+    }
+
+    /**
+     * @return whether at least one of the audit events is observed, in which case the source of the events of an
+     *         invocation needs to be created
+     */
+    static boolean anyObserved() {
+        Boolean result = anyObserved;
+        if (result == null) {
+            result = false;
+            for (AuditEvents<?> events : ALL) {
+                if (events.isObserved()) {
+                    result = true;
+                    break;
+                }
+            }
+            anyObserved = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return whether an observer would be notified of an event of this type
+     */
+    boolean isObserved() {
+        Resolution<E> result = resolution;
+        if (result == null) {
+            result = resolve();
+            resolution = result;
+        }
+        return result.event != null;
+    }
+
+    /**
+     * Notifies the observers of this type of event, which must only be called when {@link #isObserved()} returned
+     * {@code true}.
+     */
+    void fire(E event) {
+        Resolution<E> result = resolution;
+        if (result.executor == null) {
+            result.event.fire(event);
+        } else {
+            result.executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    result.event.fire(event);
+                }
+            });
+        }
+    }
+
+    private Resolution<E> resolve() {
+        var container = Arc.container();
+        // the observers are notified according to the runtime type of the event, which may also be observed
+        if (container.resolveObserverMethods(implementationType).isEmpty()) {
+            return new Resolution<>(null, null);
+        }
+        return new Resolution<>(container.beanManager().getEvent().select(eventType), asyncLane());
+    }
+
+    private static Executor asyncLane() {
+        Executor lane = asyncLane;
+        if (lane == null) {
+            synchronized (AuditEvents.class) {
+                lane = asyncLane;
+                if (lane == null) {
+                    boolean async = ConfigProvider.getConfig()
+                            .unwrap(SmallRyeConfig.class)
+                            .getConfigMapping(LangChain4jConfig.class)
+                            .audit()
+                            .async();
+                    lane = async ? new SerialExecutor(Infrastructure.getDefaultWorkerPool()) : SYNCHRONOUS;
+                    asyncLane = lane;
+                }
+            }
+        }
+        return lane == SYNCHRONOUS ? null : lane;
+    }
+
+    /**
+     * Forgets the resolved observers, which may change when the application is restarted.
+     */
+    public static void clear() {
+        for (AuditEvents<?> events : ALL) {
+            events.resolution = null;
+        }
+        anyObserved = null;
+        asyncLane = null;
+    }
+
+    private record Resolution<E>(Event<E> event, Executor executor) {
+    }
+}
@@ -2,6 +2,8 @@ package io.quarkiverse.langchain4j.runtime.aiservice;
 
 import static io.quarkus.runtime.annotations.ConfigPhase.RUN_TIME;
 
+import java.time.Duration;
+
 import dev.langchain4j.memory.chat.ChatMemoryProvider;
 import dev.langchain4j.memory.chat.MessageWindowChatMemory;
 import dev.langchain4j.memory.chat.TokenWindowChatMemory;
@@ -31,6 +33,12 @@ public interface ChatMemoryConfig {
      */
     TokenWindow tokenWindow();
 
+    /**
+     * Configures the local cache placed in front of the {@link dev.langchain4j.store.memory.chat.ChatMemoryStore} used by
+     * the default {@link ChatMemoryProvider}.
+     */
+    Cache cache();
+
     @ConfigGroup
     interface MemoryWindow {
 
@@ -51,4 +59,31 @@ public interface ChatMemoryConfig {
         int maxTokens();
     }
 
+    @ConfigGroup
+    interface Cache {
+
+        /**
+         * Whether the messages read from and written to the {@link dev.langchain4j.store.memory.chat.ChatMemoryStore} are
+         * cached locally.
+         * This is mostly useful with remote stores, such as the Redis or MongoDB ones, as each AI service invocation
+         * reads the memory multiple times.
+         */
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * The maximum number of memories held in the cache. The least recently used memories are evicted first.
+         */
+        @WithDefault("1000")
+        int maxSize();
+
+        /**
+         * How long the messages of a memory are cached after being read from or written to the store.
+         * This bounds how stale the cached messages can be when the memory is modified by another instance of the
+         * application.
+         */
+        @WithDefault("5M")
+        Duration expireAfterWrite();
+    }
+
 }
@@ -7,6 +7,7 @@ import java.util.Optional;
 import dev.langchain4j.data.message.ChatMessage;
 import dev.langchain4j.data.message.SystemMessage;
 import dev.langchain4j.memory.ChatMemory;
+import io.quarkiverse.langchain4j.runtime.BatchingChatMemoryStore;
 
 class DefaultCommittableChatMemory implements CommittableChatMemory {
 
@@ -62,9 +63,12 @@ class DefaultCommittableChatMemory implements CommittableChatMemory {
 
     @Override
     public void commit() {
-        delegate.clear(); // remove the original messages as this class keeps the entire state
-        for (ChatMessage newMessage : newMessages) {
-            delegate.add(newMessage);
-        }
+        // the memories of the default providers only write the final messages to their store, once
+        BatchingChatMemoryStore.batch(() -> {
+            delegate.clear(); // remove the original messages as this class keeps the entire state
+            for (ChatMessage newMessage : newMessages) {
+                delegate.add(newMessage);
+            }
+        });
     }
 }
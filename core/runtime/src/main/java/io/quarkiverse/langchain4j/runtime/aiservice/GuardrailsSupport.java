@@ -12,7 +12,6 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import jakarta.enterprise.inject.spi.BeanManager;
 import jakarta.enterprise.inject.spi.CDI;
 
 import dev.langchain4j.agent.tool.ToolSpecification;
@@ -30,8 +29,6 @@ import dev.langchain4j.model.chat.response.ChatResponseMetadata;
 import dev.langchain4j.rag.AugmentationResult;
 import dev.langchain4j.service.guardrail.GuardrailService;
 import io.quarkiverse.langchain4j.audit.AuditSourceInfo;
-import io.quarkiverse.langchain4j.audit.InputGuardrailExecutedEvent;
-import io.quarkiverse.langchain4j.audit.OutputGuardrailExecutedEvent;
 import io.quarkiverse.langchain4j.audit.internal.DefaultInputGuardrailExecutedEvent;
 import io.quarkiverse.langchain4j.audit.internal.DefaultOutputGuardrailExecutedEvent;
 import io.quarkiverse.langchain4j.guardrails.Guardrail;
@@ -201,7 +198,7 @@ public class GuardrailsSupport {
     @Deprecated(forRemoval = true)
     public static UserMessage invokeInputGuardRails(AiServiceMethodCreateInfo methodCreateInfo, UserMessage userMessage,
             ChatMemory chatMemory, AugmentationResult augmentationResult, Map<String, Object> templateVariables,
-            BeanManager beanManager, AuditSourceInfo auditSourceInfo) {
+            AuditSourceInfo auditSourceInfo) {
         InputGuardrailResult result;
         try {
 
@@ -210,7 +207,7 @@ public class GuardrailsSupport {
             result = invokeInputGuardRails(methodCreateInfo,
                     new InputGuardrailParams(userMessage, chatMemory, augmentationResult, userMessageTemplate,
                             Collections.unmodifiableMap(templateVariables)),
-                    beanManager, auditSourceInfo);
+                    auditSourceInfo);
         } catch (Exception e) {
             throw new GuardrailException(e.getMessage(), e);
         }
@@ -233,7 +230,7 @@ public class GuardrailsSupport {
             ChatModel chatModel,
             ChatResponse response,
             List<ToolSpecification> toolSpecifications,
-            OutputGuardrailParams output, BeanManager beanManager, AuditSourceInfo auditSourceInfo) {
+            OutputGuardrailParams output, AuditSourceInfo auditSourceInfo) {
         int attempt = 0;
         int max = methodCreateInfo.getQuarkusGuardrailsMaxRetry();
         if (max <= 0) {
@@ -243,7 +240,7 @@ public class GuardrailsSupport {
         OutputGuardrailResult result = null;
         while (attempt < max) {
             try {
-                result = invokeOutputGuardRails(methodCreateInfo, output, beanManager, auditSourceInfo);
+                result = invokeOutputGuardRails(methodCreateInfo, output, auditSourceInfo);
             } catch (Exception e) {
                 throw new GuardrailException(e.getMessage(), e);
             }
@@ -307,7 +304,7 @@ public class GuardrailsSupport {
     @Deprecated(forRemoval = true)
     @SuppressWarnings("unchecked")
     static OutputGuardrailResult invokeOutputGuardRails(AiServiceMethodCreateInfo methodCreateInfo,
-            OutputGuardrailParams params, BeanManager beanManager, AuditSourceInfo auditSourceInfo) {
+            OutputGuardrailParams params, AuditSourceInfo auditSourceInfo) {
         if (methodCreateInfo.getQuarkusOutputGuardrailsClassNames().isEmpty()) {
             return OutputGuardrailResult.success();
         }
@@ -330,7 +327,7 @@ public class GuardrailsSupport {
         }
 
         return guardrailResult(params, (List) classes, OutputGuardrailResult.success(), OutputGuardrailResult::failure,
-                beanManager, auditSourceInfo);
+                auditSourceInfo);
     }
 
     /**
@@ -339,7 +336,7 @@ public class GuardrailsSupport {
     @Deprecated(forRemoval = true)
     @SuppressWarnings("unchecked")
     private static InputGuardrailResult invokeInputGuardRails(AiServiceMethodCreateInfo methodCreateInfo,
-            InputGuardrailParams params, BeanManager beanManager, AuditSourceInfo auditSourceInfo) {
+            InputGuardrailParams params, AuditSourceInfo auditSourceInfo) {
         if (methodCreateInfo.getQuarkusInputGuardrailsClassNames().isEmpty()) {
             return InputGuardrailResult.success();
         }
@@ -362,7 +359,7 @@ public class GuardrailsSupport {
         }
 
         return guardrailResult(params, (List) classes, InputGuardrailResult.success(), InputGuardrailResult::failure,
-                beanManager, auditSourceInfo);
+                auditSourceInfo);
     }
 
     /**
@@ -371,20 +368,23 @@ public class GuardrailsSupport {
     @Deprecated(forRemoval = true)
     private static <GR extends GuardrailResult> GR guardrailResult(GuardrailParams params,
             List<Class<? extends Guardrail>> classes, GR accumulatedResults,
-            Function<List<? extends GuardrailResult.Failure>, GR> producer, BeanManager beanManager,
-            AuditSourceInfo auditSourceInfo) {
+            Function<List<? extends GuardrailResult.Failure>, GR> producer, AuditSourceInfo auditSourceInfo) {
         for (Class<? extends Guardrail> bean : classes) {
             var guardrail = CDI.current().select(bean).get();
             GR result = (GR) guardrail.validate(params).validatedBy(bean);
 
             if (guardrail instanceof InputGuardrail) {
-                beanManager.getEvent().select(InputGuardrailExecutedEvent.class)
-                        .fire(new DefaultInputGuardrailExecutedEvent(auditSourceInfo, (InputGuardrailParams) params,
-                                (InputGuardrailResult) result, (Class<InputGuardrail>) guardrail.getClass()));
+                if (AuditEvents.INPUT_GUARDRAIL_EXECUTED.isObserved()) {
+                    AuditEvents.INPUT_GUARDRAIL_EXECUTED
+                            .fire(new DefaultInputGuardrailExecutedEvent(auditSourceInfo, (InputGuardrailParams) params,
+                                    (InputGuardrailResult) result, (Class<InputGuardrail>) guardrail.getClass()));
+                }
             } else if (guardrail instanceof OutputGuardrail) {
-                beanManager.getEvent().select(OutputGuardrailExecutedEvent.class)
-                        .fire(new DefaultOutputGuardrailExecutedEvent(auditSourceInfo, (OutputGuardrailParams) params,
-                                (OutputGuardrailResult) result, (Class<OutputGuardrail>) guardrail.getClass()));
+                if (AuditEvents.OUTPUT_GUARDRAIL_EXECUTED.isObserved()) {
+                    AuditEvents.OUTPUT_GUARDRAIL_EXECUTED
+                            .fire(new DefaultOutputGuardrailExecutedEvent(auditSourceInfo, (OutputGuardrailParams) params,
+                                    (OutputGuardrailResult) result, (Class<OutputGuardrail>) guardrail.getClass()));
+                }
             }
 
             if (result.isFatal()) {
@@ -487,8 +487,8 @@ public class GuardrailsSupport {
      */
     @Deprecated(forRemoval = true)
     public static OutputGuardrailResult invokeOutputGuardrailsForStream(AiServiceMethodCreateInfo methodCreateInfo,
-            OutputGuardrailParams outputGuardrailParams, BeanManager beanManager, AuditSourceInfo auditSourceInfo) {
-        return invokeOutputGuardRails(methodCreateInfo, outputGuardrailParams, beanManager, auditSourceInfo);
+            OutputGuardrailParams outputGuardrailParams, AuditSourceInfo auditSourceInfo) {
+        return invokeOutputGuardRails(methodCreateInfo, outputGuardrailParams, auditSourceInfo);
     }
 
     /**
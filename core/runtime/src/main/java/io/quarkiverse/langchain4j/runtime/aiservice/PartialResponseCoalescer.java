@@ -0,0 +1,143 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+
+/**
+ * Groups the partial responses of a stream received within a time window, or until they reach a maximum length, into a
+ * single downstream emission.
+ * <p>
+ * The window starts with the first partial response of a group. The pending partial responses must be flushed before
+ * the terminal event of the stream is emitted.
+ * <p>
+ * The grouped partial responses are emitted without holding the lock guarding the pending ones, so that a slow
+ * downstream does not block the thread adding partial responses. They are queued in order and emitted by one thread
+ * at a time.
+ */
+final class PartialResponseCoalescer {
+
+    private final long windowMillis;
+    private final int maxLength;
+    private final Context context;
+    private final Consumer<String> downstream;
+
+    // guarded by this
+    private final StringBuilder pending = new StringBuilder();
+    // incremented on each flush, so that the timer of a group which has already been flushed does nothing
+    private long group;
+
+    private final Queue<String> grouped = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock emission = new ReentrantLock();
+
+    /**
+     * @param window the time window
+     * @param maxLength the length of the pending partial responses above which they are emitted without waiting for
+     *        the end of the window
+     * @param context the context the timer fires on, the default worker pool is used when {@code null}
+     * @param downstream receives the grouped partial responses
+     */
+    PartialResponseCoalescer(Duration window, int maxLength, Context context, Consumer<String> downstream) {
+        this.windowMillis = Math.max(1, window.toMillis());
+        this.maxLength = maxLength;
+        this.context = context;
+        this.downstream = downstream;
+    }
+
+    void add(String partialResponse) {
+        synchronized (this) {
+            boolean first = pending.isEmpty();
+            pending.append(partialResponse);
+            if (pending.length() >= maxLength) {
+                group();
+            } else if (first) {
+                scheduleFlush(group);
+            }
+        }
+        emit(false);
+    }
+
+    /**
+     * Emits the pending partial responses. When this method returns, all the partial responses added before have
+     * been passed downstream.
+     */
+    void flush() {
+        synchronized (this) {
+            group();
+        }
+        emit(true);
+    }
+
+    private void flush(long expectedGroup) {
+        synchronized (this) {
+            if (group != expectedGroup) {
+                return;
+            }
+            group();
+        }
+        emit(false);
+    }
+
+    // called with the lock held
+    private void group() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        grouped.add(pending.toString());
+        pending.setLength(0);
+        group++;
+    }
+
+    /**
+     * @param wait whether to wait for the thread currently emitting, instead of leaving the emission of the queued
+     *        partial responses to it
+     */
+    private void emit(boolean wait) {
+        do {
+            if (wait) {
+                emission.lock();
+            } else if (!emission.tryLock()) {
+                // the emitting thread checks the queue again once it releases the lock
+                return;
+            }
+            try {
+                String partialResponses;
+                while ((partialResponses = grouped.poll()) != null) {
+                    downstream.accept(partialResponses);
+                }
+            } finally {
+                emission.unlock();
+            }
+        } while (!grouped.isEmpty());
+    }
+
+    private void scheduleFlush(long expectedGroup) {
+        if (context != null) {
+            context.owner().setTimer(windowMillis, new Handler<Long>() {
+                @Override
+                public void handle(Long timerId) {
+                    context.runOnContext(new Handler<Void>() {
+                        @Override
+                        public void handle(Void ignored) {
+                            flush(expectedGroup);
+                        }
+                    });
+                }
+            });
+        } else {
+            Infrastructure.getDefaultWorkerPool().schedule(new Runnable() {
+                @Override
+                public void run() {
+                    flush(expectedGroup);
+                }
+            }, windowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.service.tool.ToolExecutor;
+import dev.langchain4j.service.tool.ToolProvider;
+import dev.langchain4j.service.tool.ToolProviderResult;
+
+/**
+ * The tools of an AI service method merged with the ones of a {@link ToolProvider}. When the provider is a
+ * {@link VersionedToolProvider}, they are shared by the calls of the method so the collections are unmodifiable.
+ *
+ * @param provider the provider of the tools
+ * @param version the version of the provided tools
+ * @param methodToolSpecifications the tool specifications of the method, before the merge
+ * @param methodToolCount the number of tool specifications and executors of the method, before the merge
+ * @param toolSpecifications the merged tool specifications
+ * @param toolExecutors the merged tool executors
+ */
+record ProvidedTools(ToolProvider provider, long version,
+        List<ToolSpecification> methodToolSpecifications, int methodToolCount,
+        List<ToolSpecification> toolSpecifications, Map<String, ToolExecutor> toolExecutors) {
+
+    static ProvidedTools merge(ToolProvider provider, long version, List<ToolSpecification> methodToolSpecifications,
+            Map<String, ToolExecutor> methodToolExecutors, ToolProviderResult result) {
+        List<ToolSpecification> toolSpecifications = methodToolSpecifications != null
+                ? new ArrayList<>(methodToolSpecifications)
+                : new ArrayList<>();
+        Map<String, ToolExecutor> toolExecutors = methodToolExecutors != null ? new HashMap<>(methodToolExecutors)
+                : new HashMap<>();
+        for (Map.Entry<ToolSpecification, ToolExecutor> tool : result.tools().entrySet()) {
+            toolSpecifications.add(tool.getKey());
+            toolExecutors.put(tool.getKey().name(), tool.getValue());
+        }
+        return new ProvidedTools(provider, version, methodToolSpecifications,
+                count(methodToolSpecifications, methodToolExecutors),
+                Collections.unmodifiableList(toolSpecifications), Collections.unmodifiableMap(toolExecutors));
+    }
+
+    boolean isValid(ToolProvider provider, long version, List<ToolSpecification> methodToolSpecifications,
+            Map<String, ToolExecutor> methodToolExecutors) {
+        // the tools of a method are populated once, but a concurrent first call may see them partially populated
+        return this.provider == provider && this.version == version
+                && this.methodToolSpecifications == methodToolSpecifications
+                && this.methodToolCount == count(methodToolSpecifications, methodToolExecutors);
+    }
+
+    private static int count(List<ToolSpecification> toolSpecifications, Map<String, ToolExecutor> toolExecutors) {
+        return (toolSpecifications != null ? toolSpecifications.size() : 0)
+                + (toolExecutors != null ? toolExecutors.size() : 0);
+    }
+}
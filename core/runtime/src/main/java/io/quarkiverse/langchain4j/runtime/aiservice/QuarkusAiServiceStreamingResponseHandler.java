@@ -8,8 +8,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.function.Consumer;
 
 import org.jboss.logging.Logger;
@@ -32,12 +32,18 @@ import dev.langchain4j.model.output.TokenUsage;
 import dev.langchain4j.service.AiServiceContext;
 import dev.langchain4j.service.tool.ToolExecution;
 import dev.langchain4j.service.tool.ToolExecutor;
+import io.quarkiverse.langchain4j.runtime.config.StreamingConfig;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
 import io.vertx.core.Context;
 
 /**
  * A {@link StreamingResponseHandler} implementation for Quarkus. The main difference with the upstream implementation is the
  * thread switch when
  * receiving the `completion` event when there is tool execution requests.
+ * <p>
+ * The events emitted on a worker thread go through a {@link SerialExecutor} of the stream, which keeps them ordered
+ * without dedicating a thread to the stream. The partial responses can also be grouped by a
+ * {@link PartialResponseCoalescer}, see {@link StreamingConfig#coalesceWindow()}.
  */
 public class QuarkusAiServiceStreamingResponseHandler implements StreamingChatResponseHandler {
 
@@ -60,7 +66,8 @@ public class QuarkusAiServiceStreamingResponseHandler implements StreamingChatRe
     private final Context executionContext;
     private final boolean mustSwitchToWorkerThread;
     private final boolean switchToWorkerForEmission;
-    private final ExecutorService executor;
+    private final Executor executor;
+    private final PartialResponseCoalescer coalescer;
 
     QuarkusAiServiceStreamingResponseHandler(AiServiceContext context,
             Object memoryId,
@@ -75,7 +82,8 @@ public class QuarkusAiServiceStreamingResponseHandler implements StreamingChatRe
             Map<String, ToolExecutor> toolExecutors,
             boolean mustSwitchToWorkerThread,
             boolean switchToWorkerForEmission,
-            Context cxtx) {
+            Context cxtx,
+            StreamingConfig streamingConfig) {
         this.context = ensureNotNull(context, "context");
         this.memoryId = ensureNotNull(memoryId, "memoryId");
 
@@ -94,12 +102,17 @@ public class QuarkusAiServiceStreamingResponseHandler implements StreamingChatRe
         this.mustSwitchToWorkerThread = mustSwitchToWorkerThread;
         this.executionContext = cxtx;
         this.switchToWorkerForEmission = switchToWorkerForEmission;
-        if (executionContext == null) {
-            // We do not have a context, but we still need to make sure we are not blocking the event loop and ordered
-            // is respected.
-            executor = Executors.newSingleThreadExecutor();
+        this.executor = emissionExecutor(cxtx);
+        if (streamingConfig != null && streamingConfig.coalesceWindow().isPresent()) {
+            coalescer = new PartialResponseCoalescer(streamingConfig.coalesceWindow().get(),
+                    streamingConfig.coalesceMaxLength(), executionContext, new Consumer<String>() {
+                        @Override
+                        public void accept(String partialResponses) {
+                            emitPartialResponse(partialResponses);
+                        }
+                    });
         } else {
-            executor = null;
+            coalescer = null;
         }
     }
 
@@ -111,6 +124,20 @@ public class QuarkusAiServiceStreamingResponseHandler implements StreamingChatRe
             List<ToolSpecification> toolSpecifications, Map<String, ToolExecutor> toolExecutors,
             boolean mustSwitchToWorkerThread, boolean switchToWorkerForEmission, Context executionContext,
             ExecutorService executor) {
+        this(context, memoryId, partialResponseHandler, toolExecuteHandler, completeResponseHandler, completionHandler,
+                errorHandler, temporaryMemory, sum, toolSpecifications, toolExecutors, mustSwitchToWorkerThread,
+                switchToWorkerForEmission, executionContext,
+                executor != null ? executor : emissionExecutor(executionContext), null);
+    }
+
+    QuarkusAiServiceStreamingResponseHandler(AiServiceContext context, Object memoryId,
+            Consumer<String> partialResponseHandler,
+            Consumer<ToolExecution> toolExecuteHandler, Consumer<ChatResponse> completeResponseHandler,
+            Consumer<Response<AiMessage>> completionHandler,
+            Consumer<Throwable> errorHandler, List<ChatMessage> temporaryMemory, TokenUsage sum,
+            List<ToolSpecification> toolSpecifications, Map<String, ToolExecutor> toolExecutors,
+            boolean mustSwitchToWorkerThread, boolean switchToWorkerForEmission, Context executionContext,
+            Executor executor, PartialResponseCoalescer coalescer) {
         this.context = context;
         this.memoryId = memoryId;
         this.partialResponseHandler = ensureNotNull(partialResponseHandler, "partialResponseHandler");
@@ -126,17 +153,55 @@ public class QuarkusAiServiceStreamingResponseHandler implements StreamingChatRe
         this.switchToWorkerForEmission = switchToWorkerForEmission;
         this.executionContext = executionContext;
         this.executor = executor;
+        this.coalescer = coalescer;
+    }
+
+    /**
+     * The executor of the ordered emissions of a stream, which does not dedicate a thread to the stream.
+     */
+    private static Executor emissionExecutor(Context executionContext) {
+        if (executionContext == null) {
+            // We do not have a context, but we still need to make sure we are not blocking the event loop and ordered
+            // is respected.
+            return new SerialExecutor(Infrastructure.getDefaultWorkerPool());
+        }
+        return new SerialExecutor(new Executor() {
+            @Override
+            public void execute(Runnable runnable) {
+                // the order is kept by the serial executor, not by the context
+                executionContext.executeBlocking(new Callable<Object>() {
+                    @Override
+                    public Object call() {
+                        runnable.run();
+                        return null;
+                    }
+                }, false);
+            }
+        });
     }
 
     @Override
     public void onPartialResponse(String partialResponse) {
+        if (coalescer != null) {
+            coalescer.add(partialResponse);
+        } else {
+            emitPartialResponse(partialResponse);
+        }
+    }
+
+    private void emitPartialResponse(String partialResponse) {
         execute(new Runnable() {
             @Override
             public void run() {
                 partialResponseHandler.accept(partialResponse);
             }
         });
+    }
 
+    private void flushPartialResponses() {
+        if (coalescer != null) {
+            coalescer.flush();
+        }
     }
 
     private void executeTools(Runnable runnable) {
@@ -156,21 +221,22 @@ public class QuarkusAiServiceStreamingResponseHandler implements StreamingChatRe
     }
 
     private void executeOnWorkerThread(Runnable runnable, boolean ordered) {
-        if (executionContext != null) {
+        if (executionContext != null && !ordered) {
             executionContext.executeBlocking(new Callable<Object>() {
                 @Override
                 public Object call() throws Exception {
                     runnable.run();
                     return null;
                 }
-            }, ordered);
+            }, false);
         } else {
-            executor.submit(runnable);
+            executor.execute(runnable);
         }
     }
 
     @Override
     public void onCompleteResponse(ChatResponse completeResponse) {
+        flushPartialResponses();
         AiMessage aiMessage = completeResponse.aiMessage();
 
         if (aiMessage.hasToolExecutionRequests()) {
@@ -227,7 +293,8 @@ public class QuarkusAiServiceStreamingResponseHandler implements StreamingChatRe
                             TokenUsage.sum(tokenUsage, completeResponse.metadata().tokenUsage()),
                             toolSpecifications,
                             toolExecutors,
-                            mustSwitchToWorkerThread, switchToWorkerForEmission, executionContext, executor);
+                            mustSwitchToWorkerThread, switchToWorkerForEmission, executionContext, executor,
+                            coalescer);
                     context.streamingChatModel.chat(chatRequest, handler);
                 }
             });
@@ -236,21 +303,17 @@ public class QuarkusAiServiceStreamingResponseHandler implements StreamingChatRe
                 Runnable runnable = new Runnable() {
                     @Override
                     public void run() {
-                        try {
-                            ChatResponse finalChatResponse = ChatResponse.builder()
-                                    .aiMessage(aiMessage)
-                                    .metadata(ChatResponseMetadata.builder()
-                                            .id(completeResponse.metadata().id())
-                                            .modelName(completeResponse.metadata().modelName())
-                                            .tokenUsage(TokenUsage.sum(tokenUsage, completeResponse.metadata().tokenUsage()))
-                                            .finishReason(completeResponse.metadata().finishReason())
-                                            .build())
-                                    .build();
-                            addToMemory(aiMessage);
-                            completeResponseHandler.accept(finalChatResponse);
-                        } finally {
-                            shutdown(); // Terminal event, we can shutdown the executor
-                        }
+                        ChatResponse finalChatResponse = ChatResponse.builder()
+                                .aiMessage(aiMessage)
+                                .metadata(ChatResponseMetadata.builder()
+                                        .id(completeResponse.metadata().id())
+                                        .modelName(completeResponse.metadata().modelName())
+                                        .tokenUsage(TokenUsage.sum(tokenUsage, completeResponse.metadata().tokenUsage()))
+                                        .finishReason(completeResponse.metadata().finishReason())
+                                        .build())
+                                .build();
+                        addToMemory(aiMessage);
+                        completeResponseHandler.accept(finalChatResponse);
                     }
                 };
                 execute(runnable);
@@ -270,12 +333,6 @@ public class QuarkusAiServiceStreamingResponseHandler implements StreamingChatRe
         }
     }
 
-    private void shutdown() {
-        if (executor != null) {
-            executor.shutdown();
-        }
-    }
-
     private void addToMemory(ChatMessage chatMessage) {
         if (context.hasChatMemory()) {
             context.chatMemoryService.getChatMemory(memoryId).add(chatMessage);
@@ -292,6 +349,7 @@ public class QuarkusAiServiceStreamingResponseHandler implements StreamingChatRe
 
     @Override
     public void onError(Throwable error) {
+        flushPartialResponses();
         if (errorHandler != null) {
             execute(new Runnable() {
                 @Override
@@ -301,8 +359,6 @@ public class QuarkusAiServiceStreamingResponseHandler implements StreamingChatRe
                     } catch (Exception e) {
                         log.error("While handling the following error...", error);
                         log.error("...the following error happened", e);
-                    } finally {
-                        shutdown(); // Terminal event, we can shutdown the executor
                     }
                 }
             });
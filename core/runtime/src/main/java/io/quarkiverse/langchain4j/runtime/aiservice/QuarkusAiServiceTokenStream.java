@@ -10,6 +10,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 
+import org.eclipse.microprofile.config.ConfigProvider;
+
 import dev.langchain4j.agent.tool.ToolSpecification;
 import dev.langchain4j.data.message.AiMessage;
 import dev.langchain4j.data.message.ChatMessage;
@@ -23,6 +25,9 @@ import dev.langchain4j.service.IllegalConfigurationException;
 import dev.langchain4j.service.TokenStream;
 import dev.langchain4j.service.tool.ToolExecution;
 import dev.langchain4j.service.tool.ToolExecutor;
+import io.quarkiverse.langchain4j.runtime.config.LangChain4jConfig;
+import io.quarkiverse.langchain4j.runtime.config.StreamingConfig;
+import io.smallrye.config.SmallRyeConfig;
 import io.vertx.core.Context;
 
 /**
@@ -33,6 +38,9 @@ import io.vertx.core.Context;
  */
 public class QuarkusAiServiceTokenStream implements TokenStream {
 
+    // resolved by the first stream, and forgotten when the application stops
+    private static volatile StreamingConfig streamingConfig;
+
     private final List<ChatMessage> messages;
     private final List<ToolSpecification> toolSpecifications;
     private final Map<String, ToolExecutor> toolExecutors;
@@ -140,7 +148,8 @@ public class QuarkusAiServiceTokenStream implements TokenStream {
                 toolExecutors,
                 switchToWorkerThreadForToolExecution,
                 switchToWorkerForEmission,
-                cxtx);
+                cxtx,
+                streamingConfig());
 
         if (contentsHandler != null && retrievedContents != null) {
             contentsHandler.accept(retrievedContents);
@@ -156,6 +165,25 @@ public class QuarkusAiServiceTokenStream implements TokenStream {
         }
     }
 
+    private static StreamingConfig streamingConfig() {
+        StreamingConfig config = streamingConfig;
+        if (config == null) {
+            config = ConfigProvider.getConfig()
+                    .unwrap(SmallRyeConfig.class)
+                    .getConfigMapping(LangChain4jConfig.class)
+                    .streaming();
+            streamingConfig = config;
+        }
+        return config;
+    }
+
+    /**
+     * Forgets the streaming configuration, which may change when the application is restarted.
+     */
+    public static void clear() {
+        streamingConfig = null;
+    }
+
     private void validateConfiguration() {
         if (onPartialResponseInvoked != 1) {
             throw new IllegalConfigurationException("One of [onPartialResponse, onNext] " +
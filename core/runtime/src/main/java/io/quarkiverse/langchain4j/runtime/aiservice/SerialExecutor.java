@@ -0,0 +1,79 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Runs the tasks submitted for a single stream one after the other, in submission order, on a shared executor.
+ * <p>
+ * No thread is dedicated to a stream: the pending tasks are drained by a single task of the shared executor at a time,
+ * so that thousands of concurrent streams only use the threads of the shared pool. A drain stops after
+ * {@link #MAX_TASKS_PER_DRAIN} tasks and is re-submitted, so that a fast stream does not starve the other ones.
+ * <p>
+ * It also delivers the asynchronous audit events, in batches of at most {@link #MAX_TASKS_PER_DRAIN} events.
+ */
+final class SerialExecutor implements Executor {
+
+    static final int MAX_TASKS_PER_DRAIN = 64;
+
+    private static final Logger log = Logger.getLogger(SerialExecutor.class);
+
+    private final Executor delegate;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    SerialExecutor(Executor delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        tasks.add(task);
+        if (draining.compareAndSet(false, true)) {
+            submitDrain();
+        }
+    }
+
+    private void submitDrain() {
+        try {
+            delegate.execute(new Runnable() {
+                @Override
+                public void run() {
+                    drain();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            draining.set(false);
+            throw e;
+        }
+    }
+
+    private void drain() {
+        int ran = 0;
+        while (true) {
+            Runnable task = tasks.poll();
+            if (task == null) {
+                draining.set(false);
+                // a task may have been added between the poll and the reset of the flag
+                if (tasks.isEmpty() || !draining.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            try {
+                task.run();
+            } catch (Throwable t) {
+                log.error("Unable to run a serialized task", t);
+            }
+            if (++ran == MAX_TASKS_PER_DRAIN) {
+                submitDrain();
+                return;
+            }
+        }
+    }
+}
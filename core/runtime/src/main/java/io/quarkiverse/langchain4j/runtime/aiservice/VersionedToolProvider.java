@@ -0,0 +1,23 @@
+package io.quarkiverse.langchain4j.runtime.aiservice;
+
+import dev.langchain4j.service.tool.ToolProvider;
+
+/**
+ * A {@link ToolProvider} whose tools only depend on the MCP client names of the {@link QuarkusToolProviderRequest},
+ * and not on the memory id or the user message of the request.
+ * <p>
+ * The AI service methods keep the tools it provided to them, merged with their own tools, and only ask it for tools
+ * again when its {@link #toolsVersion()} changes.
+ */
+public interface VersionedToolProvider extends ToolProvider {
+
+    /**
+     * The version returned when the provided tools can't be kept, they are then requested on each call.
+     */
+    long UNVERSIONED = -1;
+
+    /**
+     * @return a version which changes whenever the provided tools may have changed, or {@link #UNVERSIONED}
+     */
+    long toolsVersion();
+}
@@ -0,0 +1,14 @@
+package io.quarkiverse.langchain4j.runtime.config;
+
+import io.smallrye.config.WithDefault;
+
+public interface AuditConfig {
+
+    /**
+     * If enabled, the audit events are delivered to their observers in the background, in the order in which they
+     * were fired and in batches, instead of during the AI service invocations. The observers are then called without
+     * the request context of the invocation, and their failures are logged instead of failing the invocation.
+     */
+    @WithDefault("false")
+    boolean async();
+}
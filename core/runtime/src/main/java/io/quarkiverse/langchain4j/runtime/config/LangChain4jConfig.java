@@ -46,4 +46,14 @@ public interface LangChain4jConfig {
      * Tracing related configuration
      */
     TracingConfig tracing();
+
+    /**
+     * Streaming related configuration
+     */
+    StreamingConfig streaming();
+
+    /**
+     * Audit events related configuration
+     */
+    AuditConfig audit();
 }
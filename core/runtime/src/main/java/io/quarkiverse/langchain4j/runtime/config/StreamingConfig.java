@@ -0,0 +1,24 @@
+package io.quarkiverse.langchain4j.runtime.config;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import io.smallrye.config.WithDefault;
+
+public interface StreamingConfig {
+
+    /**
+     * When set, the partial responses of a streamed AI service response received within this time window are grouped
+     * and emitted as a single item, which reduces the number of emissions, and thread switches, for streams with a
+     * high token rate.
+     * By default, each partial response is emitted as soon as it is received.
+     */
+    Optional<Duration> coalesceWindow();
+
+    /**
+     * The length, in characters, above which the grouped partial responses are emitted without waiting for the end of
+     * the {@code coalesce-window}.
+     */
+    @WithDefault("256")
+    int coalesceMaxLength();
+}
@@ -1,21 +1,19 @@
 package io.quarkiverse.langchain4j.runtime.tool;
 
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.Map;
 import java.util.concurrent.CompletionException;
 import java.util.function.BiFunction;
 
 import org.jboss.logging.Logger;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
 
 import dev.langchain4j.agent.tool.ToolExecutionRequest;
 import dev.langchain4j.internal.Json;
 import dev.langchain4j.service.tool.ToolExecutor;
 import io.quarkiverse.langchain4j.QuarkusJsonCodecFactory;
-import io.quarkiverse.langchain4j.runtime.prompt.Mappable;
 import io.quarkus.virtual.threads.VirtualThreadsRecorder;
 import io.smallrye.mutiny.Uni;
 
@@ -24,6 +22,9 @@ public class QuarkusToolExecutor implements ToolExecutor {
     private static final Logger log = Logger.getLogger(QuarkusToolExecutor.class);
 
     private final Context context;
+    private final ToolInvoker invoker;
+    private final ToolInvoker.MethodMetadata methodMetadata;
+    private final ObjectReader argumentsReader;
 
     public record Context(Object tool, String toolInvokerName, String methodName, String argumentMapperClassName,
             ToolMethodCreateInfo.ExecutionModel executionModel) {
@@ -37,6 +38,13 @@ public class QuarkusToolExecutor implements ToolExecutor {
 
     public QuarkusToolExecutor(Context context) {
         this.context = context;
+        this.invoker = createInvokerInstance();
+        this.methodMetadata = invoker.methodMetadata();
+        this.argumentsReader = QuarkusJsonCodecFactory.ObjectMapperHolder.MAPPER.readerFor(loadMapperClass());
+    }
+
+    public ToolMethodCreateInfo.ExecutionModel executionModel() {
+        return context.executionModel;
     }
 
     public String execute(ToolExecutionRequest toolExecutionRequest, Object memoryId) {
@@ -48,8 +56,8 @@ public class QuarkusToolExecutor implements ToolExecutor {
         // TODO Note that we need to return a String in an imperative manner.
         // TODO We may have to check who's going to call this method from a non-blocking thread to handle the dispatch there.
 
-        ToolInvoker invokerInstance = createInvokerInstance();
-        Object[] params = prepareArguments(toolExecutionRequest, invokerInstance.methodMetadata(), memoryId);
+        ToolInvoker invokerInstance = invoker;
+        Object[] params = prepareArguments(toolExecutionRequest, methodMetadata, memoryId);
         // When required to block, we are invoked on a worker thread (stream with blocking tools).
         switch (context.executionModel) {
             case BLOCKING:
@@ -90,9 +98,9 @@ public class QuarkusToolExecutor implements ToolExecutor {
                     throw new IllegalStateException(
                             "Cannot execute tools returning Uni on event loop thread due to a tool executor limitation");
                 }
-                result = handleResult(invokerInstance, ((Uni<?>) invocationResult).await().indefinitely());
+                result = handleResult(((Uni<?>) invocationResult).await().indefinitely());
             } else {
-                result = handleResult(invokerInstance, invocationResult);
+                result = handleResult(invocationResult);
             }
             log.debugv("Tool execution result: {0}", result);
             return result;
@@ -108,14 +116,13 @@ public class QuarkusToolExecutor implements ToolExecutor {
         }
     }
 
-    private static String handleResult(ToolInvoker invokerInstance, Object invocationResult) {
-        if (invokerInstance.methodMetadata().isReturnsVoid()) {
+    private String handleResult(Object invocationResult) {
+        if (methodMetadata.isReturnsVoid()) {
             return "Success";
         }
         return Json.toJson(invocationResult);
     }
 
-    // TODO: cache
     private ToolInvoker createInvokerInstance() {
         ToolInvoker invokerInstance;
         try {
@@ -134,27 +141,20 @@ public class QuarkusToolExecutor implements ToolExecutor {
     private Object[] prepareArguments(ToolExecutionRequest toolExecutionRequest,
             ToolInvoker.MethodMetadata methodMetadata, Object memoryId) {
         String argumentsJsonStr = toolExecutionRequest.arguments();
-        Map<String, Object> argumentsFromRequest;
-        try {
-            log.debugv("Attempting to convert {0} JSON string into args map", argumentsJsonStr);
-            argumentsFromRequest = convertJsonToArguments(argumentsJsonStr);
-            log.debugv("Converted {0} JSON string into args map {1}", argumentsJsonStr, argumentsFromRequest);
-        } catch (JsonProcessingException e) {
-            log.error(e);
-            invalidMethodParams(argumentsJsonStr);
-            return null; //keep the compiler happy
-        }
-        if (argumentsFromRequest.size() != methodMetadata.getNameToParamPosition().size()) {
-            invalidMethodParams(argumentsJsonStr);
-        }
-
-        Object[] finalArgs = new Object[argumentsFromRequest.size()];
-        for (var entry : argumentsFromRequest.entrySet()) {
-            Integer pos = methodMetadata.getNameToParamPosition().get(entry.getKey());
-            if (pos == null) {
+        Object[] finalArgs;
+        if (argumentsJsonStr == null || argumentsJsonStr.isEmpty()) {
+            if (!methodMetadata.getNameToParamPosition().isEmpty()) {
                 invalidMethodParams(argumentsJsonStr);
-            } else {
-                finalArgs[pos] = entry.getValue();
+            }
+            finalArgs = new Object[0];
+        } else {
+            try {
+                log.debugv("Attempting to bind {0} JSON string to the tool parameters", argumentsJsonStr);
+                finalArgs = argumentsReader.<ToolArguments> readValue(argumentsJsonStr).toParams();
+            } catch (IOException e) {
+                log.error(e);
+                invalidMethodParams(argumentsJsonStr);
+                return null; //keep the compiler happy
             }
         }
         if (memoryId != null && methodMetadata.getMemoryIdParamPosition() != null) {
@@ -163,19 +163,11 @@ public class QuarkusToolExecutor implements ToolExecutor {
         return finalArgs;
     }
 
-    private Map<String, Object> convertJsonToArguments(String argumentsJsonStr) throws JsonProcessingException {
-        if (argumentsJsonStr == null || argumentsJsonStr.isEmpty()) {
-            return Collections.emptyMap();
-        }
-        Mappable mappable = QuarkusJsonCodecFactory.ObjectMapperHolder.MAPPER.readValue(argumentsJsonStr, loadMapperClass());
-        return mappable.obtainFieldValuesMap();
-    }
-
     @SuppressWarnings("unchecked")
-    private Class<? extends Mappable> loadMapperClass() {
+    private Class<? extends ToolArguments> loadMapperClass() {
         try {
-            return (Class<? extends Mappable>) Class.forName(context.argumentMapperClassName, true, Thread.currentThread()
-                    .getContextClassLoader());
+            return (Class<? extends ToolArguments>) Class.forName(context.argumentMapperClassName, true,
+                    Thread.currentThread().getContextClassLoader());
         } catch (ClassNotFoundException e) {
             throw new IllegalStateException(
                     "Unable to load argument mapper of '" + context.toolInvokerName
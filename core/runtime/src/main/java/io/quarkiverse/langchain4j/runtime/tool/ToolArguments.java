@@ -0,0 +1,14 @@
+package io.quarkiverse.langchain4j.runtime.tool;
+
+/**
+ * Implemented by the argument mapper classes generated for each tool method.
+ * The JSON arguments of a tool execution request are bound directly to the fields of the generated class,
+ * which are then copied into the parameter array used to invoke the tool method.
+ */
+public interface ToolArguments {
+
+    /**
+     * @return the bound argument values, each placed at the position of the corresponding tool method parameter
+     */
+    Object[] toParams();
+}
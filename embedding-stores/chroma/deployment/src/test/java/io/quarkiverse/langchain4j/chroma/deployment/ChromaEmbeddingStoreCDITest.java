@@ -54,7 +54,7 @@ class ChromaEmbeddingStoreCDITest extends EmbeddingStoreIT {
     @Override
     protected void clearStore() {
         try {
-            embeddingStore().deleteAll(384);
+            embeddingStore().removeAll();
         } catch (Exception e) {
             Log.warn(e);
         }
@@ -1,13 +1,23 @@
 package io.quarkiverse.langchain4j.chroma.deployment;
 
 import static dev.langchain4j.internal.Utils.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.shrinkwrap.api.ShrinkWrap;
 import org.jboss.shrinkwrap.api.spec.JavaArchive;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
 import dev.langchain4j.model.embedding.EmbeddingModel;
 import dev.langchain4j.model.embedding.onnx.allminilml6v2q.AllMiniLmL6V2QuantizedEmbeddingModel;
 import dev.langchain4j.store.embedding.EmbeddingStoreIT;
@@ -60,10 +70,44 @@ class ChromaEmbeddingStoreTest extends EmbeddingStoreIT {
     @Override
     protected void clearStore() {
         try {
-            embeddingStore().deleteAll(384);
+            embeddingStore().removeAll();
         } catch (Exception e) {
             Log.warn(e);
         }
     }
 
+    @Test
+    void should_add_export_and_remove_all_embeddings_page_by_page() {
+        // small batches and pages, so that the embeddings are spread over several of them
+        ChromaEmbeddingStore store = ChromaEmbeddingStore.builder()
+                .baseUrl(chromaUrl)
+                .collectionName(randomUUID())
+                .ingestionBatchSize(4)
+                .ingestionMaxInFlightBatches(2)
+                .pageSize(3)
+                .build();
+        List<Embedding> embeddings = new ArrayList<>();
+        List<TextSegment> segments = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            embeddings.add(Embedding.from(new float[] { i, 1, 0 }));
+            // the metadata keep their types
+            segments.add(TextSegment.from("segment " + i, Metadata.from(Map.of("name", "segment-" + i, "index", i,
+                    "ratio", i / 4.0))));
+        }
+        List<String> ids = store.addAll(embeddings, segments);
+
+        List<ChromaEmbeddingStore.Entry> entries = new ArrayList<>();
+        Iterator<ChromaEmbeddingStore.Entry> iterator = store.exportAll();
+        iterator.forEachRemaining(entries::add);
+        assertThat(entries).extracting(ChromaEmbeddingStore.Entry::id).containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(entries).allSatisfy(entry -> {
+            int i = ids.indexOf(entry.id());
+            assertThat(entry.embedding().vector()).containsExactly(embeddings.get(i).vector());
+            assertThat(entry.textSegment()).isEqualTo(segments.get(i));
+        });
+
+        store.removeAll();
+
+        assertThat(store.exportAll().hasNext()).isFalse();
+    }
 }
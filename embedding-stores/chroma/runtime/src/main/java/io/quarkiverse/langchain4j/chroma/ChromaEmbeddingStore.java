@@ -12,8 +12,10 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
@@ -35,10 +37,14 @@ import io.quarkiverse.langchain4j.chroma.runtime.ChromaCollectionsRestApi;
 import io.quarkiverse.langchain4j.chroma.runtime.Collection;
 import io.quarkiverse.langchain4j.chroma.runtime.CreateCollectionRequest;
 import io.quarkiverse.langchain4j.chroma.runtime.DeleteEmbeddingsRequest;
+import io.quarkiverse.langchain4j.chroma.runtime.GetEmbeddingsRequest;
+import io.quarkiverse.langchain4j.chroma.runtime.GetEmbeddingsResponse;
 import io.quarkiverse.langchain4j.chroma.runtime.QueryRequest;
 import io.quarkiverse.langchain4j.chroma.runtime.QueryResponse;
 import io.quarkus.arc.impl.LazyValue;
 import io.quarkus.rest.client.reactive.QuarkusRestClientBuilder;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpClientRequest;
 import io.vertx.core.http.HttpClientResponse;
@@ -51,8 +57,15 @@ import io.vertx.core.http.HttpClientResponse;
  */
 public class ChromaEmbeddingStore implements EmbeddingStore<TextSegment> {
 
+    static final int DEFAULT_INGESTION_BATCH_SIZE = 500;
+    static final int DEFAULT_INGESTION_MAX_IN_FLIGHT_BATCHES = 4;
+    static final int DEFAULT_PAGE_SIZE = 1000;
+
     private final ChromaClient chromaClient;
     private final LazyValue<String> collectionId;
+    private final int ingestionBatchSize;
+    private final int ingestionMaxInFlightBatches;
+    private final int pageSize;
 
     /**
      * Initializes a new instance of ChromaEmbeddingStore with the specified parameters.
@@ -65,6 +78,33 @@ public class ChromaEmbeddingStore implements EmbeddingStore<TextSegment> {
      */
     public ChromaEmbeddingStore(String baseUrl, String collectionName, Duration timeout,
             boolean logRequests, boolean logResponses) {
+        this(baseUrl, collectionName, timeout, logRequests, logResponses, DEFAULT_INGESTION_BATCH_SIZE,
+                DEFAULT_INGESTION_MAX_IN_FLIGHT_BATCHES, DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Initializes a new instance of ChromaEmbeddingStore with the specified parameters.
+     *
+     * @param baseUrl The base URL of the Chroma service.
+     * @param collectionName The name of the collection in the Chroma service. If not specified, "default" will be used.
+     * @param timeout The timeout duration for the Chroma client. If not specified, 5 seconds will be used.
+     * @param logRequests Whether to log requests.
+     * @param logResponses Whether to log responses.
+     * @param ingestionBatchSize The number of embeddings sent in a single request when adding multiple embeddings.
+     * @param ingestionMaxInFlightBatches The maximum number of add requests sent concurrently.
+     * @param pageSize The number of embeddings fetched in a single request when deleting or exporting all the
+     *        embeddings.
+     */
+    public ChromaEmbeddingStore(String baseUrl, String collectionName, Duration timeout,
+            boolean logRequests, boolean logResponses, int ingestionBatchSize, int ingestionMaxInFlightBatches,
+            int pageSize) {
+        if (ingestionBatchSize < 1 || ingestionMaxInFlightBatches < 1 || pageSize < 1) {
+            throw new IllegalArgumentException("The ingestion batch size, maximum number of in-flight batches and "
+                    + "page size must be strictly positive");
+        }
+        this.ingestionBatchSize = ingestionBatchSize;
+        this.ingestionMaxInFlightBatches = ingestionMaxInFlightBatches;
+        this.pageSize = pageSize;
         String effectiveCollectionName = getOrDefault(collectionName, "default");
 
         this.chromaClient = new ChromaClient(baseUrl, getOrDefault(timeout, ofSeconds(5)), logRequests, logResponses);
@@ -95,6 +135,9 @@ public class ChromaEmbeddingStore implements EmbeddingStore<TextSegment> {
         private Duration timeout;
         private boolean logRequests;
         private boolean logResponses;
+        private int ingestionBatchSize = DEFAULT_INGESTION_BATCH_SIZE;
+        private int ingestionMaxInFlightBatches = DEFAULT_INGESTION_MAX_IN_FLIGHT_BATCHES;
+        private int pageSize = DEFAULT_PAGE_SIZE;
 
         /**
          * @param baseUrl The base URL of the Chroma service.
@@ -133,8 +176,39 @@ public class ChromaEmbeddingStore implements EmbeddingStore<TextSegment> {
             return this;
         }
 
+        /**
+         * @param ingestionBatchSize The number of embeddings sent in a single request when adding multiple embeddings.
+         *        If not specified, 500 will be used.
+         * @return builder
+         */
+        public Builder ingestionBatchSize(int ingestionBatchSize) {
+            this.ingestionBatchSize = ingestionBatchSize;
+            return this;
+        }
+
+        /**
+         * @param ingestionMaxInFlightBatches The maximum number of add requests sent concurrently. If not specified, 4
+         *        will be used.
+         * @return builder
+         */
+        public Builder ingestionMaxInFlightBatches(int ingestionMaxInFlightBatches) {
+            this.ingestionMaxInFlightBatches = ingestionMaxInFlightBatches;
+            return this;
+        }
+
+        /**
+         * @param pageSize The number of embeddings fetched in a single request when deleting or exporting all the
+         *        embeddings. If not specified, 1000 will be used.
+         * @return builder
+         */
+        public Builder pageSize(int pageSize) {
+            this.pageSize = pageSize;
+            return this;
+        }
+
         public ChromaEmbeddingStore build() {
-            return new ChromaEmbeddingStore(this.baseUrl, this.collectionName, this.timeout, logRequests, logResponses);
+            return new ChromaEmbeddingStore(this.baseUrl, this.collectionName, this.timeout, logRequests, logResponses,
+                    ingestionBatchSize, ingestionMaxInFlightBatches, pageSize);
         }
     }
 
@@ -191,25 +265,42 @@ public class ChromaEmbeddingStore implements EmbeddingStore<TextSegment> {
     }
 
     private void addAllInternal(List<String> ids, List<Embedding> embeddings, List<TextSegment> textSegments) {
-        AddEmbeddingsRequest addEmbeddingsRequest = AddEmbeddingsRequest.builder()
-                .embeddings(embeddings.stream()
-                        .map(Embedding::vector)
-                        .collect(toList()))
-                .ids(ids)
-                .metadatas(textSegments == null
-                        ? null
-                        : textSegments.stream()
-                                .map(TextSegment::metadata)
-                                .map(Metadata::toMap)
-                                .collect(toList()))
-                .documents(textSegments == null
-                        ? null
-                        : textSegments.stream()
-                                .map(TextSegment::text)
-                                .collect(toList()))
-                .build();
+        String collection = collectionId.get();
+        int size = ids.size();
+        if (size <= ingestionBatchSize) {
+            chromaClient.addEmbeddings(collection, addEmbeddingsRequest(ids, embeddings, textSegments, 0, size));
+            return;
+        }
+        // the requests of the batches are only created when they are about to be sent
+        Multi.createFrom().range(0, (size + ingestionBatchSize - 1) / ingestionBatchSize)
+                .onItem().transformToUni(batch -> {
+                    int from = batch * ingestionBatchSize;
+                    int to = Math.min(from + ingestionBatchSize, size);
+                    return chromaClient.addEmbeddingsAsync(collection,
+                            addEmbeddingsRequest(ids, embeddings, textSegments, from, to));
+                }).merge(ingestionMaxInFlightBatches)
+                .collect().last()
+                .await().indefinitely();
+    }
 
-        chromaClient.addEmbeddings(collectionId.get(), addEmbeddingsRequest);
+    private static AddEmbeddingsRequest addEmbeddingsRequest(List<String> ids, List<Embedding> embeddings,
+            List<TextSegment> textSegments, int from, int to) {
+        List<float[]> vectors = new ArrayList<>(to - from);
+        List<Map<String, Object>> metadatas = textSegments == null ? null : new ArrayList<>(to - from);
+        List<String> documents = textSegments == null ? null : new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            vectors.add(embeddings.get(i).vector());
+            if (textSegments != null) {
+                metadatas.add(textSegments.get(i).metadata().toMap());
+                documents.add(textSegments.get(i).text());
+            }
+        }
+        return AddEmbeddingsRequest.builder()
+                .embeddings(vectors)
+                .ids(ids.subList(from, to))
+                .metadatas(metadatas)
+                .documents(documents)
+                .build();
     }
 
     @Override
@@ -225,13 +316,92 @@ public class ChromaEmbeddingStore implements EmbeddingStore<TextSegment> {
                 .collect(toList()));
     }
 
-    // FIXME: we need to know the dimension to be able to construct a query that retrieves
-    // all IDs of embeddings in the collection. Is there a better way to do this, without
-    // having to pass the dimension explicitly?
+    /**
+     * Removes all the embeddings of the collection. Only the ids of the embeddings are fetched, one page at a time.
+     */
+    @Override
+    public void removeAll() {
+        chromaClient.deleteAllEmbeddings(collectionId.get(), pageSize);
+    }
+
+    /**
+     * Removes all the embeddings of the collection.
+     *
+     * @see #removeAll()
+     */
+    public void deleteAll() {
+        removeAll();
+    }
+
+    /**
+     * @deprecated the dimension is not needed anymore, use {@link #removeAll()}
+     */
+    @Deprecated(forRemoval = true)
     public void deleteAll(int dimension) {
-        chromaClient.deleteAllEmbeddings(collectionId.get(), dimension);
+        removeAll();
     }
 
+    /**
+     * Iterates over all the embeddings of the collection, with their ids and text segments. The embeddings are fetched
+     * lazily, one page at a time, so the whole collection is never loaded in memory.
+     * <p>
+     * The pages are read by offset: embeddings added or removed while iterating may be missed or returned twice.
+     *
+     * @return an iterator over the embeddings of the collection
+     */
+    public Iterator<Entry> exportAll() {
+        return new ExportIterator(collectionId.get());
+    }
+
+    /**
+     * An embedding of the collection, with its id and the optional segment it was computed from.
+     */
+    public record Entry(String id, Embedding embedding, TextSegment textSegment) {
+    }
+
+    private class ExportIterator implements Iterator<Entry> {
+
+        private final String collection;
+        private GetEmbeddingsResponse page;
+        private int offset;
+        private int index;
+        private boolean lastPage;
+
+        ExportIterator(String collection) {
+            this.collection = collection;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (page != null && index < page.getIds().size()) {
+                return true;
+            }
+            if (lastPage) {
+                return false;
+            }
+            page = chromaClient.getEmbeddings(collection, new GetEmbeddingsRequest(pageSize, offset, EXPORTED_FIELDS));
+            offset += page.getIds().size();
+            index = 0;
+            lastPage = page.getIds().size() < pageSize;
+            return !page.getIds().isEmpty();
+        }
+
+        @Override
+        public Entry next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int i = index++;
+            String text = page.getDocuments() == null ? null : page.getDocuments().get(i);
+            Map<String, Object> metadata = page.getMetadatas() == null ? null : page.getMetadatas().get(i);
+            TextSegment textSegment = text == null ? null
+                    : TextSegment.from(text, metadata == null ? new Metadata() : new Metadata(metadata));
+            return new Entry(page.getIds().get(i), Embedding.from(page.getEmbeddings().get(i)), textSegment);
+        }
+    }
+
+    private static final List<String> EXPORTED_FIELDS = List.of("embeddings", "documents", "metadatas");
+
     private static List<EmbeddingMatch<TextSegment>> toEmbeddingMatches(QueryResponse queryResponse) {
         List<EmbeddingMatch<TextSegment>> embeddingMatches = new ArrayList<>();
 
@@ -307,20 +477,33 @@ public class ChromaEmbeddingStore implements EmbeddingStore<TextSegment> {
             return chromaApi.queryCollection(collectionId, queryRequest);
         }
 
-        public void deleteAllEmbeddings(String collectionId, int dimension) {
-            List<Float> referenceEmbedding = new ArrayList<>();
-            for (int i = 0; i < dimension; i++) {
-                referenceEmbedding.add(0.0f);
-            }
-            QueryRequest queryRequest = new QueryRequest(referenceEmbedding, Integer.MAX_VALUE);
-            QueryResponse queryResponse = chromaApi.queryCollection(collectionId, queryRequest);
-            if (!queryResponse.getIds().get(0).isEmpty()) {
-                DeleteEmbeddingsRequest request = new DeleteEmbeddingsRequest(queryResponse.getIds().get(0));
-                List<String> deletedIds = chromaApi.deleteEmbeddings(collectionId, request);
-                // TODO: why do we have to do this twice? for some reason
-                // embeddings sometimes remain in the db after the first delete,
-                // even though the response says they were deleted
-                chromaApi.deleteEmbeddings(collectionId, request);
+        Uni<Boolean> addEmbeddingsAsync(String collectionId, AddEmbeddingsRequest addEmbeddingsRequest) {
+            return chromaApi.addEmbeddingsAsync(collectionId, addEmbeddingsRequest);
+        }
+
+        GetEmbeddingsResponse getEmbeddings(String collectionId, GetEmbeddingsRequest getEmbeddingsRequest) {
+            return chromaApi.getEmbeddings(collectionId, getEmbeddingsRequest);
+        }
+
+        void deleteAllEmbeddings(String collectionId, int pageSize) {
+            // the deleted embeddings are not returned anymore, so the first page is always the next one to delete
+            GetEmbeddingsRequest firstPage = new GetEmbeddingsRequest(pageSize, 0, List.of());
+            List<String> previousIds = null;
+            boolean retried = false;
+            List<String> ids;
+            while (!(ids = chromaApi.getEmbeddings(collectionId, firstPage).getIds()).isEmpty()) {
+                if (ids.equals(previousIds)) {
+                    // embeddings sometimes remain in the db after the first delete, even though the response says
+                    // they were deleted: deleting them again is enough, a page that cannot be deleted would loop forever
+                    if (retried) {
+                        throw new IllegalStateException("Chroma did not delete the embeddings " + ids);
+                    }
+                    retried = true;
+                } else {
+                    retried = false;
+                }
+                chromaApi.deleteEmbeddings(collectionId, new DeleteEmbeddingsRequest(ids));
+                previousIds = ids;
             }
         }
     }
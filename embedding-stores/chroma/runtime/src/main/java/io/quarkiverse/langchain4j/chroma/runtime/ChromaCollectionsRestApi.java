@@ -13,6 +13,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.quarkiverse.langchain4j.QuarkusJsonCodecFactory;
 import io.quarkus.rest.client.reactive.jackson.ClientObjectMapper;
+import io.smallrye.mutiny.Uni;
 
 @Path("/api/v1/collections")
 @Consumes(MediaType.APPLICATION_JSON)
@@ -30,6 +31,14 @@ public interface ChromaCollectionsRestApi {
     @POST
     Boolean addEmbeddings(String collectionId, AddEmbeddingsRequest embedding);
 
+    @Path("/{collectionId}/add")
+    @POST
+    Uni<Boolean> addEmbeddingsAsync(String collectionId, AddEmbeddingsRequest embedding);
+
+    @Path("{collectionId}/get")
+    @POST
+    GetEmbeddingsResponse getEmbeddings(String collectionId, GetEmbeddingsRequest getEmbeddingsRequest);
+
     @Path("{collectionId}/query")
     @POST
     QueryResponse queryCollection(String collectionId, QueryRequest queryRequest);
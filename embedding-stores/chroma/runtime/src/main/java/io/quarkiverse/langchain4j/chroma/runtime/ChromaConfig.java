@@ -44,4 +44,23 @@ public interface ChromaConfig {
     @WithDefault("${quarkus.langchain4j.log-requests}")
     Optional<Boolean> logResponses();
 
+    /**
+     * Number of embeddings that are sent to Chroma in a single request when adding multiple embeddings.
+     */
+    @WithDefault("500")
+    int ingestionBatchSize();
+
+    /**
+     * Maximum number of requests that are sent to Chroma concurrently when adding multiple embeddings.
+     */
+    @WithDefault("4")
+    int ingestionMaxInFlightBatches();
+
+    /**
+     * Number of embeddings that are fetched from Chroma in a single request when deleting or exporting all the
+     * embeddings of the collection.
+     */
+    @WithDefault("1000")
+    int pageSize();
+
 }
@@ -19,11 +19,16 @@ public class ChromaRecorder {
         return new Supplier<>() {
             @Override
             public ChromaEmbeddingStore get() {
-                return new ChromaEmbeddingStore(runtimeConfig.getValue().url(),
-                        runtimeConfig.getValue().collectionName(),
-                        runtimeConfig.getValue().timeout().orElse(Duration.ofSeconds(5)),
-                        runtimeConfig.getValue().logRequests().orElse(false),
-                        runtimeConfig.getValue().logResponses().orElse(false));
+                return ChromaEmbeddingStore.builder()
+                        .baseUrl(runtimeConfig.getValue().url())
+                        .collectionName(runtimeConfig.getValue().collectionName())
+                        .timeout(runtimeConfig.getValue().timeout().orElse(Duration.ofSeconds(5)))
+                        .logRequests(runtimeConfig.getValue().logRequests().orElse(false))
+                        .logResponses(runtimeConfig.getValue().logResponses().orElse(false))
+                        .ingestionBatchSize(runtimeConfig.getValue().ingestionBatchSize())
+                        .ingestionMaxInFlightBatches(runtimeConfig.getValue().ingestionMaxInFlightBatches())
+                        .pageSize(runtimeConfig.getValue().pageSize())
+                        .build();
             }
         };
     }
@@ -0,0 +1,40 @@
+package io.quarkiverse.langchain4j.chroma.runtime;
+
+import java.util.List;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * Requests a page of the embeddings of a collection, ordered by insertion.
+ */
+@RegisterForReflection
+public class GetEmbeddingsRequest {
+
+    private final int limit;
+    private final int offset;
+    private final List<String> include;
+
+    /**
+     * @param limit the maximum number of embeddings to return
+     * @param offset the number of embeddings to skip
+     * @param include the fields to return along with the ids, any of {@code embeddings}, {@code documents} and
+     *        {@code metadatas}. When empty, only the ids are returned.
+     */
+    public GetEmbeddingsRequest(int limit, int offset, List<String> include) {
+        this.limit = limit;
+        this.offset = offset;
+        this.include = include;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public List<String> getInclude() {
+        return include;
+    }
+}
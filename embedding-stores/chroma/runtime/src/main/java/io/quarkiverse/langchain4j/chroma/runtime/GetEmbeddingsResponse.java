@@ -0,0 +1,51 @@
+package io.quarkiverse.langchain4j.chroma.runtime;
+
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+@RegisterForReflection
+public class GetEmbeddingsResponse {
+
+    private final List<String> ids;
+    private final List<float[]> embeddings;
+    private final List<String> documents;
+    private final List<Map<String, Object>> metadatas;
+
+    @JsonCreator
+    public GetEmbeddingsResponse(List<String> ids, List<float[]> embeddings, List<String> documents,
+            List<Map<String, Object>> metadatas) {
+        this.ids = ids;
+        this.embeddings = embeddings;
+        this.documents = documents;
+        this.metadatas = metadatas;
+    }
+
+    public List<String> getIds() {
+        return ids;
+    }
+
+    /**
+     * @return the embeddings, or {@code null} if they were not requested
+     */
+    public List<float[]> getEmbeddings() {
+        return embeddings;
+    }
+
+    /**
+     * @return the documents, or {@code null} if they were not requested
+     */
+    public List<String> getDocuments() {
+        return documents;
+    }
+
+    /**
+     * @return the metadata, with their JSON value types, or {@code null} if they were not requested
+     */
+    public List<Map<String, Object>> getMetadatas() {
+        return metadatas;
+    }
+}
@@ -0,0 +1,109 @@
+package io.quarkiverse.langchain4j.infinispan.deployment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.filter.Filter;
+import dev.langchain4j.store.embedding.filter.comparison.IsEqualTo;
+import dev.langchain4j.store.embedding.filter.comparison.IsNotEqualTo;
+import dev.langchain4j.store.embedding.filter.comparison.IsNotIn;
+import dev.langchain4j.store.embedding.filter.logical.And;
+import dev.langchain4j.store.embedding.filter.logical.Not;
+import dev.langchain4j.store.embedding.filter.logical.Or;
+import io.quarkiverse.langchain4j.infinispan.InfinispanEmbeddingStore;
+import io.quarkus.test.QuarkusUnitTest;
+
+/**
+ * Runs the negated filters against the Infinispan server started by the dev services, in particular on the items that
+ * do not have the compared metadata key.
+ */
+public class InfinispanEmbeddingStoreFilterTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addAsResource(new StringAsset("quarkus.langchain4j.infinispan.dimension=3"),
+                            "application.properties"));
+
+    @Inject
+    InfinispanEmbeddingStore embeddingStore;
+
+    @BeforeEach
+    void addItems() {
+        embeddingStore.deleteAll();
+        add("red-1", Map.of("color", "red", "size", 1));
+        add("red-2", Map.of("color", "red", "size", 2));
+        add("blue-1", Map.of("color", "blue", "size", 1));
+        add("no-color-2", Map.of("size", 2));
+        add("no-metadata", Map.of());
+    }
+
+    @Test
+    void isNotEqualTo() {
+        assertThat(search(new IsNotEqualTo("color", "red")))
+                .containsExactlyInAnyOrder("blue-1", "no-color-2", "no-metadata");
+    }
+
+    @Test
+    void isNotIn() {
+        assertThat(search(new IsNotIn("size", List.of(1L, 3L))))
+                .containsExactlyInAnyOrder("red-2", "no-color-2", "no-metadata");
+    }
+
+    @Test
+    void not() {
+        assertThat(search(new Not(new Or(new IsEqualTo("color", "blue"), new IsEqualTo("size", 2)))))
+                .containsExactlyInAnyOrder("red-1", "no-metadata");
+    }
+
+    @Test
+    void negationWithinConjunction() {
+        assertThat(search(new And(new IsEqualTo("size", 1), new IsNotEqualTo("color", "red"))))
+                .containsExactly("blue-1");
+    }
+
+    @Test
+    void doubleNegation() {
+        assertThat(search(new Not(new IsNotEqualTo("color", "red"))))
+                .containsExactlyInAnyOrder("red-1", "red-2");
+    }
+
+    @Test
+    void maxResultsAboveTheDistance() {
+        // the default distance, the k of the kNN query, is 3
+        assertThat(search(null))
+                .containsExactlyInAnyOrder("red-1", "red-2", "blue-1", "no-color-2", "no-metadata");
+    }
+
+    private void add(String text, Map<String, Object> metadata) {
+        embeddingStore.add(Embedding.from(new float[] { 1f, 0f, 0f }), TextSegment.from(text, Metadata.from(metadata)));
+    }
+
+    private List<String> search(Filter filter) {
+        return embeddingStore.search(EmbeddingSearchRequest.builder()
+                .queryEmbedding(Embedding.from(new float[] { 1f, 0f, 0f }))
+                .maxResults(10)
+                .filter(filter)
+                .build())
+                .matches().stream()
+                .map(EmbeddingMatch::embedded)
+                .map(TextSegment::text)
+                .toList();
+    }
+}
@@ -0,0 +1,83 @@
+package io.quarkiverse.langchain4j.infinispan.deployment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import dev.langchain4j.store.embedding.filter.comparison.ContainsString;
+import dev.langchain4j.store.embedding.filter.comparison.IsEqualTo;
+import dev.langchain4j.store.embedding.filter.comparison.IsGreaterThan;
+import dev.langchain4j.store.embedding.filter.comparison.IsIn;
+import dev.langchain4j.store.embedding.filter.comparison.IsLessThanOrEqualTo;
+import dev.langchain4j.store.embedding.filter.comparison.IsNotEqualTo;
+import dev.langchain4j.store.embedding.filter.comparison.IsNotIn;
+import dev.langchain4j.store.embedding.filter.logical.And;
+import dev.langchain4j.store.embedding.filter.logical.Not;
+import dev.langchain4j.store.embedding.filter.logical.Or;
+import io.quarkiverse.langchain4j.infinispan.runtime.InfinispanFilterMapper;
+import io.quarkiverse.langchain4j.infinispan.runtime.InfinispanFilterMapper.IckleFilter;
+
+public class InfinispanFilterMapperTest {
+    private InfinispanFilterMapper mapper = new InfinispanFilterMapper("LangchainItem384");
+
+    @Test
+    public void testNoFilter() {
+        assertNull(mapper.map(null));
+    }
+
+    @Test
+    public void testEqual() {
+        IckleFilter filter = mapper.map(new IsEqualTo("field", "abc"));
+        assertEquals(" join i.metadata m0", filter.joins());
+        assertEquals("(m0.name = :p0 and m0.value = :p1)", filter.predicate());
+        assertEquals(Map.of("p0", "field", "p1", "abc"), filter.parameters());
+    }
+
+    @Test
+    public void testNotEqual() {
+        UUID uuid = UUID.randomUUID();
+        IckleFilter filter = mapper.map(new IsNotEqualTo("field", uuid));
+        assertEquals("", filter.joins());
+        assertEquals("i.id not in (select s0.id from LangchainItem384 s0 join s0.metadata m0"
+                + " where (m0.name = :p0 and m0.value = :p1))", filter.predicate());
+        assertEquals(Map.of("p0", "field", "p1", uuid.toString()), filter.parameters());
+    }
+
+    @Test
+    public void testNumericComparisons() {
+        IckleFilter filter = mapper.map(new And(new IsGreaterThan("count", 3), new IsLessThanOrEqualTo("price", 9.5f)));
+        assertEquals(" join i.metadata m0 join i.metadata m1", filter.joins());
+        assertEquals("((m0.name = :p0 and m0.valueInt > :p1) and (m1.name = :p2 and m1.valueFloat <= :p3))",
+                filter.predicate());
+        assertEquals(Map.of("p0", "count", "p1", 3L, "p2", "price", "p3", 9.5d), filter.parameters());
+    }
+
+    @Test
+    public void testIn() {
+        IckleFilter filter = mapper.map(new Or(new IsIn("color", List.of("red", "blue")), new IsNotIn("size", List.of(1L))));
+        assertEquals(" join i.metadata m0", filter.joins());
+        assertEquals("((m0.name = :p0 and m0.value in (:p1, :p2)) or i.id not in (select s0.id from LangchainItem384 s0"
+                + " join s0.metadata m1 where (m1.name = :p3 and m1.valueInt in (:p4))))", filter.predicate());
+        assertEquals(Map.of("p0", "color", "p1", "red", "p2", "blue", "p3", "size", "p4", 1L), filter.parameters());
+    }
+
+    @Test
+    public void testNot() {
+        IckleFilter filter = mapper.map(new Not(new Or(new IsEqualTo("a", 1), new IsEqualTo("b", 2))));
+        assertEquals("", filter.joins());
+        assertEquals("i.id not in (select s0.id from LangchainItem384 s0 join s0.metadata m0 join s0.metadata m1"
+                + " where ((m0.name = :p0 and m0.valueInt = :p1) or (m1.name = :p2 and m1.valueInt = :p3)))",
+                filter.predicate());
+    }
+
+    @Test
+    public void testUnsupported() {
+        assertThrows(UnsupportedOperationException.class, () -> mapper.map(new ContainsString("field", "abc")));
+    }
+}
@@ -6,12 +6,9 @@ import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Collectors;
 
 import org.infinispan.client.hotrod.RemoteCache;
 import org.infinispan.client.hotrod.RemoteCacheManager;
@@ -25,13 +22,20 @@ import dev.langchain4j.store.embedding.EmbeddingMatch;
 import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
 import dev.langchain4j.store.embedding.EmbeddingSearchResult;
 import dev.langchain4j.store.embedding.EmbeddingStore;
+import io.quarkiverse.langchain4j.infinispan.runtime.InfinispanFilterMapper;
+import io.quarkiverse.langchain4j.infinispan.runtime.InfinispanFilterMapper.IckleFilter;
 import io.quarkiverse.langchain4j.infinispan.runtime.InfinispanSchema;
 import io.quarkiverse.langchain4j.infinispan.runtime.LangchainInfinispanItem;
+import io.quarkiverse.langchain4j.infinispan.runtime.LangchainInfinispanMetadata;
 
 public class InfinispanEmbeddingStore implements EmbeddingStore<TextSegment> {
 
     private final RemoteCache<String, LangchainInfinispanItem> remoteCache;
     private final InfinispanSchema schema;
+    private final InfinispanFilterMapper filterMapper;
+    private final String selectFrom;
+    private final String knnPredicate;
+    private final String searchQuery;
     private static final String DEFAULT_CACHE_CONFIG = "<distributed-cache name=\"CACHE_NAME\">\n"
             + "<indexing storage=\"local-heap\">\n"
             + "<indexed-entities>\n"
@@ -45,11 +49,24 @@ public class InfinispanEmbeddingStore implements EmbeddingStore<TextSegment> {
     }
 
     public InfinispanEmbeddingStore(RemoteCacheManager cacheManager, InfinispanSchema schema) {
+        String itemType = SchemaAndMarshallerProducer.LANGCHAIN_ITEM + schema.getDimension();
         String langchainCache = DEFAULT_CACHE_CONFIG.replace("CACHE_NAME", schema.getCacheName())
-                .replace("LANGCHAINITEM", SchemaAndMarshallerProducer.LANGCHAIN_ITEM + schema.getDimension());
-        this.remoteCache = cacheManager.administration()
-                .getOrCreateCache(schema.getCacheName(), new StringConfiguration(langchainCache));
+                .replace("LANGCHAINITEM", itemType);
+        RemoteCache<String, LangchainInfinispanItem> existingCache = cacheManager.getCache(schema.getCacheName());
+        if (existingCache != null) {
+            // the cache may have been indexed with a former version of the schema, without the typed metadata
+            cacheManager.administration().updateIndexSchema(schema.getCacheName());
+            this.remoteCache = existingCache;
+        } else {
+            this.remoteCache = cacheManager.administration()
+                    .getOrCreateCache(schema.getCacheName(), new StringConfiguration(langchainCache));
+        }
         this.schema = schema;
+        // the vector and the compared values are parameters, so that the server parses each kind of query only once
+        this.selectFrom = "select i, score(i) from " + itemType + " i";
+        this.knnPredicate = " where i.floatVector <-> [:vector]~:k";
+        this.searchQuery = selectFrom + knnPredicate;
+        this.filterMapper = new InfinispanFilterMapper(itemType);
     }
 
     @Override
@@ -113,14 +130,12 @@ public class InfinispanEmbeddingStore implements EmbeddingStore<TextSegment> {
             TextSegment textSegment = embedded == null ? null : embedded.get(i);
             if (textSegment != null) {
                 Map<String, Object> map = textSegment.metadata().toMap();
-                final List<String> metadataKeys = new ArrayList<>(map.size());
-                final List<String> metadataValues = new ArrayList<>(map.size());
-                map.entrySet().forEach(e -> {
-                    metadataKeys.add(e.getKey());
-                    metadataValues.add(e.getValue() != null ? e.getValue().toString() : null);
-                });
+                List<LangchainInfinispanMetadata> metadata = new ArrayList<>(map.size());
+                for (Map.Entry<String, Object> e : map.entrySet()) {
+                    metadata.add(LangchainInfinispanMetadata.of(e.getKey(), e.getValue()));
+                }
                 elements.put(id,
-                        new LangchainInfinispanItem(id, embedding.vector(), textSegment.text(), metadataKeys, metadataValues));
+                        new LangchainInfinispanItem(id, embedding.vector(), textSegment.text(), null, null, metadata));
             } else {
                 elements.put(id, new LangchainInfinispanItem(id, embedding.vector(), null, null, null));
             }
@@ -129,33 +144,59 @@ public class InfinispanEmbeddingStore implements EmbeddingStore<TextSegment> {
         remoteCache.putAll(elements);
     }
 
+    /**
+     * Runs a kNN query returning the {@code k} nearest items, {@code k} being the configured distance raised to the
+     * requested maximum number of results if needed, the metadata filter being applied by the server while selecting
+     * them. The minimum score is not part of the query: it is applied to the returned items, so fewer than the
+     * requested maximum number of results are returned when some of the nearest items score below it.
+     */
     @Override
     public EmbeddingSearchResult<TextSegment> search(EmbeddingSearchRequest request) {
-        Query<Object[]> query = remoteCache.query("select i, score(i) from " + "LangchainItem"
-                + schema.getDimension().toString()
-                + " i where i.floatVector <-> " + Arrays.toString(request.queryEmbedding().vector()) + "~"
-                + schema.getDistance());
+        IckleFilter filter = filterMapper.map(request.filter());
+        Query<Object[]> query;
+        if (filter == null) {
+            query = remoteCache.query(searchQuery);
+        } else {
+            query = remoteCache.query(selectFrom + filter.joins() + knnPredicate + " filtering (" + filter.predicate() + ")");
+            filter.parameters().forEach(query::setParameter);
+        }
+        query.setParameter("vector", request.queryEmbedding().vector());
+        // k nearest items with fewer than maxResults would silently truncate the results
+        query.setParameter("k", Math.max(schema.getDistance(), request.maxResults()));
         List<Object[]> hits = query.maxResults(request.maxResults()).list();
 
-        return new EmbeddingSearchResult<>(hits.stream().map(obj -> {
-            LangchainInfinispanItem item = (LangchainInfinispanItem) obj[0];
-            Float score = (Float) obj[1];
-            if (score.doubleValue() < request.minScore()) {
-                return null;
+        List<EmbeddingMatch<TextSegment>> matches = new ArrayList<>(hits.size());
+        for (Object[] hit : hits) {
+            double score = ((Number) hit[1]).doubleValue();
+            if (score < request.minScore()) {
+                // the hits are sorted by decreasing score
+                break;
             }
+            LangchainInfinispanItem item = (LangchainInfinispanItem) hit[0];
             TextSegment embedded = null;
             if (item.getText() != null) {
-                Map<String, Object> map = new HashMap<>();
-                List<String> metadataKeys = item.getMetadataKeys();
-                List<String> metadataValues = item.getMetadataValues();
-                for (int i = 0; i < metadataKeys.size(); i++) {
-                    map.put(metadataKeys.get(i), metadataValues.get(i));
-                }
-                embedded = new TextSegment(item.getText(), new Metadata(map));
+                embedded = new TextSegment(item.getText(), metadata(item));
+            }
+            matches.add(new EmbeddingMatch<>(score, item.getId(), new Embedding(item.getFloatVector()), embedded));
+        }
+        return new EmbeddingSearchResult<>(matches);
+    }
+
+    private static Metadata metadata(LangchainInfinispanItem item) {
+        Map<String, Object> map = new HashMap<>();
+        if (item.getMetadata() != null && !item.getMetadata().isEmpty()) {
+            for (LangchainInfinispanMetadata entry : item.getMetadata()) {
+                map.put(entry.getName(), entry.value());
             }
-            Embedding embedding = new Embedding(item.getFloatVector());
-            return new EmbeddingMatch<>(score.doubleValue(), item.getId(), embedding, embedded);
-        }).filter(Objects::nonNull).collect(Collectors.toList()));
+        } else if (item.getMetadataKeys() != null) {
+            // written by a former version, the values are strings
+            List<String> metadataKeys = item.getMetadataKeys();
+            List<String> metadataValues = item.getMetadataValues();
+            for (int i = 0; i < metadataKeys.size(); i++) {
+                map.put(metadataKeys.get(i), metadataValues.get(i));
+            }
+        }
+        return new Metadata(map);
     }
 
     public void deleteAll() {
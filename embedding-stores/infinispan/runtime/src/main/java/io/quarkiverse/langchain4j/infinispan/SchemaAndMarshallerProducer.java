@@ -10,30 +10,102 @@ import org.infinispan.protostream.MessageMarshaller;
 
 import io.quarkiverse.langchain4j.infinispan.runtime.InfinispanEmbeddingStoreConfig;
 import io.quarkiverse.langchain4j.infinispan.runtime.LangchainItemMarshaller;
+import io.quarkiverse.langchain4j.infinispan.runtime.LangchainMetadataMarshaller;
 
 @ApplicationScoped
 public class SchemaAndMarshallerProducer {
 
     public static final String LANGCHAIN_ITEM = "LangchainItem";
 
-    private static final String PROTO = "syntax = \"proto2\";\n" + "\n" + "/**\n" + " * @Indexed\n" + " */\n"
-            + "message LangchainItemDIMENSION {\n" + "   \n" + "   /**\n" + "    * @Keyword\n" + "    */\n"
-            + "   optional string id = 1;\n" + "   \n" + "   /**\n" + "    * @Vector(dimension=DIMENSION, similarity=COSINE)\n"
-            + "    */\n" + "   repeated float floatVector = 2;\n" + "   \n" + "   optional string text = 3;\n" + "   \n"
-            + "   repeated string metadataKeys = 4;\n" + "   \n" + "   repeated string metadataValues = 5;\n" + "}\n";
+    public static final String LANGCHAIN_METADATA = "LangchainMetadata";
+
+    private static final String PROTO = """
+            syntax = "proto2";
+
+            /**
+             * @Indexed
+             */
+            message LangchainMetadataDIMENSION {
+
+               /**
+                * @Keyword
+                */
+               optional string name = 1;
+
+               /**
+                * @Keyword
+                */
+               optional string value = 2;
+
+               /**
+                * @Basic
+                */
+               optional int64 valueInt = 3;
+
+               /**
+                * @Basic
+                */
+               optional double valueFloat = 4;
+            }
+
+            /**
+             * @Indexed
+             */
+            message LangchainItemDIMENSION {
+
+               /**
+                * @Keyword
+                */
+               optional string id = 1;
+
+               /**
+                * @Vector(dimension=DIMENSION, similarity=COSINE)
+                */
+               repeated float floatVector = 2;
+
+               optional string text = 3;
+
+               repeated string metadataKeys = 4;
+
+               repeated string metadataValues = 5;
+
+               /**
+                * @Embedded
+                */
+               repeated LangchainMetadataDIMENSION metadata = 6;
+            }
+            """;
 
     @Inject
     private Instance<InfinispanEmbeddingStoreConfig> infinispanEmbeddingStoreConfigHandle;
 
     @Produces
     public FileDescriptorSource bookProtoDefinition() {
-        Long dimension = infinispanEmbeddingStoreConfigHandle.get().dimension();
-        return FileDescriptorSource.fromString("langchain_dimension_" + dimension.toString() + ".proto",
-                PROTO.replace("DIMENSION", dimension.toString()));
+        return protoDefinition(infinispanEmbeddingStoreConfigHandle.get().dimension());
+    }
+
+    /**
+     * The schema of the items stored for embeddings of the given dimension.
+     */
+    public static FileDescriptorSource protoDefinition(Long dimension) {
+        return FileDescriptorSource.fromString(protoFileName(dimension), protoSchema(dimension));
+    }
+
+    public static String protoFileName(Long dimension) {
+        return "langchain_dimension_" + dimension.toString() + ".proto";
+    }
+
+    public static String protoSchema(Long dimension) {
+        return PROTO.replace("DIMENSION", dimension.toString());
     }
 
     @Produces
     public MessageMarshaller langchainItemMarshaller() {
         return new LangchainItemMarshaller(infinispanEmbeddingStoreConfigHandle.get().dimension());
     }
+
+    @Produces
+    public MessageMarshaller langchainMetadataMarshaller() {
+        return new LangchainMetadataMarshaller(infinispanEmbeddingStoreConfigHandle.get().dimension());
+    }
 }
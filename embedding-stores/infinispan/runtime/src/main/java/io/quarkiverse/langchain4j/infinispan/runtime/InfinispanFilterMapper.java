@@ -0,0 +1,181 @@
+package io.quarkiverse.langchain4j.infinispan.runtime;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import dev.langchain4j.store.embedding.filter.Filter;
+import dev.langchain4j.store.embedding.filter.comparison.IsEqualTo;
+import dev.langchain4j.store.embedding.filter.comparison.IsGreaterThan;
+import dev.langchain4j.store.embedding.filter.comparison.IsGreaterThanOrEqualTo;
+import dev.langchain4j.store.embedding.filter.comparison.IsIn;
+import dev.langchain4j.store.embedding.filter.comparison.IsLessThan;
+import dev.langchain4j.store.embedding.filter.comparison.IsLessThanOrEqualTo;
+import dev.langchain4j.store.embedding.filter.comparison.IsNotEqualTo;
+import dev.langchain4j.store.embedding.filter.comparison.IsNotIn;
+import dev.langchain4j.store.embedding.filter.logical.And;
+import dev.langchain4j.store.embedding.filter.logical.Not;
+import dev.langchain4j.store.embedding.filter.logical.Or;
+
+/**
+ * Maps {@link dev.langchain4j.store.embedding.filter.Filter} instances to Ickle predicates on the metadata of the
+ * stored items.
+ * <p>
+ * Each comparison joins the metadata entries of the item under a new alias, so that the name and the value of a
+ * comparison are matched against the same entry. A negation is mapped to a subquery selecting the items that match
+ * the negated filter, so that the items without the compared metadata keys match the negation. The compared values
+ * are passed as named parameters: the text of the query only depends on the shape of the filter, and can be reused by
+ * the server for all the values.
+ */
+public class InfinispanFilterMapper {
+
+    private final String itemType;
+
+    /**
+     * @param itemType the name of the indexed item entity, used by the subqueries of the negations
+     */
+    public InfinispanFilterMapper(String itemType) {
+        this.itemType = itemType;
+    }
+
+    public IckleFilter map(Filter filter) {
+        if (filter == null) {
+            return null;
+        }
+        Mapping mapping = new Mapping();
+        Scope query = new Scope("i");
+        String predicate = mapping.map0(filter, query);
+        return new IckleFilter(query.joins.toString(), predicate, mapping.parameters);
+    }
+
+    /**
+     * The translation of a filter.
+     *
+     * @param joins the join clauses to append to the {@code from} clause of the query, starting with a space
+     * @param predicate the predicate on the joined metadata entries
+     * @param parameters the values of the named parameters used by the predicate
+     */
+    public record IckleFilter(String joins, String predicate, Map<String, Object> parameters) {
+    }
+
+    /**
+     * The alias of the item of a query or subquery, along with the metadata entries it joins.
+     */
+    private record Scope(String item, StringBuilder joins) {
+
+        Scope(String item) {
+            this(item, new StringBuilder());
+        }
+    }
+
+    private class Mapping {
+
+        private final Map<String, Object> parameters = new HashMap<>();
+        private int aliases;
+        private int subqueries;
+
+        private String map0(Filter filter, Scope scope) {
+            if (filter instanceof IsEqualTo op) {
+                return compare(op.key(), "=", op.comparisonValue(), scope);
+            } else if (filter instanceof IsNotEqualTo op) {
+                return not(new IsEqualTo(op.key(), op.comparisonValue()), scope);
+            } else if (filter instanceof IsGreaterThan op) {
+                return compare(op.key(), ">", op.comparisonValue(), scope);
+            } else if (filter instanceof IsGreaterThanOrEqualTo op) {
+                return compare(op.key(), ">=", op.comparisonValue(), scope);
+            } else if (filter instanceof IsLessThan op) {
+                return compare(op.key(), "<", op.comparisonValue(), scope);
+            } else if (filter instanceof IsLessThanOrEqualTo op) {
+                return compare(op.key(), "<=", op.comparisonValue(), scope);
+            } else if (filter instanceof IsIn op) {
+                return in(op.key(), op.comparisonValues(), scope);
+            } else if (filter instanceof IsNotIn op) {
+                return not(new IsIn(op.key(), op.comparisonValues()), scope);
+            } else if (filter instanceof And op) {
+                return "(" + map0(op.left(), scope) + " and " + map0(op.right(), scope) + ")";
+            } else if (filter instanceof Or op) {
+                return "(" + map0(op.left(), scope) + " or " + map0(op.right(), scope) + ")";
+            } else if (filter instanceof Not op) {
+                return not(op.expression(), scope);
+            } else {
+                throw new UnsupportedOperationException("Unsupported filter type: " + filter.getClass().getName());
+            }
+        }
+
+        /**
+         * Negating the predicate on the joined entries would match the items having any other entry, so the items
+         * matching the filter are excluded by id instead.
+         */
+        private String not(Filter filter, Scope scope) {
+            Scope subquery = new Scope("s" + subqueries++);
+            String predicate = map0(filter, subquery);
+            return scope.item() + ".id not in (select " + subquery.item() + ".id from " + itemType + " " + subquery.item()
+                    + subquery.joins() + " where " + predicate + ")";
+        }
+
+        private String compare(String key, String operator, Object value, Scope scope) {
+            String alias = join(scope);
+            return "(" + alias + ".name = " + parameter(key) + " and " + alias + "." + field(value) + " " + operator + " "
+                    + parameter(value(value)) + ")";
+        }
+
+        private String in(String key, Collection<?> values, Scope scope) {
+            if (values.isEmpty()) {
+                throw new UnsupportedOperationException("Filtering on an empty list of values is not supported");
+            }
+            String alias = join(scope);
+            StringBuilder predicate = new StringBuilder("(").append(alias).append(".name = ").append(parameter(key))
+                    .append(" and ").append(alias).append(".").append(field(values.iterator().next())).append(" in (");
+            boolean first = true;
+            for (Object value : values) {
+                if (!first) {
+                    predicate.append(", ");
+                }
+                predicate.append(parameter(value(value)));
+                first = false;
+            }
+            return predicate.append("))").toString();
+        }
+
+        private String join(Scope scope) {
+            String alias = "m" + aliases++;
+            scope.joins().append(" join ").append(scope.item()).append(".metadata ").append(alias);
+            return alias;
+        }
+
+        private String parameter(Object value) {
+            String name = "p" + parameters.size();
+            parameters.put(name, value);
+            return ":" + name;
+        }
+    }
+
+    /**
+     * The field of the metadata entries storing values of the type of the given value.
+     */
+    static String field(Object value) {
+        if (value instanceof String || value instanceof UUID) {
+            return LangchainInfinispanMetadata.VALUE;
+        } else if (value instanceof Integer || value instanceof Long) {
+            return LangchainInfinispanMetadata.VALUE_INT;
+        } else if (value instanceof Float || value instanceof Double) {
+            return LangchainInfinispanMetadata.VALUE_FLOAT;
+        }
+        throw new UnsupportedOperationException("Unsupported metadata value type: " + value.getClass().getName());
+    }
+
+    /**
+     * The value as stored in the metadata entries.
+     */
+    static Object value(Object value) {
+        if (value instanceof UUID) {
+            return value.toString();
+        } else if (value instanceof Integer i) {
+            return i.longValue();
+        } else if (value instanceof Float f) {
+            return f.doubleValue();
+        }
+        return value;
+    }
+}
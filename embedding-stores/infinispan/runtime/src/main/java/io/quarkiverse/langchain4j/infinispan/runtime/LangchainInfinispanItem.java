@@ -16,13 +16,21 @@ public class LangchainInfinispanItem {
 
     private List<String> metadataValues;
 
+    private List<LangchainInfinispanMetadata> metadata;
+
     public LangchainInfinispanItem(String id, float[] floatVector, String text, List<String> metadataKeys,
             List<String> metadataValues) {
+        this(id, floatVector, text, metadataKeys, metadataValues, null);
+    }
+
+    public LangchainInfinispanItem(String id, float[] floatVector, String text, List<String> metadataKeys,
+            List<String> metadataValues, List<LangchainInfinispanMetadata> metadata) {
         this.id = id;
         this.floatVector = floatVector;
         this.text = text;
         this.metadataKeys = metadataKeys;
         this.metadataValues = metadataValues;
+        this.metadata = metadata;
     }
 
     /**
@@ -70,10 +78,21 @@ public class LangchainInfinispanItem {
         return metadataValues;
     }
 
+    /**
+     * Maps to the text segment metadata, with typed values that can be filtered on. Items written by former versions only
+     * have the metadata keys and values.
+     *
+     * @return metadata entries
+     */
+    public List<LangchainInfinispanMetadata> getMetadata() {
+        return metadata;
+    }
+
     @Override
     public String toString() {
         return "LangchainInfinispanItem{" + "id='" + id + '\'' + ", floatVector=" + Arrays.toString(floatVector)
-                + ", text='" + text + '\'' + ", metadataKeys=" + metadataKeys + ", metadataValues=" + metadataValues + '}';
+                + ", text='" + text + '\'' + ", metadataKeys=" + metadataKeys + ", metadataValues=" + metadataValues
+                + ", metadata=" + metadata + '}';
     }
 
     @Override
@@ -86,12 +105,13 @@ public class LangchainInfinispanItem {
         return Objects.equals(id, that.id) && Arrays.equals(floatVector, that.floatVector) && Objects.equals(text,
                 that.text) && Objects.equals(metadataKeys, that.metadataKeys)
                 && Objects.equals(metadataValues,
-                        that.metadataValues);
+                        that.metadataValues)
+                && Objects.equals(metadata, that.metadata);
     }
 
     @Override
     public int hashCode() {
-        int result = Objects.hash(id, text, metadataKeys, metadataValues);
+        int result = Objects.hash(id, text, metadataKeys, metadataValues, metadata);
         result = 31 * result + Arrays.hashCode(floatVector);
         return result;
     }
@@ -0,0 +1,120 @@
+package io.quarkiverse.langchain4j.infinispan.runtime;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * A metadata entry of a text segment. The value is stored in the field matching its type, so that it can be compared
+ * by the filters of the queries.
+ */
+public class LangchainInfinispanMetadata {
+
+    static final String VALUE = "value";
+    static final String VALUE_INT = "valueInt";
+    static final String VALUE_FLOAT = "valueFloat";
+
+    private final String name;
+
+    private final String value;
+
+    private final Long valueInt;
+
+    private final Double valueFloat;
+
+    public LangchainInfinispanMetadata(String name, String value, Long valueInt, Double valueFloat) {
+        this.name = name;
+        this.value = value;
+        this.valueInt = valueInt;
+        this.valueFloat = valueFloat;
+    }
+
+    /**
+     * Creates the entry storing the given metadata value
+     *
+     * @param name the metadata key
+     * @param value a metadata value
+     * @return the entry
+     */
+    public static LangchainInfinispanMetadata of(String name, Object value) {
+        if (value instanceof Integer || value instanceof Long) {
+            return new LangchainInfinispanMetadata(name, null, ((Number) value).longValue(), null);
+        } else if (value instanceof Float || value instanceof Double) {
+            return new LangchainInfinispanMetadata(name, null, null, ((Number) value).doubleValue());
+        } else if (value instanceof String || value instanceof UUID) {
+            return new LangchainInfinispanMetadata(name, value.toString(), null, null);
+        }
+        throw new IllegalArgumentException("Unsupported metadata value type: "
+                + (value == null ? "null" : value.getClass().getName()));
+    }
+
+    /**
+     * Maps to the metadata key
+     *
+     * @return name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * The text value, for strings and UUIDs
+     *
+     * @return value
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * The integral value, for integers and longs
+     *
+     * @return value
+     */
+    public Long getValueInt() {
+        return valueInt;
+    }
+
+    /**
+     * The floating point value, for floats and doubles
+     *
+     * @return value
+     */
+    public Double getValueFloat() {
+        return valueFloat;
+    }
+
+    /**
+     * The stored value, whatever its type
+     *
+     * @return value
+     */
+    public Object value() {
+        if (valueInt != null) {
+            return valueInt;
+        } else if (valueFloat != null) {
+            return valueFloat;
+        }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "LangchainInfinispanMetadata{" + "name='" + name + '\'' + ", value=" + value() + '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        LangchainInfinispanMetadata that = (LangchainInfinispanMetadata) o;
+        return Objects.equals(name, that.name) && Objects.equals(value, that.value)
+                && Objects.equals(valueInt, that.valueInt) && Objects.equals(valueFloat, that.valueFloat);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, value, valueInt, valueFloat);
+    }
+}
@@ -25,7 +25,9 @@ public class LangchainItemMarshaller implements MessageMarshaller<LangchainInfin
         String text = reader.readString("text");
         List<String> metadataKeys = reader.readCollection("metadataKeys", new ArrayList<>(), String.class);
         List<String> metadataValues = reader.readCollection("metadataValues", new ArrayList<>(), String.class);
-        return new LangchainInfinispanItem(id, floatVector, text, metadataKeys, metadataValues);
+        List<LangchainInfinispanMetadata> metadata = reader.readCollection("metadata", new ArrayList<>(),
+                LangchainInfinispanMetadata.class);
+        return new LangchainInfinispanItem(id, floatVector, text, metadataKeys, metadataValues, metadata);
     }
 
     @Override
@@ -36,6 +38,7 @@ public class LangchainItemMarshaller implements MessageMarshaller<LangchainInfin
         writer.writeString("text", item.getText());
         writer.writeCollection("metadataKeys", item.getMetadataKeys(), String.class);
         writer.writeCollection("metadataValues", item.getMetadataValues(), String.class);
+        writer.writeCollection("metadata", item.getMetadata(), LangchainInfinispanMetadata.class);
     }
 
     @Override
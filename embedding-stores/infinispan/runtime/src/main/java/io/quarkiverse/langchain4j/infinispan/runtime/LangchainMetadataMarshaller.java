@@ -0,0 +1,45 @@
+package io.quarkiverse.langchain4j.infinispan.runtime;
+
+import java.io.IOException;
+
+import org.infinispan.protostream.MessageMarshaller;
+
+import io.quarkiverse.langchain4j.infinispan.SchemaAndMarshallerProducer;
+
+/**
+ * Marshaller to read and write the metadata entries of the embeddings to Infinispan
+ */
+public class LangchainMetadataMarshaller implements MessageMarshaller<LangchainInfinispanMetadata> {
+    private final String typeName;
+
+    public LangchainMetadataMarshaller(Long dimension) {
+        this.typeName = SchemaAndMarshallerProducer.LANGCHAIN_METADATA + dimension.toString();
+    }
+
+    @Override
+    public LangchainInfinispanMetadata readFrom(ProtoStreamReader reader) throws IOException {
+        String name = reader.readString("name");
+        String value = reader.readString(LangchainInfinispanMetadata.VALUE);
+        Long valueInt = reader.readLong(LangchainInfinispanMetadata.VALUE_INT);
+        Double valueFloat = reader.readDouble(LangchainInfinispanMetadata.VALUE_FLOAT);
+        return new LangchainInfinispanMetadata(name, value, valueInt, valueFloat);
+    }
+
+    @Override
+    public void writeTo(ProtoStreamWriter writer, LangchainInfinispanMetadata metadata) throws IOException {
+        writer.writeString("name", metadata.getName());
+        writer.writeString(LangchainInfinispanMetadata.VALUE, metadata.getValue());
+        writer.writeLong(LangchainInfinispanMetadata.VALUE_INT, metadata.getValueInt());
+        writer.writeDouble(LangchainInfinispanMetadata.VALUE_FLOAT, metadata.getValueFloat());
+    }
+
+    @Override
+    public Class<? extends LangchainInfinispanMetadata> getJavaClass() {
+        return LangchainInfinispanMetadata.class;
+    }
+
+    @Override
+    public String getTypeName() {
+        return typeName;
+    }
+}
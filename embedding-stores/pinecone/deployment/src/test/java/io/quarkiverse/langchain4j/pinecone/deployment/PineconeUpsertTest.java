@@ -0,0 +1,185 @@
+package io.quarkiverse.langchain4j.pinecone.deployment;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import io.quarkiverse.langchain4j.pinecone.PineconeEmbeddingStore;
+import io.quarkus.test.QuarkusUnitTest;
+
+/**
+ * Checks how the embeddings are split into upsert requests, against a stub of the Pinecone API.
+ */
+public class PineconeUpsertTest {
+
+    private static final int WIREMOCK_PORT = 8089;
+    private static final String URL = "http://localhost:" + WIREMOCK_PORT;
+    private static final String UPSERT_PATH = "/vectors/upsert";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addAsResource(new StringAsset(
+                            "quarkus.langchain4j.pinecone.api-key=key\n" +
+                                    "quarkus.langchain4j.pinecone.environment=local\n" +
+                                    "quarkus.langchain4j.pinecone.project-id=project\n" +
+                                    "quarkus.langchain4j.pinecone.index-name=index\n" +
+                                    "quarkus.langchain4j.pinecone.base-url=" + URL + "\n" +
+                                    "quarkus.langchain4j.pinecone.index-operations-base-url=" + URL + "\n" +
+                                    "quarkus.langchain4j.pinecone.upsert-batch-size=10\n" +
+                                    "quarkus.langchain4j.pinecone.upsert-max-in-flight-batches=3\n"),
+                            "application.properties"));
+
+    static WireMockServer wireMockServer;
+
+    @Inject
+    PineconeEmbeddingStore embeddingStore;
+
+    @BeforeAll
+    static void beforeAll() {
+        wireMockServer = new WireMockServer(options().port(WIREMOCK_PORT));
+        wireMockServer.start();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        wireMockServer.stop();
+    }
+
+    @BeforeEach
+    void setup() {
+        wireMockServer.resetAll();
+        wireMockServer.stubFor(get(urlEqualTo("/indexes")).willReturn(okJson("""
+                {"indexes": [{"name": "index", "metric": "cosine", "dimension": 4, "host": "localhost",
+                              "status": {"ready": true, "state": "Ready"}}]}
+                """)));
+        wireMockServer.stubFor(post(urlEqualTo(UPSERT_PATH)).willReturn(okJson("{\"upsertedCount\": 10}")));
+    }
+
+    @Test
+    void splitsByNumberOfVectors() throws Exception {
+        List<String> ids = embeddingStore.addAll(embeddings(95, 4), segments(95, "segment"));
+
+        List<JsonNode> requests = upsertRequests();
+        assertThat(requests).hasSize(10);
+        assertThat(requests).allSatisfy(request -> assertThat(request.get("vectors").size()).isLessThanOrEqualTo(10));
+        assertThat(upsertedIds(requests)).containsExactlyInAnyOrderElementsOf(ids);
+        JsonNode vector = requests.get(0).get("vectors").get(0);
+        assertThat(vector.get("values")).hasSize(4);
+        assertThat(vector.get("metadata").get("text").asText()).startsWith("segment");
+        assertThat(vector.get("metadata").get("index").isNumber()).isTrue();
+    }
+
+    @Test
+    void splitsByRequestSize() throws Exception {
+        PineconeEmbeddingStore store = store(100, 20_000, 0);
+
+        // each vector is more than 6 KB, at most 3 of them fit in a request
+        String text = "x".repeat(6_000);
+        List<String> ids = store.addAll(embeddings(10, 8), segments(10, text));
+
+        List<JsonNode> requests = upsertRequests();
+        assertThat(requests).hasSize(4);
+        assertThat(upsertedIds(requests)).containsExactlyInAnyOrderElementsOf(ids);
+        for (LoggedRequest request : wireMockServer.findAll(postRequestedFor(urlEqualTo(UPSERT_PATH)))) {
+            assertThat(request.getBody().length).isLessThanOrEqualTo(20_000);
+        }
+    }
+
+    @Test
+    void retriesFailedRequests() throws Exception {
+        wireMockServer.stubFor(post(urlEqualTo(UPSERT_PATH)).inScenario("retry").whenScenarioStateIs(STARTED)
+                .willReturn(aResponse().withStatus(503)).willSetStateTo("available"));
+        wireMockServer.stubFor(post(urlEqualTo(UPSERT_PATH)).inScenario("retry").whenScenarioStateIs("available")
+                .willReturn(okJson("{\"upsertedCount\": 10}")));
+        PineconeEmbeddingStore store = store(10, 2 * 1024 * 1024, 2);
+
+        List<String> ids = store.addAll(embeddings(30, 4), segments(30, "segment"));
+
+        // one of the three requests failed, and only this one was sent again
+        List<JsonNode> requests = upsertRequests();
+        assertThat(requests).hasSize(4);
+        assertThat(upsertedIds(requests)).hasSize(40).containsAll(ids);
+    }
+
+    @Test
+    void doesNotRetryRejectedRequests() {
+        wireMockServer.stubFor(post(urlEqualTo(UPSERT_PATH))
+                .willReturn(aResponse().withStatus(400).withBody("vector dimension mismatch")));
+        PineconeEmbeddingStore store = store(10, 2 * 1024 * 1024, 2);
+
+        assertThatThrownBy(() -> store.addAll(embeddings(5, 4), segments(5, "segment")))
+                .hasMessageContaining("vector dimension mismatch");
+        wireMockServer.verify(1, postRequestedFor(urlEqualTo(UPSERT_PATH)));
+    }
+
+    private static PineconeEmbeddingStore store(int batchSize, long maxRequestSize, int maxRetries) {
+        return new PineconeEmbeddingStore("key", "index", "project", "local", null, "text", Duration.ofSeconds(5), null,
+                "s1.x1", Duration.ofMinutes(1), URL, URL, batchSize, maxRequestSize, 3, maxRetries);
+    }
+
+    private static List<Embedding> embeddings(int count, int dimension) {
+        List<Embedding> embeddings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            float[] vector = new float[dimension];
+            vector[i % dimension] = i;
+            embeddings.add(Embedding.from(vector));
+        }
+        return embeddings;
+    }
+
+    private static List<TextSegment> segments(int count, String text) {
+        List<TextSegment> segments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            segments.add(TextSegment.from(text + i, new Metadata().put("index", i)));
+        }
+        return segments;
+    }
+
+    private static List<JsonNode> upsertRequests() throws Exception {
+        List<JsonNode> requests = new ArrayList<>();
+        for (LoggedRequest request : wireMockServer.findAll(postRequestedFor(urlEqualTo(UPSERT_PATH)))) {
+            requests.add(MAPPER.readTree(request.getBodyAsString()));
+        }
+        return requests;
+    }
+
+    private static List<String> upsertedIds(List<JsonNode> requests) {
+        List<String> ids = new ArrayList<>();
+        for (JsonNode request : requests) {
+            request.get("vectors").forEach(vector -> ids.add(vector.get("id").asText()));
+        }
+        return ids;
+    }
+}
@@ -4,6 +4,7 @@ import static dev.langchain4j.internal.Utils.randomUUID;
 import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.Duration;
@@ -14,6 +15,8 @@ import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.MultivaluedHashMap;
 import jakarta.ws.rs.core.MultivaluedMap;
 
@@ -41,9 +44,17 @@ import io.quarkiverse.langchain4j.pinecone.runtime.UpsertVector;
 import io.quarkus.arc.impl.LazyValue;
 import io.quarkus.logging.Log;
 import io.quarkus.rest.client.reactive.QuarkusRestClientBuilder;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
 
 public class PineconeEmbeddingStore implements EmbeddingStore<TextSegment> {
 
+    static final String DEFAULT_INDEX_OPERATIONS_BASE_URL = "https://api.pinecone.io";
+    static final int DEFAULT_UPSERT_BATCH_SIZE = 100;
+    static final long DEFAULT_UPSERT_MAX_REQUEST_SIZE = 2 * 1024 * 1024;
+    static final int DEFAULT_UPSERT_MAX_IN_FLIGHT_BATCHES = 4;
+    static final int DEFAULT_UPSERT_MAX_RETRIES = 3;
+
     private final PineconeVectorOperationsApi vectorOperations;
     private final PineconeIndexOperationsApi indexOperations;
     private final String namespace;
@@ -51,6 +62,10 @@ public class PineconeEmbeddingStore implements EmbeddingStore<TextSegment> {
     private final String indexName;
     private final Integer dimension;
     private final LazyValue<Object> indexExists;
+    private final int upsertBatchSize;
+    private final long upsertMaxRequestSize;
+    private final int upsertMaxInFlightBatches;
+    private final int upsertMaxRetries;
 
     public PineconeEmbeddingStore(String apiKey,
             String indexName,
@@ -62,10 +77,40 @@ public class PineconeEmbeddingStore implements EmbeddingStore<TextSegment> {
             Integer dimension,
             String podType,
             Duration indexReadinessTimeout) {
+        this(apiKey, indexName, projectId, environment, namespace, textFieldName, timeout, dimension, podType,
+                indexReadinessTimeout, null, DEFAULT_INDEX_OPERATIONS_BASE_URL, DEFAULT_UPSERT_BATCH_SIZE,
+                DEFAULT_UPSERT_MAX_REQUEST_SIZE, DEFAULT_UPSERT_MAX_IN_FLIGHT_BATCHES, DEFAULT_UPSERT_MAX_RETRIES);
+    }
+
+    public PineconeEmbeddingStore(String apiKey,
+            String indexName,
+            String projectId,
+            String environment,
+            String namespace,
+            String textFieldName,
+            Duration timeout,
+            Integer dimension,
+            String podType,
+            Duration indexReadinessTimeout,
+            String baseUrl,
+            String baseUrlIndexOperations,
+            int upsertBatchSize,
+            long upsertMaxRequestSize,
+            int upsertMaxInFlightBatches,
+            int upsertMaxRetries) {
+        if (upsertBatchSize < 1 || upsertMaxRequestSize < 1 || upsertMaxInFlightBatches < 1 || upsertMaxRetries < 0) {
+            throw new IllegalArgumentException("The upsert batch size, maximum request size and maximum number of "
+                    + "in-flight batches must be strictly positive, and the maximum number of retries positive");
+        }
         this.indexName = indexName;
         this.dimension = dimension;
-        String baseUrl = "https://" + indexName + "-" + projectId + ".svc." + environment + ".pinecone.io";
-        String baseUrlIndexOperations = "https://api.pinecone.io";
+        this.upsertBatchSize = upsertBatchSize;
+        this.upsertMaxRequestSize = upsertMaxRequestSize;
+        this.upsertMaxInFlightBatches = upsertMaxInFlightBatches;
+        this.upsertMaxRetries = upsertMaxRetries;
+        if (baseUrl == null) {
+            baseUrl = "https://" + indexName + "-" + projectId + ".svc." + environment + ".pinecone.io";
+        }
         try {
             ClientHeadersFactory clientHeadersFactory = new ClientHeadersFactory() {
                 @Override
@@ -197,9 +242,11 @@ public class PineconeEmbeddingStore implements EmbeddingStore<TextSegment> {
 
     private void addAllInternal(List<String> ids, List<Embedding> embeddings, List<TextSegment> textSegments) {
         indexExists.get();
-        Log.debug("Adding embeddings: " + embeddings);
         int count = ids.size();
-        List<UpsertVector> vectorList = new ArrayList<>();
+        Log.debugf("Adding %d embeddings", count);
+        List<List<UpsertVector>> batches = new ArrayList<>();
+        List<UpsertVector> batch = new ArrayList<>();
+        long batchSize = 0;
         for (int i = 0; i < count; i++) {
             UpsertVector vector = new UpsertVector.Builder()
                     .id(ids.get(i))
@@ -207,11 +254,82 @@ public class PineconeEmbeddingStore implements EmbeddingStore<TextSegment> {
                     .metadata(textFieldName, textSegments == null ? null : textSegments.get(i).text())
                     .metadata(textSegments != null ? textSegments.get(i).metadata().toMap() : null)
                     .build();
-            vectorList.add(vector);
+            long vectorSize = estimateSize(vector);
+            if (!batch.isEmpty() && (batch.size() == upsertBatchSize || batchSize + vectorSize > upsertMaxRequestSize)) {
+                batches.add(batch);
+                batch = new ArrayList<>();
+                batchSize = 0;
+            }
+            batch.add(vector);
+            batchSize += vectorSize;
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        long upserted = Multi.createFrom().iterable(batches)
+                .onItem().transformToUni(this::upsert).merge(upsertMaxInFlightBatches)
+                .collect().with(Collectors.summingLong(UpsertResponse::getUpsertedCount))
+                .await().indefinitely();
+        Log.debugf("Added %d embeddings in %d requests", upserted, batches.size());
+    }
+
+    private Uni<UpsertResponse> upsert(List<UpsertVector> vectors) {
+        Uni<UpsertResponse> upsert = vectorOperations.upsertAsync(new UpsertRequest(vectors, namespace));
+        if (upsertMaxRetries == 0) {
+            return upsert;
+        }
+        return upsert.onFailure(PineconeEmbeddingStore::isTransient).retry()
+                .withBackOff(Duration.ofMillis(200), Duration.ofSeconds(5)).atMost(upsertMaxRetries);
+    }
+
+    private static boolean isTransient(Throwable failure) {
+        if (failure instanceof WebApplicationException e) {
+            int status = e.getResponse().getStatus();
+            return status == 429 || status >= 500;
+        }
+        // the connection failed or timed out
+        return failure instanceof ProcessingException || failure instanceof IOException;
+    }
+
+    /**
+     * Estimates the size of the JSON representation of a vector, without serializing it. The estimate is an upper
+     * bound, as each value is counted with the maximum length of a float.
+     */
+    static long estimateSize(UpsertVector vector) {
+        // {"id":"","values":[],"metadata":{}},
+        long size = 36 + jsonLength(vector.getId());
+        if (vector.getValues() != null) {
+            // -1.23456789E-10,
+            size += 16L * vector.getValues().length;
+        }
+        for (Map.Entry<String, Object> entry : vector.getMetadata().entrySet()) {
+            // "":,
+            size += 4 + jsonLength(entry.getKey());
+            Object value = entry.getValue();
+            size += value instanceof Number ? 24 : jsonLength(String.valueOf(value));
+        }
+        return size;
+    }
+
+    private static long jsonLength(String value) {
+        // quotes, and UTF-8 bytes of each character or its escape sequence
+        long length = 2;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x20) {
+                length += 6;
+            } else if (c == '"' || c == '\\') {
+                length += 2;
+            } else if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800 || Character.isSurrogate(c)) {
+                // each surrogate of a pair accounts for half of the 4 bytes of the code point
+                length += 2;
+            } else {
+                length += 3;
+            }
         }
-        UpsertRequest request = new UpsertRequest(vectorList, namespace);
-        UpsertResponse response = vectorOperations.upsert(request);
-        Log.debug("Added embeddings: " + response.getUpsertedCount());
+        return length;
     }
 
     private void waitForIndexToBecomeReady(String indexName, Duration timeout) {
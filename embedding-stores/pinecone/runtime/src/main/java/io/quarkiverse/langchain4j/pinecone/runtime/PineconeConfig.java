@@ -6,6 +6,7 @@ import java.time.Duration;
 import java.util.Optional;
 
 import io.quarkus.runtime.annotations.ConfigRoot;
+import io.quarkus.runtime.configuration.MemorySize;
 import io.smallrye.config.ConfigMapping;
 import io.smallrye.config.WithDefault;
 
@@ -68,4 +69,43 @@ public interface PineconeConfig {
      */
     Optional<Duration> timeout();
 
+    /**
+     * The base URL of the index, used for the vector operations. If not specified, it is derived from the index name,
+     * the project ID and the environment. This allows using a local Pinecone emulator.
+     */
+    Optional<String> baseUrl();
+
+    /**
+     * The base URL of the API managing the indexes.
+     */
+    @WithDefault("https://api.pinecone.io")
+    String indexOperationsBaseUrl();
+
+    /**
+     * Maximum number of vectors sent to Pinecone in a single upsert request when adding multiple embeddings.
+     */
+    @WithDefault("100")
+    int upsertBatchSize();
+
+    /**
+     * Maximum size of a single upsert request when adding multiple embeddings. The size of the vectors is estimated
+     * before they are serialized, and a new request is started when the next vector would exceed this size.
+     * Pinecone rejects requests larger than 2 MB.
+     */
+    @WithDefault("2M")
+    MemorySize upsertMaxRequestSize();
+
+    /**
+     * Maximum number of upsert requests that are sent to Pinecone concurrently when adding multiple embeddings.
+     */
+    @WithDefault("4")
+    int upsertMaxInFlightBatches();
+
+    /**
+     * Maximum number of times a failed upsert request is retried, when Pinecone is unavailable or throttles the
+     * requests. Only the failed request is retried, not the whole set of embeddings being added.
+     */
+    @WithDefault("3")
+    int upsertMaxRetries();
+
 }
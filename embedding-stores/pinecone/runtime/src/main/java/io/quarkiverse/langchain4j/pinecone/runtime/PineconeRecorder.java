@@ -28,7 +28,13 @@ public class PineconeRecorder {
                         runtimeConfig.getValue().timeout().orElse(Duration.ofSeconds(5)),
                         runtimeConfig.getValue().dimension().orElse(null),
                         runtimeConfig.getValue().podType(),
-                        runtimeConfig.getValue().indexReadinessTimeout().orElse(Duration.ofMinutes(1)));
+                        runtimeConfig.getValue().indexReadinessTimeout().orElse(Duration.ofMinutes(1)),
+                        runtimeConfig.getValue().baseUrl().orElse(null),
+                        runtimeConfig.getValue().indexOperationsBaseUrl(),
+                        runtimeConfig.getValue().upsertBatchSize(),
+                        runtimeConfig.getValue().upsertMaxRequestSize().asLongValue(),
+                        runtimeConfig.getValue().upsertMaxInFlightBatches(),
+                        runtimeConfig.getValue().upsertMaxRetries());
             }
         };
     }
@@ -8,6 +8,8 @@ import jakarta.ws.rs.core.MediaType;
 
 import org.eclipse.microprofile.rest.client.annotation.RegisterProvider;
 
+import io.smallrye.mutiny.Uni;
+
 @Consumes(MediaType.APPLICATION_JSON)
 @Produces(MediaType.APPLICATION_JSON)
 @Path("/")
@@ -18,6 +20,10 @@ public interface PineconeVectorOperationsApi {
     @Path("/vectors/upsert")
     UpsertResponse upsert(UpsertRequest vector);
 
+    @POST
+    @Path("/vectors/upsert")
+    Uni<UpsertResponse> upsertAsync(UpsertRequest vector);
+
     @POST
     @Path("/query")
     QueryResponse query(QueryRequest request);
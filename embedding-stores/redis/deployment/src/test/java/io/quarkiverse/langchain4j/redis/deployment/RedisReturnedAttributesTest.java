@@ -0,0 +1,131 @@
+package io.quarkiverse.langchain4j.redis.deployment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.List;
+import java.util.Map;
+
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import io.quarkiverse.langchain4j.redis.RedisEmbeddingStore;
+import io.quarkiverse.langchain4j.redis.runtime.RedisSchema;
+import io.quarkus.redis.datasource.ReactiveRedisDataSource;
+import io.quarkus.redis.datasource.search.DistanceMetric;
+import io.quarkus.redis.datasource.search.VectorAlgorithm;
+import io.quarkus.test.QuarkusUnitTest;
+
+/**
+ * Checks that the searches only fetch the score, the text, the declared metadata fields and, if enabled, the vector of
+ * the matching documents, and that these attributes are mapped back to the matches.
+ */
+public class RedisReturnedAttributesTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addAsResource(new StringAsset("quarkus.langchain4j.redis.dimension=3\n" +
+                            "quarkus.langchain4j.redis.index-name=returned-attributes-index\n" +
+                            "quarkus.langchain4j.redis.prefix=returned-attributes:\n" +
+                            "quarkus.langchain4j.redis.numeric-metadata-fields=size,weight\n" +
+                            "quarkus.langchain4j.redis.textual-metadata-fields=color\n"),
+                            "application.properties"));
+
+    @Inject
+    RedisEmbeddingStore embeddingStore;
+
+    @Inject
+    ReactiveRedisDataSource dataSource;
+
+    @AfterEach
+    public void clearStore() {
+        embeddingStore.deleteAll();
+    }
+
+    @Test
+    public void testDeclaredAttributesAreMapped() {
+        Embedding embedding = Embedding.from(new float[] { 0.6f, 0.8f, 0f });
+        String id = embeddingStore.add(embedding, TextSegment.from("red apple",
+                Metadata.from(Map.of("color", "red", "size", 3, "weight", 0.25, "origin", "undeclared"))));
+
+        List<EmbeddingMatch<TextSegment>> matches = search(embeddingStore, embedding);
+
+        assertThat(matches).hasSize(1);
+        EmbeddingMatch<TextSegment> match = matches.get(0);
+        assertThat(match.embeddingId()).isEqualTo(id);
+        assertThat(match.score()).isCloseTo(1.0, within(1e-4));
+        assertThat(match.embedding().vector()).containsExactly(embedding.vector());
+        assertThat(match.embedded().text()).isEqualTo("red apple");
+        // the metadata fields that are not declared are not fetched, the numeric ones keep a numeric type
+        assertThat(match.embedded().metadata().toMap())
+                .containsExactlyInAnyOrderEntriesOf(Map.of("color", "red", "size", 3L, "weight", 0.25));
+    }
+
+    @Test
+    public void testMissingAttributesAreNotMapped() {
+        Embedding withoutSegment = Embedding.from(new float[] { 1f, 0f, 0f });
+        Embedding withoutMetadata = Embedding.from(new float[] { 0f, 1f, 0f });
+        String withoutSegmentId = embeddingStore.add(withoutSegment);
+        String withoutMetadataId = embeddingStore.add(withoutMetadata, TextSegment.from("no metadata"));
+
+        List<EmbeddingMatch<TextSegment>> matches = search(embeddingStore, withoutSegment);
+
+        assertThat(matches).hasSize(2);
+        assertThat(matches.get(0).embeddingId()).isEqualTo(withoutSegmentId);
+        assertThat(matches.get(0).embedding().vector()).containsExactly(withoutSegment.vector());
+        assertThat(matches.get(0).embedded()).isNull();
+        assertThat(matches.get(1).embeddingId()).isEqualTo(withoutMetadataId);
+        assertThat(matches.get(1).embedding().vector()).containsExactly(withoutMetadata.vector());
+        assertThat(matches.get(1).embedded().text()).isEqualTo("no metadata");
+        assertThat(matches.get(1).embedded().metadata().toMap()).isEmpty();
+    }
+
+    @Test
+    public void testEmbeddingsAreNotReturned() {
+        RedisEmbeddingStore store = RedisEmbeddingStore.builder()
+                .dataSource(dataSource)
+                .schema(new RedisSchema.Builder()
+                        .indexName("returned-attributes-index")
+                        .prefix("returned-attributes:")
+                        .vectorFieldName("vector")
+                        .scalarFieldName("scalar")
+                        .numericMetadataFields(List.of("size", "weight"))
+                        .textualMetadataFields(List.of("color"))
+                        .vectorAlgorithm(VectorAlgorithm.HNSW)
+                        .dimension(3L)
+                        .metricType(DistanceMetric.COSINE)
+                        .build())
+                .returnEmbeddings(false)
+                .build();
+        Embedding embedding = Embedding.from(new float[] { 0f, 0f, 1f });
+        String id = store.add(embedding, TextSegment.from("blue ball", Metadata.from(Map.of("color", "blue"))));
+
+        List<EmbeddingMatch<TextSegment>> matches = search(store, embedding);
+
+        assertThat(matches).hasSize(1);
+        assertThat(matches.get(0).embeddingId()).isEqualTo(id);
+        assertThat(matches.get(0).embedding()).isNull();
+        assertThat(matches.get(0).embedded().text()).isEqualTo("blue ball");
+        assertThat(matches.get(0).embedded().metadata().toMap()).containsExactlyEntriesOf(Map.of("color", "blue"));
+    }
+
+    private static List<EmbeddingMatch<TextSegment>> search(RedisEmbeddingStore store, Embedding queryEmbedding) {
+        return store.search(EmbeddingSearchRequest.builder()
+                .queryEmbedding(queryEmbedding)
+                .maxResults(10)
+                .build())
+                .matches();
+    }
+}
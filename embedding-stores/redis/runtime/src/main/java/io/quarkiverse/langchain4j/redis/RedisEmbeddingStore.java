@@ -5,17 +5,22 @@ import static java.lang.String.format;
 import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.jboss.logging.Logger;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 
 import dev.langchain4j.data.document.Metadata;
 import dev.langchain4j.data.embedding.Embedding;
@@ -28,12 +33,14 @@ import dev.langchain4j.store.embedding.EmbeddingStore;
 import io.quarkiverse.langchain4j.QuarkusJsonCodecFactory;
 import io.quarkiverse.langchain4j.redis.runtime.RedisFilterMapper;
 import io.quarkiverse.langchain4j.redis.runtime.RedisSchema;
+import io.quarkiverse.langchain4j.redis.runtime.RedisStorageType;
 import io.quarkus.redis.datasource.ReactiveRedisDataSource;
 import io.quarkus.redis.datasource.keys.KeyScanArgs;
 import io.quarkus.redis.datasource.search.CreateArgs;
 import io.quarkus.redis.datasource.search.Document;
 import io.quarkus.redis.datasource.search.QueryArgs;
 import io.quarkus.redis.datasource.search.SearchQueryResponse;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import io.vertx.mutiny.redis.client.Command;
 import io.vertx.mutiny.redis.client.Request;
@@ -42,11 +49,18 @@ public class RedisEmbeddingStore implements EmbeddingStore<TextSegment> {
 
     public static final String EXTRA_ATTRIBUTES = "extra_attributes";
     public static final String ID = "id";
+    public static final int DEFAULT_INGESTION_BATCH_SIZE = 500;
+    public static final int DEFAULT_INGESTION_MAX_IN_FLIGHT_BATCHES = 4;
     private final ReactiveRedisDataSource ds;
     private final RedisSchema schema;
+    private final int ingestionBatchSize;
+    private final int ingestionMaxInFlightBatches;
+    private final boolean returnEmbeddings;
+    private final String[] returnedAttributes;
     private final Logger LOG = Logger.getLogger(RedisEmbeddingStore.class);
     private final boolean indexCreated;
-    private boolean warnedAboutWrongDimension = false;
+    // the store is shared by the threads adding embeddings
+    private final AtomicBoolean warnedAboutWrongDimension = new AtomicBoolean();
 
     private static final String SCORE_FIELD_NAME = "vector_score";
 
@@ -55,11 +69,45 @@ public class RedisEmbeddingStore implements EmbeddingStore<TextSegment> {
     }
 
     public RedisEmbeddingStore(ReactiveRedisDataSource ds, RedisSchema schema) {
+        this(ds, schema, DEFAULT_INGESTION_BATCH_SIZE, DEFAULT_INGESTION_MAX_IN_FLIGHT_BATCHES);
+    }
+
+    public RedisEmbeddingStore(ReactiveRedisDataSource ds, RedisSchema schema, int ingestionBatchSize,
+            int ingestionMaxInFlightBatches) {
+        this(ds, schema, ingestionBatchSize, ingestionMaxInFlightBatches, true);
+    }
+
+    public RedisEmbeddingStore(ReactiveRedisDataSource ds, RedisSchema schema, int ingestionBatchSize,
+            int ingestionMaxInFlightBatches, boolean returnEmbeddings) {
+        if (ingestionBatchSize < 1 || ingestionMaxInFlightBatches < 1) {
+            throw new IllegalArgumentException("The ingestion batch size and maximum number of in-flight batches must be "
+                    + "strictly positive");
+        }
         this.ds = ds;
         this.schema = schema;
+        this.ingestionBatchSize = ingestionBatchSize;
+        this.ingestionMaxInFlightBatches = ingestionMaxInFlightBatches;
+        this.returnEmbeddings = returnEmbeddings;
+        this.returnedAttributes = returnedAttributes(schema, returnEmbeddings);
         this.indexCreated = createIndexIfDoesNotExist();
     }
 
+    /**
+     * The attributes fetched for each search hit, so Redis does not need to send (and we do not need to parse) the
+     * whole document.
+     */
+    private static String[] returnedAttributes(RedisSchema schema, boolean returnEmbeddings) {
+        List<String> attributes = new ArrayList<>();
+        attributes.add(SCORE_FIELD_NAME);
+        attributes.add(schema.getScalarFieldName());
+        attributes.addAll(schema.getTextualMetadataFields());
+        attributes.addAll(schema.getNumericMetadataFields());
+        if (returnEmbeddings) {
+            attributes.add(schema.getVectorFieldName());
+        }
+        return attributes.toArray(new String[0]);
+    }
+
     private boolean createIndexIfDoesNotExist() {
         List<String> indexes = ds.search().ft_list()
                 .onFailure().invoke(t -> {
@@ -71,8 +119,8 @@ public class RedisEmbeddingStore implements EmbeddingStore<TextSegment> {
                 }).await().indefinitely();
         if (!indexes.contains(schema.getIndexName())) {
             CreateArgs indexCreateArgs = new CreateArgs()
-                    .onJson()
                     .prefixes(schema.getPrefix());
+            schema.defineStorage(indexCreateArgs);
             schema.defineFields(indexCreateArgs);
             LOG.debug("Creating Redis index " + schema.getIndexName() + " with arguments: " + indexCreateArgs.toArgs());
             ds.search().ftCreate(schema.getIndexName(), indexCreateArgs).await().indefinitely();
@@ -133,30 +181,75 @@ public class RedisEmbeddingStore implements EmbeddingStore<TextSegment> {
         if (ids.isEmpty() || ids.size() != embeddings.size() || (embedded != null && embedded.size() != embeddings.size())) {
             throw new IllegalArgumentException("ids, embeddings and embedded must be non-empty and of the same size");
         }
-        int size = ids.size();
-        List<Request> commands = new ArrayList<>();
-        for (int i = 0; i < size; i++) {
-            String id = ids.get(i);
-            Embedding embedding = embeddings.get(i);
-            TextSegment textSegment = embedded == null ? null : embedded.get(i);
-            Map<String, Object> fields = new HashMap<>();
-            fields.put(schema.getVectorFieldName(), embedding.vector());
-            if (!warnedAboutWrongDimension && indexCreated && embedding.vector().length != schema.getDimension()) {
-                LOG.warn("Creating an embedding with dimension " + embedding.vector().length + " but the index was " +
-                        "created with dimension " + schema.getDimension() + ". " +
-                        "This may result in embeddings not being found when they should be. " +
-                        "Please check the quarkus.langchain4j.redis.dimension property. " +
-                        "This warning will be shown only once.");
-                warnedAboutWrongDimension = true;
-            }
+        addAll(Multi.createFrom().range(0, ids.size())
+                .map(i -> new Entry(ids.get(i), embeddings.get(i), embedded == null ? null : embedded.get(i))))
+                .await().indefinitely();
+    }
+
+    /**
+     * Adds a stream of embeddings to the store.
+     * <p>
+     * The entries are written in pipelined batches of {@code quarkus.langchain4j.redis.ingestion-batch-size} entries,
+     * and at most {@code quarkus.langchain4j.redis.ingestion-max-in-flight-batches} batches are sent concurrently.
+     * The Redis commands of a batch are only created when the batch is about to be sent, so the memory used by
+     * the ingestion is bounded regardless of the number of entries.
+     *
+     * @param entries the entries to add
+     * @return a {@link Uni} completed once all the entries have been written
+     */
+    public Uni<Void> addAll(Multi<Entry> entries) {
+        return entries.group().intoLists().of(ingestionBatchSize)
+                .onItem().transformToUni(this::writeBatch).merge(ingestionMaxInFlightBatches)
+                .onItem().ignoreAsUni();
+    }
+
+    private Uni<Void> writeBatch(List<Entry> entries) {
+        List<Request> commands = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            commands.add(toRequest(entry));
+        }
+        return ds.getRedis().batch(commands).replaceWithVoid();
+    }
+
+    private Request toRequest(Entry entry) {
+        float[] vector = entry.embedding().vector();
+        if (indexCreated && vector.length != schema.getDimension() && warnedAboutWrongDimension.compareAndSet(false, true)) {
+            LOG.warn("Creating an embedding with dimension " + vector.length + " but the index was " +
+                    "created with dimension " + schema.getDimension() + ". " +
+                    "This may result in embeddings not being found when they should be. " +
+                    "Please check the quarkus.langchain4j.redis.dimension property. " +
+                    "This warning will be shown only once.");
+        }
+        String key = schema.getPrefix() + entry.id();
+        TextSegment textSegment = entry.textSegment();
+        if (schema.getStorageType() == RedisStorageType.HASH) {
+            Request request = Request.cmd(Command.HSET).arg(key)
+                    .arg(schema.getVectorFieldName()).arg(toFloat32Bytes(vector));
             if (textSegment != null) {
-                fields.put(schema.getScalarFieldName(), textSegment.text());
-                fields.putAll(textSegment.metadata().toMap());
+                request.arg(schema.getScalarFieldName()).arg(textSegment.text());
+                textSegment.metadata().toMap().forEach((name, value) -> request.arg(name).arg(String.valueOf(value)));
             }
-            String key = schema.getPrefix() + id;
-            commands.add(Request.cmd(Command.JSON_SET).arg(key).arg("$").arg(Json.toJson(fields)));
+            return request;
+        }
+        Map<String, Object> fields = new HashMap<>();
+        fields.put(schema.getVectorFieldName(), vector);
+        if (textSegment != null) {
+            fields.put(schema.getScalarFieldName(), textSegment.text());
+            fields.putAll(textSegment.metadata().toMap());
         }
-        ds.getRedis().batchAndAwait(commands);
+        return Request.cmd(Command.JSON_SET).arg(key).arg("$").arg(Json.toJson(fields));
+    }
+
+    static byte[] toFloat32Bytes(float[] vector) {
+        ByteBuffer buffer = ByteBuffer.allocate(vector.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asFloatBuffer().put(vector);
+        return buffer.array();
+    }
+
+    static float[] fromFloat32Bytes(byte[] bytes) {
+        float[] vector = new float[bytes.length / Float.BYTES];
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(vector);
+        return vector;
     }
 
     @Override
@@ -169,47 +262,87 @@ public class RedisEmbeddingStore implements EmbeddingStore<TextSegment> {
                 .sortByAscending(SCORE_FIELD_NAME)
                 .param("BLOB", request.queryEmbedding().vector())
                 .dialect(2);
+        for (String attribute : returnedAttributes) {
+            args.returnAttribute(attribute);
+        }
         Uni<SearchQueryResponse> search = ds.search()
                 .ftSearch(schema.getIndexName(), query, args);
         SearchQueryResponse response = search.await().indefinitely();
-        List<EmbeddingMatch<TextSegment>> matches = response.documents().stream().map(this::extractEmbeddingMatch)
-                .filter(embeddingMatch -> embeddingMatch.score() >= request.minScore())
-                .collect(toList());
+        List<EmbeddingMatch<TextSegment>> matches = new ArrayList<>(response.documents().size());
+        for (Document document : response.documents()) {
+            double score = (2 - document.property(SCORE_FIELD_NAME).asDouble()) / 2;
+            if (score >= request.minScore()) {
+                matches.add(extractEmbeddingMatch(document, score));
+            }
+        }
         return new EmbeddingSearchResult<>(matches);
     }
 
-    private EmbeddingMatch<TextSegment> extractEmbeddingMatch(Document document) {
+    private EmbeddingMatch<TextSegment> extractEmbeddingMatch(Document document, double score) {
+        String id = document.key().substring(schema.getPrefix().length());
+        Map<String, Document.Property> properties = document.properties();
+        Embedding embedding = null;
+        if (returnEmbeddings) {
+            Document.Property vector = properties.get(schema.getVectorFieldName());
+            if (vector != null) {
+                embedding = new Embedding(schema.getStorageType() == RedisStorageType.HASH
+                        ? fromFloat32Bytes(vector.asBytes())
+                        : parseJsonVector(vector.asBytes()));
+            }
+        }
+        Document.Property embedded = properties.get(schema.getScalarFieldName());
+        if (embedded == null) {
+            return new EmbeddingMatch<>(score, id, embedding, null);
+        }
+        Map<String, Object> metadata = new HashMap<>();
+        for (String name : schema.getTextualMetadataFields()) {
+            Document.Property property = properties.get(name);
+            if (property != null) {
+                metadata.put(name, property.asString());
+            }
+        }
+        for (String name : schema.getNumericMetadataFields()) {
+            Document.Property property = properties.get(name);
+            if (property != null) {
+                metadata.put(name, parseNumber(property.asString()));
+            }
+        }
+        return new EmbeddingMatch<>(score, id, embedding, new TextSegment(embedded.asString(), Metadata.from(metadata)));
+    }
+
+    private static Object parseNumber(String value) {
         try {
-            JsonNode jsonNode = QuarkusJsonCodecFactory.ObjectMapperHolder.MAPPER
-                    .readTree(document.property("$").asString());
-            JsonNode embedded = jsonNode.get(schema.getScalarFieldName());
-            Embedding embedding = new Embedding(
-                    Json.fromJson(jsonNode.get(schema.getVectorFieldName()).toString(), float[].class));
-            double score = (2 - document.property(SCORE_FIELD_NAME).asDouble()) / 2;
-            String id = document.key().substring(schema.getPrefix().length());
-            Map<String, Object> textualMetadata = schema.getTextualMetadataFields().stream()
-                    .filter(jsonNode::has)
-                    .collect(Collectors.toMap(metadataFieldName -> metadataFieldName,
-                            (name) -> jsonNode.get(name).asText()));
-            Map<String, Object> numericMetadata = schema.getNumericMetadataFields().stream()
-                    .filter(jsonNode::has)
-                    .collect(Collectors.toMap(metadataFieldName -> metadataFieldName,
-                            (name) -> {
-                                if (jsonNode.get(name).isLong()) {
-                                    return jsonNode.get(name).asLong();
-                                } else {
-                                    return jsonNode.get(name).asDouble();
-                                }
-                            }));
-            Map<String, Object> allMetadata = new HashMap<>();
-            allMetadata.putAll(textualMetadata);
-            allMetadata.putAll(numericMetadata);
-            TextSegment textSegment = embedded != null ? new TextSegment(embedded.asText(), Metadata.from(allMetadata)) : null;
-            return new EmbeddingMatch<>(score, id, embedding, textSegment);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return Double.parseDouble(value);
         }
+    }
 
+    /**
+     * Reads a JSON array of numbers, as returned by Redis for the vector field of a JSON document, directly into a
+     * {@code float[]} without building an intermediate tree.
+     */
+    private float[] parseJsonVector(byte[] json) {
+        try (JsonParser parser = QuarkusJsonCodecFactory.ObjectMapperHolder.MAPPER.getFactory().createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalStateException("Expected the vector to be a JSON array");
+            }
+            float[] vector = new float[schema.getDimension().intValue()];
+            int size = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new IllegalStateException("Unexpected end of the vector JSON array");
+                }
+                if (size == vector.length) {
+                    vector = Arrays.copyOf(vector, Math.max(1, size * 2));
+                }
+                vector[size++] = parser.getFloatValue();
+            }
+            return size == vector.length ? vector : Arrays.copyOf(vector, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     /**
@@ -226,12 +359,25 @@ public class RedisEmbeddingStore implements EmbeddingStore<TextSegment> {
         }
     }
 
+    /**
+     * An embedding to add to the store, with its id and the optional segment it was computed from.
+     */
+    public record Entry(String id, Embedding embedding, TextSegment textSegment) {
+
+    }
+
     public static class Builder {
 
         private ReactiveRedisDataSource redisClient;
 
         private RedisSchema schema;
 
+        private int ingestionBatchSize = DEFAULT_INGESTION_BATCH_SIZE;
+
+        private int ingestionMaxInFlightBatches = DEFAULT_INGESTION_MAX_IN_FLIGHT_BATCHES;
+
+        private boolean returnEmbeddings = true;
+
         public Builder dataSource(ReactiveRedisDataSource client) {
             this.redisClient = client;
             return this;
@@ -242,8 +388,28 @@ public class RedisEmbeddingStore implements EmbeddingStore<TextSegment> {
             return this;
         }
 
+        public Builder ingestionBatchSize(int ingestionBatchSize) {
+            this.ingestionBatchSize = ingestionBatchSize;
+            return this;
+        }
+
+        public Builder ingestionMaxInFlightBatches(int ingestionMaxInFlightBatches) {
+            this.ingestionMaxInFlightBatches = ingestionMaxInFlightBatches;
+            return this;
+        }
+
+        /**
+         * Whether the embedding vectors are fetched from Redis and included in the search results. Disabling it
+         * reduces the size of the search responses, the matches then have no embedding.
+         */
+        public Builder returnEmbeddings(boolean returnEmbeddings) {
+            this.returnEmbeddings = returnEmbeddings;
+            return this;
+        }
+
         public RedisEmbeddingStore build() {
-            return new RedisEmbeddingStore(redisClient, schema);
+            return new RedisEmbeddingStore(redisClient, schema, ingestionBatchSize, ingestionMaxInFlightBatches,
+                    returnEmbeddings);
         }
 
     }
@@ -80,4 +80,34 @@ public interface RedisEmbeddingStoreConfig {
     @WithDefault("HNSW")
     VectorAlgorithm vectorAlgorithm();
 
+    /**
+     * How the embeddings are stored in Redis. With {@code json}, each embedding is stored as a JSON document.
+     * With {@code hash}, each embedding is stored as a hash whose vector field is a binary blob of FLOAT32 values,
+     * which is more compact and cheaper to write.
+     * <p>
+     * Changing this value requires the index to be recreated.
+     */
+    @WithDefault("json")
+    RedisStorageType storageType();
+
+    /**
+     * Number of embeddings that are written to Redis in a single pipelined batch when adding multiple embeddings.
+     */
+    @WithDefault("500")
+    int ingestionBatchSize();
+
+    /**
+     * Maximum number of batches that are sent to Redis concurrently when adding multiple embeddings.
+     */
+    @WithDefault("4")
+    int ingestionMaxInFlightBatches();
+
+    /**
+     * Whether the embedding vectors are fetched from Redis and included in the search results.
+     * Most retrieval use cases only need the text segments and their scores, disabling it significantly reduces
+     * the size of the search responses and the cost of decoding them.
+     */
+    @WithDefault("true")
+    boolean searchReturnEmbeddings();
+
 }
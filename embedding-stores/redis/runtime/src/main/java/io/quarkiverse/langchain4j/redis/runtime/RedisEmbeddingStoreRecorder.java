@@ -45,8 +45,12 @@ public class RedisEmbeddingStoreRecorder {
                         .vectorAlgorithm(runtimeConfig.getValue().vectorAlgorithm())
                         .dimension(runtimeConfig.getValue().dimension())
                         .metricType(runtimeConfig.getValue().distanceMetric())
+                        .storageType(runtimeConfig.getValue().storageType())
                         .build();
-                builder.schema(schema);
+                builder.schema(schema)
+                        .ingestionBatchSize(runtimeConfig.getValue().ingestionBatchSize())
+                        .ingestionMaxInFlightBatches(runtimeConfig.getValue().ingestionMaxInFlightBatches())
+                        .returnEmbeddings(runtimeConfig.getValue().searchReturnEmbeddings());
 
                 return builder.build();
             }
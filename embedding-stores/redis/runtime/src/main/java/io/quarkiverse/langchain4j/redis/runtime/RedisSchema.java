@@ -20,6 +20,7 @@ public class RedisSchema {
     private VectorAlgorithm vectorAlgorithm;
     private Long dimension;
     private DistanceMetric distanceMetric;
+    private RedisStorageType storageType;
     private static final String JSON_PATH_PREFIX = "$.";
 
     public RedisSchema(String indexName,
@@ -31,6 +32,20 @@ public class RedisSchema {
             VectorAlgorithm vectorAlgorithm,
             Long dimension,
             DistanceMetric distanceMetric) {
+        this(indexName, prefix, vectorFieldName, scalarFieldName, numericMetadataFields, textualMetadataFields,
+                vectorAlgorithm, dimension, distanceMetric, RedisStorageType.JSON);
+    }
+
+    public RedisSchema(String indexName,
+            String prefix,
+            String vectorFieldName,
+            String scalarFieldName,
+            List<String> numericMetadataFields,
+            List<String> textualMetadataFields,
+            VectorAlgorithm vectorAlgorithm,
+            Long dimension,
+            DistanceMetric distanceMetric,
+            RedisStorageType storageType) {
         this.indexName = indexName;
         this.prefix = prefix;
         this.vectorFieldName = vectorFieldName;
@@ -40,6 +55,7 @@ public class RedisSchema {
         this.vectorAlgorithm = vectorAlgorithm;
         this.dimension = dimension;
         this.distanceMetric = distanceMetric;
+        this.storageType = storageType;
     }
 
     public String getIndexName() {
@@ -78,6 +94,18 @@ public class RedisSchema {
         return distanceMetric;
     }
 
+    public RedisStorageType getStorageType() {
+        return storageType;
+    }
+
+    public void defineStorage(CreateArgs args) {
+        if (storageType == RedisStorageType.HASH) {
+            args.onHash();
+        } else {
+            args.onJson();
+        }
+    }
+
     public void defineFields(CreateArgs args) {
         defineTextField(args);
         defineVectorField(args);
@@ -87,22 +115,22 @@ public class RedisSchema {
 
     private void defineNumericMetadataFields(CreateArgs args) {
         for (String metadataField : numericMetadataFields) {
-            args.indexedField(JSON_PATH_PREFIX + metadataField, metadataField, FieldType.NUMERIC);
+            args.indexedField(fieldIdentifier(metadataField), metadataField, FieldType.NUMERIC);
         }
     }
 
     private void defineTextualMetadataFields(CreateArgs args) {
         for (String metadataField : textualMetadataFields) {
-            args.indexedField(JSON_PATH_PREFIX + metadataField, metadataField, FieldType.TEXT);
+            args.indexedField(fieldIdentifier(metadataField), metadataField, FieldType.TEXT);
         }
     }
 
     private void defineTextField(CreateArgs args) {
-        args.indexedField(JSON_PATH_PREFIX + scalarFieldName, scalarFieldName, FieldType.TEXT);
+        args.indexedField(fieldIdentifier(scalarFieldName), scalarFieldName, FieldType.TEXT);
     }
 
     private void defineVectorField(CreateArgs args) {
-        args.indexedField(JSON_PATH_PREFIX + vectorFieldName,
+        args.indexedField(fieldIdentifier(vectorFieldName),
                 vectorFieldName,
                 FieldType.VECTOR, new FieldOptions()
                         .vectorAlgorithm(vectorAlgorithm)
@@ -111,6 +139,11 @@ public class RedisSchema {
                         .distanceMetric(distanceMetric));
     }
 
+    private String fieldIdentifier(String fieldName) {
+        // hash fields are referenced by name, JSON fields by path
+        return storageType == RedisStorageType.HASH ? fieldName : JSON_PATH_PREFIX + fieldName;
+    }
+
     public static class Builder {
         private String indexName;
         private String prefix;
@@ -121,6 +154,7 @@ public class RedisSchema {
         private VectorAlgorithm vectorAlgorithm;
         private Long dimension;
         private DistanceMetric metricType;
+        private RedisStorageType storageType = RedisStorageType.JSON;
 
         public Builder indexName(String indexName) {
             this.indexName = indexName;
@@ -171,6 +205,11 @@ public class RedisSchema {
             return this;
         }
 
+        public Builder storageType(RedisStorageType storageType) {
+            this.storageType = storageType;
+            return this;
+        }
+
         public RedisSchema build() {
             return new RedisSchema(indexName,
                     prefix,
@@ -180,7 +219,8 @@ public class RedisSchema {
                     textualMetadataFields,
                     vectorAlgorithm,
                     dimension,
-                    metricType);
+                    metricType,
+                    storageType);
         }
     }
 
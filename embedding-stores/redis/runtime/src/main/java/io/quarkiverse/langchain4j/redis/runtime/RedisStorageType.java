@@ -0,0 +1,18 @@
+package io.quarkiverse.langchain4j.redis.runtime;
+
+/**
+ * How embeddings are stored in Redis.
+ */
+public enum RedisStorageType {
+
+    /**
+     * Each embedding is stored as a JSON document, the vector being an array of numbers.
+     */
+    JSON,
+
+    /**
+     * Each embedding is stored as a hash, the vector being a binary blob of little-endian FLOAT32 values.
+     * This is more compact and cheaper to encode than JSON.
+     */
+    HASH
+}
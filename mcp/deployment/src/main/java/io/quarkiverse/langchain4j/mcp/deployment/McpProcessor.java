@@ -33,9 +33,11 @@ import io.quarkiverse.langchain4j.mcp.auth.McpClientAuthProvider;
 import io.quarkiverse.langchain4j.mcp.runtime.McpClientHealthCheck;
 import io.quarkiverse.langchain4j.mcp.runtime.McpClientName;
 import io.quarkiverse.langchain4j.mcp.runtime.McpRecorder;
+import io.quarkiverse.langchain4j.mcp.runtime.McpToolListChanges;
 import io.quarkiverse.langchain4j.mcp.runtime.config.LocalLaunchParams;
 import io.quarkiverse.langchain4j.mcp.runtime.config.McpBuildTimeConfiguration;
 import io.quarkiverse.langchain4j.mcp.runtime.config.McpTransportType;
+import io.quarkiverse.langchain4j.runtime.aiservice.VersionedToolProvider;
 import io.quarkus.arc.deployment.SyntheticBeanBuildItem;
 import io.quarkus.arc.deployment.UnremovableBeanBuildItem;
 import io.quarkus.deployment.Capabilities;
@@ -48,6 +50,7 @@ import io.quarkus.deployment.builditem.CombinedIndexBuildItem;
 import io.quarkus.deployment.builditem.IndexDependencyBuildItem;
 import io.quarkus.deployment.builditem.ShutdownContextBuildItem;
 import io.quarkus.deployment.builditem.nativeimage.ReflectiveClassBuildItem;
+import io.quarkus.runtime.RuntimeValue;
 import io.quarkus.smallrye.health.deployment.spi.HealthBuildItem;
 import io.quarkus.vertx.core.deployment.CoreVertxBuildItem;
 
@@ -59,6 +62,7 @@ public class McpProcessor {
     private static final DotName MCP_CLIENT = DotName.createSimple(McpClient.class);
     private static final DotName MCP_CLIENT_NAME = DotName.createSimple(McpClientName.class);
     private static final DotName TOOL_PROVIDER = DotName.createSimple(ToolProvider.class);
+    private static final DotName VERSIONED_TOOL_PROVIDER = DotName.createSimple(VersionedToolProvider.class);
     private static final DotName TRACER = DotName.createSimple(Tracer.class);
 
     @SuppressWarnings({ "rawtypes", "unchecked" })
@@ -137,6 +141,7 @@ public class McpProcessor {
         }
         if (!clients.isEmpty()) {
             // generate MCP clients
+            RuntimeValue<McpToolListChanges> toolListChanges = recorder.toolListChanges();
             List<AnnotationInstance> qualifiers = new ArrayList<>();
             clients.forEach((client, transportType) -> {
                 AnnotationInstance qualifier = AnnotationInstance.builder(MCP_CLIENT_NAME)
@@ -152,7 +157,8 @@ public class McpProcessor {
                         // TODO: should we allow other scopes?
                         .scope(ApplicationScoped.class)
                         .supplier(
-                                recorder.mcpClientSupplier(client, transportType, shutdown, vertxBuildItem.getVertx()))
+                                recorder.mcpClientSupplier(client, transportType, shutdown, vertxBuildItem.getVertx(),
+                                        toolListChanges))
                         .done());
             });
             // generate a tool provider if configured to do so
@@ -160,13 +166,15 @@ public class McpProcessor {
                 SyntheticBeanBuildItem.ExtendedBeanConfigurator configurator = SyntheticBeanBuildItem
                         .configure(TOOL_PROVIDER)
                         .addType(ClassType.create(TOOL_PROVIDER))
+                        // lets the AI services keep the provided tools until they change
+                        .addType(ClassType.create(VERSIONED_TOOL_PROVIDER))
                         .setRuntimeInit()
                         .defaultBean()
                         .unremovable()
                         .scope(ApplicationScoped.class)
                         .addInjectionPoint(ParameterizedType.create(DotNames.CDI_INSTANCE,
                                 new Type[] { ClassType.create(TRACER) }, null))
-                        .createWith(recorder.toolProviderFunction(clients.keySet()));
+                        .createWith(recorder.toolProviderFunction(clients, toolListChanges));
                 for (AnnotationInstance qualifier : qualifiers) {
                     configurator.addInjectionPoint(ClassType.create(MCP_CLIENT), qualifier);
                 }
@@ -249,6 +249,17 @@ public abstract class AbstractMockHttpMcpServer {
         return id;
     }
 
+    void notifyToolListChanged() {
+        ObjectNode notification = objectMapper.createObjectNode();
+        notification
+                .put("jsonrpc", "2.0")
+                .put("method", "notifications/tools/list_changed");
+        sink.send(sse.newEventBuilder()
+                .name("message")
+                .data(notification)
+                .build());
+    }
+
     void stopRespondingToPings() {
         shouldRespondToPing = false;
     }
@@ -0,0 +1,93 @@
+package io.quarkiverse.langchain4j.mcp.test;
+
+import jakarta.ws.rs.Path;
+
+/**
+ * A mock MCP server using the HTTP transport whose tools can be changed, notifying the client of the change.
+ */
+@Path("/changing-tools-mcp")
+public class ChangingToolsHttpMcpServer extends AbstractMockHttpMcpServer {
+
+    // language=JSON
+    private static final String ADD_TOOL = """
+            {
+              "name": "add",
+              "description": "Adds two numbers",
+              "inputSchema": {
+                "type": "object",
+                "properties": {
+                  "a": {
+                    "type": "number",
+                    "description": "First number"
+                  },
+                  "b": {
+                    "type": "number",
+                    "description": "Second number"
+                  }
+                },
+                "required": [
+                  "a",
+                  "b"
+                ],
+                "additionalProperties": false,
+                "$schema": "http://json-schema.org/draft-07/schema#"
+              }
+            }
+            """;
+
+    // language=JSON
+    private static final String SUBTRACT_TOOL = """
+            {
+              "name": "subtract",
+              "description": "Subtracts two numbers",
+              "inputSchema": {
+                "type": "object",
+                "properties": {
+                  "a": {
+                    "type": "number",
+                    "description": "First number"
+                  },
+                  "b": {
+                    "type": "number",
+                    "description": "Second number"
+                  }
+                },
+                "required": [
+                  "a",
+                  "b"
+                ],
+                "additionalProperties": false,
+                "$schema": "http://json-schema.org/draft-07/schema#"
+              }
+            }
+            """;
+
+    private volatile boolean subtractAdded;
+
+    void addSubtractTool() {
+        subtractAdded = true;
+        notifyToolListChanged();
+    }
+
+    @Override
+    protected String getToolsListResponse() {
+        String tools = subtractAdded ? ADD_TOOL + "," + SUBTRACT_TOOL : ADD_TOOL;
+        // the operation id is formatted into the response
+        return """
+                {
+                  "result": {
+                    "tools": [
+                """ + tools + """
+                    ]
+                  },
+                  "jsonrpc": "2.0",
+                  "id": "%s"
+                }
+                """;
+    }
+
+    @Override
+    protected String getEndpoint() {
+        return "changing-tools-mcp";
+    }
+}
@@ -0,0 +1,73 @@
+package io.quarkiverse.langchain4j.mcp.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.service.tool.ToolProvider;
+import io.quarkiverse.langchain4j.runtime.aiservice.VersionedToolProvider;
+import io.quarkus.test.QuarkusUnitTest;
+
+/**
+ * Checks that the version of the tools of the MCP tool provider only changes when a server notifies its client that
+ * its tools changed.
+ */
+public class McpToolListChangedTest {
+
+    @RegisterExtension
+    static QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(AbstractMockHttpMcpServer.class, ChangingToolsHttpMcpServer.class)
+                    .addAsResource(new StringAsset("""
+                            quarkus.langchain4j.mcp.client1.transport-type=http
+                            quarkus.langchain4j.mcp.client1.url=http://localhost:8081/changing-tools-mcp/sse
+                            quarkus.log.category."dev.langchain4j".level=DEBUG
+                            quarkus.log.category."io.quarkiverse".level=DEBUG
+                            """),
+                            "application.properties"));
+
+    @Inject
+    ToolProvider toolProvider;
+
+    @Inject
+    ChangingToolsHttpMcpServer server;
+
+    @Test
+    public void versionChangesOnToolListChangedNotification() throws InterruptedException {
+        assertThat(toolProvider).isInstanceOf(VersionedToolProvider.class);
+        VersionedToolProvider versionedToolProvider = (VersionedToolProvider) toolProvider;
+
+        assertThat(toolNames()).containsExactly("add");
+        long version = versionedToolProvider.toolsVersion();
+        assertThat(version).isNotEqualTo(VersionedToolProvider.UNVERSIONED);
+        // the version doesn't change without a notification
+        assertThat(toolNames()).containsExactly("add");
+        assertThat(versionedToolProvider.toolsVersion()).isEqualTo(version);
+
+        server.addSubtractTool();
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (versionedToolProvider.toolsVersion() == version && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(versionedToolProvider.toolsVersion()).isNotEqualTo(version);
+        assertThat(toolNames()).containsExactlyInAnyOrder("add", "subtract");
+    }
+
+    private Set<String> toolNames() {
+        return toolProvider.provideTools(null).tools().keySet().stream()
+                .map(ToolSpecification::name)
+                .collect(Collectors.toSet());
+    }
+}
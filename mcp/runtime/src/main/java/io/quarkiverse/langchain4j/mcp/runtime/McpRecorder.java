@@ -5,7 +5,6 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -57,10 +56,15 @@ public class McpRecorder {
         McpRecorder.claudeConfigContents = contents;
     }
 
+    public RuntimeValue<McpToolListChanges> toolListChanges() {
+        return new RuntimeValue<>(new McpToolListChanges());
+    }
+
     public Supplier<McpClient> mcpClientSupplier(String key,
             McpTransportType mcpTransportType,
             ShutdownContext shutdown,
-            Supplier<Vertx> vertx) {
+            Supplier<Vertx> vertx,
+            RuntimeValue<McpToolListChanges> toolListChanges) {
         return new Supplier<McpClient>() {
             @Override
             public McpClient get() {
@@ -92,6 +96,7 @@ public class McpRecorder {
                             .tlsConfiguration(tlsConfiguration.orElse(null))
                             .mcpClientName(key)
                             .timeout(runtimeConfig.toolExecutionTimeout())
+                            .onToolListChanged(toolListChanges.getValue().listener(key))
                             .build();
                     case STREAMABLE_HTTP -> {
                         HttpClientOptions httpClientOptions = new HttpClientOptions();
@@ -106,6 +111,7 @@ public class McpRecorder {
                                 .httpClient(vertx.get().createHttpClient(httpClientOptions))
                                 .mcpClientName(key)
                                 .timeout(runtimeConfig.toolExecutionTimeout())
+                                .onToolListChanged(toolListChanges.getValue().listener(key))
                                 .build();
                     }
                 };
@@ -127,18 +133,26 @@ public class McpRecorder {
     }
 
     public Function<SyntheticCreationalContext<ToolProvider>, ToolProvider> toolProviderFunction(
-            Set<String> mcpClientNames) {
+            Map<String, McpTransportType> mcpClients, RuntimeValue<McpToolListChanges> toolListChanges) {
         return new Function<>() {
             @Override
             public ToolProvider apply(SyntheticCreationalContext<ToolProvider> context) {
                 List<McpClient> clients = new ArrayList<>();
-                for (String mcpClientName : mcpClientNames) {
-                    McpClientName.Literal qualifier = McpClientName.Literal.of(mcpClientName);
+                List<String> clientNames = new ArrayList<>();
+                // the tools can only be kept when the changes of the tools of all the clients are reported
+                boolean versioned = true;
+                for (Map.Entry<String, McpTransportType> mcpClient : mcpClients.entrySet()) {
+                    McpClientName.Literal qualifier = McpClientName.Literal.of(mcpClient.getKey());
                     clients.add(context.getInjectedReference(McpClient.class, qualifier));
+                    clientNames.add(mcpClient.getKey());
+                    McpClientRuntimeConfig runtimeConfig = mcpRuntimeConfiguration.getValue().clients()
+                            .get(mcpClient.getKey());
+                    versioned &= mcpClient.getValue() != McpTransportType.STDIO
+                            && (runtimeConfig == null || runtimeConfig.cacheToolList().orElse(true));
                 }
                 boolean exposeResourcesAsTools = mcpRuntimeConfiguration.getValue().exposeResourcesAsTools().orElse(false);
-                return new QuarkusMcpToolProvider(clients, context.getInjectedReference(TRACER_TYPE_LITERAL),
-                        exposeResourcesAsTools);
+                return new QuarkusMcpToolProvider(clients, clientNames, context.getInjectedReference(TRACER_TYPE_LITERAL),
+                        exposeResourcesAsTools, versioned ? toolListChanges.getValue() : null);
             }
         };
     }
@@ -0,0 +1,37 @@
+package io.quarkiverse.langchain4j.mcp.runtime;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts, for each MCP client, the times its tools may have changed: when its server sent a
+ * {@code notifications/tools/list_changed} notification, or when it (re)initialized its connection to the server, as
+ * the notifications sent while it was disconnected were lost.
+ * <p>
+ * Only the HTTP transports report the changes, the tools of the clients using another transport are never counted as
+ * changed.
+ */
+public class McpToolListChanges {
+
+    private final Map<String, AtomicLong> changes = new ConcurrentHashMap<>();
+
+    /**
+     * @return the action reporting that the tools of the given client may have changed
+     */
+    public Runnable listener(String mcpClientName) {
+        AtomicLong counter = counter(mcpClientName);
+        return counter::incrementAndGet;
+    }
+
+    /**
+     * @return the number of times the tools of the given client may have changed
+     */
+    public long changes(String mcpClientName) {
+        return counter(mcpClientName).get();
+    }
+
+    private AtomicLong counter(String mcpClientName) {
+        return changes.computeIfAbsent(mcpClientName, ignored -> new AtomicLong());
+    }
+}
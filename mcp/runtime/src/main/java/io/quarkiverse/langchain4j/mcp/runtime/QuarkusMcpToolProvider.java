@@ -18,14 +18,29 @@ import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.context.Scope;
 import io.quarkiverse.langchain4j.runtime.aiservice.QuarkusToolProviderRequest;
-
-public class QuarkusMcpToolProvider extends McpToolProvider {
-
-    QuarkusMcpToolProvider(List<McpClient> mcpClients, Instance<Tracer> tracerInstance, boolean exposeResourcesAsTools) {
+import io.quarkiverse.langchain4j.runtime.aiservice.VersionedToolProvider;
+
+/**
+ * Provides the tools of the MCP clients.
+ * <p>
+ * When all the clients cache their tool list and report the changes of their tools, the version of the tools changes
+ * whenever a server notifies its client that its tools changed, or a client (re)initializes its connection. Otherwise,
+ * the tools are requested from the servers on each call of an AI service.
+ */
+public class QuarkusMcpToolProvider extends McpToolProvider implements VersionedToolProvider {
+
+    private final List<String> mcpClientNames;
+    // null when the changes of the tools are not reported by all the clients
+    private final McpToolListChanges toolListChanges;
+
+    QuarkusMcpToolProvider(List<McpClient> mcpClients, List<String> mcpClientNames, Instance<Tracer> tracerInstance,
+            boolean exposeResourcesAsTools, McpToolListChanges toolListChanges) {
         super(mcpClients, false,
                 AlwaysTrueMcpClientToolSpecificationBiPredicate.INSTANCE,
                 determineToolWrapper(tracerInstance),
                 exposeResourcesAsTools ? DefaultMcpResourcesAsToolsPresenter.builder().build() : null);
+        this.mcpClientNames = List.copyOf(mcpClientNames);
+        this.toolListChanges = toolListChanges;
     }
 
     private static Function<ToolExecutor, ToolExecutor> determineToolWrapper(Instance<Tracer> tracerInstance) {
@@ -36,6 +51,19 @@ public class QuarkusMcpToolProvider extends McpToolProvider {
         }
     }
 
+    @Override
+    public long toolsVersion() {
+        if (toolListChanges == null) {
+            return UNVERSIONED;
+        }
+        // the number of changes of each client only grows, so the sum changes whenever one of them does
+        long version = 0;
+        for (String mcpClientName : mcpClientNames) {
+            version += toolListChanges.changes(mcpClientName);
+        }
+        return version;
+    }
+
     @Override
     public ToolProviderResult provideTools(ToolProviderRequest request) {
         return provideTools(request, getMcpClientsFilter(request));
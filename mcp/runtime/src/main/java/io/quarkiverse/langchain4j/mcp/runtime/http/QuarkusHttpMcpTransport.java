@@ -42,6 +42,8 @@ public class QuarkusHttpMcpTransport implements McpTransport {
     private volatile McpOperationHandler operationHandler;
     private final McpClientAuthProvider mcpClientAuthProvider;
 
+    private final Runnable onToolListChanged;
+
     private volatile Runnable onFailure;
     private volatile boolean closed;
 
@@ -64,6 +66,7 @@ public class QuarkusHttpMcpTransport implements McpTransport {
         }
 
         this.mcpClientAuthProvider = McpClientAuthProvider.resolve(builder.mcpClientName).orElse(null);
+        this.onToolListChanged = builder.onToolListChanged;
         if (mcpClientAuthProvider != null) {
             clientBuilder.register(new McpClientAuthFilter(mcpClientAuthProvider));
         }
@@ -103,9 +106,17 @@ public class QuarkusHttpMcpTransport implements McpTransport {
         return execute(request, request.getId()).onItem()
                 .transformToUni(
                         response -> execute(new McpInitializationNotification(), null).onItem().transform(ignored -> response))
+                // the notifications sent by the server while the client was disconnected are lost
+                .onItem().invoke(ignored -> toolListMayHaveChanged())
                 .subscribeAsCompletionStage();
     }
 
+    private void toolListMayHaveChanged() {
+        if (onToolListChanged != null) {
+            onToolListChanged.run();
+        }
+    }
+
     @Override
     public void checkHealth() {
         // no transport-specific checks right now
@@ -155,7 +166,8 @@ public class QuarkusHttpMcpTransport implements McpTransport {
 
     private void startSseChannel(boolean logResponses) {
         CompletableFuture<String> initializationFinished = new CompletableFuture<>();
-        SseSubscriber listener = new SseSubscriber(operationHandler, logResponses, initializationFinished);
+        SseSubscriber listener = new SseSubscriber(operationHandler, logResponses, initializationFinished,
+                onToolListChanged);
         sseEndpoint.get().subscribe().with(listener, throwable -> {
             if (!initializationFinished.isDone()) {
                 log.warn("Failed to connect to the SSE channel, the MCP client will not be used", throwable);
@@ -197,6 +209,7 @@ public class QuarkusHttpMcpTransport implements McpTransport {
         private Duration timeout;
         private boolean logRequests = false;
         private boolean logResponses = false;
+        private Runnable onToolListChanged;
         private TlsConfiguration tlsConfiguration;
 
         /**
@@ -233,6 +246,15 @@ public class QuarkusHttpMcpTransport implements McpTransport {
             return this;
         }
 
+        /**
+         * The action to run when the tools of the server may have changed: when the server notified that they changed,
+         * and when the connection to the server is (re)initialized.
+         */
+        public QuarkusHttpMcpTransport.Builder onToolListChanged(Runnable onToolListChanged) {
+            this.onToolListChanged = onToolListChanged;
+            return this;
+        }
+
         public QuarkusHttpMcpTransport build() {
             return new QuarkusHttpMcpTransport(this);
         }
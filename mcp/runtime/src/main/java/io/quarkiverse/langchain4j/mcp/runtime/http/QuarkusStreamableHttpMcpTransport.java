@@ -51,6 +51,8 @@ public class QuarkusStreamableHttpMcpTransport implements McpTransport {
     private final HttpClient httpClient;
     private volatile SseSubscriber sseSubscriber;
 
+    private final Runnable onToolListChanged;
+
     private volatile Runnable onFailure;
     private volatile boolean closed;
 
@@ -61,12 +63,13 @@ public class QuarkusStreamableHttpMcpTransport implements McpTransport {
         this.logRequests = builder.logRequests;
         this.logResponses = builder.logResponses;
         this.mcpClientAuthProvider = McpClientAuthProvider.resolve(builder.mcpClientName).orElse(null);
+        this.onToolListChanged = builder.onToolListChanged;
     }
 
     @Override
     public void start(McpOperationHandler messageHandler) {
         this.operationHandler = messageHandler;
-        this.sseSubscriber = new SseSubscriber(operationHandler, logResponses, null);
+        this.sseSubscriber = new SseSubscriber(operationHandler, logResponses, null, onToolListChanged);
     }
 
     @Override
@@ -76,9 +79,17 @@ public class QuarkusStreamableHttpMcpTransport implements McpTransport {
                 .onItem()
                 .transformToUni(
                         response -> execute(new McpInitializationNotification(), null).onItem().transform(ignored -> response))
+                // the notifications sent by the server while the client was disconnected are lost
+                .onItem().invoke(ignored -> toolListMayHaveChanged())
                 .subscribeAsCompletionStage();
     }
 
+    private void toolListMayHaveChanged() {
+        if (onToolListChanged != null) {
+            onToolListChanged.run();
+        }
+    }
+
     @Override
     public void checkHealth() {
         // no transport-specific checks right now
@@ -172,7 +183,7 @@ public class QuarkusStreamableHttpMcpTransport implements McpTransport {
                                                 if (logResponses) {
                                                     log.info("Response: " + responseString);
                                                 }
-                                                operationHandler.handle(node);
+                                                sseSubscriber.handle(node);
                                             } catch (JsonProcessingException e) {
                                                 future.completeExceptionally(e);
                                             }
@@ -244,6 +255,7 @@ public class QuarkusStreamableHttpMcpTransport implements McpTransport {
         private Duration timeout;
         private boolean logRequests = false;
         private boolean logResponses = false;
+        private Runnable onToolListChanged;
         private HttpClient httpClient;
 
         /**
@@ -280,6 +292,15 @@ public class QuarkusStreamableHttpMcpTransport implements McpTransport {
             return this;
         }
 
+        /**
+         * The action to run when the tools of the server may have changed: when the server notified that they changed,
+         * and when the connection to the server is (re)initialized.
+         */
+        public QuarkusStreamableHttpMcpTransport.Builder onToolListChanged(Runnable onToolListChanged) {
+            this.onToolListChanged = onToolListChanged;
+            return this;
+        }
+
         public QuarkusStreamableHttpMcpTransport build() {
             return new QuarkusStreamableHttpMcpTransport(this);
         }
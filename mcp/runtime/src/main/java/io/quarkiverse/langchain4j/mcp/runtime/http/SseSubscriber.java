@@ -16,18 +16,33 @@ public class SseSubscriber implements Consumer<SseEvent<String>> {
 
     private final McpOperationHandler operationHandler;
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String TOOL_LIST_CHANGED = "notifications/tools/list_changed";
     private static final Logger log = Logger.getLogger(SseSubscriber.class);
     private final boolean logEvents;
     // this will contain the POST url for sending commands to the server
     private final CompletableFuture<String> initializationFinished;
+    private final Runnable onToolListChanged;
 
     public SseSubscriber(
             McpOperationHandler operationHandler,
             boolean logEvents,
-            CompletableFuture<String> initializationFinished) {
+            CompletableFuture<String> initializationFinished,
+            Runnable onToolListChanged) {
         this.operationHandler = operationHandler;
         this.logEvents = logEvents;
         this.initializationFinished = initializationFinished;
+        this.onToolListChanged = onToolListChanged;
+    }
+
+    /**
+     * Passes a message received from the server to the client, and reports the changes of the tools notified by the
+     * server once the client handled them.
+     */
+    public void handle(JsonNode message) {
+        operationHandler.handle(message);
+        if (onToolListChanged != null && TOOL_LIST_CHANGED.equals(message.path("method").asText())) {
+            onToolListChanged.run();
+        }
     }
 
     @Override
@@ -44,7 +59,7 @@ public class SseSubscriber implements Consumer<SseEvent<String>> {
         if (name.equals("message")) {
             try {
                 JsonNode jsonNode = OBJECT_MAPPER.readTree(data);
-                operationHandler.handle(jsonNode);
+                handle(jsonNode);
             } catch (JsonProcessingException e) {
                 log.warn("Failed to parse JSON message: {}", data, e);
             }
@@ -4,6 +4,7 @@ import static io.quarkus.runtime.annotations.ConfigPhase.BUILD_TIME;
 
 import java.util.Optional;
 
+import io.quarkiverse.langchain4j.memorystore.mongodb.runtime.MongoDBChatMemoryStorageMode;
 import io.quarkus.runtime.annotations.ConfigRoot;
 import io.smallrye.config.ConfigMapping;
 import io.smallrye.config.WithDefault;
@@ -29,4 +30,14 @@ public interface MongoDBMemoryStoreBuildTimeConfig {
      */
     @WithDefault("chat_memory")
     String collection();
+
+    /**
+     * How the messages are stored. With {@code string}, the whole conversation is stored as a single JSON string and
+     * the document is replaced on every update. With {@code array}, each message is stored as an element of an array,
+     * so updates only push the new messages and slice the evicted ones on the server.
+     * <p>
+     * Documents written with the {@code string} mode are converted on their next update.
+     */
+    @WithDefault("string")
+    MongoDBChatMemoryStorageMode storageMode();
 }
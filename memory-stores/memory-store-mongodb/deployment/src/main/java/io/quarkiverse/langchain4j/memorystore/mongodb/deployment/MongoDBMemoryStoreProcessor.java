@@ -104,7 +104,8 @@ class MongoDBMemoryStoreProcessor {
                 .createWith(recorder.chatMemoryStoreFunction(
                         clientName,
                         buildTimeConfig.database(),
-                        buildTimeConfig.collection()))
+                        buildTimeConfig.collection(),
+                        buildTimeConfig.storageMode()))
                 .done());
     }
 }
@@ -2,38 +2,65 @@ package io.quarkiverse.langchain4j.memorystore;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 import org.bson.Document;
+import org.bson.conversions.Bson;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoWriteException;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Field;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.PushOptions;
 import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.result.UpdateResult;
 
 import dev.langchain4j.data.message.ChatMessage;
 import dev.langchain4j.store.memory.chat.ChatMemoryStore;
 import io.quarkiverse.langchain4j.QuarkusJsonCodecFactory;
+import io.quarkiverse.langchain4j.memorystore.mongodb.runtime.MongoDBChatMemoryStorageMode;
+import io.quarkiverse.langchain4j.runtime.ChatMemoryDelta;
+import io.quarkiverse.langchain4j.runtime.ChatMemorySnapshots;
 
 public class MongoDBChatMemoryStore implements ChatMemoryStore {
 
     private static final TypeReference<List<ChatMessage>> MESSAGE_LIST_TYPE = new TypeReference<>() {
     };
     private static final String MESSAGES_FIELD = "messages";
+    private static final String VERSION_FIELD = "version";
     private static final String ID_FIELD = "_id";
+    private static final int MAX_UPDATE_ATTEMPTS = 10;
+    private static final int MAX_SNAPSHOTS = 1024;
 
     private final MongoCollection<Document> collection;
+    private final MongoDBChatMemoryStorageMode storageMode;
+    private final ChatMemorySnapshots<String> snapshots = new ChatMemorySnapshots<>(MAX_SNAPSHOTS);
 
     public MongoDBChatMemoryStore(MongoClient mongoClient, String database, String collection) {
+        this(mongoClient, database, collection, MongoDBChatMemoryStorageMode.STRING);
+    }
+
+    public MongoDBChatMemoryStore(MongoClient mongoClient, String database, String collection,
+            MongoDBChatMemoryStorageMode storageMode) {
         this.collection = mongoClient.getDatabase(database).getCollection(collection);
+        this.storageMode = storageMode;
     }
 
     @Override
     public void deleteMessages(Object memoryId) {
         collection.deleteOne(Filters.eq(ID_FIELD, memoryId.toString()));
+        snapshots.remove(memoryId.toString());
     }
 
     @Override
@@ -42,18 +69,24 @@ public class MongoDBChatMemoryStore implements ChatMemoryStore {
         if (document == null || !document.containsKey(MESSAGES_FIELD)) {
             return Collections.emptyList();
         }
-
-        try {
-            String messagesJson = document.getString(MESSAGES_FIELD);
-            return QuarkusJsonCodecFactory.ObjectMapperHolder.MAPPER.readValue(
-                    messagesJson, MESSAGE_LIST_TYPE);
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
+        Object messages = document.get(MESSAGES_FIELD);
+        if (storageMode == MongoDBChatMemoryStorageMode.ARRAY && messages instanceof List<?> elements
+                && document.get(VERSION_FIELD) instanceof Number version) {
+            List<String> serialized = new ArrayList<>(elements.size());
+            for (Object element : elements) {
+                serialized.add((String) element);
+            }
+            snapshots.put(memoryId.toString(), version.longValue(), serialized);
         }
+        return readMessages(messages);
     }
 
     @Override
     public void updateMessages(Object memoryId, List<ChatMessage> messages) {
+        if (storageMode == MongoDBChatMemoryStorageMode.ARRAY) {
+            appendMessages(memoryId.toString(), messages);
+            return;
+        }
         try {
             String messagesJson = QuarkusJsonCodecFactory.ObjectMapperHolder.MAPPER.writeValueAsString(messages);
             Document document = new Document()
@@ -68,4 +101,123 @@ public class MongoDBChatMemoryStore implements ChatMemoryStore {
             throw new UncheckedIOException(e);
         }
     }
+
+    /**
+     * Only writes the messages that are not already stored, and removes the evicted ones on the server. Each update
+     * increments the version of the document, which is used to compute the delta again if the memory is concurrently
+     * modified.
+     * <p>
+     * The first attempt computes the delta against the messages this store last read or wrote, if any, so that the
+     * document is only read again if it does not have their version anymore.
+     */
+    private void appendMessages(String id, List<ChatMessage> messages) {
+        List<String> updated = new ArrayList<>(messages.size());
+        for (ChatMessage message : messages) {
+            updated.add(writeMessage(message));
+        }
+        ChatMemorySnapshots.Snapshot<String> snapshot = snapshots.get(id);
+        for (int attempt = 0; attempt < MAX_UPDATE_ATTEMPTS; attempt++) {
+            Document stored;
+            if (attempt == 0 && snapshot != null) {
+                stored = new Document(MESSAGES_FIELD, snapshot.messages()).append(VERSION_FIELD, snapshot.version());
+            } else {
+                stored = collection.find(Filters.eq(ID_FIELD, id))
+                        .projection(Projections.include(MESSAGES_FIELD, VERSION_FIELD))
+                        .first();
+            }
+            Bson filter = stored == null ? Filters.eq(ID_FIELD, id)
+                    : Filters.and(Filters.eq(ID_FIELD, id), Filters.eq(VERSION_FIELD, stored.get(VERSION_FIELD)));
+            UpdateOptions options = new UpdateOptions().upsert(stored == null);
+            try {
+                UpdateResult result;
+                if (stored == null || !(stored.get(MESSAGES_FIELD) instanceof List<?> storedMessages)) {
+                    // nothing stored yet, or stored using the string storage mode
+                    result = collection.updateOne(filter,
+                            Updates.combine(Updates.set(MESSAGES_FIELD, updated), Updates.inc(VERSION_FIELD, 1)),
+                            options);
+                } else {
+                    ChatMemoryDelta delta = ChatMemoryDelta.compute(storedMessages, updated, Objects::equals);
+                    if (delta.isEmpty(updated.size())) {
+                        if (attempt > 0 || snapshot == null) {
+                            return;
+                        }
+                        // the snapshot may be outdated
+                        continue;
+                    }
+                    if (delta.keptHead() > 0 && delta.removed() > 0) {
+                        result = collection.updateOne(filter, removeAfterHead(delta, storedMessages.size(), updated),
+                                options);
+                    } else {
+                        List<String> appended = updated.subList(delta.appendedFrom(), updated.size());
+                        PushOptions pushOptions = new PushOptions();
+                        if (delta.removed() > 0) {
+                            pushOptions.slice(-(delta.keptTail(storedMessages.size()) + appended.size()));
+                        }
+                        result = collection.updateOne(filter,
+                                Updates.combine(Updates.pushEach(MESSAGES_FIELD, appended, pushOptions),
+                                        Updates.inc(VERSION_FIELD, 1)),
+                                options);
+                    }
+                }
+                if (result.getMatchedCount() > 0 || result.getUpsertedId() != null) {
+                    long version = stored != null && stored.get(VERSION_FIELD) instanceof Number number
+                            ? number.longValue()
+                            : 0;
+                    snapshots.put(id, version + 1, updated);
+                    return;
+                }
+            } catch (MongoWriteException e) {
+                // the document has been concurrently inserted
+                if (e.getError().getCategory() != ErrorCategory.DUPLICATE_KEY) {
+                    throw e;
+                }
+            }
+        }
+        throw new IllegalStateException("Unable to update the chat memory '" + id + "' after " + MAX_UPDATE_ATTEMPTS
+                + " attempts because of concurrent modifications");
+    }
+
+    /**
+     * {@code $push} can only slice the start of the array, so keeping the first message in place while removing the
+     * ones that follow it requires an update pipeline.
+     */
+    private static List<Bson> removeAfterHead(ChatMemoryDelta delta, int storedSize, List<String> updated) {
+        List<Object> parts = new ArrayList<>(3);
+        parts.add(new Document("$slice", List.of("$" + MESSAGES_FIELD, delta.keptHead())));
+        int keptTail = delta.keptTail(storedSize);
+        if (keptTail > 0) {
+            parts.add(new Document("$slice", List.of("$" + MESSAGES_FIELD, -keptTail)));
+        }
+        if (delta.appendedFrom() < updated.size()) {
+            parts.add(new Document("$literal", updated.subList(delta.appendedFrom(), updated.size())));
+        }
+        return List.of(Aggregates.set(
+                new Field<>(MESSAGES_FIELD, new Document("$concatArrays", parts)),
+                new Field<>(VERSION_FIELD,
+                        new Document("$add", List.of(new Document("$ifNull", List.of("$" + VERSION_FIELD, 0)), 1)))));
+    }
+
+    private static String writeMessage(ChatMessage message) {
+        try {
+            return QuarkusJsonCodecFactory.ObjectMapperHolder.MAPPER.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<ChatMessage> readMessages(Object messages) {
+        try {
+            if (messages instanceof List<?> elements) {
+                List<ChatMessage> result = new ArrayList<>(elements.size());
+                for (Object element : elements) {
+                    result.add(QuarkusJsonCodecFactory.ObjectMapperHolder.MAPPER.readValue((String) element,
+                            ChatMessage.class));
+                }
+                return result;
+            }
+            return QuarkusJsonCodecFactory.ObjectMapperHolder.MAPPER.readValue((String) messages, MESSAGE_LIST_TYPE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
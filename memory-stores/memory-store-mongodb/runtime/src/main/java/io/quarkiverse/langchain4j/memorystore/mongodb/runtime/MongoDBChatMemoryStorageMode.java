@@ -0,0 +1,18 @@
+package io.quarkiverse.langchain4j.memorystore.mongodb.runtime;
+
+/**
+ * How the messages of a chat memory are stored in MongoDB.
+ */
+public enum MongoDBChatMemoryStorageMode {
+
+    /**
+     * All the messages are stored as a single JSON string, and the document is replaced on every update.
+     */
+    STRING,
+
+    /**
+     * Each message is stored as a separate element of an array. Updates only push the new messages and slice the
+     * evicted ones.
+     */
+    ARRAY
+}
@@ -14,7 +14,7 @@ import io.quarkus.runtime.annotations.Recorder;
 @Recorder
 public class MongoDBMemoryStoreRecorder {
     public Function<SyntheticCreationalContext<MongoDBChatMemoryStore>, MongoDBChatMemoryStore> chatMemoryStoreFunction(
-            String clientName, String database, String collection) {
+            String clientName, String database, String collection, MongoDBChatMemoryStorageMode storageMode) {
         return new Function<>() {
             @Override
             public MongoDBChatMemoryStore apply(SyntheticCreationalContext<MongoDBChatMemoryStore> context) {
@@ -25,7 +25,7 @@ public class MongoDBMemoryStoreRecorder {
                     mongoClient = context.getInjectedReference(MongoClient.class,
                             MongoClientName.Literal.of(clientName));
                 }
-                return new MongoDBChatMemoryStore(mongoClient, database, collection);
+                return new MongoDBChatMemoryStore(mongoClient, database, collection, storageMode);
             }
         };
     }
@@ -4,8 +4,10 @@ import static io.quarkus.runtime.annotations.ConfigPhase.BUILD_TIME;
 
 import java.util.Optional;
 
+import io.quarkiverse.langchain4j.memorystore.redis.runtime.RedisChatMemoryStorageMode;
 import io.quarkus.runtime.annotations.ConfigRoot;
 import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
 
 @ConfigRoot(phase = BUILD_TIME)
 @ConfigMapping(prefix = "quarkus.langchain4j.memorystore.redis")
@@ -16,4 +18,35 @@ public interface RedisMemoryStoreBuildTimeConfig {
      * If unspecified, it will use the default Redis client.
      */
     Optional<String> clientName();
+
+    /**
+     * The prefix of the keys of the chat memories, which are otherwise the memory ids. A prefix keeps the chat memories
+     * apart from the other keys of the database, and limits the keyspace notifications received when
+     * {@code cache-invalidation} is enabled to the ones about chat memories.
+     */
+    Optional<String> keyPrefix();
+
+    /**
+     * How the messages are stored. With {@code value}, the whole conversation is stored as a single JSON value that is
+     * overwritten on every update. With {@code list}, each message is stored as an element of a Redis list, so updates
+     * only write the new messages and trim the evicted ones on the server.
+     * <p>
+     * Chat memories stored as values are converted to lists when they are next updated with {@code list}. Switching
+     * back to {@code value} requires the existing chat memories to be deleted.
+     */
+    @WithDefault("value")
+    RedisChatMemoryStorageMode storageMode();
+
+    /**
+     * Whether the local chat memory cache (enabled with {@code quarkus.langchain4j.chat-memory.cache.enabled}) is
+     * invalidated when a chat memory is modified in Redis by another client, which keeps the caches of multiple
+     * application instances consistent.
+     * <p>
+     * This relies on Redis keyspace notifications, which need to be enabled on the server, for example using
+     * {@code notify-keyspace-events Kgl$}. The application fails to start if the server does not send the notifications
+     * of the generic, string and list commands. Only the notifications about the keys starting with {@code key-prefix}
+     * in the database of the Redis client are received. Nothing is subscribed to when the cache is disabled.
+     */
+    @WithDefault("false")
+    boolean cacheInvalidation();
 }
@@ -12,11 +12,14 @@ import io.quarkiverse.langchain4j.memorystore.RedisChatMemoryStore;
 import io.quarkiverse.langchain4j.memorystore.redis.runtime.RedisMemoryStoreRecorder;
 import io.quarkus.arc.deployment.AdditionalBeanBuildItem;
 import io.quarkus.arc.deployment.SyntheticBeanBuildItem;
+import io.quarkus.arc.deployment.SyntheticBeansRuntimeInitBuildItem;
 import io.quarkus.deployment.annotations.BuildProducer;
 import io.quarkus.deployment.annotations.BuildStep;
+import io.quarkus.deployment.annotations.Consume;
 import io.quarkus.deployment.annotations.ExecutionTime;
 import io.quarkus.deployment.annotations.Record;
 import io.quarkus.deployment.builditem.FeatureBuildItem;
+import io.quarkus.deployment.builditem.ShutdownContextBuildItem;
 import io.quarkus.redis.client.RedisClientName;
 import io.quarkus.redis.datasource.RedisDataSource;
 import io.quarkus.redis.deployment.client.RequestedRedisClientBuildItem;
@@ -60,8 +63,20 @@ class RedisMemoryStoreProcessor {
                 .scope(ApplicationScoped.class)
                 .addInjectionPoint(ClassType.create(DotName.createSimple(RedisDataSource.class)),
                         redisClientQualifier)
-                .createWith(recorder.chatMemoryStoreFunction(clientName))
+                .createWith(recorder.chatMemoryStoreFunction(clientName, buildTimeConfig.storageMode(),
+                        buildTimeConfig.keyPrefix().orElse("")))
                 .done());
     }
 
+    @BuildStep
+    @Record(ExecutionTime.RUNTIME_INIT)
+    @Consume(SyntheticBeansRuntimeInitBuildItem.class)
+    public void invalidateCacheOnKeyspaceNotifications(RedisMemoryStoreRecorder recorder,
+            RedisMemoryStoreBuildTimeConfig buildTimeConfig,
+            ShutdownContextBuildItem shutdown) {
+        if (buildTimeConfig.cacheInvalidation()) {
+            recorder.invalidateCacheOnKeyspaceNotifications(buildTimeConfig.clientName().orElse(null), shutdown);
+        }
+    }
+
 }
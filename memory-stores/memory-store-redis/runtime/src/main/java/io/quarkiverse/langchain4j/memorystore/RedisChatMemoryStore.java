@@ -2,8 +2,12 @@ package io.quarkiverse.langchain4j.memorystore;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -11,50 +15,401 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import dev.langchain4j.data.message.ChatMessage;
 import dev.langchain4j.store.memory.chat.ChatMemoryStore;
 import io.quarkiverse.langchain4j.QuarkusJsonCodecFactory;
+import io.quarkiverse.langchain4j.memorystore.redis.runtime.RedisChatMemoryStorageMode;
+import io.quarkiverse.langchain4j.runtime.ChatMemoryDelta;
+import io.quarkiverse.langchain4j.runtime.ChatMemorySnapshots;
 import io.quarkus.redis.datasource.RedisDataSource;
 import io.quarkus.redis.datasource.keys.KeyCommands;
+import io.quarkus.redis.datasource.keys.RedisValueType;
+import io.quarkus.redis.datasource.list.ListCommands;
+import io.quarkus.redis.datasource.list.TransactionalListCommands;
+import io.quarkus.redis.datasource.transactions.OptimisticLockingTransactionResult;
 import io.quarkus.redis.datasource.value.ValueCommands;
 
 public class RedisChatMemoryStore implements ChatMemoryStore {
 
     private static final TypeReference<List<ChatMessage>> MESSAGE_LIST_TYPE = new TypeReference<>() {
     };
+    private static final int MAX_UPDATE_ATTEMPTS = 10;
+    private static final int MAX_SNAPSHOTS = 1024;
+    // the first element of a list holds the version of the memory, it can't be mistaken for a message as these are
+    // JSON objects
+    private static final String VERSION_HEADER = "#version:";
 
+    private final RedisDataSource redisDataSource;
+    private final RedisChatMemoryStorageMode storageMode;
+    private final String keyPrefix;
     private final ValueCommands<String, byte[]> valueCommands;
+    private final ListCommands<String, byte[]> listCommands;
     private final KeyCommands<String> keyCommands;
+    private final ChatMemorySnapshots<byte[]> snapshots = new ChatMemorySnapshots<>(MAX_SNAPSHOTS);
+    // the number of keyspace notifications that the writes of this store are expected to cause, per key
+    private final ConcurrentHashMap<String, Integer> ownNotifications = new ConcurrentHashMap<>();
+    private volatile boolean trackingOwnNotifications;
 
     public RedisChatMemoryStore(RedisDataSource redisDataSource) {
+        this(redisDataSource, RedisChatMemoryStorageMode.VALUE);
+    }
+
+    public RedisChatMemoryStore(RedisDataSource redisDataSource, RedisChatMemoryStorageMode storageMode) {
+        this(redisDataSource, storageMode, "");
+    }
+
+    /**
+     * @param keyPrefix the prefix of the keys of the chat memories, which are otherwise the memory ids
+     */
+    public RedisChatMemoryStore(RedisDataSource redisDataSource, RedisChatMemoryStorageMode storageMode,
+            String keyPrefix) {
+        this.redisDataSource = redisDataSource;
+        this.storageMode = storageMode;
+        this.keyPrefix = keyPrefix;
         this.valueCommands = redisDataSource.value(new TypeReference<>() {
         });
+        this.listCommands = redisDataSource.list(byte[].class);
         this.keyCommands = redisDataSource.key(String.class);
     }
 
+    public String keyPrefix() {
+        return keyPrefix;
+    }
+
+    /**
+     * Makes this store count the keyspace notifications that its writes cause, so that
+     * {@link #consumeOwnKeyspaceNotification(String)} can tell them apart from the ones caused by other clients.
+     * <p>
+     * This relies on Redis sending the notifications of the generic, string and list commands, for example using
+     * {@code notify-keyspace-events Kgl$}, which is checked when the cache is set up.
+     */
+    public void trackOwnKeyspaceNotifications() {
+        trackingOwnNotifications = true;
+    }
+
+    /**
+     * Returns whether a keyspace notification about the given key is one that a write of this store was expected to
+     * cause, in which case it is not expected anymore.
+     */
+    public boolean consumeOwnKeyspaceNotification(String key) {
+        boolean[] own = new boolean[1];
+        ownNotifications.computeIfPresent(key, (k, expected) -> {
+            own[0] = true;
+            return expected > 1 ? expected - 1 : null;
+        });
+        return own[0];
+    }
+
     @Override
     public void deleteMessages(Object memoryId) {
-        keyCommands.del(memoryId.toString());
+        String key = key(memoryId);
+        expectOwnNotifications(key, 1);
+        try {
+            if (keyCommands.del(key) == 0) {
+                expectOwnNotifications(key, -1);
+            }
+        } catch (RuntimeException e) {
+            forgetOwnNotifications(key);
+            throw e;
+        }
+        snapshots.remove(key);
     }
 
     @Override
     public List<ChatMessage> getMessages(Object memoryId) {
-        byte[] bytes = valueCommands.get(memoryId.toString());
+        if (storageMode == RedisChatMemoryStorageMode.LIST) {
+            return readList(key(memoryId));
+        }
+        return readValue(valueCommands.get(key(memoryId)));
+    }
+
+    private List<ChatMessage> readList(String key) {
+        List<byte[]> elements;
+        try {
+            elements = listCommands.lrange(key, 0, -1);
+        } catch (RuntimeException e) {
+            if (!isWrongType(e)) {
+                throw e;
+            }
+            // stored using the value storage mode, converted on the next update
+            return readValue(valueCommands.get(key));
+        }
+        long version = elements.isEmpty() ? -1 : version(elements.get(0));
+        if (version < 0) {
+            return readMessages(elements);
+        }
+        List<byte[]> messages = elements.subList(1, elements.size());
+        snapshots.put(key, version, messages);
+        return readMessages(messages);
+    }
+
+    @Override
+    public void updateMessages(Object memoryId, List<ChatMessage> messages) {
+        String key = key(memoryId);
+        if (storageMode == RedisChatMemoryStorageMode.LIST) {
+            appendMessages(key, messages);
+            return;
+        }
+        byte[] value;
+        try {
+            value = QuarkusJsonCodecFactory.ObjectMapperHolder.MAPPER.writeValueAsBytes(messages);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        expectOwnNotifications(key, 1);
+        try {
+            valueCommands.set(key, value);
+        } catch (RuntimeException e) {
+            forgetOwnNotifications(key);
+            throw e;
+        }
+    }
+
+    /**
+     * Only writes the messages that are not already stored, and trims the evicted ones on the server. The key is
+     * watched so the delta is computed again if the memory is concurrently modified.
+     * <p>
+     * Each update increments the version held by the first element of the list. If the memory still has the version of
+     * the messages this store last read or wrote, the delta is computed against these messages, so only the first
+     * element is read from Redis.
+     */
+    private void appendMessages(String key, List<ChatMessage> messages) {
+        List<byte[]> updated = new ArrayList<>(messages.size());
+        for (ChatMessage message : messages) {
+            updated.add(writeMessage(message));
+        }
+        for (int attempt = 0; attempt < MAX_UPDATE_ATTEMPTS; attempt++) {
+            int[] notifications = new int[1];
+            OptimisticLockingTransactionResult<PendingUpdate> result;
+            try {
+                result = redisDataSource.withTransaction(
+                        ds -> prepareUpdate(ds, key, updated),
+                        (update, tx) -> {
+                            if (update.wrongType() || update.delta().isEmpty(updated.size())) {
+                                tx.discard();
+                                return;
+                            }
+                            notifications[0] = write(tx.list(byte[].class), key, update, updated);
+                            expectOwnNotifications(key, notifications[0]);
+                        }, key);
+            } catch (RuntimeException e) {
+                forgetOwnNotifications(key);
+                throw e;
+            }
+            PendingUpdate update = result.getPreTransactionResult();
+            if (update.wrongType()) {
+                migrate(key);
+                continue;
+            }
+            if (!result.discarded()) {
+                snapshots.put(key, update.nextVersion(), updated);
+                return;
+            }
+            expectOwnNotifications(key, -notifications[0]);
+            // a discarded transaction means that the watched key has been modified, unless there was nothing to write
+            if (update.delta().isEmpty(updated.size())) {
+                return;
+            }
+        }
+        throw new IllegalStateException("Unable to update the chat memory '" + key + "' after " + MAX_UPDATE_ATTEMPTS
+                + " attempts because of concurrent modifications");
+    }
+
+    private PendingUpdate prepareUpdate(RedisDataSource ds, String key, List<byte[]> updated) {
+        ListCommands<String, byte[]> list = ds.list(byte[].class);
+        byte[] first;
+        try {
+            first = list.lindex(key, 0);
+        } catch (RuntimeException e) {
+            // failing here would leave the watched connection open
+            if (isWrongType(e)) {
+                return new PendingUpdate(true, false, -1, 0, null);
+            }
+            throw e;
+        }
+        if (first == null) {
+            return new PendingUpdate(false, false, -1, 0, ChatMemoryDelta.compute(List.of(), updated, Arrays::equals));
+        }
+        long version = version(first);
+        ChatMemorySnapshots.Snapshot<byte[]> snapshot = snapshots.get(key);
+        List<byte[]> stored;
+        if (version >= 0 && snapshot != null && snapshot.version() == version) {
+            stored = snapshot.messages();
+        } else {
+            List<byte[]> elements = list.lrange(key, 0, -1);
+            version = elements.isEmpty() ? -1 : version(elements.get(0));
+            stored = version < 0 ? elements : elements.subList(1, elements.size());
+        }
+        return new PendingUpdate(false, true, version, stored.size(),
+                ChatMemoryDelta.compute(stored, updated, Arrays::equals));
+    }
+
+    /**
+     * @return the number of keyspace notifications caused by the commands
+     */
+    private static int write(TransactionalListCommands<String, byte[]> list, String key, PendingUpdate update,
+            List<byte[]> updated) {
+        ChatMemoryDelta delta = update.delta();
+        byte[] header = header(update.nextVersion());
+        List<byte[]> appended = updated.subList(delta.appendedFrom(), updated.size());
+        if (!update.exists()) {
+            List<byte[]> elements = new ArrayList<>(appended.size() + 1);
+            elements.add(header);
+            elements.addAll(appended);
+            list.rpush(key, elements.toArray(new byte[0][]));
+            return 1;
+        }
+        // the header is either set or pushed
+        int notifications = 1;
+        if (update.hasHeader() && delta.keptHead() + delta.removed() == 0) {
+            list.lset(key, 0, header);
+        } else {
+            int trimmed = (update.hasHeader() ? 1 : 0) + delta.keptHead() + delta.removed();
+            if (trimmed > 0) {
+                list.ltrim(key, trimmed, -1);
+                // a list left empty is deleted
+                notifications += delta.keptTail(update.storedSize()) == 0 ? 2 : 1;
+            }
+            // pushed in this order, the header ends up before the kept head
+            if (delta.keptHead() > 0) {
+                list.lpush(key, updated.get(0), header);
+            } else {
+                list.lpush(key, header);
+            }
+        }
+        if (!appended.isEmpty()) {
+            list.rpush(key, appended.toArray(new byte[0][]));
+            notifications++;
+        }
+        return notifications;
+    }
+
+    /**
+     * Converts a memory stored using the value storage mode to a list.
+     */
+    private void migrate(String key) {
+        int[] notifications = new int[1];
+        OptimisticLockingTransactionResult<byte[]> result;
+        try {
+            result = redisDataSource.withTransaction(
+                    // the memory may have been concurrently converted
+                    ds -> ds.key(String.class).type(key) == RedisValueType.STRING ? ds.value(byte[].class).get(key)
+                            : null,
+                    (value, tx) -> {
+                        if (value == null) {
+                            tx.discard();
+                            return;
+                        }
+                        List<ChatMessage> messages = readValue(value);
+                        List<byte[]> elements = new ArrayList<>(messages.size() + 1);
+                        elements.add(header(1));
+                        for (ChatMessage message : messages) {
+                            elements.add(writeMessage(message));
+                        }
+                        tx.key(String.class).del(key);
+                        tx.list(byte[].class).rpush(key, elements.toArray(new byte[0][]));
+                        notifications[0] = 2;
+                        expectOwnNotifications(key, notifications[0]);
+                    }, key);
+        } catch (RuntimeException e) {
+            forgetOwnNotifications(key);
+            throw e;
+        }
+        if (result.discarded()) {
+            expectOwnNotifications(key, -notifications[0]);
+        }
+    }
+
+    private String key(Object memoryId) {
+        return keyPrefix + memoryId;
+    }
+
+    private void expectOwnNotifications(String key, int count) {
+        if (!trackingOwnNotifications || count == 0) {
+            return;
+        }
+        if (count > 0) {
+            ownNotifications.merge(key, count, Integer::sum);
+        } else {
+            ownNotifications.computeIfPresent(key, (k, expected) -> expected + count > 0 ? expected + count : null);
+        }
+    }
+
+    // the notifications caused by a failed write are unknown, so the next ones are not ignored
+    private void forgetOwnNotifications(String key) {
+        if (trackingOwnNotifications) {
+            ownNotifications.remove(key);
+        }
+    }
+
+    private static byte[] header(long version) {
+        return (VERSION_HEADER + version).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the version held by the given first element of a list, or {@code -1} if it is a message
+     */
+    private static long version(byte[] element) {
+        String value = new String(element, StandardCharsets.UTF_8);
+        if (!value.startsWith(VERSION_HEADER)) {
+            return -1;
+        }
+        return Long.parseLong(value.substring(VERSION_HEADER.length()));
+    }
+
+    private static boolean isWrongType(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t.getMessage() != null && t.getMessage().startsWith("WRONGTYPE")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] writeMessage(ChatMessage message) {
+        try {
+            return QuarkusJsonCodecFactory.ObjectMapperHolder.MAPPER.writeValueAsBytes(message);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<ChatMessage> readValue(byte[] bytes) {
         if (bytes == null) {
             return Collections.emptyList();
         }
         try {
-            return QuarkusJsonCodecFactory.ObjectMapperHolder.MAPPER.readValue(
-                    bytes, MESSAGE_LIST_TYPE);
+            return QuarkusJsonCodecFactory.ObjectMapperHolder.MAPPER.readValue(bytes, MESSAGE_LIST_TYPE);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
     }
 
-    @Override
-    public void updateMessages(Object memoryId, List<ChatMessage> messages) {
+    private static List<ChatMessage> readMessages(List<byte[]> elements) {
+        List<ChatMessage> messages = new ArrayList<>(elements.size());
         try {
-            valueCommands.set(memoryId.toString(),
-                    QuarkusJsonCodecFactory.ObjectMapperHolder.MAPPER.writeValueAsBytes(messages));
-        } catch (JsonProcessingException e) {
+            for (byte[] element : elements) {
+                messages.add(QuarkusJsonCodecFactory.ObjectMapperHolder.MAPPER.readValue(element, ChatMessage.class));
+            }
+        } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
+        return messages;
+    }
+
+    /**
+     * @param wrongType whether the memory is stored using the value storage mode
+     * @param exists whether the memory is stored
+     * @param version the version of the memory, or {@code -1} if it has none
+     * @param storedSize the number of stored messages
+     * @param delta the changes to write, {@code null} if the memory is stored using the value storage mode
+     */
+    private record PendingUpdate(boolean wrongType, boolean exists, long version, int storedSize,
+            ChatMemoryDelta delta) {
+
+        boolean hasHeader() {
+            return version >= 0;
+        }
+
+        long nextVersion() {
+            return Math.max(version, 0) + 1;
+        }
     }
 }
@@ -0,0 +1,18 @@
+package io.quarkiverse.langchain4j.memorystore.redis.runtime;
+
+/**
+ * How the messages of a chat memory are stored in Redis.
+ */
+public enum RedisChatMemoryStorageMode {
+
+    /**
+     * All the messages are stored as a single JSON array in a string value, which is overwritten on every update.
+     */
+    VALUE,
+
+    /**
+     * Each message is stored as a separate element of a Redis list. Updates only append the new messages and trim
+     * the evicted ones.
+     */
+    LIST
+}
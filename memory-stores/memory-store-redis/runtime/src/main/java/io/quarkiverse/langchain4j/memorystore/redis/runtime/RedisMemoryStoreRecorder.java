@@ -1,19 +1,48 @@
 package io.quarkiverse.langchain4j.memorystore.redis.runtime;
 
+import java.net.URI;
+import java.util.Set;
 import java.util.function.Function;
 
 import jakarta.enterprise.inject.Default;
 
+import org.jboss.logging.Logger;
+
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
 import io.quarkiverse.langchain4j.memorystore.RedisChatMemoryStore;
+import io.quarkiverse.langchain4j.runtime.CachingChatMemoryStore;
+import io.quarkiverse.langchain4j.runtime.aiservice.ChatMemoryConfig;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ClientProxy;
 import io.quarkus.arc.SyntheticCreationalContext;
 import io.quarkus.redis.client.RedisClientName;
 import io.quarkus.redis.datasource.RedisDataSource;
+import io.quarkus.redis.datasource.pubsub.PubSubCommands;
+import io.quarkus.redis.runtime.client.config.RedisClientConfig;
+import io.quarkus.redis.runtime.client.config.RedisConfig;
+import io.quarkus.runtime.RuntimeValue;
+import io.quarkus.runtime.ShutdownContext;
 import io.quarkus.runtime.annotations.Recorder;
+import io.vertx.mutiny.redis.client.Response;
 
 @Recorder
 public class RedisMemoryStoreRecorder {
+
+    private static final Logger log = Logger.getLogger(RedisMemoryStoreRecorder.class);
+
+    private static final String NOTIFY_KEYSPACE_EVENTS = "notify-keyspace-events";
+
+    private final RuntimeValue<ChatMemoryConfig> chatMemoryConfig;
+    private final RuntimeValue<RedisConfig> redisConfig;
+
+    public RedisMemoryStoreRecorder(RuntimeValue<ChatMemoryConfig> chatMemoryConfig,
+            RuntimeValue<RedisConfig> redisConfig) {
+        this.chatMemoryConfig = chatMemoryConfig;
+        this.redisConfig = redisConfig;
+    }
+
     public Function<SyntheticCreationalContext<RedisChatMemoryStore>, RedisChatMemoryStore> chatMemoryStoreFunction(
-            String clientName) {
+            String clientName, RedisChatMemoryStorageMode storageMode, String keyPrefix) {
         return new Function<>() {
             @Override
             public RedisChatMemoryStore apply(SyntheticCreationalContext<RedisChatMemoryStore> context) {
@@ -24,8 +53,95 @@ public class RedisMemoryStoreRecorder {
                     dataSource = context.getInjectedReference(RedisDataSource.class,
                             new RedisClientName.Literal(clientName));
                 }
-                return new RedisChatMemoryStore(dataSource);
+                return new RedisChatMemoryStore(dataSource, storageMode, keyPrefix);
             }
         };
     }
+
+    public void invalidateCacheOnKeyspaceNotifications(String clientName, ShutdownContext shutdownContext) {
+        if (!chatMemoryConfig.getValue().cache().enabled()) {
+            return;
+        }
+        ChatMemoryStore chatMemoryStore = ClientProxy.unwrap(Arc.container().select(ChatMemoryStore.class).get());
+        if (!(chatMemoryStore instanceof RedisChatMemoryStore store)) {
+            // the application provides its own store
+            return;
+        }
+        RedisDataSource dataSource;
+        if (clientName == null) {
+            dataSource = Arc.container().select(RedisDataSource.class, new Default.Literal()).get();
+        } else {
+            dataSource = Arc.container().select(RedisDataSource.class, new RedisClientName.Literal(clientName)).get();
+        }
+        checkKeyspaceNotifications(dataSource);
+        CachingChatMemoryStore cache = Arc.container().select(CachingChatMemoryStore.class).get();
+        store.trackOwnKeyspaceNotifications();
+        // the channel of a keyspace notification is __keyspace@<db>__:<key>, and the key is the prefixed memory id
+        String channelPrefix = "__keyspace@" + database(clientName) + "__:";
+        String keyPrefix = store.keyPrefix();
+        PubSubCommands.RedisSubscriber subscriber = dataSource.pubsub(String.class)
+                .subscribeToPattern(channelPrefix + escapeGlob(keyPrefix) + "*", (channel, event) -> {
+                    String key = channel.substring(channelPrefix.length());
+                    if (!store.consumeOwnKeyspaceNotification(key)) {
+                        cache.invalidate(key.substring(keyPrefix.length()));
+                    }
+                });
+        shutdownContext.addShutdownTask(subscriber::unsubscribe);
+    }
+
+    /**
+     * The notifications caused by the writes of the store are told apart from the ones caused by other clients by
+     * counting them, which is only correct if Redis sends the keyspace notifications of all the commands used by the
+     * store: the generic ({@code g}), string ({@code $}) and list ({@code l}) ones.
+     */
+    private static void checkKeyspaceNotifications(RedisDataSource dataSource) {
+        String events;
+        try {
+            Response value = dataSource.execute("CONFIG", "GET", NOTIFY_KEYSPACE_EVENTS).get(NOTIFY_KEYSPACE_EVENTS);
+            events = value == null ? "" : value.toString();
+        } catch (RuntimeException e) {
+            // some managed Redis services do not allow the CONFIG command
+            log.warnf(e, "Unable to check the value of %s, the cached chat memories are only invalidated on the keyspace "
+                    + "notifications of the generic, string and list commands, for example using 'Kgl$'",
+                    NOTIFY_KEYSPACE_EVENTS);
+            return;
+        }
+        boolean allCommands = events.contains("A") || (events.contains("g") && events.contains("$") && events.contains("l"));
+        if (!events.contains("K") || !allCommands) {
+            throw new IllegalStateException("The chat memory cache relies on the keyspace notifications of the generic, "
+                    + "string and list commands, but the Redis server is configured with " + NOTIFY_KEYSPACE_EVENTS
+                    + " '" + events + "'. Configure it with at least 'Kgl$', or disable the cache using "
+                    + "quarkus.langchain4j.chat-memory.cache.enabled=false");
+        }
+    }
+
+    /**
+     * Returns the database selected by the URI of the Redis client, such as {@code redis://localhost:6379/2}.
+     */
+    private int database(String clientName) {
+        RedisClientConfig clientConfig = clientName == null ? redisConfig.getValue().defaultRedisClient()
+                : redisConfig.getValue().namedRedisClients().get(clientName);
+        if (clientConfig == null) {
+            return 0;
+        }
+        for (URI host : clientConfig.hosts().orElse(Set.of())) {
+            String path = host.getPath();
+            if (path != null && path.length() > 1) {
+                return Integer.parseInt(path.substring(1));
+            }
+        }
+        return 0;
+    }
+
+    private static String escapeGlob(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '*' || c == '?' || c == '[' || c == ']' || c == '\\') {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
 }
@@ -0,0 +1,179 @@
+package io.quarkiverse.langchain4j.bedrock.deployment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import io.quarkiverse.langchain4j.bedrock.runtime.jaxrsclient.async.JaxRsSdkAsyncHttpClient;
+import io.quarkus.test.QuarkusUnitTest;
+import io.smallrye.mutiny.Multi;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerResponse;
+import mutiny.zero.flow.adapters.AdaptersToReactiveStreams;
+import software.amazon.awssdk.http.SdkHttpConfigurationOption;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkHttpRequest;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
+import software.amazon.awssdk.http.async.SdkHttpContentPublisher;
+
+/**
+ * Checks that the chunks of a response are handed to the SDK as soon as they are received, against a server which only
+ * ends the response once the test has seen the first chunk.
+ */
+class JaxRsSdkAsyncHttpClientStreamingTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class));
+
+    @Inject
+    Vertx vertx;
+
+    private HttpServer server;
+    private final AtomicReference<HttpServerResponse> pendingResponse = new AtomicReference<>();
+    private final AtomicReference<String> receivedBody = new AtomicReference<>();
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server = vertx.createHttpServer()
+                .requestHandler(request -> request.body().onSuccess(body -> {
+                    receivedBody.set(body.toString());
+                    HttpServerResponse response = request.response()
+                            .setChunked(true)
+                            .putHeader("Content-Type", "application/vnd.amazon.eventstream");
+                    response.write("first frame");
+                    pendingResponse.set(response);
+                }))
+                .listen(0)
+                .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+
+    @AfterEach
+    void stopServer() throws Exception {
+        server.close().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void should_forward_the_first_chunk_before_the_response_completes() throws Exception {
+        SdkAsyncHttpClient client = JaxRsSdkAsyncHttpClient.builder()
+                .buildWithDefaults(SdkHttpConfigurationOption.GLOBAL_HTTP_DEFAULTS);
+        CollectingResponseHandler handler = new CollectingResponseHandler();
+
+        CompletableFuture<Void> execution = client.execute(AsyncExecuteRequest.builder()
+                .request(SdkHttpRequest.builder()
+                        .uri(URI.create("http://localhost:" + server.actualPort() + "/model/converse-stream"))
+                        .method(SdkHttpMethod.POST)
+                        .putHeader("Content-Type", "application/json")
+                        .build())
+                .requestContentPublisher(new ChunkedContentPublisher("{\"messages\":", "[]}"))
+                .responseHandler(handler)
+                .build());
+
+        assertThat(handler.firstChunk.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(execution).isNotDone();
+        assertThat(handler.status).isEqualTo(200);
+        assertThat(handler.body()).isEqualTo("first frame");
+        // the body of the request was sent in several chunks
+        assertThat(receivedBody.get()).isEqualTo("{\"messages\":[]}");
+
+        pendingResponse.get().end(", second frame");
+
+        execution.get(10, TimeUnit.SECONDS);
+        assertThat(handler.body()).isEqualTo("first frame, second frame");
+        client.close();
+    }
+
+    private static class ChunkedContentPublisher implements SdkHttpContentPublisher {
+
+        private final List<String> chunks;
+
+        ChunkedContentPublisher(String... chunks) {
+            this.chunks = List.of(chunks);
+        }
+
+        @Override
+        public Optional<Long> contentLength() {
+            return Optional.empty();
+        }
+
+        @Override
+        public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+            AdaptersToReactiveStreams.publisher(Multi.createFrom().iterable(chunks)
+                    .map(chunk -> ByteBuffer.wrap(chunk.getBytes(StandardCharsets.UTF_8))))
+                    .subscribe(subscriber);
+        }
+    }
+
+    private static class CollectingResponseHandler implements SdkAsyncHttpResponseHandler {
+
+        private final CountDownLatch firstChunk = new CountDownLatch(1);
+        private final StringBuffer body = new StringBuffer();
+        private volatile int status;
+
+        @Override
+        public void onHeaders(SdkHttpResponse headers) {
+            status = headers.statusCode();
+        }
+
+        @Override
+        public void onStream(Publisher<ByteBuffer> stream) {
+            // requests the chunks one by one, like the event stream decoder of the SDK
+            stream.subscribe(new Subscriber<>() {
+                private Subscription subscription;
+
+                @Override
+                public void onSubscribe(Subscription subscription) {
+                    this.subscription = subscription;
+                    subscription.request(1);
+                }
+
+                @Override
+                public void onNext(ByteBuffer chunk) {
+                    body.append(StandardCharsets.UTF_8.decode(chunk));
+                    firstChunk.countDown();
+                    subscription.request(1);
+                }
+
+                @Override
+                public void onError(Throwable failure) {
+                }
+
+                @Override
+                public void onComplete() {
+                }
+            });
+        }
+
+        @Override
+        public void onError(Throwable failure) {
+        }
+
+        String body() {
+            return body.toString();
+        }
+    }
+}
@@ -24,6 +24,7 @@ public class JaxRsSdkAsyncHttpClient implements SdkAsyncHttpClient {
 
     public JaxRsSdkAsyncHttpClient(final Client client) {
         delegate = client;
+        delegate.register(new JaxRsSdkAsyncHttpClientExchange.ResponseHeadersFilter());
     }
 
     @Override
@@ -32,14 +33,7 @@ public class JaxRsSdkAsyncHttpClient implements SdkAsyncHttpClient {
 
         Invocation.Builder invocationBuilder = createAndPrepareInvocationBuilder(delegate, request);
 
-        final CompletableFuture<Void> executeFuture = new CompletableFuture<>();
-
-        final JaxRsSdkAsyncHttpClientSubscriber subscriber = new JaxRsSdkAsyncHttpClientSubscriber(executeRequest,
-                invocationBuilder, executeFuture);
-
-        executeRequest.requestContentPublisher().subscribe(subscriber);
-
-        return executeFuture;
+        return new JaxRsSdkAsyncHttpClientExchange(executeRequest).execute(invocationBuilder);
     }
 
     @Override
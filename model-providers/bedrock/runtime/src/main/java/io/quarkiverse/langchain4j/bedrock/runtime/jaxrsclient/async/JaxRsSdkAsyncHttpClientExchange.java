@@ -0,0 +1,129 @@
+package io.quarkiverse.langchain4j.bedrock.runtime.jaxrsclient.async;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import jakarta.ws.rs.client.ClientRequestContext;
+import jakarta.ws.rs.client.ClientResponseContext;
+import jakarta.ws.rs.client.ClientResponseFilter;
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.client.Invocation;
+import jakarta.ws.rs.core.GenericType;
+import jakarta.ws.rs.core.MediaType;
+
+import org.jboss.resteasy.reactive.client.impl.MultiInvoker;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.operators.multi.processors.UnicastProcessor;
+import io.vertx.mutiny.core.buffer.Buffer;
+import mutiny.zero.flow.adapters.AdaptersToFlow;
+import mutiny.zero.flow.adapters.AdaptersToReactiveStreams;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkHttpRequest;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+
+/**
+ * A single request sent by {@link JaxRsSdkAsyncHttpClient}.
+ * <p>
+ * The request body is streamed from the publisher of the SDK, and the chunks of the response body are handed to the SDK
+ * as soon as they are received, so that the first events of a streamed response are not delayed until the end of the
+ * response. The chunks received before the SDK requests them are buffered.
+ */
+class JaxRsSdkAsyncHttpClientExchange {
+
+    /**
+     * The property of the invocation holding the callback {@link ResponseHeadersFilter} calls with the response headers
+     */
+    static final String RESPONSE_HEADERS_CALLBACK = JaxRsSdkAsyncHttpClientExchange.class.getName() + ".headers";
+
+    private static final GenericType<byte[]> BYTES = new GenericType<>() {
+    };
+
+    private final AsyncExecuteRequest executeRequest;
+    private final CompletableFuture<Void> executeFuture = new CompletableFuture<>();
+    private final UnicastProcessor<ByteBuffer> responseContent = UnicastProcessor.create();
+    private volatile boolean streaming;
+
+    JaxRsSdkAsyncHttpClientExchange(final AsyncExecuteRequest executeRequest) {
+        this.executeRequest = executeRequest;
+    }
+
+    CompletableFuture<Void> execute(final Invocation.Builder invocationBuilder) {
+        final Consumer<ClientResponseContext> onHeaders = this::onHeaders;
+        invocationBuilder.property(RESPONSE_HEADERS_CALLBACK, onHeaders);
+
+        final SdkHttpRequest request = executeRequest.request();
+        invocationBuilder.rx(MultiInvoker.class)
+                .method(request.method().name(), requestEntity(request), BYTES)
+                .map(ByteBuffer::wrap)
+                .onFailure().invoke(this::onError)
+                .subscribe(responseContent);
+
+        return executeFuture;
+    }
+
+    private Entity<?> requestEntity(final SdkHttpRequest request) {
+        final SdkHttpMethod method = request.method();
+        if (method != SdkHttpMethod.POST && method != SdkHttpMethod.PUT && method != SdkHttpMethod.PATCH) {
+            return null;
+        }
+        if (executeRequest.requestContentPublisher().contentLength().orElse(-1L) == 0L) {
+            return null;
+        }
+        final String contentType = request.firstMatchingHeader("Content-Type")
+                .orElse(MediaType.APPLICATION_OCTET_STREAM);
+        final Multi<Buffer> body = Multi.createFrom()
+                .publisher(AdaptersToFlow.publisher(executeRequest.requestContentPublisher()))
+                .map(JaxRsSdkAsyncHttpClientExchange::toBuffer);
+        return Entity.entity(body, contentType);
+    }
+
+    private static Buffer toBuffer(final ByteBuffer byteBuffer) {
+        // the SDK may reuse the buffer once onNext returns
+        final byte[] bytes = new byte[byteBuffer.remaining()];
+        byteBuffer.get(bytes);
+        return Buffer.buffer(bytes);
+    }
+
+    private void onHeaders(final ClientResponseContext response) {
+        if (response.getStatus() <= 0) {
+            // the filters also run when the request failed before a response was received
+            return;
+        }
+        executeRequest.responseHandler().onHeaders(SdkHttpResponse.builder()
+                .headers(new HashMap<>(response.getHeaders()))
+                .statusCode(response.getStatus())
+                .statusText(response.getStatusInfo().getReasonPhrase())
+                .build());
+
+        streaming = true;
+        executeRequest.responseHandler().onStream(AdaptersToReactiveStreams.publisher(responseContent
+                .onCompletion().invoke(() -> executeFuture.complete(null))
+                .onCancellation().invoke(() -> executeFuture.complete(null))));
+    }
+
+    private void onError(final Throwable failure) {
+        // once the stream was handed to the SDK, the failure reaches it through the stream
+        if (!streaming) {
+            executeRequest.responseHandler().onError(failure);
+        }
+        executeFuture.completeExceptionally(failure);
+    }
+
+    /**
+     * Hands the status and headers of the response to the SDK before the body is received.
+     */
+    static class ResponseHeadersFilter implements ClientResponseFilter {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void filter(final ClientRequestContext requestContext, final ClientResponseContext responseContext) {
+            if (requestContext.getProperty(RESPONSE_HEADERS_CALLBACK) instanceof Consumer<?> callback) {
+                ((Consumer<ClientResponseContext>) callback).accept(responseContext);
+            }
+        }
+    }
+}
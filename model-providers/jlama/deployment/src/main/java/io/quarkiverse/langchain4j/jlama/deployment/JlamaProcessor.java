@@ -36,6 +36,7 @@ import io.quarkiverse.langchain4j.deployment.items.SelectedChatModelProviderBuil
 import io.quarkiverse.langchain4j.deployment.items.SelectedEmbeddingModelCandidateBuildItem;
 import io.quarkiverse.langchain4j.jlama.JlamaModelRegistry;
 import io.quarkiverse.langchain4j.jlama.runtime.JlamaAiRecorder;
+import io.quarkiverse.langchain4j.jlama.runtime.JlamaModelDestroyer;
 import io.quarkiverse.langchain4j.jlama.runtime.config.LangChain4jJlamaConfig;
 import io.quarkiverse.langchain4j.jlama.runtime.config.LangChain4jJlamaFixedRuntimeConfig;
 import io.quarkiverse.langchain4j.runtime.NamedConfigUtil;
@@ -120,7 +121,8 @@ public class JlamaProcessor {
                 String configName = selected.getConfigName();
                 var builder = SyntheticBeanBuildItem.configure(EMBEDDING_MODEL).setRuntimeInit().defaultBean()
                         .unremovable().scope(ApplicationScoped.class)
-                        .supplier(recorder.embeddingModel(runtimeConfig, fixedRuntimeConfig, configName));
+                        .supplier(recorder.embeddingModel(runtimeConfig, fixedRuntimeConfig, configName))
+                        .destroyer(JlamaModelDestroyer.class);
                 addQualifierIfNecessary(builder, configName);
                 beanProducer.produce(builder.done());
             }
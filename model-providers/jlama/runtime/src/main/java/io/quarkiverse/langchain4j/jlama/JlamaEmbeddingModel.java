@@ -1,9 +1,16 @@
 package io.quarkiverse.langchain4j.jlama;
 
 import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.github.tjake.jlama.model.AbstractModel;
 import com.github.tjake.jlama.model.ModelSupport;
@@ -16,12 +23,53 @@ import dev.langchain4j.internal.RetryUtils;
 import dev.langchain4j.model.embedding.DimensionAwareEmbeddingModel;
 import dev.langchain4j.model.output.Response;
 
-public class JlamaEmbeddingModel extends DimensionAwareEmbeddingModel {
+public class JlamaEmbeddingModel extends DimensionAwareEmbeddingModel implements AutoCloseable {
     private final BertModel model;
     private final Generator.PoolingType poolingType;
+    private final int concurrency;
+    // null when the segments are embedded one at a time
+    private final ExecutorService executor;
 
     public JlamaEmbeddingModel(JlamaEmbeddingModelBuilder builder) {
+        this(load(builder), builder.poolingType, concurrency(builder));
+    }
+
+    JlamaEmbeddingModel(BertModel model, Generator.PoolingType poolingType, Integer concurrency) {
+        this.model = model;
+        this.dimension = model.getConfig().embeddingLength;
+
+        this.poolingType = poolingType == null ? Generator.PoolingType.MODEL : poolingType;
+
+        this.concurrency = concurrency == null ? 1 : concurrency;
+        if (this.concurrency < 1) {
+            throw new IllegalArgumentException("The concurrency must be strictly positive");
+        }
+        if (this.concurrency > 1) {
+            AtomicInteger threadIndex = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool(this.concurrency, r -> {
+                Thread thread = new Thread(r, "jlama-embedding-" + threadIndex.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.executor = null;
+        }
+    }
+
+    /**
+     * The segments embedded concurrently share the threads Jlama spreads the matrix multiplications over, one per
+     * core unless {@code threadCount} is set, so embedding more segments than there are such threads at the same time
+     * only oversubscribes the CPU.
+     */
+    private static Integer concurrency(JlamaEmbeddingModelBuilder builder) {
+        if (builder.concurrency == null) {
+            return null;
+        }
+        int threads = builder.threadCount != null ? builder.threadCount : Runtime.getRuntime().availableProcessors();
+        return Math.min(builder.concurrency, threads);
+    }
 
+    private static BertModel load(JlamaEmbeddingModelBuilder builder) {
         JlamaModelRegistry registry = JlamaModelRegistry.getOrCreate(builder.modelCachePath);
         JlamaModel jlamaModel = RetryUtils
                 .withRetry(() -> registry.downloadModel(builder.modelName, Optional.ofNullable(builder.authToken)), 3);
@@ -42,27 +90,68 @@ public class JlamaEmbeddingModel extends DimensionAwareEmbeddingModel {
 
         loader = loader.inferenceType(AbstractModel.InferenceType.FULL_EMBEDDING);
 
-        this.model = (BertModel) loader.load();
-        this.dimension = model.getConfig().embeddingLength;
-
-        this.poolingType = builder.poolingType == null ? Generator.PoolingType.MODEL : builder.poolingType;
+        return (BertModel) loader.load();
     }
 
     public static JlamaEmbeddingModelBuilder builder() {
         return new JlamaEmbeddingModelBuilder();
     }
 
+    /**
+     * Jlama runs the forward pass of a single sequence at a time, spreading each matrix multiplication over its own
+     * threads. For the short sequences of typical segments, these multiplications are too small to keep all the cores
+     * busy, so up to {@code concurrency} segments are embedded concurrently. This is safe as each {@code embed} call
+     * allocates its own activations and KV cache, the weights being only read. The embeddings are returned in the
+     * order of the segments.
+     */
     @Override
     public Response<List<Embedding>> embedAll(List<TextSegment> textSegments) {
-        List<Embedding> embeddings = new ArrayList<>();
+        List<Embedding> embeddings = new ArrayList<>(textSegments.size());
+
+        if (executor == null || textSegments.size() == 1) {
+            for (TextSegment textSegment : textSegments) {
+                embeddings.add(Embedding.from(model.embed(textSegment.text(), poolingType)));
+            }
+            return Response.from(embeddings);
+        }
 
-        textSegments.forEach(textSegment -> {
-            embeddings.add(Embedding.from(model.embed(textSegment.text(), poolingType)));
-        });
+        // a window of pending segments keeps the threads busy, without submitting all the segments upfront
+        Deque<Future<float[]>> pending = new ArrayDeque<>(2 * concurrency);
+        try {
+            for (TextSegment textSegment : textSegments) {
+                if (pending.size() == 2 * concurrency) {
+                    embeddings.add(Embedding.from(pending.removeFirst().get()));
+                }
+                pending.addLast(executor.submit(() -> model.embed(textSegment.text(), poolingType)));
+            }
+            while (!pending.isEmpty()) {
+                embeddings.add(Embedding.from(pending.removeFirst().get()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new RuntimeException(e.getCause());
+        } finally {
+            pending.forEach(future -> future.cancel(true));
+        }
 
         return Response.from(embeddings);
     }
 
+    /**
+     * Stops the threads embedding the segments concurrently, the segments being embedded are completed first.
+     */
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
     @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
     public static class JlamaEmbeddingModelBuilder {
 
@@ -73,6 +162,7 @@ public class JlamaEmbeddingModel extends DimensionAwareEmbeddingModel {
         private Path workingDirectory;
         private Boolean quantizeModelAtRuntime;
         private Generator.PoolingType poolingType;
+        private Integer concurrency;
 
         public JlamaEmbeddingModelBuilder modelCachePath(Optional<Path> modelCachePath) {
             this.modelCachePath = modelCachePath;
@@ -104,6 +194,11 @@ public class JlamaEmbeddingModel extends DimensionAwareEmbeddingModel {
             return this;
         }
 
+        public JlamaEmbeddingModelBuilder concurrency(Integer concurrency) {
+            this.concurrency = concurrency;
+            return this;
+        }
+
         public JlamaEmbeddingModel build() {
             return new JlamaEmbeddingModel(this);
         }
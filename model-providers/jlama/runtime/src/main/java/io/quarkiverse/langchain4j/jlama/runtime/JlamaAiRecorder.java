@@ -99,6 +99,7 @@ public class JlamaAiRecorder {
         if (jlamaConfig.enableIntegration()) {
             var builder = JlamaEmbeddingModel.builder()
                     .modelName(jlamaFixedRuntimeConfig.embeddingModel().modelName())
+                    .concurrency(jlamaFixedRuntimeConfig.embeddingModel().concurrency())
                     .modelCachePath(fixedRuntimeConfig.modelsPath());
 
             return new Supplier<>() {
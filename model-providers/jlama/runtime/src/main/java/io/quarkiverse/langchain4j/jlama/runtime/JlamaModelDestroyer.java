@@ -0,0 +1,29 @@
+package io.quarkiverse.langchain4j.jlama.runtime;
+
+import java.util.Map;
+
+import jakarta.enterprise.context.spi.CreationalContext;
+
+import org.jboss.logging.Logger;
+
+import io.quarkus.arc.BeanDestroyer;
+
+/**
+ * Closes the Jlama embedding models when their bean is destroyed, so that the threads embedding the segments
+ * concurrently stop. The disabled models are not closeable and are left as is.
+ */
+public class JlamaModelDestroyer implements BeanDestroyer<Object> {
+
+    private static final Logger log = Logger.getLogger(JlamaModelDestroyer.class);
+
+    @Override
+    public void destroy(Object instance, CreationalContext<Object> creationalContext, Map<String, Object> params) {
+        if (instance instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.error("Unable to close " + instance, e);
+            }
+        }
+    }
+}
@@ -12,4 +12,13 @@ public interface EmbeddingModelFixedRuntimeConfig {
     @WithDefault("intfloat/e5-small-v2")
     String modelName();
 
+    /**
+     * Maximum number of segments embedded concurrently when embedding several segments at once, for example during
+     * ingestion. It is capped to the number of CPU cores, as the segments share the threads Jlama runs the matrix
+     * multiplications on. Each segment being embedded needs its own activations, so increasing it increases the memory
+     * usage.
+     */
+    @WithDefault("1")
+    int concurrency();
+
 }
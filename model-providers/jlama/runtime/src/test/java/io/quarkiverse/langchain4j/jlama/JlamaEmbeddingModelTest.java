@@ -0,0 +1,82 @@
+package io.quarkiverse.langchain4j.jlama;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.tjake.jlama.model.bert.BertModel;
+import com.github.tjake.jlama.model.functions.Generator;
+import com.github.tjake.jlama.safetensors.Config;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+
+class JlamaEmbeddingModelTest {
+
+    private static final int CONCURRENCY = 4;
+
+    private BertModel bertModel;
+    private JlamaEmbeddingModel embeddingModel;
+
+    @BeforeEach
+    void setUpModel() {
+        bertModel = mock(BertModel.class);
+        doReturn(mock(Config.class)).when(bertModel).getConfig();
+        // the embedding of a segment is its number, computed in a random time so that the segments complete out of order
+        doAnswer(invocation -> {
+            Thread.sleep(ThreadLocalRandom.current().nextInt(5));
+            return new float[] { Float.parseFloat(invocation.getArgument(0)) };
+        }).when(bertModel).embed(anyString(), any(Generator.PoolingType.class));
+
+        embeddingModel = new JlamaEmbeddingModel(bertModel, null, CONCURRENCY);
+    }
+
+    @AfterEach
+    void closeModel() {
+        embeddingModel.close();
+    }
+
+    @Test
+    void embeddingsAreInTheOrderOfTheSegments() {
+        // more segments than the window of segments embedded at the same time
+        List<TextSegment> segments = IntStream.range(0, 10 * CONCURRENCY + 1)
+                .mapToObj(i -> TextSegment.from(String.valueOf(i)))
+                .toList();
+
+        List<Embedding> embeddings = embeddingModel.embedAll(segments).content();
+
+        assertThat(embeddings).extracting(embedding -> (int) embedding.vector()[0])
+                .containsExactlyElementsOf(IntStream.range(0, segments.size()).boxed().toList());
+        verify(bertModel, times(segments.size())).embed(anyString(), eq(Generator.PoolingType.MODEL));
+    }
+
+    @Test
+    void concurrentEmbeddingsAreTheSequentialOnes() {
+        List<TextSegment> segments = IntStream.range(0, 3 * CONCURRENCY)
+                .mapToObj(i -> TextSegment.from(String.valueOf(i)))
+                .toList();
+        JlamaEmbeddingModel sequentialModel = new JlamaEmbeddingModel(bertModel, null, 1);
+
+        List<Embedding> concurrentEmbeddings = embeddingModel.embedAll(segments).content();
+        List<Embedding> sequentialEmbeddings = sequentialModel.embedAll(segments).content();
+
+        assertThat(concurrentEmbeddings).isEqualTo(sequentialEmbeddings);
+    }
+
+    @Test
+    void closeStopsTheThreads() {
+        embeddingModel.close();
+
+        assertThatThrownBy(() -> embeddingModel.embedAll(List.of(TextSegment.from("1"), TextSegment.from("2"))))
+                .isInstanceOf(RejectedExecutionException.class);
+    }
+}
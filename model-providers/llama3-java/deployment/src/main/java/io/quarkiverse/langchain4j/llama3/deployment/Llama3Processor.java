@@ -26,6 +26,7 @@ import io.quarkiverse.langchain4j.deployment.items.ChatModelProviderCandidateBui
 import io.quarkiverse.langchain4j.deployment.items.SelectedChatModelProviderBuildItem;
 import io.quarkiverse.langchain4j.llama3.Llama3ModelRegistry;
 import io.quarkiverse.langchain4j.llama3.ProgressReporter;
+import io.quarkiverse.langchain4j.llama3.runtime.Llama3ModelDestroyer;
 import io.quarkiverse.langchain4j.llama3.runtime.Llama3PreloadRecorder;
 import io.quarkiverse.langchain4j.llama3.runtime.Llama3Recorder;
 import io.quarkiverse.langchain4j.llama3.runtime.NameAndQuantization;
@@ -102,7 +103,8 @@ public class Llama3Processor {
                 String configName = selected.getConfigName();
                 var builder = SyntheticBeanBuildItem.configure(CHAT_MODEL).setRuntimeInit().defaultBean()
                         .scope(ApplicationScoped.class)
-                        .supplier(recorder.chatModel(runtimeConfig, fixedRuntimeConfig, configName));
+                        .supplier(recorder.chatModel(runtimeConfig, fixedRuntimeConfig, configName))
+                        .destroyer(Llama3ModelDestroyer.class);
                 addQualifierIfNecessary(builder, configName);
                 beanProducer.produce(builder.done());
 
@@ -111,7 +113,8 @@ public class Llama3Processor {
                         .setRuntimeInit()
                         .defaultBean()
                         .scope(ApplicationScoped.class)
-                        .supplier(recorder.streamingChatModel(runtimeConfig, fixedRuntimeConfig, configName));
+                        .supplier(recorder.streamingChatModel(runtimeConfig, fixedRuntimeConfig, configName))
+                        .destroyer(Llama3ModelDestroyer.class);
                 addQualifierIfNecessary(streamingBuilder, configName);
                 beanProducer.produce(streamingBuilder.done());
             }
@@ -23,8 +23,9 @@ import io.quarkiverse.langchain4j.llama3.copy.ChatFormat;
 import io.quarkiverse.langchain4j.llama3.copy.Llama;
 import io.quarkiverse.langchain4j.llama3.copy.Llama3;
 import io.quarkiverse.langchain4j.llama3.copy.Sampler;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
 
-public class Llama3ChatModel implements ChatModel {
+public class Llama3ChatModel implements ChatModel, AutoCloseable {
 
     private static final Logger log = Logger.getLogger(Llama3ChatModel.class);
 
@@ -34,6 +35,8 @@ public class Llama3ChatModel implements ChatModel {
     private final Integer maxTokens;
     private final Float topP;
     private final Integer seed;
+    private final Llama3StatePool statePool;
+    private final Llama3InferenceScheduler scheduler;
     private final boolean logRequests;
     private final boolean logResponses;
 
@@ -52,6 +55,16 @@ public class Llama3ChatModel implements ChatModel {
         maxTokens = builder.maxTokens;
         topP = builder.topP;
         seed = builder.seed;
+        if (builder.promptCacheEnabled) {
+            statePool = new Llama3StatePool(model, Llama3.BATCH_SIZE, builder.promptCacheMaxEntries,
+                    builder.promptCacheMaxBytes);
+            Llama3StatePoolMetrics.register(statePool, builder.modelName, "chat");
+        } else {
+            statePool = null;
+        }
+        scheduler = builder.continuousBatching
+                ? new Llama3InferenceScheduler(model, builder.maxBatchSize, Infrastructure.getDefaultWorkerPool())
+                : null;
         logRequests = builder.logRequests;
         logResponses = builder.logResponses;
     }
@@ -97,20 +110,33 @@ public class Llama3ChatModel implements ChatModel {
 
     private InferenceResponse runInference(Llama model, Sampler sampler, Llama3.Options options,
             List<ChatFormat.Message> messages) {
-        Llama.State state = model.createNewState(Llama3.BATCH_SIZE);
         ChatFormat chatFormat = new ChatFormat(model.tokenizer());
 
         List<Integer> promptTokens = new ArrayList<>(chatFormat.encodeDialogPrompt(true, messages));
+        Llama3StatePool.Lease lease = statePool != null ? statePool.acquire(promptTokens)
+                : new Llama3StatePool.Lease(model.createNewState(Llama3.BATCH_SIZE), 0);
+        int cachedTokens = lease.cachedTokens();
 
         Set<Integer> stopTokens = chatFormat.getStopTokens();
-        List<Integer> responseTokens = Llama.generateTokens(model, state, 0, promptTokens, stopTokens, options.maxTokens(),
-                sampler, options.echo(), token -> {
-                    if (options.stream()) {
-                        if (!model.tokenizer().isSpecialToken(token)) {
-                            System.out.print(model.tokenizer().decode(List.of(token)));
+        List<Integer> responseTokens;
+        if (scheduler != null) {
+            responseTokens = scheduler.submit(lease.state(), cachedTokens,
+                    promptTokens.subList(cachedTokens, promptTokens.size()), stopTokens, options.maxTokens(), sampler, null)
+                    .join();
+        } else {
+            responseTokens = Llama.generateTokens(model, lease.state(), cachedTokens,
+                    promptTokens.subList(cachedTokens, promptTokens.size()), stopTokens, options.maxTokens(),
+                    sampler, options.echo(), token -> {
+                        if (options.stream()) {
+                            if (!model.tokenizer().isSpecialToken(token)) {
+                                System.out.print(model.tokenizer().decode(List.of(token)));
+                            }
                         }
-                    }
-                });
+                    });
+        }
+        if (statePool != null) {
+            statePool.release(lease, promptTokens, responseTokens);
+        }
         if (!responseTokens.isEmpty() && stopTokens.contains(responseTokens.getLast())) {
             responseTokens.removeLast();
         }
@@ -122,6 +148,16 @@ public class Llama3ChatModel implements ChatModel {
 
     }
 
+    /**
+     * Stops the inference scheduler of the model, if continuous batching is enabled.
+     */
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.close();
+        }
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -137,6 +173,11 @@ public class Llama3ChatModel implements ChatModel {
         private Float temperature = 0.7f;
         private Float topP = 0.95f;
         private Integer seed = 17;
+        private boolean promptCacheEnabled = false;
+        private int promptCacheMaxEntries = 4;
+        private long promptCacheMaxBytes = 1024L * 1024 * 1024;
+        private boolean continuousBatching = false;
+        private int maxBatchSize = 8;
         private boolean logRequests;
         private boolean logResponses;
 
@@ -180,6 +221,31 @@ public class Llama3ChatModel implements ChatModel {
             return this;
         }
 
+        public Builder promptCacheEnabled(boolean promptCacheEnabled) {
+            this.promptCacheEnabled = promptCacheEnabled;
+            return this;
+        }
+
+        public Builder promptCacheMaxEntries(int promptCacheMaxEntries) {
+            this.promptCacheMaxEntries = promptCacheMaxEntries;
+            return this;
+        }
+
+        public Builder promptCacheMaxBytes(long promptCacheMaxBytes) {
+            this.promptCacheMaxBytes = promptCacheMaxBytes;
+            return this;
+        }
+
+        public Builder continuousBatching(boolean continuousBatching) {
+            this.continuousBatching = continuousBatching;
+            return this;
+        }
+
+        public Builder maxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
         public Builder logRequests(boolean logRequests) {
             this.logRequests = logRequests;
             return this;
@@ -0,0 +1,281 @@
+package io.quarkiverse.langchain4j.llama3;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntConsumer;
+
+import org.jboss.logging.Logger;
+
+import io.quarkiverse.langchain4j.llama3.copy.Llama;
+import io.quarkiverse.langchain4j.llama3.copy.Sampler;
+
+/**
+ * Runs the inference of all the in-flight requests to a model on a single thread, merging the decoding steps of all
+ * the sequences into one batched forward pass per token. This way each weight block is loaded from memory once per
+ * step for all the sequences, instead of once per sequence as is the case when each request runs its own generation
+ * loop.
+ * <p>
+ * Sequences join and leave the batch at token boundaries: the prompt of a newly submitted sequence is ingested one
+ * chunk per step alongside the decoding of the other sequences, and a sequence leaves the batch as soon as it produces
+ * a stop token or reaches the maximum number of tokens.
+ * <p>
+ * The token callbacks and the completion of the sequences run on the given executor, in order for each sequence, so
+ * that slow consumers do not delay the next step of the batch. Each chat model owns its scheduler, which must be
+ * {@link #close() closed} along with the model.
+ */
+final class Llama3InferenceScheduler {
+
+    private static final Logger log = Logger.getLogger(Llama3InferenceScheduler.class);
+
+    private final Llama model;
+    private final int maxBatchSize;
+    private final Executor callbackExecutor;
+    private final BlockingQueue<Sequence> pending = new LinkedBlockingQueue<>();
+    private final Thread thread;
+    private volatile boolean closed;
+
+    Llama3InferenceScheduler(Llama model, int maxBatchSize, Executor callbackExecutor) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("The maximum batch size must be strictly positive");
+        }
+        this.model = model;
+        this.maxBatchSize = maxBatchSize;
+        this.callbackExecutor = callbackExecutor;
+        thread = new Thread(this::run, "llama3-inference-scheduler");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Schedules the generation of tokens, with the same semantics as
+     * {@link Llama#generateTokens(Llama, Llama.State, int, List, Set, int, Sampler, boolean, IntConsumer)}.
+     *
+     * @return the generated tokens, including the stop token, if any
+     */
+    CompletableFuture<List<Integer>> submit(Llama.State state, int startPosition, List<Integer> promptTokens,
+            Set<Integer> stopTokens, int maxTokens, Sampler sampler, IntConsumer onTokenGenerated) {
+        if (promptTokens.isEmpty()) {
+            throw new IllegalArgumentException("At least one prompt token is required");
+        }
+        if (maxTokens < 0 || model.configuration().contextLength < maxTokens) {
+            maxTokens = model.configuration().contextLength;
+        }
+        Sequence sequence = new Sequence(state, startPosition, promptTokens, stopTokens, maxTokens, sampler,
+                onTokenGenerated);
+        if (closed) {
+            throw new IllegalStateException("The inference scheduler has been closed");
+        }
+        pending.add(sequence);
+        // the scheduler thread may have stopped before the sequence was added
+        if (closed && pending.remove(sequence)) {
+            sequence.fail(new IllegalStateException("The inference scheduler has been closed"));
+        }
+        return sequence.result;
+    }
+
+    /**
+     * Stops the scheduler thread. The sequences that have not completed yet fail.
+     */
+    void close() {
+        closed = true;
+        thread.interrupt();
+    }
+
+    private void run() {
+        List<Sequence> active = new ArrayList<>(maxBatchSize);
+        while (!closed) {
+            try {
+                admit(active);
+                step(active);
+            } catch (InterruptedException e) {
+                break;
+            } catch (Throwable t) {
+                log.error("Unexpected error during batched inference", t);
+                for (Sequence sequence : active) {
+                    sequence.fail(t);
+                }
+                active.clear();
+            }
+        }
+        IllegalStateException closedException = new IllegalStateException("The inference scheduler has been closed");
+        for (Sequence sequence : active) {
+            sequence.fail(closedException);
+        }
+        Sequence sequence;
+        while ((sequence = pending.poll()) != null) {
+            sequence.fail(closedException);
+        }
+    }
+
+    private void admit(List<Sequence> active) throws InterruptedException {
+        if (active.isEmpty()) {
+            // nothing to do until a request arrives
+            active.add(pending.take());
+        }
+        while (active.size() < maxBatchSize) {
+            Sequence sequence = pending.poll();
+            if (sequence == null) {
+                break;
+            }
+            active.add(sequence);
+        }
+    }
+
+    private void step(List<Sequence> active) {
+        // ingest one chunk of the prompt of each sequence that has just joined the batch
+        List<Sequence> decoding = new ArrayList<>(active.size());
+        for (Iterator<Sequence> it = active.iterator(); it.hasNext();) {
+            Sequence sequence = it.next();
+            if (sequence.isIngestingPrompt()) {
+                try {
+                    if (sequence.ingestNextChunk()) {
+                        sequence.accept(sequence.state.sampleToken(sequence.sampler));
+                    }
+                } catch (Throwable t) {
+                    sequence.fail(t);
+                }
+                if (sequence.finished) {
+                    it.remove();
+                }
+            } else {
+                decoding.add(sequence);
+            }
+        }
+        if (decoding.isEmpty()) {
+            return;
+        }
+
+        // a single forward pass for the next token of all the sequences that are decoding
+        int size = decoding.size();
+        Llama.State[] states = new Llama.State[size];
+        int[] tokens = new int[size];
+        int[] positions = new int[size];
+        for (int i = 0; i < size; i++) {
+            Sequence sequence = decoding.get(i);
+            states[i] = sequence.state;
+            tokens[i] = sequence.state.latestToken;
+            positions[i] = sequence.position;
+        }
+        Llama.forwardBatch(model, states, tokens, positions);
+
+        for (Sequence sequence : decoding) {
+            try {
+                sequence.accept(sequence.state.sampleToken(sequence.sampler));
+            } catch (Throwable t) {
+                sequence.fail(t);
+            }
+            if (sequence.finished) {
+                active.remove(sequence);
+            }
+        }
+    }
+
+    private final class Sequence {
+
+        final Llama.State state;
+        final List<Integer> promptTokens;
+        final Set<Integer> stopTokens;
+        final int maxTokens;
+        final Sampler sampler;
+        final IntConsumer onTokenGenerated;
+        final List<Integer> generatedTokens = new ArrayList<>();
+        final CompletableFuture<List<Integer>> result = new CompletableFuture<>();
+        // the callbacks waiting to run on the executor, one at a time
+        final Queue<Runnable> callbacks = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean dispatching = new AtomicBoolean();
+
+        // set by the thread driving the sequence once its result is about to be completed
+        boolean finished;
+
+        // position of the latest ingested prompt token, and then of the next token to decode
+        int position;
+        int promptIndex;
+
+        Sequence(Llama.State state, int startPosition, List<Integer> promptTokens, Set<Integer> stopTokens,
+                int maxTokens, Sampler sampler, IntConsumer onTokenGenerated) {
+            this.state = state;
+            this.position = startPosition - 1;
+            this.promptTokens = promptTokens;
+            this.stopTokens = stopTokens;
+            this.maxTokens = maxTokens;
+            this.sampler = sampler;
+            this.onTokenGenerated = onTokenGenerated;
+        }
+
+        boolean isIngestingPrompt() {
+            return promptIndex < promptTokens.size();
+        }
+
+        /**
+         * @return {@code true} if the whole prompt has been ingested, in which case the logits are available
+         */
+        boolean ingestNextChunk() {
+            int start = position + 1;
+            int nTokens = Math.min(promptTokens.size() - promptIndex, state.batchsize);
+            if (start + nTokens > maxTokens) {
+                // the prompt does not fit in the context
+                complete();
+                return false;
+            }
+            boolean lastChunk = promptIndex + nTokens == promptTokens.size();
+            Llama.ingestChunk(model, state, start, promptTokens.subList(promptIndex, promptIndex + nTokens), lastChunk);
+            position = start + nTokens - 1;
+            promptIndex += nTokens;
+            return lastChunk;
+        }
+
+        void accept(int token) {
+            generatedTokens.add(token);
+            if (onTokenGenerated != null) {
+                dispatch(() -> onTokenGenerated.accept(token));
+            }
+            if (stopTokens.contains(token) || position + 1 >= maxTokens) {
+                complete();
+                return;
+            }
+            state.latestToken = token;
+            position++;
+        }
+
+        void complete() {
+            finished = true;
+            dispatch(() -> result.complete(generatedTokens));
+        }
+
+        void fail(Throwable failure) {
+            finished = true;
+            dispatch(() -> result.completeExceptionally(failure));
+        }
+
+        private void dispatch(Runnable callback) {
+            callbacks.add(callback);
+            if (dispatching.compareAndSet(false, true)) {
+                callbackExecutor.execute(this::runCallbacks);
+            }
+        }
+
+        private void runCallbacks() {
+            do {
+                Runnable callback;
+                while ((callback = callbacks.poll()) != null) {
+                    try {
+                        callback.run();
+                    } catch (Throwable t) {
+                        log.error("Unexpected error while handling a generated token", t);
+                    }
+                }
+                dispatching.set(false);
+                // a callback may have been added after the queue was found empty
+            } while (!callbacks.isEmpty() && dispatching.compareAndSet(false, true));
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package io.quarkiverse.langchain4j.llama3;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.logging.Logger;
+
+import io.quarkiverse.langchain4j.llama3.copy.Llama;
+
+/**
+ * A bounded pool of {@link Llama.State} objects that keeps the KV-cache of previous inferences around, so a request
+ * whose prompt starts with the tokens already present in a cached state only needs to ingest the new tokens.
+ * <p>
+ * For multi-turn conversations the prompt of a request is the prompt of the previous request followed by the answer
+ * of the model and the new user message, so most of the prompt ingestion can be skipped.
+ * <p>
+ * A state is handed out exclusively by {@link #acquire(List)} and only becomes available to other requests once it
+ * is given back using {@link #release(Lease, List, List)}. Cached states are evicted in LRU order when either the
+ * maximum number of entries or the total byte budget is exceeded.
+ */
+final class Llama3StatePool {
+
+    private static final Logger log = Logger.getLogger(Llama3StatePool.class);
+
+    private final Llama model;
+    private final int batchSize;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final long stateBytes;
+
+    // most recently used first
+    private final LinkedList<Entry> entries = new LinkedList<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong reusedTokens = new AtomicLong();
+
+    Llama3StatePool(Llama model, int batchSize, int maxEntries, long maxBytes) {
+        this.model = model;
+        this.batchSize = batchSize;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.stateBytes = estimateStateBytes(model.configuration(), batchSize);
+        if (stateBytes > maxBytes) {
+            log.warnf("A single inference state requires %d bytes which exceeds the configured prompt cache size of %d bytes. "
+                    + "States will not be cached", stateBytes, maxBytes);
+        }
+    }
+
+    /**
+     * Returns a state that can be used for the given prompt, together with the number of prompt tokens that are already
+     * present in its KV-cache and therefore must not be ingested again.
+     */
+    Lease acquire(List<Integer> promptTokens) {
+        synchronized (entries) {
+            Entry best = null;
+            int bestPrefix = 0;
+            for (Entry entry : entries) {
+                int prefix = commonPrefixLength(entry.tokens, promptTokens);
+                if (prefix > bestPrefix) {
+                    best = entry;
+                    bestPrefix = prefix;
+                }
+            }
+            if (best != null) {
+                entries.remove(best);
+                hits.incrementAndGet();
+                // at least one token needs to go through the model in order to compute the logits
+                int cachedTokens = Math.min(bestPrefix, promptTokens.size() - 1);
+                reusedTokens.addAndGet(cachedTokens);
+                log.debugf("Reusing %d cached prompt tokens out of %d", cachedTokens, promptTokens.size());
+                return new Lease(best.state, cachedTokens);
+            }
+        }
+        misses.incrementAndGet();
+        return new Lease(model.createNewState(batchSize), 0);
+    }
+
+    /**
+     * Makes the state of the lease available for subsequent requests.
+     *
+     * @param lease the lease obtained from {@link #acquire(List)}
+     * @param promptTokens the complete prompt of the request
+     * @param generatedTokens the tokens sampled by the model, including the stop token if one was produced
+     */
+    void release(Lease lease, List<Integer> promptTokens, List<Integer> generatedTokens) {
+        if (stateBytes > maxBytes) {
+            return;
+        }
+        // the last sampled token never goes through the model, so it is not part of the KV-cache
+        List<Integer> tokens = new ArrayList<>(promptTokens.size() + generatedTokens.size());
+        tokens.addAll(promptTokens);
+        if (!generatedTokens.isEmpty()) {
+            tokens.addAll(generatedTokens.subList(0, generatedTokens.size() - 1));
+        }
+        synchronized (entries) {
+            entries.addFirst(new Entry(lease.state(), tokens));
+            Iterator<Entry> it = entries.descendingIterator();
+            while (it.hasNext() && (entries.size() > maxEntries || entries.size() * stateBytes > maxBytes)) {
+                it.next();
+                it.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    long hits() {
+        return hits.get();
+    }
+
+    long misses() {
+        return misses.get();
+    }
+
+    long evictions() {
+        return evictions.get();
+    }
+
+    long reusedTokens() {
+        return reusedTokens.get();
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    long sizeInBytes() {
+        return size() * stateBytes;
+    }
+
+    private static int commonPrefixLength(List<Integer> cached, List<Integer> prompt) {
+        int max = Math.min(cached.size(), prompt.size());
+        int i = 0;
+        while (i < max && cached.get(i).intValue() == prompt.get(i).intValue()) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Mirrors the allocations performed by the constructor of {@link Llama.State}
+     */
+    static long estimateStateBytes(Llama.Configuration config, int batchSize) {
+        long kvDim = ((long) config.dim * config.numberOfKeyValueHeads) / config.numberOfHeads;
+        long kvCache = 2L * config.numberOfLayers * config.contextLength * kvDim;
+        long activations = (long) batchSize
+                * (6L * config.dim + 2L * config.hiddenDim + (long) config.numberOfHeads * config.contextLength);
+        return (kvCache + activations + config.vocabularySize) * Float.BYTES;
+    }
+
+    record Lease(Llama.State state, int cachedTokens) {
+
+    }
+
+    private record Entry(Llama.State state, List<Integer> tokens) {
+
+    }
+}
@@ -0,0 +1,61 @@
+package io.quarkiverse.langchain4j.llama3;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * Exposes the statistics of a {@link Llama3StatePool} through Micrometer, when it is available
+ */
+final class Llama3StatePoolMetrics {
+
+    private static final boolean MICROMETER_PRESENT = isMicrometerPresent();
+
+    private Llama3StatePoolMetrics() {
+    }
+
+    static void register(Llama3StatePool pool, String modelName, String modelType) {
+        if (MICROMETER_PRESENT) {
+            Registration.register(pool, modelName, modelType);
+        }
+    }
+
+    private static boolean isMicrometerPresent() {
+        try {
+            Class.forName("io.micrometer.core.instrument.Metrics", false, Llama3StatePoolMetrics.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    // separate class so that Micrometer classes are only loaded when Micrometer is present
+    private static final class Registration {
+
+        static void register(Llama3StatePool pool, String modelName, String modelType) {
+            Tags tags = Tags.of("gen_ai.request.model", modelName, "model.type", modelType);
+            FunctionCounter.builder("langchain4j.llama3.prompt.cache.requests", pool, Llama3StatePool::hits)
+                    .description("Number of requests that reused the KV-cache of a previous request")
+                    .tags(tags).tag("result", "hit")
+                    .register(Metrics.globalRegistry);
+            FunctionCounter.builder("langchain4j.llama3.prompt.cache.requests", pool, Llama3StatePool::misses)
+                    .description("Number of requests that reused the KV-cache of a previous request")
+                    .tags(tags).tag("result", "miss")
+                    .register(Metrics.globalRegistry);
+            FunctionCounter.builder("langchain4j.llama3.prompt.cache.evictions", pool, Llama3StatePool::evictions)
+                    .description("Number of cached inference states evicted from the prompt cache")
+                    .tags(tags)
+                    .register(Metrics.globalRegistry);
+            FunctionCounter.builder("langchain4j.llama3.prompt.cache.reused.tokens", pool, Llama3StatePool::reusedTokens)
+                    .description("Number of prompt tokens that did not need to be ingested thanks to the prompt cache")
+                    .tags(tags)
+                    .register(Metrics.globalRegistry);
+            Gauge.builder("langchain4j.llama3.prompt.cache.size", pool, Llama3StatePool::sizeInBytes)
+                    .description("Estimated memory used by the cached inference states")
+                    .baseUnit("bytes")
+                    .tags(tags)
+                    .register(Metrics.globalRegistry);
+        }
+    }
+}
@@ -13,6 +13,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.IntConsumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,8 +28,9 @@ import io.quarkiverse.langchain4j.llama3.copy.ChatFormat;
 import io.quarkiverse.langchain4j.llama3.copy.Llama;
 import io.quarkiverse.langchain4j.llama3.copy.Llama3;
 import io.quarkiverse.langchain4j.llama3.copy.Sampler;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
 
-public class Llama3StreamingChatModel implements StreamingChatModel {
+public class Llama3StreamingChatModel implements StreamingChatModel, AutoCloseable {
 
     private static final Logger log = LoggerFactory.getLogger(Llama3StreamingChatModel.class);
     private final Path modelPath;
@@ -37,6 +39,8 @@ public class Llama3StreamingChatModel implements StreamingChatModel {
     private final Integer maxTokens;
     private final Float topP;
     private final Integer seed;
+    private final Llama3StatePool statePool;
+    private final Llama3InferenceScheduler scheduler;
     private final Boolean logRequests;
     private final Boolean logResponses;
 
@@ -55,6 +59,16 @@ public class Llama3StreamingChatModel implements StreamingChatModel {
         maxTokens = builder.maxTokens;
         topP = builder.topP;
         seed = builder.seed;
+        if (builder.promptCacheEnabled) {
+            statePool = new Llama3StatePool(model, BATCH_SIZE, builder.promptCacheMaxEntries,
+                    builder.promptCacheMaxBytes);
+            Llama3StatePoolMetrics.register(statePool, builder.modelName, "streaming");
+        } else {
+            statePool = null;
+        }
+        scheduler = builder.continuousBatching
+                ? new Llama3InferenceScheduler(model, builder.maxBatchSize, Infrastructure.getDefaultWorkerPool())
+                : null;
         logRequests = builder.logRequests;
         logResponses = builder.logResponses;
     }
@@ -92,21 +106,46 @@ public class Llama3StreamingChatModel implements StreamingChatModel {
     private void runInference(Llama model, Sampler sampler, Llama3.Options options,
             List<ChatFormat.Message> messages,
             StreamingChatResponseHandler handler) {
-        Llama.State state = model.createNewState(BATCH_SIZE);
         ChatFormat chatFormat = new ChatFormat(model.tokenizer());
 
         List<Integer> promptTokens = new ArrayList<>(chatFormat.encodeDialogPrompt(true, messages));
+        Llama3StatePool.Lease lease = statePool != null ? statePool.acquire(promptTokens)
+                : new Llama3StatePool.Lease(model.createNewState(BATCH_SIZE), 0);
+        int cachedTokens = lease.cachedTokens();
 
         Set<Integer> stopTokens = chatFormat.getStopTokens();
-        List<Integer> responseTokens = Llama.generateTokens(model, state, 0, promptTokens, stopTokens, options.maxTokens(),
-                sampler, options.echo(), token -> {
-                    if (options.stream()) {
-                        if (!model.tokenizer().isSpecialToken(token)) {
-                            String text = model.tokenizer().decode(List.of(token));
-                            handler.onPartialResponse(text);
+        IntConsumer onTokenGenerated = token -> {
+            if (options.stream()) {
+                if (!model.tokenizer().isSpecialToken(token)) {
+                    String text = model.tokenizer().decode(List.of(token));
+                    handler.onPartialResponse(text);
+                }
+            }
+        };
+        if (scheduler != null) {
+            // the tokens are streamed from a worker thread, so there is no need to block the current one
+            scheduler.submit(lease.state(), cachedTokens, promptTokens.subList(cachedTokens, promptTokens.size()),
+                    stopTokens, options.maxTokens(), sampler, onTokenGenerated)
+                    .whenComplete((responseTokens, error) -> {
+                        if (error != null) {
+                            handler.onError(error);
+                        } else {
+                            complete(model, lease, promptTokens, responseTokens, stopTokens, handler);
                         }
-                    }
-                });
+                    });
+            return;
+        }
+        List<Integer> responseTokens = Llama.generateTokens(model, lease.state(), cachedTokens,
+                promptTokens.subList(cachedTokens, promptTokens.size()), stopTokens, options.maxTokens(),
+                sampler, options.echo(), onTokenGenerated);
+        complete(model, lease, promptTokens, responseTokens, stopTokens, handler);
+    }
+
+    private void complete(Llama model, Llama3StatePool.Lease lease, List<Integer> promptTokens,
+            List<Integer> responseTokens, Set<Integer> stopTokens, StreamingChatResponseHandler handler) {
+        if (statePool != null) {
+            statePool.release(lease, promptTokens, responseTokens);
+        }
         if (!responseTokens.isEmpty() && stopTokens.contains(responseTokens.getLast())) {
             responseTokens.removeLast();
         }
@@ -115,6 +154,16 @@ public class Llama3StreamingChatModel implements StreamingChatModel {
                 .tokenUsage(new TokenUsage(promptTokens.size(), responseTokens.size())).build());
     }
 
+    /**
+     * Stops the inference scheduler of the model, if continuous batching is enabled.
+     */
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.close();
+        }
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -130,6 +179,11 @@ public class Llama3StreamingChatModel implements StreamingChatModel {
         private Float temperature = 0.7f;
         private Float topP = 0.95f;
         private Integer seed = 17;
+        private boolean promptCacheEnabled = false;
+        private int promptCacheMaxEntries = 4;
+        private long promptCacheMaxBytes = 1024L * 1024 * 1024;
+        private boolean continuousBatching = false;
+        private int maxBatchSize = 8;
         private Boolean logRequests;
         private Boolean logResponses;
 
@@ -173,6 +227,31 @@ public class Llama3StreamingChatModel implements StreamingChatModel {
             return this;
         }
 
+        public Builder promptCacheEnabled(boolean promptCacheEnabled) {
+            this.promptCacheEnabled = promptCacheEnabled;
+            return this;
+        }
+
+        public Builder promptCacheMaxEntries(int promptCacheMaxEntries) {
+            this.promptCacheMaxEntries = promptCacheMaxEntries;
+            return this;
+        }
+
+        public Builder promptCacheMaxBytes(long promptCacheMaxBytes) {
+            this.promptCacheMaxBytes = promptCacheMaxBytes;
+            return this;
+        }
+
+        public Builder continuousBatching(boolean continuousBatching) {
+            this.continuousBatching = continuousBatching;
+            return this;
+        }
+
+        public Builder maxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
         public Builder logRequests(Boolean logRequests) {
             this.logRequests = logRequests;
             return this;
@@ -140,6 +140,13 @@ public record Llama(Configuration configuration, Tokenizer tokenizer, Weights we
             this.valueCache = Stream.generate(() -> ArrayFloatTensor.allocate(config.contextLength, kvDim))
                     .limit(config.numberOfLayers).toArray(FloatTensor[]::new);
         }
+
+        /**
+         * Selects the next token from the logits computed by the latest forward pass
+         */
+        public int sampleToken(Sampler sampler) {
+            return sampler.sampleToken(logits);
+        }
     }
 
     static FloatTensor[] allocate(int numTokens, int... dims) {
@@ -159,7 +166,61 @@ public record Llama(Configuration configuration, Tokenizer tokenizer, Weights we
         out.mapWithIndexInPlace(0, size, (value, index) -> weight.get(index) * (finalss * x.getFloat(index)));
     }
 
-    static FloatTensor forward(Llama model, State state, int[] tokens, int position, boolean computeLogits) {
+    /**
+     * The rows of a forward pass. Every row is one token, at its own position, attending to the KV-cache of its own
+     * state: a chunk of prompt tokens is one row per token of a single state, a decoding step of several sequences is
+     * one row per state.
+     */
+    private record Rows(State[] states, int[] positions, FloatTensor[] x, FloatTensor[] xb, FloatTensor[] xb2,
+            FloatTensor[] hb, FloatTensor[] hb2, FloatTensor[] q, FloatTensor[] k, FloatTensor[] v, FloatTensor[] att) {
+
+        static Rows ofChunk(State state, int position, int nTokens) {
+            State[] states = new State[nTokens];
+            int[] positions = new int[nTokens];
+            for (int t = 0; t < nTokens; t++) {
+                states[t] = state;
+                positions[t] = position + t;
+            }
+            return new Rows(states, positions, Arrays.copyOf(state.x, nTokens), Arrays.copyOf(state.xb, nTokens),
+                    Arrays.copyOf(state.xb2, nTokens), Arrays.copyOf(state.hb, nTokens), Arrays.copyOf(state.hb2, nTokens),
+                    Arrays.copyOf(state.q, nTokens), Arrays.copyOf(state.k, nTokens), Arrays.copyOf(state.v, nTokens),
+                    Arrays.copyOf(state.att, nTokens));
+        }
+
+        static Rows ofSequences(State[] states, int[] positions) {
+            // every sequence uses the first slot of the activation buffers of its own state
+            int nSequences = states.length;
+            Rows rows = new Rows(states, positions, new FloatTensor[nSequences], new FloatTensor[nSequences],
+                    new FloatTensor[nSequences], new FloatTensor[nSequences], new FloatTensor[nSequences],
+                    new FloatTensor[nSequences], new FloatTensor[nSequences], new FloatTensor[nSequences],
+                    new FloatTensor[nSequences]);
+            for (int s = 0; s < nSequences; s++) {
+                rows.x[s] = states[s].x[0];
+                rows.xb[s] = states[s].xb[0];
+                rows.xb2[s] = states[s].xb2[0];
+                rows.hb[s] = states[s].hb[0];
+                rows.hb2[s] = states[s].hb2[0];
+                rows.q[s] = states[s].q[0];
+                rows.k[s] = states[s].k[0];
+                rows.v[s] = states[s].v[0];
+                rows.att[s] = states[s].att[0];
+            }
+            return rows;
+        }
+
+        int size() {
+            return x.length;
+        }
+    }
+
+    /**
+     * Runs all the layers and the final rmsnorm on the given rows, leaving the normalized activations in {@link Rows#x}.
+     *
+     * @param computeLogits whether the logits will be computed from the rows, when they are not the attention and FFN of
+     *        the last layer are skipped entirely
+     * @return whether the activations were computed up to the final rmsnorm, i.e. {@code computeLogits}
+     */
+    private static boolean forwardLayers(Llama model, Rows rows, int[] tokens, boolean computeLogits) {
         // a few convenience variables
         Configuration config = model.configuration();
         Weights weights = model.weights();
@@ -168,33 +229,44 @@ public record Llama(Configuration configuration, Tokenizer tokenizer, Weights we
         int kvDim = (config.dim * config.numberOfKeyValueHeads) / config.numberOfHeads;
         int kvMul = config.numberOfHeads / config.numberOfKeyValueHeads; // integer multiplier of the kv sharing in multiquery
         float sqrtHeadSize = (float) Math.sqrt(headSize);
-        final int nTokens = tokens.length;
+        final int nRows = rows.size();
+        final State[] states = rows.states();
+        final int[] positions = rows.positions();
+        final FloatTensor[] x = rows.x();
+        final FloatTensor[] xb = rows.xb();
+        final FloatTensor[] xb2 = rows.xb2();
+        final FloatTensor[] hb = rows.hb();
+        final FloatTensor[] hb2 = rows.hb2();
+        final FloatTensor[] q = rows.q();
+        final FloatTensor[] k = rows.k();
+        final FloatTensor[] v = rows.v();
+        final FloatTensor[] att = rows.att();
 
         // copy the token embedding into x
-        Parallel.parallelFor(0, nTokens, t -> weights.token_embedding_table.copyTo(tokens[t] * dim, state.x[t], 0, dim));
+        Parallel.parallelFor(0, nRows, r -> weights.token_embedding_table.copyTo(tokens[r] * dim, x[r], 0, dim));
 
         // forward all the layers
         for (int l = 0; l < config.numberOfLayers; l++) {
-            // attention rmsnorm
-            // rmsnorm(state.xb, state.x, weights.rms_att_weight[l], dim, config.rmsNormEps);
             final int curLayer = l;
-            Parallel.parallelFor(0, nTokens,
-                    t -> rmsnorm(state.xb[t], state.x[t], weights.rms_att_weight[curLayer], dim, config.rmsNormEps));
+            // attention rmsnorm
+            Parallel.parallelFor(0, nRows,
+                    r -> rmsnorm(xb[r], x[r], weights.rms_att_weight[curLayer], dim, config.rmsNormEps));
 
-            // qkv matmuls for this position
-            weights.wq[l].matmul(nTokens, state.xb, state.q, dim, dim);
-            weights.wk[l].matmul(nTokens, state.xb, state.k, kvDim, dim);
-            weights.wv[l].matmul(nTokens, state.xb, state.v, kvDim, dim);
+            // qkv matmuls for all the rows
+            weights.wq[l].matmul(nRows, xb, q, dim, dim);
+            weights.wk[l].matmul(nRows, xb, k, kvDim, dim);
+            weights.wv[l].matmul(nRows, xb, v, kvDim, dim);
 
             // RoPE relative positional encoding: complex-valued rotate q and k in each head
-            Parallel.parallelFor(0, nTokens, t -> {
+            Parallel.parallelFor(0, nRows, r -> {
+                int position = positions[r];
                 for (int i = 0; i < dim; i += 2) {
                     int head_dim = i % headSize;
-                    float fcr = weights.freq_cis_real.get((position + t) * (headSize / 2) + (head_dim / 2));
-                    float fci = weights.freq_cis_imag.get((position + t) * (headSize / 2) + (head_dim / 2));
+                    float fcr = weights.freq_cis_real.get(position * (headSize / 2) + (head_dim / 2));
+                    float fci = weights.freq_cis_imag.get(position * (headSize / 2) + (head_dim / 2));
                     int rotn = i < kvDim ? 2 : 1; // how many vectors? 2 = q & k, 1 = q only
                     for (int vi = 0; vi < rotn; vi++) {
-                        FloatTensor vec = vi == 0 ? state.q[t] : state.k[t]; // the vector to rotate (query or key)
+                        FloatTensor vec = vi == 0 ? q[r] : k[r]; // the vector to rotate (query or key)
                         float v0 = vec.getFloat(i);
                         float v1 = vec.getFloat(i + 1);
                         vec.setFloat(i, v0 * fcr - v1 * fci);
@@ -203,23 +275,23 @@ public record Llama(Configuration configuration, Tokenizer tokenizer, Weights we
                 }
             });
 
-            // save key,value at this time step (position) to our kv cache
-            //int loff = l * config.seq_len * kvDim; // kv cache layer offset for convenience
-            Parallel.parallelFor(0, nTokens, t -> {
-                state.k[t].copyTo(0, state.keyCache[curLayer], (position + t) * kvDim, kvDim);
-                state.v[t].copyTo(0, state.valueCache[curLayer], (position + t) * kvDim, kvDim);
+            // save key,value at the position of each row to the kv cache of its state
+            Parallel.parallelFor(0, nRows, r -> {
+                k[r].copyTo(0, states[r].keyCache[curLayer], positions[r] * kvDim, kvDim);
+                v[r].copyTo(0, states[r].valueCache[curLayer], positions[r] * kvDim, kvDim);
             });
 
             // If the logits are not required, the attention and FFN of the last layer can be skipped entirely.
             if (!computeLogits && curLayer == config.numberOfLayers - 1) {
-                state.idxPrevBlock = nTokens - 1;
-                return null;
+                return false;
             }
 
-            // multihead attention. iterate over all heads
-            Parallel.parallelForLong(0, (long) nTokens * (long) config.numberOfHeads, ht -> {
-                int token = (int) (ht / config.numberOfHeads);
-                int h = (int) (ht % config.numberOfHeads);
+            // multihead attention. iterate over all heads of all rows
+            Parallel.parallelForLong(0, (long) nRows * (long) config.numberOfHeads, hr -> {
+                int r = (int) (hr / config.numberOfHeads);
+                int h = (int) (hr % config.numberOfHeads);
+                State state = states[r];
+                int position = positions[r];
                 // get the query vector for this head
                 // float* q = s.q + h * headSize;
                 int qOffset = h * headSize;
@@ -229,87 +301,116 @@ public record Llama(Configuration configuration, Tokenizer tokenizer, Weights we
                 int attOffset = h * config.contextLength;
 
                 // iterate over all timesteps, including the current one
-                for (int t = 0; t <= position + token; t++) {
+                for (int t = 0; t <= position; t++) {
                     // get the key vector for this head and at this timestep
                     // float* k = s.key_cache + loff + t * dim + h * headSize;
                     int keyCacheOffset = /* loff + */ t * kvDim + (h / kvMul) * headSize;
                     // calculate the attention score as the dot product of q and k
-                    float score = state.q[token].dot(qOffset, state.keyCache[curLayer], keyCacheOffset, headSize);
+                    float score = q[r].dot(qOffset, state.keyCache[curLayer], keyCacheOffset, headSize);
                     score /= sqrtHeadSize;
                     // save the score to the attention buffer
-                    state.att[token].setFloat(attOffset + t, score);
+                    att[r].setFloat(attOffset + t, score);
                 }
 
                 // softmax the scores to get attention weights, from 0..position inclusively
-                state.att[token].softmaxInPlace(attOffset, position + token + 1);
+                att[r].softmaxInPlace(attOffset, position + 1);
 
                 // weighted sum of the values, store back into xb
                 // float* xb = s.xb + h * headSize;
                 int xbOffset = h * headSize;
                 // memset(xb, 0, headSize * sizeof(float));
-                state.xb[token].fillInPlace(xbOffset, headSize, 0f);
+                xb[r].fillInPlace(xbOffset, headSize, 0f);
 
-                for (int t = 0; t <= position + token; t++) {
+                for (int t = 0; t <= position; t++) {
                     // get the value vector for this head and at this timestep
                     // float* v = s.value_cache + loff + t * dim + h * headSize;
                     int vOffset = /* loff + */ t * kvDim + (h / kvMul) * headSize;
                     // get the attention weight for this timestep
-                    float a = state.att[token].getFloat(attOffset + t);
+                    float a = att[r].getFloat(attOffset + t);
                     // accumulate the weighted value into xb
-                    state.xb[token].saxpyInPlace(xbOffset, state.valueCache[curLayer], vOffset, headSize, a);
+                    xb[r].saxpyInPlace(xbOffset, state.valueCache[curLayer], vOffset, headSize, a);
                 }
             });
 
             // final matmul to get the output of the attention
-            weights.wo[l].matmul(nTokens, state.xb, state.xb2, dim, dim);
+            weights.wo[l].matmul(nRows, xb, xb2, dim, dim);
 
             // residual connection back into x
-            Parallel.parallelFor(0, nTokens, t -> {
-                state.x[t].addInPlace(state.xb2[t]);
-            });
+            Parallel.parallelFor(0, nRows, r -> x[r].addInPlace(xb2[r]));
 
             // ffn rmsnorm
-            Parallel.parallelFor(0, nTokens, t -> {
-                rmsnorm(state.xb[t], state.x[t], weights.rms_ffn_weight[curLayer], dim, config.rmsNormEps);
-            });
+            Parallel.parallelFor(0, nRows,
+                    r -> rmsnorm(xb[r], x[r], weights.rms_ffn_weight[curLayer], dim, config.rmsNormEps));
 
             // Now for FFN in PyTorch we have: self.w2(F.silu(self.w1(x)) * self.w3(x))
             // first calculate self.w1(x) and self.w3(x)
-            weights.w1[l].matmul(nTokens, state.xb, state.hb, config.hiddenDim, dim);
-            weights.w3[l].matmul(nTokens, state.xb, state.hb2, config.hiddenDim, dim);
-
-            // SwiGLU non-linearity
-            // silu(x)=x*σ(x), where σ(x) is the logistic sigmoid
-            Parallel.parallelFor(0, nTokens, t -> {
-                state.hb[t].mapInPlace(value -> value / (float) (1.0 + Math.exp(-value)));
-            });
+            weights.w1[l].matmul(nRows, xb, hb, config.hiddenDim, dim);
+            weights.w3[l].matmul(nRows, xb, hb2, config.hiddenDim, dim);
 
-            // elementwise multiply with w3(x)
-            Parallel.parallelFor(0, nTokens, t -> {
-                state.hb[t].multiplyInPlace(state.hb2[t]);
+            // SwiGLU non-linearity, silu(x)=x*σ(x) where σ(x) is the logistic sigmoid, and elementwise multiply with w3(x)
+            Parallel.parallelFor(0, nRows, r -> {
+                hb[r].mapInPlace(value -> value / (float) (1.0 + Math.exp(-value)));
+                hb[r].multiplyInPlace(hb2[r]);
             });
 
             // final matmul to get the output of the ffn
-            weights.w2[l].matmul(nTokens, state.hb, state.xb, dim, config.hiddenDim);
+            weights.w2[l].matmul(nRows, hb, xb, dim, config.hiddenDim);
 
             // residual connection
-            Parallel.parallelFor(0, nTokens, t -> {
-                state.x[t].addInPlace(state.xb[t]);
-            });
+            Parallel.parallelFor(0, nRows, r -> x[r].addInPlace(xb[r]));
         }
 
         // final rmsnorm
-        Parallel.parallelFor(0, nTokens, t -> {
-            rmsnorm(state.x[t], state.x[t], weights.rms_final_weight, dim, config.rmsNormEps);
-        });
+        Parallel.parallelFor(0, nRows, r -> rmsnorm(x[r], x[r], weights.rms_final_weight, dim, config.rmsNormEps));
+        return true;
+    }
 
-        // classifier into logits
-        weights.wcls.matmul(state.x[nTokens - 1], state.logits, config.vocabularySize, dim);
-        state.idxPrevBlock = nTokens - 1;
+    static FloatTensor forward(Llama model, State state, int[] tokens, int position, boolean computeLogits) {
+        Rows rows = Rows.ofChunk(state, position, tokens.length);
+        state.idxPrevBlock = tokens.length - 1;
+        if (!forwardLayers(model, rows, tokens, computeLogits)) {
+            return null;
+        }
 
+        // classifier into logits
+        Configuration config = model.configuration();
+        model.weights().wcls.matmul(rows.x()[tokens.length - 1], state.logits, config.vocabularySize, config.dim);
         return state.logits;
     }
 
+    /**
+     * Ingests a chunk of at most {@link State#batchsize} prompt tokens starting at the given position.
+     *
+     * @param computeLogits whether the logits for the next token should be computed, which is only needed for the last
+     *        chunk of the prompt
+     */
+    public static void ingestChunk(Llama model, State state, int position, List<Integer> chunk, boolean computeLogits) {
+        int[] tokens = new int[chunk.size()];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = chunk.get(i);
+        }
+        forward(model, state, tokens, position, computeLogits);
+    }
+
+    /**
+     * Runs a single decoding step for several independent sequences at once.
+     * Every sequence contributes exactly one token, at its own position and with its own KV-cache, while the weights are
+     * only traversed once for all the sequences. The logits of each sequence are written to {@link State#logits}.
+     */
+    public static void forwardBatch(Llama model, State[] states, int[] tokens, int[] positions) {
+        Rows rows = Rows.ofSequences(states, positions);
+        forwardLayers(model, rows, tokens, true);
+
+        // classifier into logits
+        Configuration config = model.configuration();
+        FloatTensor[] logits = new FloatTensor[states.length];
+        for (int s = 0; s < states.length; s++) {
+            logits[s] = states[s].logits;
+            states[s].idxPrevBlock = 0;
+        }
+        model.weights().wcls.matmul(states.length, rows.x(), logits, config.vocabularySize, config.dim);
+    }
+
     /**
      * LLM generation entry point, ingest prompt tokens and generates new tokens.
      *
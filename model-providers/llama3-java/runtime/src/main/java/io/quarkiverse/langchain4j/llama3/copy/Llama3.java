@@ -9,7 +9,7 @@
 // Author: Alfonso² Peterssen
 // Based on Andrej Karpathy's llama2.c and minbpe projects
 //
-// Supports llama.cpp's GGUF format, restricted to Q4_0 and Q8_0 quantized models
+// Supports llama.cpp's GGUF format, restricted to Q4_0, Q8_0, Q4_K, Q6_K, F16, BF16 and F32 tensors
 // Multi-threaded matrix vector multiplication routines implemented using Java's Vector API
 // Simple CLI with --chat and --instruct mode
 //
@@ -339,11 +339,23 @@ abstract class FloatTensor {
         return UNSAFE.getByte(memorySegment.address() + offset);
     }
 
+    static float readFloat(MemorySegment memorySegment, long offset) {
+        // The MemorySegment.get* methods should be used instead.
+        return UNSAFE.getFloat(memorySegment.address() + offset);
+    }
+
     // Preferred vector size for the fast multiplication routines.
     // (Apple Silicon) NEON only supports up-to 128bit vectors.
     static final VectorSpecies<Float> F_SPECIES = USE_VECTOR_API
             ? VectorShape.forBitSize(VECTOR_BIT_SIZE).withLanes(float.class)
             : null;
+    // Species of the 16 bits floats, converted to F_SPECIES in two parts through I_SPECIES.
+    static final VectorSpecies<Short> S_SPECIES = USE_VECTOR_API
+            ? VectorShape.forBitSize(VECTOR_BIT_SIZE).withLanes(short.class)
+            : null;
+    static final VectorSpecies<Integer> I_SPECIES = USE_VECTOR_API
+            ? VectorShape.forBitSize(VECTOR_BIT_SIZE).withLanes(int.class)
+            : null;
 
     abstract int size();
 
@@ -372,6 +384,38 @@ abstract class FloatTensor {
         return scalarDot(this, thisOffset, that, thatOffset, size);
     }
 
+    /**
+     * Adds {@code that[thatOffset + i] * (quants[i] * scale + bias)} to the lanes of {@code acc}, for the 16 quants of
+     * a 128 bits vector.
+     */
+    static FloatVector fmaDequantized(ByteVector quants, FloatVector scale, FloatVector bias, ArrayFloatTensor that,
+            int thatOffset, FloatVector acc) {
+        assert quants.species() == ByteVector.SPECIES_128;
+        return switch (F_SPECIES.vectorBitSize()) {
+            case 512 -> {
+                var w0 = ((FloatVector) quants.castShape(F_SPECIES, 0)).fma(scale, bias);
+                yield that.getFloatVector(F_SPECIES, thatOffset).fma(w0, acc);
+            }
+            case 256 -> {
+                var w0 = ((FloatVector) quants.castShape(F_SPECIES, 0)).fma(scale, bias);
+                var w1 = ((FloatVector) quants.castShape(F_SPECIES, 1)).fma(scale, bias);
+                var sum = that.getFloatVector(F_SPECIES, thatOffset).fma(w0, acc);
+                yield that.getFloatVector(F_SPECIES, thatOffset + F_SPECIES.length()).fma(w1, sum);
+            }
+            case 128 -> {
+                var w0 = ((FloatVector) quants.castShape(F_SPECIES, 0)).fma(scale, bias);
+                var w1 = ((FloatVector) quants.castShape(F_SPECIES, 1)).fma(scale, bias);
+                var w2 = ((FloatVector) quants.castShape(F_SPECIES, 2)).fma(scale, bias);
+                var w3 = ((FloatVector) quants.castShape(F_SPECIES, 3)).fma(scale, bias);
+                var sum = that.getFloatVector(F_SPECIES, thatOffset).fma(w0, acc);
+                sum = that.getFloatVector(F_SPECIES, thatOffset + F_SPECIES.length()).fma(w1, sum);
+                sum = that.getFloatVector(F_SPECIES, thatOffset + 2 * F_SPECIES.length()).fma(w2, sum);
+                yield that.getFloatVector(F_SPECIES, thatOffset + 3 * F_SPECIES.length()).fma(w3, sum);
+            }
+            default -> throw new UnsupportedOperationException(F_SPECIES.toString());
+        };
+    }
+
     void matmul(FloatTensor that, FloatTensor out, int dim0, int dim1) {
         Parallel.parallelFor(0, dim0, i -> out.setFloat(i, dot(i * dim1, that, 0, dim1)));
     }
@@ -380,10 +424,11 @@ abstract class FloatTensor {
         if (that.length != out.length) {
             throw new IllegalArgumentException(String.format("that.len=%d, out.len=%d", that.length, out.length));
         }
-        Parallel.parallelForLong(0, dim0 * context, ti -> {
-            int idxArr = (int) (ti / dim0);
-            int i = (int) (ti % dim0);
-            out[idxArr].setFloat(i, dot(i * dim1, that[idxArr], 0, dim1));
+        // iterate over the rows of this tensor first, so each row is loaded from memory once for all the inputs
+        Parallel.parallelFor(0, dim0, i -> {
+            for (int idxArr = 0; idxArr < context; idxArr++) {
+                out[idxArr].setFloat(i, dot(i * dim1, that[idxArr], 0, dim1));
+            }
         });
     }
 
@@ -764,6 +809,501 @@ final class Q8_0FloatTensor extends FloatTensor {
     }
 }
 
+/**
+ * {@link FloatTensor} quantized in the {@link GGMLType#Q4_K} format.
+ * <p>
+ * A block of 256 values starts with two half precision floats, the scale of the scales and the scale of the minimums,
+ * followed by the 6 bits scales and minimums of its 8 sub-blocks of 32 values packed in 12 bytes, then by the 4 bits
+ * quants. Each group of 64 values is stored in 32 bytes, the low nibbles holding the first 32 values.
+ */
+final class Q4_KFloatTensor extends FloatTensor {
+
+    private static final int SCALES_OFFSET = 2 * Float16.BYTES;
+    private static final int QUANTS_OFFSET = SCALES_OFFSET + 12;
+
+    final int size;
+    final MemorySegment memorySegment;
+
+    public Q4_KFloatTensor(int size, MemorySegment memorySegment) {
+        this.size = size;
+        this.memorySegment = memorySegment;
+    }
+
+    @Override
+    int size() {
+        return size;
+    }
+
+    @Override
+    public void setFloat(int index, float value) {
+        throw new UnsupportedOperationException("setFloat");
+    }
+
+    @Override
+    FloatVector getFloatVector(VectorSpecies<Float> species, int index) {
+        throw new UnsupportedOperationException("getFloatVector");
+    }
+
+    @Override
+    public GGMLType type() {
+        return GGMLType.Q4_K;
+    }
+
+    @Override
+    public float getFloat(int index) {
+        assert 0 <= index && index < size;
+        int blockIndex = index / GGMLType.Q4_K.getBlockSize();
+        int withinBlockIndex = index % GGMLType.Q4_K.getBlockSize();
+        long blockOffset = (long) blockIndex * GGMLType.Q4_K.getTypeSize();
+        int subBlock = withinBlockIndex / 32;
+        int quant = Byte.toUnsignedInt(
+                readByte(memorySegment, blockOffset + QUANTS_OFFSET + subBlock / 2 * 32 + withinBlockIndex % 32));
+        quant = subBlock % 2 == 0 ? quant & 0x0F : quant >>> 4;
+        float d = Float.float16ToFloat(readShort(memorySegment, blockOffset));
+        float dmin = Float.float16ToFloat(readShort(memorySegment, blockOffset + Float16.BYTES));
+        return d * scale(memorySegment, blockOffset, subBlock) * quant - dmin * min(memorySegment, blockOffset, subBlock);
+    }
+
+    // get_scale_min_k4 in llama.cpp: the 4 first sub-blocks use the low 6 bits of the bytes 0-3 (scales) and 4-7
+    // (minimums), the 4 last ones use the 4 bits of the bytes 8-11 completed with the 2 high bits of the bytes 0-7
+    static int scale(MemorySegment memorySegment, long blockOffset, int subBlock) {
+        long scalesOffset = blockOffset + SCALES_OFFSET;
+        if (subBlock < 4) {
+            return readByte(memorySegment, scalesOffset + subBlock) & 0x3F;
+        }
+        return (readByte(memorySegment, scalesOffset + subBlock + 4) & 0x0F)
+                | ((Byte.toUnsignedInt(readByte(memorySegment, scalesOffset + subBlock - 4)) >>> 6) << 4);
+    }
+
+    static int min(MemorySegment memorySegment, long blockOffset, int subBlock) {
+        long scalesOffset = blockOffset + SCALES_OFFSET;
+        if (subBlock < 4) {
+            return readByte(memorySegment, scalesOffset + subBlock + 4) & 0x3F;
+        }
+        return (Byte.toUnsignedInt(readByte(memorySegment, scalesOffset + subBlock + 4)) >>> 4)
+                | ((Byte.toUnsignedInt(readByte(memorySegment, scalesOffset + subBlock)) >>> 6) << 4);
+    }
+
+    @Override
+    public float dot(int thisOffset, FloatTensor that, int thatOffset, int size) {
+        if (FloatTensor.USE_VECTOR_API) {
+            return vectorDot(this, thisOffset, (ArrayFloatTensor) that, thatOffset, size);
+        } else {
+            return FloatTensor.scalarDot(this, thisOffset, that, thatOffset, size);
+        }
+    }
+
+    private static float vectorDot(Q4_KFloatTensor thiz, int thisOffset, ArrayFloatTensor that, int thatOffset, int size) {
+        float result = 0f;
+        int j = 0;
+
+        // Align thisOffset + j to type().getBlockSize().
+        assert Integer.bitCount(GGMLType.Q4_K.getBlockSize()) == 1 : "power of 2";
+        int alignmentBound = Math.min(size, -thisOffset & (GGMLType.Q4_K.getBlockSize() - 1));
+        if (alignmentBound > 0) {
+            result += FloatTensor.scalarDot(thiz, thisOffset, that, thatOffset, alignmentBound);
+            j += alignmentBound;
+        }
+        assert j == size || (thisOffset + j) % GGMLType.Q4_K.getBlockSize() == 0;
+
+        FloatVector val = FloatVector.zero(F_SPECIES);
+        long blockOffset = (long) (thisOffset + j) / GGMLType.Q4_K.getBlockSize() * GGMLType.Q4_K.getTypeSize();
+        int upperBound = j + (size - j) / GGMLType.Q4_K.getBlockSize() * GGMLType.Q4_K.getBlockSize();
+        for (; j < upperBound; j += GGMLType.Q4_K.getBlockSize(), blockOffset += GGMLType.Q4_K.getTypeSize()) {
+            float d = Float.float16ToFloat(readShort(thiz.memorySegment, blockOffset));
+            float dmin = Float.float16ToFloat(readShort(thiz.memorySegment, blockOffset + Float16.BYTES));
+            for (int group = 0; group < 4; group++) {
+                // value = d * scale * quant - dmin * min
+                var loScale = FloatVector.broadcast(F_SPECIES, d * scale(thiz.memorySegment, blockOffset, 2 * group));
+                var loBias = FloatVector.broadcast(F_SPECIES, -dmin * min(thiz.memorySegment, blockOffset, 2 * group));
+                var hiScale = FloatVector.broadcast(F_SPECIES, d * scale(thiz.memorySegment, blockOffset, 2 * group + 1));
+                var hiBias = FloatVector.broadcast(F_SPECIES, -dmin * min(thiz.memorySegment, blockOffset, 2 * group + 1));
+                long quantsOffset = blockOffset + QUANTS_OFFSET + group * 32;
+                int valuesOffset = thatOffset + j + group * 64;
+                for (int i = 0; i < 2; ++i) {
+                    var wBytes = ByteVector.fromMemorySegment(ByteVector.SPECIES_128, thiz.memorySegment,
+                            quantsOffset + i * 16, ByteOrder.LITTLE_ENDIAN);
+                    val = fmaDequantized(wBytes.and((byte) 0xF), loScale, loBias, that, valuesOffset + i * 16, val);
+                    val = fmaDequantized(wBytes.lanewise(VectorOperators.LSHR, 4), hiScale, hiBias, that,
+                            valuesOffset + 32 + i * 16, val);
+                }
+            }
+        }
+        result += val.reduceLanes(VectorOperators.ADD);
+
+        // Remaining entries.
+        if (j < size) {
+            result += FloatTensor.scalarDot(thiz, thisOffset + j, that, thatOffset + j, size - j);
+        }
+
+        return result;
+    }
+}
+
+/**
+ * {@link FloatTensor} quantized in the {@link GGMLType#Q6_K} format.
+ * <p>
+ * A block of 256 values is made of the low 4 bits of the quants, their high 2 bits, the 8 bits scales of its 16
+ * sub-blocks of 16 values, and the half precision float scale of the scales. Each half of the block interleaves its 4
+ * groups of 32 values: the first 64 bytes of low bits hold the groups 0 and 1 in their low nibbles and the groups 2
+ * and 3 in their high nibbles, while each of the 32 bytes of high bits holds the 4 groups.
+ */
+final class Q6_KFloatTensor extends FloatTensor {
+
+    private static final int HIGH_BITS_OFFSET = GGMLType.QK_K / 2;
+    private static final int SCALES_OFFSET = HIGH_BITS_OFFSET + GGMLType.QK_K / 4;
+    private static final int D_OFFSET = SCALES_OFFSET + GGMLType.QK_K / 16;
+
+    final int size;
+    final MemorySegment memorySegment;
+
+    public Q6_KFloatTensor(int size, MemorySegment memorySegment) {
+        this.size = size;
+        this.memorySegment = memorySegment;
+    }
+
+    @Override
+    int size() {
+        return size;
+    }
+
+    @Override
+    public void setFloat(int index, float value) {
+        throw new UnsupportedOperationException("setFloat");
+    }
+
+    @Override
+    FloatVector getFloatVector(VectorSpecies<Float> species, int index) {
+        throw new UnsupportedOperationException("getFloatVector");
+    }
+
+    @Override
+    public GGMLType type() {
+        return GGMLType.Q6_K;
+    }
+
+    @Override
+    public float getFloat(int index) {
+        assert 0 <= index && index < size;
+        int blockIndex = index / GGMLType.Q6_K.getBlockSize();
+        int withinBlockIndex = index % GGMLType.Q6_K.getBlockSize();
+        long blockOffset = (long) blockIndex * GGMLType.Q6_K.getTypeSize();
+        int half = withinBlockIndex / 128;
+        int group = withinBlockIndex % 128 / 32;
+        int l = withinBlockIndex % 32;
+        int lowBits = Byte.toUnsignedInt(readByte(memorySegment, blockOffset + half * 64 + group % 2 * 32 + l));
+        lowBits = group < 2 ? lowBits & 0x0F : lowBits >>> 4;
+        int highBits = Byte.toUnsignedInt(readByte(memorySegment, blockOffset + HIGH_BITS_OFFSET + half * 32 + l));
+        highBits = (highBits >>> (2 * group)) & 0x03;
+        int quant = (lowBits | highBits << 4) - 32;
+        byte scale = readByte(memorySegment, blockOffset + SCALES_OFFSET + half * 8 + l / 16 + 2 * group);
+        float d = Float.float16ToFloat(readShort(memorySegment, blockOffset + D_OFFSET));
+        return d * scale * quant;
+    }
+
+    @Override
+    public float dot(int thisOffset, FloatTensor that, int thatOffset, int size) {
+        if (FloatTensor.USE_VECTOR_API) {
+            return vectorDot(this, thisOffset, (ArrayFloatTensor) that, thatOffset, size);
+        } else {
+            return FloatTensor.scalarDot(this, thisOffset, that, thatOffset, size);
+        }
+    }
+
+    private static float vectorDot(Q6_KFloatTensor thiz, int thisOffset, ArrayFloatTensor that, int thatOffset, int size) {
+        float result = 0f;
+        int j = 0;
+
+        // Align thisOffset + j to type().getBlockSize().
+        assert Integer.bitCount(GGMLType.Q6_K.getBlockSize()) == 1 : "power of 2";
+        int alignmentBound = Math.min(size, -thisOffset & (GGMLType.Q6_K.getBlockSize() - 1));
+        if (alignmentBound > 0) {
+            result += FloatTensor.scalarDot(thiz, thisOffset, that, thatOffset, alignmentBound);
+            j += alignmentBound;
+        }
+        assert j == size || (thisOffset + j) % GGMLType.Q6_K.getBlockSize() == 0;
+
+        FloatVector val = FloatVector.zero(F_SPECIES);
+        FloatVector zero = FloatVector.zero(F_SPECIES);
+        long blockOffset = (long) (thisOffset + j) / GGMLType.Q6_K.getBlockSize() * GGMLType.Q6_K.getTypeSize();
+        int upperBound = j + (size - j) / GGMLType.Q6_K.getBlockSize() * GGMLType.Q6_K.getBlockSize();
+        for (; j < upperBound; j += GGMLType.Q6_K.getBlockSize(), blockOffset += GGMLType.Q6_K.getTypeSize()) {
+            float d = Float.float16ToFloat(readShort(thiz.memorySegment, blockOffset + D_OFFSET));
+            for (int half = 0; half < 2; half++) {
+                long lowBitsOffset = blockOffset + half * 64;
+                long highBitsOffset = blockOffset + HIGH_BITS_OFFSET + half * 32;
+                long scalesOffset = blockOffset + SCALES_OFFSET + half * 8;
+                int valuesOffset = thatOffset + j + half * 128;
+                // each iteration covers a sub-block of 16 values in each of the 4 groups
+                for (int i = 0; i < 2; ++i) {
+                    var lowBits01 = ByteVector.fromMemorySegment(ByteVector.SPECIES_128, thiz.memorySegment,
+                            lowBitsOffset + i * 16, ByteOrder.LITTLE_ENDIAN);
+                    var lowBits23 = ByteVector.fromMemorySegment(ByteVector.SPECIES_128, thiz.memorySegment,
+                            lowBitsOffset + 32 + i * 16, ByteOrder.LITTLE_ENDIAN);
+                    var highBits = ByteVector.fromMemorySegment(ByteVector.SPECIES_128, thiz.memorySegment,
+                            highBitsOffset + i * 16, ByteOrder.LITTLE_ENDIAN);
+                    var q0 = lowBits01.and((byte) 0xF)
+                            .or(highBits.and((byte) 3).lanewise(VectorOperators.LSHL, 4))
+                            .sub((byte) 32);
+                    var q1 = lowBits23.and((byte) 0xF)
+                            .or(highBits.lanewise(VectorOperators.LSHR, 2).and((byte) 3).lanewise(VectorOperators.LSHL, 4))
+                            .sub((byte) 32);
+                    var q2 = lowBits01.lanewise(VectorOperators.LSHR, 4)
+                            .or(highBits.lanewise(VectorOperators.LSHR, 4).and((byte) 3).lanewise(VectorOperators.LSHL, 4))
+                            .sub((byte) 32);
+                    var q3 = lowBits23.lanewise(VectorOperators.LSHR, 4)
+                            .or(highBits.lanewise(VectorOperators.LSHR, 6).lanewise(VectorOperators.LSHL, 4))
+                            .sub((byte) 32);
+                    val = fmaDequantized(q0, scale(thiz, d, scalesOffset + i), zero, that, valuesOffset + i * 16, val);
+                    val = fmaDequantized(q1, scale(thiz, d, scalesOffset + i + 2), zero, that,
+                            valuesOffset + 32 + i * 16, val);
+                    val = fmaDequantized(q2, scale(thiz, d, scalesOffset + i + 4), zero, that,
+                            valuesOffset + 64 + i * 16, val);
+                    val = fmaDequantized(q3, scale(thiz, d, scalesOffset + i + 6), zero, that,
+                            valuesOffset + 96 + i * 16, val);
+                }
+            }
+        }
+        result += val.reduceLanes(VectorOperators.ADD);
+
+        // Remaining entries.
+        if (j < size) {
+            result += FloatTensor.scalarDot(thiz, thisOffset + j, that, thatOffset + j, size - j);
+        }
+
+        return result;
+    }
+
+    private static FloatVector scale(Q6_KFloatTensor thiz, float d, long scaleOffset) {
+        return FloatVector.broadcast(F_SPECIES, d * readByte(thiz.memorySegment, scaleOffset));
+    }
+}
+
+/**
+ * {@link FloatTensor} of half precision floats, as in the {@link GGMLType#F16} format.
+ */
+final class F16FloatTensor extends FloatTensor {
+
+    final int size;
+    final MemorySegment memorySegment;
+
+    public F16FloatTensor(int size, MemorySegment memorySegment) {
+        this.size = size;
+        this.memorySegment = memorySegment;
+    }
+
+    @Override
+    int size() {
+        return size;
+    }
+
+    @Override
+    public void setFloat(int index, float value) {
+        throw new UnsupportedOperationException("setFloat");
+    }
+
+    @Override
+    FloatVector getFloatVector(VectorSpecies<Float> species, int index) {
+        throw new UnsupportedOperationException("getFloatVector");
+    }
+
+    @Override
+    public GGMLType type() {
+        return GGMLType.F16;
+    }
+
+    @Override
+    public float getFloat(int index) {
+        assert 0 <= index && index < size;
+        return Float.float16ToFloat(readShort(memorySegment, (long) index * Float16.BYTES));
+    }
+
+    @Override
+    public float dot(int thisOffset, FloatTensor that, int thatOffset, int size) {
+        if (FloatTensor.USE_VECTOR_API) {
+            return vectorDot(this, thisOffset, (ArrayFloatTensor) that, thatOffset, size);
+        } else {
+            return FloatTensor.scalarDot(this, thisOffset, that, thatOffset, size);
+        }
+    }
+
+    private static float vectorDot(F16FloatTensor thiz, int thisOffset, ArrayFloatTensor that, int thatOffset, int size) {
+        FloatVector val = FloatVector.zero(F_SPECIES);
+        int j = 0;
+        int upperBound = size / S_SPECIES.length() * S_SPECIES.length();
+        for (; j < upperBound; j += S_SPECIES.length()) {
+            var halfFloats = ShortVector.fromMemorySegment(S_SPECIES, thiz.memorySegment,
+                    (long) (thisOffset + j) * Float16.BYTES, ByteOrder.LITTLE_ENDIAN);
+            val = that.getFloatVector(F_SPECIES, thatOffset + j).fma(toFloat(halfFloats, 0), val);
+            val = that.getFloatVector(F_SPECIES, thatOffset + j + F_SPECIES.length()).fma(toFloat(halfFloats, 1), val);
+        }
+        float result = val.reduceLanes(VectorOperators.ADD);
+
+        // Remaining entries.
+        if (j < size) {
+            result += FloatTensor.scalarDot(thiz, thisOffset + j, that, thatOffset + j, size - j);
+        }
+
+        return result;
+    }
+
+    // Same as Float.float16ToFloat for each lane: the exponent and mantissa are moved in place, then the exponent is
+    // rebiased by a multiplication by 2^(127 - 15), which also normalizes the subnormal values.
+    private static FloatVector toFloat(ShortVector halfFloats, int part) {
+        var bits = (IntVector) halfFloats.convertShape(VectorOperators.S2I, I_SPECIES, part);
+        var sign = bits.and(0x8000).lanewise(VectorOperators.LSHL, 16);
+        var magnitude = bits.and(0x7FFF).lanewise(VectorOperators.LSHL, 13).reinterpretAsFloats().mul(0x1p112f)
+                .reinterpretAsInts();
+        // infinities and NaNs keep their exponent at its maximum
+        var infiniteOrNaN = bits.and(0x7C00).compare(VectorOperators.EQ, 0x7C00);
+        magnitude = magnitude.lanewise(VectorOperators.OR, 0x7F800000, infiniteOrNaN);
+        return magnitude.or(sign).reinterpretAsFloats();
+    }
+}
+
+/**
+ * {@link FloatTensor} of brain floats, as in the {@link GGMLType#BF16} format: the 16 high bits of single precision
+ * floats.
+ */
+final class BF16FloatTensor extends FloatTensor {
+
+    final int size;
+    final MemorySegment memorySegment;
+
+    public BF16FloatTensor(int size, MemorySegment memorySegment) {
+        this.size = size;
+        this.memorySegment = memorySegment;
+    }
+
+    @Override
+    int size() {
+        return size;
+    }
+
+    @Override
+    public void setFloat(int index, float value) {
+        throw new UnsupportedOperationException("setFloat");
+    }
+
+    @Override
+    FloatVector getFloatVector(VectorSpecies<Float> species, int index) {
+        throw new UnsupportedOperationException("getFloatVector");
+    }
+
+    @Override
+    public GGMLType type() {
+        return GGMLType.BF16;
+    }
+
+    @Override
+    public float getFloat(int index) {
+        assert 0 <= index && index < size;
+        return Float.intBitsToFloat(readShort(memorySegment, (long) index * Float16.BYTES) << 16);
+    }
+
+    @Override
+    public float dot(int thisOffset, FloatTensor that, int thatOffset, int size) {
+        if (FloatTensor.USE_VECTOR_API) {
+            return vectorDot(this, thisOffset, (ArrayFloatTensor) that, thatOffset, size);
+        } else {
+            return FloatTensor.scalarDot(this, thisOffset, that, thatOffset, size);
+        }
+    }
+
+    private static float vectorDot(BF16FloatTensor thiz, int thisOffset, ArrayFloatTensor that, int thatOffset, int size) {
+        FloatVector val = FloatVector.zero(F_SPECIES);
+        int j = 0;
+        int upperBound = size / S_SPECIES.length() * S_SPECIES.length();
+        for (; j < upperBound; j += S_SPECIES.length()) {
+            var brainFloats = ShortVector.fromMemorySegment(S_SPECIES, thiz.memorySegment,
+                    (long) (thisOffset + j) * Float16.BYTES, ByteOrder.LITTLE_ENDIAN);
+            val = that.getFloatVector(F_SPECIES, thatOffset + j).fma(toFloat(brainFloats, 0), val);
+            val = that.getFloatVector(F_SPECIES, thatOffset + j + F_SPECIES.length()).fma(toFloat(brainFloats, 1), val);
+        }
+        float result = val.reduceLanes(VectorOperators.ADD);
+
+        // Remaining entries.
+        if (j < size) {
+            result += FloatTensor.scalarDot(thiz, thisOffset + j, that, thatOffset + j, size - j);
+        }
+
+        return result;
+    }
+
+    private static FloatVector toFloat(ShortVector brainFloats, int part) {
+        var bits = (IntVector) brainFloats.convertShape(VectorOperators.S2I, I_SPECIES, part);
+        return bits.lanewise(VectorOperators.LSHL, 16).reinterpretAsFloats();
+    }
+}
+
+/**
+ * {@link FloatTensor} of single precision floats mapped from a model file, as in the {@link GGMLType#F32} format.
+ */
+final class F32FloatTensor extends FloatTensor {
+
+    final int size;
+    final MemorySegment memorySegment;
+
+    public F32FloatTensor(int size, MemorySegment memorySegment) {
+        this.size = size;
+        this.memorySegment = memorySegment;
+    }
+
+    @Override
+    int size() {
+        return size;
+    }
+
+    @Override
+    public void setFloat(int index, float value) {
+        throw new UnsupportedOperationException("setFloat");
+    }
+
+    @Override
+    FloatVector getFloatVector(VectorSpecies<Float> species, int index) {
+        throw new UnsupportedOperationException("getFloatVector");
+    }
+
+    @Override
+    public GGMLType type() {
+        return GGMLType.F32;
+    }
+
+    @Override
+    public float getFloat(int index) {
+        assert 0 <= index && index < size;
+        return readFloat(memorySegment, (long) index * Float.BYTES);
+    }
+
+    @Override
+    public float dot(int thisOffset, FloatTensor that, int thatOffset, int size) {
+        if (FloatTensor.USE_VECTOR_API) {
+            return vectorDot(this, thisOffset, (ArrayFloatTensor) that, thatOffset, size);
+        } else {
+            return FloatTensor.scalarDot(this, thisOffset, that, thatOffset, size);
+        }
+    }
+
+    private static float vectorDot(F32FloatTensor thiz, int thisOffset, ArrayFloatTensor that, int thatOffset, int size) {
+        FloatVector val = FloatVector.zero(F_SPECIES);
+        int j = 0;
+        int upperBound = F_SPECIES.loopBound(size);
+        for (; j < upperBound; j += F_SPECIES.length()) {
+            var floats = FloatVector.fromMemorySegment(F_SPECIES, thiz.memorySegment, (long) (thisOffset + j) * Float.BYTES,
+                    ByteOrder.LITTLE_ENDIAN);
+            val = that.getFloatVector(F_SPECIES, thatOffset + j).fma(floats, val);
+        }
+        float result = val.reduceLanes(VectorOperators.ADD);
+
+        // Remaining entries.
+        if (j < size) {
+            result += FloatTensor.scalarDot(thiz, thisOffset + j, that, thatOffset + j, size - j);
+        }
+
+        return result;
+    }
+}
+
 final class ArrayFloatTensor extends FloatTensor {
 
     final float[] values;
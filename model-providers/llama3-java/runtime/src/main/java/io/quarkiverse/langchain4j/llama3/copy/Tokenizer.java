@@ -3,12 +3,12 @@ package io.quarkiverse.langchain4j.llama3.copy;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -21,10 +21,17 @@ import java.util.stream.IntStream;
  * <a href="https://github.com/openai/gpt-2/blob/master/src/encoder.py">GPT 2 tokenizer</a>
  */
 public class Tokenizer {
+    // chunks are typically words, only the short ones are frequent enough to be worth caching
+    private static final int MAX_CACHED_CHUNK_LENGTH = 32;
+    private static final int MAX_CACHED_CHUNKS = 1 << 16;
+
     private final Pattern compiledPattern;
     private final Vocabulary vocabulary;
-    private final Map<Pair<Integer, Integer>, Integer> merges;
+    private final MergeTable merges;
     private final Map<String, Integer> specialTokens;
+    // token of each character produced by the byte-level encoding, -1 if not in the vocabulary
+    private final int[] characterTokens;
+    private final Map<String, int[]> chunkCache = new ConcurrentHashMap<>();
 
     public String regexPattern() {
         if (compiledPattern == null) {
@@ -46,17 +53,24 @@ public class Tokenizer {
         this.vocabulary = vocabulary;
         this.compiledPattern = regexPattern != null ? Pattern.compile(regexPattern) : null;
         this.specialTokens = new HashMap<>(specialTokens);
-        this.merges = new HashMap<>();
+        this.merges = new MergeTable(merges.size());
         for (Pair<Integer, Integer> pair : merges) {
             int firstIndex = pair.first();
             int secondIndex = pair.second();
             int mergeIndex = vocabulary.getIndex(vocabulary.get(firstIndex) + vocabulary.get(secondIndex)).orElseThrow();
-            this.merges.put(pair, mergeIndex);
+            this.merges.put(firstIndex, secondIndex, mergeIndex);
+        }
+        int maxCharacter = BYTE_ENCODER.values().stream().mapToInt(Integer::intValue).max().orElseThrow();
+        this.characterTokens = new int[maxCharacter + 1];
+        for (int c = 0; c <= maxCharacter; c++) {
+            characterTokens[c] = vocabulary.getIndex(String.valueOf((char) c)).orElse(-1);
         }
     }
 
     private int[] encodeImpl(String text) {
-        return encode(text, Set.of()).stream().mapToInt(i -> i).toArray();
+        Encoder encoder = new Encoder();
+        encodeOrdinary(text, encoder);
+        return encoder.output();
     }
 
     /**
@@ -101,81 +115,299 @@ public class Tokenizer {
         return ids;
     }
 
-    private static List<String> findAll(Pattern pattern, String text) {
-        List<String> allMatches = new ArrayList<>();
-        Matcher matcher = pattern.matcher(text);
-        while (matcher.find()) {
-            allMatches.add(matcher.group());
-        }
-        return allMatches;
-    }
-
     /**
      * Encoding that ignores any special tokens.
      */
     public List<Integer> encodeOrdinary(String text) {
+        Encoder encoder = new Encoder();
+        encodeOrdinary(text, encoder);
+        return Arrays.stream(encoder.output()).boxed().toList();
+    }
+
+    private void encodeOrdinary(String text, Encoder encoder) {
         // split text into chunks of text by categories defined in regex pattern
-        List<String> textChunks = findAll(compiledPattern, text);
+        Matcher matcher = compiledPattern.matcher(text);
         // all chunks of text are encoded separately, then results are joined
-        List<Integer> ids = new ArrayList<>();
-        for (String chunk : textChunks) {
-            List<Integer> chunkIds = encodeChunk(chunk);
-            ids.addAll(chunkIds);
+        while (matcher.find()) {
+            String chunk = matcher.group();
+            if (chunk.length() > MAX_CACHED_CHUNK_LENGTH) {
+                encoder.encodeChunk(chunk);
+                continue;
+            }
+            int[] cached = chunkCache.get(chunk);
+            if (cached != null) {
+                encoder.append(cached);
+                continue;
+            }
+            int start = encoder.size();
+            encoder.encodeChunk(chunk);
+            if (chunkCache.size() < MAX_CACHED_CHUNKS) {
+                chunkCache.put(chunk, encoder.copyOutput(start));
+            }
         }
-        return ids;
     }
 
-    private Map<Pair<Integer, Integer>, Integer> getStats(List<Integer> ids) {
-        Map<Pair<Integer, Integer>, Integer> map = new HashMap<>();
-        for (int i = 0; i + 1 < ids.size(); i++) {
-            Pair<Integer, Integer> key = new Pair<>(ids.get(i), ids.get(i + 1));
-            map.put(key, map.getOrDefault(key, 0) + 1);
+    private int characterToken(char c) {
+        int token = c < characterTokens.length ? characterTokens[c] : -1;
+        if (token < 0) {
+            return this.vocabulary.getIndex(String.valueOf(c)).orElseThrow();
         }
-        return map;
+        return token;
     }
 
-    private List<Integer> encodeChunk(String chunk) {
-        // return the token ids
-        // let's begin. first, convert all bytes to integers in range 0..255
-        List<Integer> ids = new ArrayList<>();
-        for (int b : chunk.toCharArray()) {
-            int tokenIndex = this.vocabulary.getIndex(String.valueOf((char) b)).orElseThrow();
-            ids.add(tokenIndex);
-        }
-
-        while (ids.size() >= 2) {
-            // find the pair with the lowest merge index
-            Map<Pair<Integer, Integer>, Integer> stats = getStats(ids);
-            Pair<Integer, Integer> pair = stats.keySet().stream()
-                    .min(Comparator.comparingInt(key -> this.merges.getOrDefault(key, Integer.MAX_VALUE))).orElseThrow();
-            // subtle: if there are no more merges available, the key will
-            // result in an inf for every single pair, and the min will be
-            // just the first pair in the list, arbitrarily
-            // we can detect this terminating case by a membership check
-            if (!this.merges.containsKey(pair)) {
-                break; // nothing else can be merged anymore
+    /**
+     * Applies the BPE merges to the chunks of a text, and accumulates the resulting tokens.
+     * <p>
+     * The tokens of a chunk form a linked list over arrays, and the candidate merges of adjacent tokens are kept in a
+     * priority queue ordered by merge index then by position. The merges of the lowest index are applied left to right,
+     * as the reference algorithm merges all the occurrences of the best pair at once, and the pairs they create are
+     * only queued afterwards. Entries of the queue whose pair has been changed by a previous merge are skipped when
+     * polled. This makes encoding a chunk O(n log n) instead of O(n^2), and avoids boxing the tokens.
+     * <p>
+     * The arrays are reused for all the chunks of a text.
+     */
+    private final class Encoder {
+        private static final int REMOVED = -1;
+
+        private int[] tokens = new int[64];
+        private int[] next = new int[64];
+        private int[] prev = new int[64];
+        private int[] merged = new int[64];
+        private final LongHeap queue = new LongHeap();
+
+        private int[] output = new int[256];
+        private int outputSize;
+
+        void encodeChunk(String chunk) {
+            int n = chunk.length();
+            if (n == 1) {
+                append(characterToken(chunk.charAt(0)));
+                return;
+            }
+            ensureCapacity(n);
+            for (int i = 0; i < n; i++) {
+                tokens[i] = characterToken(chunk.charAt(i));
+                prev[i] = i - 1;
+                next[i] = i + 1 < n ? i + 1 : -1;
+            }
+            queue.clear();
+            for (int i = 0; i + 1 < n; i++) {
+                enqueue(i);
+            }
+
+            while (!queue.isEmpty()) {
+                int mergeIndex = LongHeap.rank(queue.peek());
+                int mergedCount = 0;
+                // positions are polled in increasing order for a given merge index
+                while (!queue.isEmpty() && LongHeap.rank(queue.peek()) == mergeIndex) {
+                    int position = LongHeap.position(queue.poll());
+                    if (tokens[position] == REMOVED) {
+                        continue;
+                    }
+                    int right = next[position];
+                    if (right < 0 || merges.get(tokens[position], tokens[right]) != mergeIndex) {
+                        continue;
+                    }
+                    tokens[position] = mergeIndex;
+                    tokens[right] = REMOVED;
+                    next[position] = next[right];
+                    if (next[right] >= 0) {
+                        prev[next[right]] = position;
+                    }
+                    merged[mergedCount++] = position;
+                }
+                for (int i = 0; i < mergedCount; i++) {
+                    int position = merged[i];
+                    if (prev[position] >= 0) {
+                        enqueue(prev[position]);
+                    }
+                    enqueue(position);
+                }
+            }
+
+            // the first token is never removed, as merges replace the left token of the pair
+            for (int i = 0; i >= 0; i = next[i]) {
+                append(tokens[i]);
             }
-            // otherwise let's merge the best pair (lowest merge index)
-            int idx = this.merges.get(pair);
-            ids = merge(ids, pair, idx);
         }
-        return ids;
+
+        private void enqueue(int position) {
+            int right = next[position];
+            if (right >= 0) {
+                int mergeIndex = merges.get(tokens[position], tokens[right]);
+                if (mergeIndex >= 0) {
+                    queue.add(LongHeap.entry(mergeIndex, position));
+                }
+            }
+        }
+
+        private void ensureCapacity(int n) {
+            if (tokens.length < n) {
+                int capacity = Math.max(n, 2 * tokens.length);
+                tokens = new int[capacity];
+                next = new int[capacity];
+                prev = new int[capacity];
+                merged = new int[capacity];
+            }
+        }
+
+        void append(int token) {
+            if (outputSize == output.length) {
+                output = Arrays.copyOf(output, 2 * output.length);
+            }
+            output[outputSize++] = token;
+        }
+
+        void append(int[] tokens) {
+            if (outputSize + tokens.length > output.length) {
+                output = Arrays.copyOf(output, Math.max(outputSize + tokens.length, 2 * output.length));
+            }
+            System.arraycopy(tokens, 0, output, outputSize, tokens.length);
+            outputSize += tokens.length;
+        }
+
+        int size() {
+            return outputSize;
+        }
+
+        int[] copyOutput(int from) {
+            return Arrays.copyOfRange(output, from, outputSize);
+        }
+
+        int[] output() {
+            return Arrays.copyOf(output, outputSize);
+        }
     }
 
-    private static List<Integer> merge(List<Integer> ids, Pair<Integer, Integer> pair, int idx) {
-        List<Integer> newids = new ArrayList<>();
-        int i = 0;
-        while (i < ids.size()) {
-            // if not at the very last position AND the pair matches, replace it
-            if (ids.get(i).equals(pair.first()) && i < ids.size() - 1 && ids.get(i + 1).equals(pair.second())) {
-                newids.add(idx);
-                i += 2;
-            } else {
-                newids.add(ids.get(i));
-                i += 1;
+    /**
+     * Open addressing hash map from a pair of tokens, packed in a long, to the index of the token they merge into.
+     */
+    private static final class MergeTable {
+        private static final long EMPTY = -1L;
+
+        private final long[] keys;
+        private final int[] values;
+        private final int mask;
+
+        MergeTable(int expectedSize) {
+            // load factor of at most 0.5
+            int capacity = Integer.highestOneBit(Math.max(2, expectedSize) * 2 - 1) << 1;
+            this.keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            this.values = new int[capacity];
+            this.mask = capacity - 1;
+        }
+
+        private static long key(int first, int second) {
+            return ((long) first << 32) | (second & 0xFFFFFFFFL);
+        }
+
+        private int slot(long key) {
+            // finalizer of MurmurHash3, so that consecutive token indexes are spread over the table
+            long h = key;
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return (int) h & mask;
+        }
+
+        void put(int first, int second, int value) {
+            long key = key(first, second);
+            int slot = slot(key);
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+        }
+
+        /**
+         * @return the index of the merged token, or -1 if the pair cannot be merged
+         */
+        int get(int first, int second) {
+            long key = key(first, second);
+            int slot = slot(key);
+            while (true) {
+                long candidate = keys[slot];
+                if (candidate == key) {
+                    return values[slot];
+                }
+                if (candidate == EMPTY) {
+                    return -1;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+    }
+
+    /**
+     * Binary min-heap of longs, each of them packing a merge index in its high bits and a position in its low bits.
+     */
+    private static final class LongHeap {
+        private long[] heap = new long[64];
+        private int size;
+
+        static long entry(int rank, int position) {
+            return ((long) rank << 32) | position;
+        }
+
+        static int rank(long entry) {
+            return (int) (entry >>> 32);
+        }
+
+        static int position(long entry) {
+            return (int) entry;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        long peek() {
+            return heap[0];
+        }
+
+        void add(long entry) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, 2 * heap.length);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heap[parent] <= entry) {
+                    break;
+                }
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = entry;
+        }
+
+        long poll() {
+            long result = heap[0];
+            long last = heap[--size];
+            int i = 0;
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && heap[child + 1] < heap[child]) {
+                    child++;
+                }
+                if (last <= heap[child]) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
             }
+            heap[i] = last;
+            return result;
         }
-        return newids;
     }
 
     public String decodeImpl(List<Integer> tokens) {
@@ -222,14 +454,22 @@ public class Tokenizer {
     static final Map<Integer, Integer> BYTE_DECODER = BYTE_ENCODER.entrySet()
             .stream()
             .collect(Collectors.toMap(Map.Entry::getValue, Map.Entry::getKey));
+    // BYTE_ENCODER as an array, all the encoded bytes are in the Basic Multilingual Plane
+    private static final char[] BYTE_CHARACTERS = bytesToCharacters();
+
+    private static char[] bytesToCharacters() {
+        char[] characters = new char[256];
+        BYTE_ENCODER.forEach((b, c) -> characters[b] = (char) c.intValue());
+        return characters;
+    }
 
     public int[] encode(String text) {
-        StringBuilder sb = new StringBuilder();
         byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
-        for (byte b : bytes) {
-            sb.appendCodePoint(BYTE_ENCODER.get(Byte.toUnsignedInt(b)));
+        char[] characters = new char[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            characters[i] = BYTE_CHARACTERS[Byte.toUnsignedInt(bytes[i])];
         }
-        return encodeImpl(sb.toString());
+        return encodeImpl(new String(characters));
     }
 
     public static String replaceControlCharacters(int[] codePoints) {
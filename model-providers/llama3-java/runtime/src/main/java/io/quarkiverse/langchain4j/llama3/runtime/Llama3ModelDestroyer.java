@@ -0,0 +1,29 @@
+package io.quarkiverse.langchain4j.llama3.runtime;
+
+import java.util.Map;
+
+import jakarta.enterprise.context.spi.CreationalContext;
+
+import org.jboss.logging.Logger;
+
+import io.quarkus.arc.BeanDestroyer;
+
+/**
+ * Closes the Llama3 chat models when their bean is destroyed, so that their inference scheduler stops. The disabled
+ * models are not closeable and are left as is.
+ */
+public class Llama3ModelDestroyer implements BeanDestroyer<Object> {
+
+    private static final Logger log = Logger.getLogger(Llama3ModelDestroyer.class);
+
+    @Override
+    public void destroy(Object instance, CreationalContext<Object> creationalContext, Map<String, Object> params) {
+        if (instance instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.error("Unable to close " + instance, e);
+            }
+        }
+    }
+}
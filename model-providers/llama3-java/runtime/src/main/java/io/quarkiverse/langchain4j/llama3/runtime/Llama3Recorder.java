@@ -40,6 +40,11 @@ public class Llama3Recorder {
             if (chatModelConfig.maxTokens().isPresent()) {
                 builder.maxTokens(chatModelConfig.maxTokens().getAsInt());
             }
+            builder.promptCacheEnabled(chatModelConfig.promptCache().enabled())
+                    .promptCacheMaxEntries(chatModelConfig.promptCache().maxEntries())
+                    .promptCacheMaxBytes(chatModelConfig.promptCache().maxSize().asLongValue())
+                    .continuousBatching(chatModelConfig.continuousBatching().enabled())
+                    .maxBatchSize(chatModelConfig.continuousBatching().maxBatchSize());
 
             return new Supplier<>() {
                 @Override
@@ -80,6 +85,11 @@ public class Llama3Recorder {
             if (chatModelConfig.maxTokens().isPresent()) {
                 builder.maxTokens(chatModelConfig.maxTokens().getAsInt());
             }
+            builder.promptCacheEnabled(chatModelConfig.promptCache().enabled())
+                    .promptCacheMaxEntries(chatModelConfig.promptCache().maxEntries())
+                    .promptCacheMaxBytes(chatModelConfig.promptCache().maxSize().asLongValue())
+                    .continuousBatching(chatModelConfig.continuousBatching().enabled())
+                    .maxBatchSize(chatModelConfig.continuousBatching().maxBatchSize());
 
             return new Supplier<>() {
                 @Override
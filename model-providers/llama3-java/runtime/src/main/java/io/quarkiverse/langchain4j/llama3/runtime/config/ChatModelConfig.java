@@ -5,6 +5,7 @@ import java.util.OptionalInt;
 
 import io.quarkus.runtime.annotations.ConfigDocDefault;
 import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.configuration.MemorySize;
 import io.smallrye.config.WithDefault;
 
 @ConfigGroup
@@ -23,4 +24,56 @@ public interface ChatModelConfig {
     @ConfigDocDefault("512")
     OptionalInt maxTokens();
 
+    /**
+     * Settings of the cache of inference states which allows a request to skip the ingestion of the prompt tokens it
+     * shares with a previous request (typically the system message and the chat history of a conversation)
+     */
+    PromptCacheConfig promptCache();
+
+    /**
+     * Settings of the scheduler that merges the decoding steps of concurrent requests into a single forward pass
+     */
+    ContinuousBatchingConfig continuousBatching();
+
+    @ConfigGroup
+    interface PromptCacheConfig {
+
+        /**
+         * Whether the KV-cache of previous requests should be reused. The cached states stay in memory, so the cache
+         * needs to be sized for the context length of the model before being enabled.
+         */
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * The maximum number of inference states to keep around
+         */
+        @WithDefault("4")
+        int maxEntries();
+
+        /**
+         * The maximum amount of memory the cached inference states are allowed to use.
+         * Each state holds the KV-cache for the entire context length of the model.
+         */
+        @WithDefault("1G")
+        MemorySize maxSize();
+    }
+
+    @ConfigGroup
+    interface ContinuousBatchingConfig {
+
+        /**
+         * Whether concurrent requests should be batched together. When disabled, each request runs its own generation
+         * loop. When enabled, each chat model runs a dedicated scheduler thread.
+         */
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * The maximum number of requests that are decoded together. Additional requests wait until a running request
+         * completes.
+         */
+        @WithDefault("8")
+        int maxBatchSize();
+    }
 }
@@ -0,0 +1,151 @@
+package io.quarkiverse.langchain4j.llama3;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.langchain4j.llama3.copy.Llama;
+import io.quarkiverse.langchain4j.llama3.copy.Sampler;
+import io.quarkiverse.langchain4j.llama3.copy.TinyLlama;
+
+/**
+ * Runs the scheduler on a tiny model and compares the tokens of each sequence with the ones generated by
+ * {@link Llama#generateTokens} for that sequence alone. The callbacks run on the scheduler thread, so that the
+ * sequences submitted from a callback join the batch at a known step.
+ */
+class Llama3InferenceSchedulerTest {
+
+    private static final int BATCH_SIZE = 4;
+
+    private final Llama model = TinyLlama.create(42);
+    private final Random random = new Random(7);
+    private Llama3InferenceScheduler scheduler;
+
+    @AfterEach
+    void close() {
+        if (scheduler != null) {
+            scheduler.close();
+        }
+    }
+
+    @Test
+    void sequencesJoinAndLeaveMidBatch() throws Exception {
+        scheduler = new Llama3InferenceScheduler(model, 3, Runnable::run);
+        List<Integer> promptA = randomTokens(5);
+        List<Integer> promptB = randomTokens(11);
+        List<Integer> promptC = randomTokens(2);
+        List<Integer> promptD = randomTokens(7);
+        Map<String, List<Integer>> streamed = new ConcurrentHashMap<>();
+        Map<String, CompletableFuture<List<Integer>>> results = new ConcurrentHashMap<>();
+        List<Boolean> aDoneWhenCLeft = new ArrayList<>();
+
+        results.put("A", submit("A", promptA, 40, streamed, token -> {
+            if (streamed.get("A").size() == 3) {
+                // B and C join while A is decoding
+                results.put("B", submit("B", promptB, 20, streamed, null));
+                CompletableFuture<List<Integer>> c = submit("C", promptC, 12, streamed, null);
+                results.put("C", c);
+                c.whenComplete((tokens, failure) -> {
+                    // C leaves before A and B, and D takes its place
+                    aDoneWhenCLeft.add(results.get("A").isDone());
+                    results.put("D", submit("D", promptD, 30, streamed, null));
+                });
+            }
+        }));
+
+        assertSequence(results.get("A"), streamed.get("A"), promptA, 40);
+        // D is submitted once C completes, which is before A completes
+        assertThat(aDoneWhenCLeft).containsExactly(false);
+        assertSequence(results.get("B"), streamed.get("B"), promptB, 20);
+        assertSequence(results.get("C"), streamed.get("C"), promptC, 12);
+        assertSequence(results.get("D"), streamed.get("D"), promptD, 30);
+    }
+
+    @Test
+    void closeFailsRunningAndPendingSequences() throws Exception {
+        scheduler = new Llama3InferenceScheduler(model, 1, Runnable::run);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch closed = new CountDownLatch(1);
+        CompletableFuture<List<Integer>> runningSequence = scheduler.submit(model.createNewState(BATCH_SIZE), 0,
+                randomTokens(6), Set.of(), TinyLlama.CONTEXT_LENGTH, Sampler.ARGMAX, token -> {
+                    running.countDown();
+                    awaitUninterruptibly(closed);
+                });
+        CompletableFuture<List<Integer>> pendingSequence = scheduler.submit(model.createNewState(BATCH_SIZE), 0,
+                randomTokens(3), Set.of(), TinyLlama.CONTEXT_LENGTH, Sampler.ARGMAX, null);
+
+        assertThat(running.await(10, TimeUnit.SECONDS)).isTrue();
+        scheduler.close();
+        closed.countDown();
+
+        assertClosed(runningSequence);
+        assertClosed(pendingSequence);
+        assertThatThrownBy(() -> scheduler.submit(model.createNewState(BATCH_SIZE), 0, randomTokens(3), Set.of(),
+                TinyLlama.CONTEXT_LENGTH, Sampler.ARGMAX, null))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private CompletableFuture<List<Integer>> submit(String name, List<Integer> prompt, int maxTokens,
+            Map<String, List<Integer>> streamed, IntConsumer onToken) {
+        List<Integer> tokens = new ArrayList<>();
+        streamed.put(name, tokens);
+        return scheduler.submit(model.createNewState(BATCH_SIZE), 0, prompt, Set.of(), maxTokens, Sampler.ARGMAX,
+                token -> {
+                    tokens.add(token);
+                    if (onToken != null) {
+                        onToken.accept(token);
+                    }
+                });
+    }
+
+    private void assertSequence(CompletableFuture<List<Integer>> result, List<Integer> streamed, List<Integer> prompt,
+            int maxTokens) throws Exception {
+        List<Integer> expected = Llama.generateTokens(model, model.createNewState(BATCH_SIZE), 0, prompt, Set.of(),
+                maxTokens, Sampler.ARGMAX, false, null);
+        assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo(expected);
+        assertThat(streamed).isEqualTo(expected);
+    }
+
+    private static void assertClosed(CompletableFuture<List<Integer>> result) {
+        assertThatThrownBy(() -> result.get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<Integer> randomTokens(int length) {
+        List<Integer> tokens = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            tokens.add(random.nextInt(TinyLlama.VOCABULARY_SIZE));
+        }
+        return tokens;
+    }
+}
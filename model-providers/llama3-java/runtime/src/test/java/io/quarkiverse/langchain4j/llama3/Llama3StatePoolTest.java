@@ -0,0 +1,124 @@
+package io.quarkiverse.langchain4j.llama3;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.langchain4j.llama3.copy.Llama;
+import io.quarkiverse.langchain4j.llama3.copy.TinyLlama;
+
+class Llama3StatePoolTest {
+
+    private static final int BATCH_SIZE = 4;
+
+    private final Llama model = TinyLlama.create(42);
+    private final long stateBytes = Llama3StatePool.estimateStateBytes(model.configuration(), BATCH_SIZE);
+
+    @Test
+    void reusesTheLongestCommonPrefix() {
+        Llama3StatePool pool = new Llama3StatePool(model, BATCH_SIZE, 4, 4 * stateBytes);
+        Llama.State longest = cache(pool, List.of(1, 2, 3), List.of(4, 5));
+        Llama.State shorter = cache(pool, List.of(1, 2), List.of(9));
+
+        Llama3StatePool.Lease lease = pool.acquire(List.of(1, 2, 3, 4, 6, 7));
+
+        // the last generated token is not part of the KV-cache
+        assertThat(lease.state()).isSameAs(longest);
+        assertThat(lease.cachedTokens()).isEqualTo(4);
+        // a state is handed out exclusively
+        assertThat(pool.size()).isEqualTo(1);
+        lease = pool.acquire(List.of(1, 2, 3, 4, 6, 7));
+        assertThat(lease.state()).isSameAs(shorter);
+        assertThat(lease.cachedTokens()).isEqualTo(2);
+    }
+
+    @Test
+    void alwaysLeavesOnePromptTokenToIngest() {
+        Llama3StatePool pool = new Llama3StatePool(model, BATCH_SIZE, 4, 4 * stateBytes);
+        Llama.State state = cache(pool, List.of(1, 2, 3), List.of(4, 5));
+
+        Llama3StatePool.Lease lease = pool.acquire(List.of(1, 2, 3));
+
+        assertThat(lease.state()).isSameAs(state);
+        assertThat(lease.cachedTokens()).isEqualTo(2);
+    }
+
+    @Test
+    void createsANewStateWithoutCommonPrefix() {
+        Llama3StatePool pool = new Llama3StatePool(model, BATCH_SIZE, 4, 4 * stateBytes);
+        Llama.State state = cache(pool, List.of(1, 2, 3), List.of(4));
+
+        Llama3StatePool.Lease lease = pool.acquire(List.of(2, 3));
+
+        assertThat(lease.state()).isNotSameAs(state);
+        assertThat(lease.cachedTokens()).isZero();
+        assertThat(pool.size()).isEqualTo(1);
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedStates() {
+        Llama3StatePool pool = new Llama3StatePool(model, BATCH_SIZE, 2, 10 * stateBytes);
+        cache(pool, List.of(1), List.of(1));
+        Llama.State second = cache(pool, List.of(2), List.of(2));
+        cache(pool, List.of(3), List.of(3));
+
+        assertThat(pool.size()).isEqualTo(2);
+        assertThat(pool.evictions()).isEqualTo(1);
+
+        // using the second state makes it the most recently used one
+        Llama3StatePool.Lease lease = pool.acquire(List.of(2, 2));
+        assertThat(lease.state()).isSameAs(second);
+        pool.release(lease, List.of(2, 2), List.of(2));
+        cache(pool, List.of(4), List.of(4));
+
+        assertThat(pool.evictions()).isEqualTo(2);
+        assertThat(pool.acquire(List.of(1, 1)).cachedTokens()).isZero();
+        assertThat(pool.acquire(List.of(3, 3)).cachedTokens()).isZero();
+        assertThat(pool.acquire(List.of(2, 2, 2)).state()).isSameAs(second);
+    }
+
+    @Test
+    void staysWithinTheByteBudget() {
+        Llama3StatePool pool = new Llama3StatePool(model, BATCH_SIZE, 10, 2 * stateBytes + stateBytes / 2);
+        for (int i = 0; i < 5; i++) {
+            cache(pool, List.of(i), List.of(i));
+        }
+
+        assertThat(pool.size()).isEqualTo(2);
+        assertThat(pool.sizeInBytes()).isEqualTo(2 * stateBytes);
+        assertThat(pool.evictions()).isEqualTo(3);
+    }
+
+    @Test
+    void doesNotCacheStatesLargerThanTheByteBudget() {
+        Llama3StatePool pool = new Llama3StatePool(model, BATCH_SIZE, 10, stateBytes - 1);
+        cache(pool, List.of(1, 2), List.of(3));
+
+        assertThat(pool.size()).isZero();
+        assertThat(pool.acquire(List.of(1, 2, 3)).cachedTokens()).isZero();
+    }
+
+    @Test
+    void countsHitsMissesAndReusedTokens() {
+        Llama3StatePool pool = new Llama3StatePool(model, BATCH_SIZE, 4, 4 * stateBytes);
+        cache(pool, List.of(1, 2, 3), List.of(4, 5));
+        pool.release(pool.acquire(List.of(1, 2, 3, 4, 5, 6)), List.of(1, 2, 3, 4, 5, 6), List.of(7));
+        pool.acquire(List.of(8));
+        pool.acquire(List.of(1, 2, 9));
+
+        assertThat(pool.hits()).isEqualTo(2);
+        assertThat(pool.misses()).isEqualTo(1);
+        assertThat(pool.reusedTokens()).isEqualTo(4 + 2);
+    }
+
+    /**
+     * Caches a new state, as if it had been used for the given prompt
+     */
+    private Llama.State cache(Llama3StatePool pool, List<Integer> promptTokens, List<Integer> generatedTokens) {
+        Llama3StatePool.Lease lease = new Llama3StatePool.Lease(model.createNewState(BATCH_SIZE), 0);
+        pool.release(lease, promptTokens, generatedTokens);
+        return lease.state();
+    }
+}
@@ -0,0 +1,281 @@
+package io.quarkiverse.langchain4j.llama3.copy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the tensors with scalar dequantizations written after the ones of llama.cpp: {@link FloatTensor#getFloat}
+ * must return exactly the same values, and the vectorized {@link FloatTensor#dot} the same dot products up to
+ * rounding errors.
+ */
+class FloatTensorTest {
+
+    private static final int QK_K = GGMLType.QK_K;
+    private static final ValueLayout.OfShort SHORT_LE = ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private final Random random = new Random(42);
+
+    @Test
+    void q4_K() {
+        int size = 8 * QK_K;
+        byte[] data = randomBytes(GGMLType.Q4_K, size);
+        for (int block = 0; block < size / QK_K; block++) {
+            int offset = block * GGMLType.Q4_K.getTypeSize();
+            setFloat16(data, offset, randomScale());
+            setFloat16(data, offset + Float16.BYTES, randomScale());
+        }
+
+        assertEquivalent(load(GGMLType.Q4_K, data, size), dequantizeQ4_K(data, size));
+    }
+
+    @Test
+    void q6_K() {
+        int size = 8 * QK_K;
+        byte[] data = randomBytes(GGMLType.Q6_K, size);
+        for (int block = 0; block < size / QK_K; block++) {
+            setFloat16(data, (block + 1) * GGMLType.Q6_K.getTypeSize() - Float16.BYTES, randomScale());
+        }
+
+        assertEquivalent(load(GGMLType.Q6_K, data, size), dequantizeQ6_K(data, size));
+    }
+
+    @Test
+    void f16() {
+        int size = 8 * QK_K;
+        byte[] data = new byte[size * Float16.BYTES];
+        for (int i = 0; i < size; i++) {
+            setFloat16(data, i * Float16.BYTES, (float) random.nextGaussian());
+        }
+        // zeros, subnormals and extremes, among the values checked by assertConvertedExactly
+        short[] specialValues = { 0x0000, (short) 0x8000, 0x0001, (short) 0x83FF, 0x0400, 0x7BFF, (short) 0xFBFF };
+        for (int i = 0; i < specialValues.length; i++) {
+            setShort(data, (64 + 3 * i + 1) * Float16.BYTES, specialValues[i]);
+        }
+        float[] expected = new float[size];
+        for (int i = 0; i < size; i++) {
+            expected[i] = Float.float16ToFloat(getShort(data, i * Float16.BYTES));
+        }
+
+        FloatTensor tensor = load(GGMLType.F16, data, size);
+        assertEquivalent(tensor, expected);
+        assertConvertedExactly(tensor, expected);
+
+        // infinities and NaNs
+        byte[] infinities = new byte[64 * Float16.BYTES];
+        for (int i = 0; i < 64; i++) {
+            setShort(infinities, i * Float16.BYTES, (short) 0xFC00);
+        }
+        assertThat(load(GGMLType.F16, infinities, 64).dot(0, ones(64), 0, 64)).isEqualTo(Float.NEGATIVE_INFINITY);
+        setShort(infinities, 0, (short) 0x7E00);
+        assertThat(load(GGMLType.F16, infinities, 64).dot(0, ones(64), 0, 64)).isNaN();
+    }
+
+    @Test
+    void bf16() {
+        int size = 8 * QK_K;
+        byte[] data = new byte[size * Float16.BYTES];
+        float[] expected = new float[size];
+        for (int i = 0; i < size; i++) {
+            short bits = (short) (Float.floatToRawIntBits((float) random.nextGaussian()) >>> 16);
+            setShort(data, i * Float16.BYTES, bits);
+            expected[i] = Float.intBitsToFloat(bits << 16);
+        }
+
+        FloatTensor tensor = load(GGMLType.BF16, data, size);
+        assertEquivalent(tensor, expected);
+        assertConvertedExactly(tensor, expected);
+    }
+
+    @Test
+    void f32() {
+        int size = 8 * QK_K + 3;
+        byte[] data = new byte[size * Float.BYTES];
+        float[] expected = new float[size];
+        MemorySegment view = MemorySegment.ofArray(data);
+        for (int i = 0; i < size; i++) {
+            expected[i] = (float) random.nextGaussian();
+            view.set(ValueLayout.JAVA_FLOAT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN), (long) i * Float.BYTES,
+                    expected[i]);
+        }
+
+        assertEquivalent(load(GGMLType.F32, data, size), expected);
+    }
+
+    @Test
+    void typeIdentifiers() {
+        assertThat(GGMLType.fromId(12)).isEqualTo(GGMLType.Q4_K);
+        assertThat(GGMLType.fromId(14)).isEqualTo(GGMLType.Q6_K);
+        assertThat(GGMLType.fromId(24)).isEqualTo(GGMLType.I8);
+        assertThat(GGMLType.fromId(30)).isEqualTo(GGMLType.BF16);
+        assertThat(GGMLType.Q4_K.getTypeSize()).isEqualTo(144);
+        assertThat(GGMLType.Q6_K.getTypeSize()).isEqualTo(210);
+    }
+
+    private void assertEquivalent(FloatTensor tensor, float[] expected) {
+        for (int i = 0; i < expected.length; i++) {
+            assertThat(tensor.getFloat(i)).as("value %d", i).isEqualTo(expected[i]);
+        }
+
+        ArrayFloatTensor values = randomValues(expected.length);
+        int rowSize = 2 * QK_K;
+        // whole rows, as in matmul
+        for (int row = 0; row < expected.length / rowSize; row++) {
+            assertDot(tensor, expected, values, row * rowSize, rowSize);
+        }
+        // unaligned start, partial blocks
+        assertDot(tensor, expected, values, 7, expected.length - 7);
+        assertDot(tensor, expected, values, QK_K, QK_K + 5);
+        assertDot(tensor, expected, values, 3, 40);
+    }
+
+    private static void assertDot(FloatTensor tensor, float[] expected, ArrayFloatTensor values, int offset, int size) {
+        double dot = 0;
+        double magnitude = 0;
+        for (int i = 0; i < size; i++) {
+            dot += (double) expected[offset + i] * values.getFloat(i);
+            magnitude += Math.abs((double) expected[offset + i] * values.getFloat(i));
+        }
+        assertThat((double) tensor.dot(offset, values, 0, size))
+                .as("dot(%d, %d)", offset, size)
+                .isCloseTo(dot, within(1e-5 * magnitude));
+    }
+
+    private static void assertConvertedExactly(FloatTensor tensor, float[] expected) {
+        // the dot products with the basis vectors are the values themselves
+        int size = 64;
+        for (int i = 0; i < size; i++) {
+            float[] basis = new float[size];
+            basis[i] = 1f;
+            assertThat(tensor.dot(size, new ArrayFloatTensor(basis), 0, size)).as("value %d", size + i)
+                    .isEqualTo(expected[size + i]);
+        }
+    }
+
+    private static FloatTensor load(GGMLType type, byte[] data, int size) {
+        // the tensors read the memory of native segments directly
+        MemorySegment segment = Arena.ofAuto().allocate(data.length, 64);
+        segment.copyFrom(MemorySegment.ofArray(data));
+        return ModelLoader.loadQuantized(new GGMLTensorEntry(segment, "tensor", type, new int[] { size }, segment));
+    }
+
+    private byte[] randomBytes(GGMLType type, int size) {
+        byte[] data = new byte[Math.toIntExact(type.byteSizeFor(size))];
+        random.nextBytes(data);
+        return data;
+    }
+
+    private float randomScale() {
+        return (random.nextFloat() - 0.5f) / 64;
+    }
+
+    private ArrayFloatTensor randomValues(int size) {
+        float[] values = new float[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = (float) random.nextGaussian();
+        }
+        return new ArrayFloatTensor(values);
+    }
+
+    private static ArrayFloatTensor ones(int size) {
+        float[] values = new float[size];
+        Arrays.fill(values, 1f);
+        return new ArrayFloatTensor(values);
+    }
+
+    private static short getShort(byte[] data, int offset) {
+        return MemorySegment.ofArray(data).get(SHORT_LE, offset);
+    }
+
+    private static void setShort(byte[] data, int offset, short value) {
+        MemorySegment.ofArray(data).set(SHORT_LE, offset, value);
+    }
+
+    private static void setFloat16(byte[] data, int offset, float value) {
+        setShort(data, offset, Float.floatToFloat16(value));
+    }
+
+    private static float getFloat16(byte[] data, int offset) {
+        return Float.float16ToFloat(getShort(data, offset));
+    }
+
+    // dequantize_row_q4_K
+    private static float[] dequantizeQ4_K(byte[] data, int size) {
+        float[] y = new float[size];
+        int yi = 0;
+        for (int block = 0; block < size / QK_K; block++) {
+            int x = block * GGMLType.Q4_K.getTypeSize();
+            float d = getFloat16(data, x);
+            float min = getFloat16(data, x + 2);
+            int scales = x + 4;
+            int q = x + 16;
+            int is = 0;
+            for (int j = 0; j < QK_K; j += 64) {
+                int[] scaleMin = scaleMinK4(is, data, scales);
+                float d1 = d * scaleMin[0];
+                float m1 = min * scaleMin[1];
+                scaleMin = scaleMinK4(is + 1, data, scales);
+                float d2 = d * scaleMin[0];
+                float m2 = min * scaleMin[1];
+                for (int l = 0; l < 32; ++l) {
+                    y[yi++] = d1 * (data[q + l] & 0xF) - m1;
+                }
+                for (int l = 0; l < 32; ++l) {
+                    y[yi++] = d2 * ((data[q + l] & 0xFF) >> 4) - m2;
+                }
+                q += 32;
+                is += 2;
+            }
+        }
+        return y;
+    }
+
+    // get_scale_min_k4
+    private static int[] scaleMinK4(int j, byte[] data, int q) {
+        if (j < 4) {
+            return new int[] { data[q + j] & 63, data[q + j + 4] & 63 };
+        }
+        return new int[] {
+                (data[q + j + 4] & 0xF) | (((data[q + j - 4] & 0xFF) >> 6) << 4),
+                ((data[q + j + 4] & 0xFF) >> 4) | (((data[q + j] & 0xFF) >> 6) << 4) };
+    }
+
+    // dequantize_row_q6_K
+    private static float[] dequantizeQ6_K(byte[] data, int size) {
+        float[] y = new float[size];
+        for (int block = 0; block < size / QK_K; block++) {
+            int x = block * GGMLType.Q6_K.getTypeSize();
+            float d = getFloat16(data, x + QK_K / 2 + QK_K / 4 + QK_K / 16);
+            int ql = x;
+            int qh = x + QK_K / 2;
+            int sc = x + QK_K / 2 + QK_K / 4;
+            int yi = block * QK_K;
+            for (int n = 0; n < QK_K; n += 128) {
+                for (int l = 0; l < 32; ++l) {
+                    int is = l / 16;
+                    int q1 = ((data[ql + l] & 0xF) | (((data[qh + l] & 0xFF) >> 0 & 3) << 4)) - 32;
+                    int q2 = ((data[ql + l + 32] & 0xF) | (((data[qh + l] & 0xFF) >> 2 & 3) << 4)) - 32;
+                    int q3 = (((data[ql + l] & 0xFF) >> 4) | (((data[qh + l] & 0xFF) >> 4 & 3) << 4)) - 32;
+                    int q4 = (((data[ql + l + 32] & 0xFF) >> 4) | (((data[qh + l] & 0xFF) >> 6 & 3) << 4)) - 32;
+                    y[yi + l] = d * data[sc + is] * q1;
+                    y[yi + l + 32] = d * data[sc + is + 2] * q2;
+                    y[yi + l + 64] = d * data[sc + is + 4] * q3;
+                    y[yi + l + 96] = d * data[sc + is + 6] * q4;
+                }
+                yi += 128;
+                ql += 64;
+                qh += 32;
+                sc += 8;
+            }
+        }
+        return y;
+    }
+}
@@ -0,0 +1,102 @@
+package io.quarkiverse.langchain4j.llama3.copy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the batched decoding step of several sequences computes the same logits as decoding each sequence on
+ * its own, whatever the position of the sequences and the way their prompts were ingested.
+ */
+class LlamaForwardBatchTest {
+
+    private static final int BATCH_SIZE = 4;
+
+    private final Llama model = TinyLlama.create(42);
+    private final Random random = new Random(7);
+
+    @Test
+    void forwardBatchMatchesForwardOfEachSequence() {
+        int[] promptLengths = { 1, 3, 9, 17 };
+        int nSequences = promptLengths.length;
+        Llama.State[] expected = new Llama.State[nSequences];
+        Llama.State[] actual = new Llama.State[nSequences];
+        int[] tokens = new int[nSequences];
+        int[] positions = new int[nSequences];
+        for (int s = 0; s < nSequences; s++) {
+            int[] prompt = randomTokens(promptLengths[s]);
+            tokens[s] = random.nextInt(TinyLlama.VOCABULARY_SIZE);
+            positions[s] = prompt.length;
+
+            // one token at a time, computing the logits at every step
+            expected[s] = model.createNewState(BATCH_SIZE);
+            for (int position = 0; position < prompt.length; position++) {
+                Llama.forward(model, expected[s], new int[] { prompt[position] }, position, true);
+            }
+            Llama.forward(model, expected[s], new int[] { tokens[s] }, prompt.length, true);
+
+            // in chunks, without the logits
+            actual[s] = model.createNewState(BATCH_SIZE);
+            for (int start = 0; start < prompt.length; start += BATCH_SIZE) {
+                int end = Math.min(prompt.length, start + BATCH_SIZE);
+                int[] chunk = new int[end - start];
+                System.arraycopy(prompt, start, chunk, 0, chunk.length);
+                Llama.forward(model, actual[s], chunk, start, false);
+            }
+        }
+
+        Llama.forwardBatch(model, actual, tokens, positions);
+
+        for (int s = 0; s < nSequences; s++) {
+            assertSameLogits(actual[s].logits, expected[s].logits);
+        }
+    }
+
+    @Test
+    void consecutiveStepsMatchForwardOfEachSequence() {
+        int nSequences = 3;
+        Llama.State[] expected = new Llama.State[nSequences];
+        Llama.State[] actual = new Llama.State[nSequences];
+        int[] positions = new int[nSequences];
+        for (int s = 0; s < nSequences; s++) {
+            int[] prompt = randomTokens(2 + 5 * s);
+            expected[s] = model.createNewState(BATCH_SIZE);
+            actual[s] = model.createNewState(BATCH_SIZE);
+            for (int position = 0; position < prompt.length; position++) {
+                Llama.forward(model, expected[s], new int[] { prompt[position] }, position, false);
+                Llama.forward(model, actual[s], new int[] { prompt[position] }, position, false);
+            }
+            positions[s] = prompt.length;
+        }
+
+        for (int step = 0; step < 5; step++) {
+            int[] tokens = randomTokens(nSequences);
+            for (int s = 0; s < nSequences; s++) {
+                Llama.forward(model, expected[s], new int[] { tokens[s] }, positions[s], true);
+            }
+            Llama.forwardBatch(model, actual, tokens, positions);
+            for (int s = 0; s < nSequences; s++) {
+                assertSameLogits(actual[s].logits, expected[s].logits);
+                positions[s]++;
+            }
+        }
+    }
+
+    private int[] randomTokens(int length) {
+        int[] tokens = new int[length];
+        for (int i = 0; i < length; i++) {
+            tokens[i] = random.nextInt(TinyLlama.VOCABULARY_SIZE);
+        }
+        return tokens;
+    }
+
+    private static void assertSameLogits(FloatTensor actual, FloatTensor expected) {
+        assertThat(actual.size()).isEqualTo(expected.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(actual.getFloat(i)).as("logit %d", i).isCloseTo(expected.getFloat(i), within(1e-4f));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package io.quarkiverse.langchain4j.llama3.copy;
+
+import java.nio.FloatBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Builds a model small enough to run in tests, with random weights, so that the different ways of running the
+ * transformer can be compared with each other.
+ */
+public final class TinyLlama {
+
+    public static final int VOCABULARY_SIZE = 64;
+    public static final int CONTEXT_LENGTH = 64;
+
+    private TinyLlama() {
+    }
+
+    public static Llama create(long seed) {
+        Random random = new Random(seed);
+        Llama.Configuration config = new Llama.Configuration(32, 64, 2, 4, 2, VOCABULARY_SIZE, CONTEXT_LENGTH, 1e-5f,
+                500000f);
+        int dim = config.dim;
+        int kvDim = (config.dim * config.numberOfKeyValueHeads) / config.numberOfHeads;
+        int layers = config.numberOfLayers;
+        Pair<float[], float[]> ropeFreqs = RoPE.precomputeFreqsCis(config.contextLength, config.headSize,
+                config.ropeTheta, false, 0, 0, 0, 0);
+        Llama.Weights weights = new Llama.Weights(
+                tensor(random, config.vocabularySize * dim),
+                buffers(random, layers, dim),
+                tensors(random, layers, dim * dim),
+                tensors(random, layers, kvDim * dim),
+                tensors(random, layers, kvDim * dim),
+                tensors(random, layers, dim * dim),
+                buffers(random, layers, dim),
+                tensors(random, layers, config.hiddenDim * dim),
+                tensors(random, layers, dim * config.hiddenDim),
+                tensors(random, layers, config.hiddenDim * dim),
+                buffer(random, dim),
+                FloatBuffer.wrap(ropeFreqs.first()),
+                FloatBuffer.wrap(ropeFreqs.second()),
+                tensor(random, config.vocabularySize * dim));
+
+        String[] tokens = new String[config.vocabularySize];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = "<|token_" + i + "|>";
+        }
+        Tokenizer tokenizer = new Tokenizer(new Vocabulary(tokens, null), List.of(), null,
+                Map.of("<|begin_of_text|>", 0));
+        return new Llama(config, tokenizer, weights);
+    }
+
+    private static FloatTensor tensor(Random random, int size) {
+        float[] values = new float[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = (float) random.nextGaussian() * 0.2f;
+        }
+        return new ArrayFloatTensor(values);
+    }
+
+    private static FloatTensor[] tensors(Random random, int count, int size) {
+        return generate(count, () -> tensor(random, size)).toArray(FloatTensor[]::new);
+    }
+
+    private static FloatBuffer buffer(Random random, int size) {
+        float[] values = new float[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = 1f + (float) random.nextGaussian() * 0.1f;
+        }
+        return FloatBuffer.wrap(values);
+    }
+
+    private static FloatBuffer[] buffers(Random random, int count, int size) {
+        return generate(count, () -> buffer(random, size)).toArray(FloatBuffer[]::new);
+    }
+
+    private static <T> Stream<T> generate(int count, Supplier<T> supplier) {
+        return Stream.generate(supplier).limit(count);
+    }
+}
@@ -0,0 +1,206 @@
+package io.quarkiverse.langchain4j.llama3.copy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the encoder of the {@link Tokenizer} with the straightforward implementation of minbpe it replaces, using a
+ * byte level vocabulary trained on a small corpus.
+ */
+class TokenizerTest {
+
+    private static final String LLAMA_3_PATTERN = "(?i:'s|'t|'re|'ve|'m|'ll|'d)|[^\\r\\n\\p{L}\\p{N}]?\\p{L}+|\\p{N}{1,3}| ?[^\\s\\p{L}\\p{N}]+[\\r\\n]*|\\s*[\\r\\n]+|\\s+(?!\\S)|\\s+";
+
+    private static final String CORPUS = """
+            Quarkus tailors your application for GraalVM and HotSpot. Amazingly fast boot time, incredibly low RSS
+            memory (not just heap size!) offering near instant scale up and high density memory utilization in container
+            orchestration platforms like Kubernetes. We use a technique we call compile time boot.
+            The car must be returned with a full tank, and any damage must be reported within 3 days of the end of the
+            rental. Cancellations made less than 11 days before the start of the rental are not refunded.
+            <|start_header_id|>user<|end_header_id|>
+
+            What are the rental conditions? Answer in 42 words or less, and don't make things up!
+            """;
+
+    private static final String[] WORDS = {
+            "the", "rental", "car", " Quarkus", "boot", "time", "memory", "don't", "we'll", "42", "1234567",
+            "été", "日本語", "😀", "naïve", "\n", "\n\n", "   ", "\t", "!!", "?", "...", "<|", "|>", "GraalVM", "HotSpot",
+            "aaaaaaaa", "tank,", "refunded." };
+
+    private static Vocabulary vocabulary;
+    private static Map<Pair<Integer, Integer>, Integer> mergeIndexes;
+    private static Tokenizer tokenizer;
+
+    @BeforeAll
+    static void trainVocabulary() {
+        List<String> tokens = new ArrayList<>();
+        Map<String, Integer> tokenToIndex = new HashMap<>();
+        for (int b = 0; b < 256; b++) {
+            String token = String.valueOf((char) Tokenizer.BYTE_ENCODER.get(b).intValue());
+            tokenToIndex.put(token, tokens.size());
+            tokens.add(token);
+        }
+
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (String chunk : chunks(byteEncode(CORPUS))) {
+            List<Integer> ids = new ArrayList<>();
+            for (char c : chunk.toCharArray()) {
+                ids.add(tokenToIndex.get(String.valueOf(c)));
+            }
+            chunks.add(ids);
+        }
+
+        List<Pair<Integer, Integer>> merges = new ArrayList<>();
+        mergeIndexes = new HashMap<>();
+        for (int i = 0; i < 300; i++) {
+            Map<Pair<Integer, Integer>, Integer> counts = new HashMap<>();
+            for (List<Integer> ids : chunks) {
+                for (int j = 0; j + 1 < ids.size(); j++) {
+                    counts.merge(new Pair<>(ids.get(j), ids.get(j + 1)), 1, Integer::sum);
+                }
+            }
+            // each merged token is only produced by a single pair, as in the Llama 3 vocabulary
+            Pair<Integer, Integer> best = counts.entrySet().stream()
+                    .filter(e -> !tokenToIndex.containsKey(tokens.get(e.getKey().first()) + tokens.get(e.getKey().second())))
+                    .max(Map.Entry.<Pair<Integer, Integer>, Integer> comparingByValue()
+                            .thenComparing(e -> -e.getKey().first())
+                            .thenComparing(e -> -e.getKey().second()))
+                    .map(Map.Entry::getKey)
+                    .orElse(null);
+            if (best == null) {
+                break;
+            }
+            String merged = tokens.get(best.first()) + tokens.get(best.second());
+            int index = tokens.size();
+            tokenToIndex.put(merged, index);
+            tokens.add(merged);
+            merges.add(best);
+            mergeIndexes.put(best, index);
+            chunks.replaceAll(ids -> referenceMerge(ids, best, index));
+        }
+
+        vocabulary = new Vocabulary(tokens.toArray(String[]::new), null, tokenToIndex);
+        tokenizer = new Tokenizer(vocabulary, merges, LLAMA_3_PATTERN, Map.of());
+    }
+
+    @Test
+    void encodesLikeTheReferenceImplementation() {
+        assertEncoding(CORPUS);
+        assertEncoding("");
+        assertEncoding("a");
+        assertEncoding("aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa");
+        assertEncoding("The rental conditions of the car are the rental conditions of the car.");
+        assertEncoding("Caractères accentués, 日本語のテキスト and emojis 😀😀 mixed with code: x += 1234567;\n\n");
+    }
+
+    @Test
+    void encodesRandomTextsLikeTheReferenceImplementation() {
+        Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            StringBuilder text = new StringBuilder();
+            int words = random.nextInt(200);
+            for (int j = 0; j < words; j++) {
+                if (random.nextInt(10) == 0) {
+                    // long chunks, which are not cached
+                    text.append(WORDS[random.nextInt(WORDS.length)].repeat(1 + random.nextInt(20)));
+                } else {
+                    text.append(WORDS[random.nextInt(WORDS.length)]);
+                }
+                if (random.nextBoolean()) {
+                    text.append(' ');
+                }
+            }
+            assertEncoding(text.toString());
+        }
+    }
+
+    @Test
+    void decodesEncodedTexts() {
+        String text = "Caractères accentués, 日本語 and emojis 😀 " + CORPUS;
+        List<Integer> tokens = tokenizer.encodeAsList(text);
+
+        assertThat(tokens.size()).isLessThan(text.getBytes(StandardCharsets.UTF_8).length / 2);
+        assertThat(tokenizer.decode(tokens)).isEqualTo(text);
+        assertThat(tokenizer.encodeOrdinary(byteEncode(text))).isEqualTo(tokens);
+    }
+
+    private static void assertEncoding(String text) {
+        int[] expected = referenceEncode(text);
+        assertThat(tokenizer.encode(text)).as(text).containsExactly(expected);
+        // the second time, the chunks are read from the cache
+        assertThat(tokenizer.encode(text)).as(text).containsExactly(expected);
+    }
+
+    private static String byteEncode(String text) {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : text.getBytes(StandardCharsets.UTF_8)) {
+            sb.appendCodePoint(Tokenizer.BYTE_ENCODER.get(Byte.toUnsignedInt(b)));
+        }
+        return sb.toString();
+    }
+
+    private static List<String> chunks(String text) {
+        List<String> chunks = new ArrayList<>();
+        Matcher matcher = Pattern.compile(LLAMA_3_PATTERN).matcher(text);
+        while (matcher.find()) {
+            chunks.add(matcher.group());
+        }
+        return chunks;
+    }
+
+    private static int[] referenceEncode(String text) {
+        List<Integer> ids = new ArrayList<>();
+        for (String chunk : chunks(byteEncode(text))) {
+            ids.addAll(referenceEncodeChunk(chunk));
+        }
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static List<Integer> referenceEncodeChunk(String chunk) {
+        List<Integer> ids = new ArrayList<>();
+        for (char c : chunk.toCharArray()) {
+            ids.add(vocabulary.getIndex(String.valueOf(c)).orElseThrow());
+        }
+        while (ids.size() >= 2) {
+            Map<Pair<Integer, Integer>, Integer> stats = new HashMap<>();
+            for (int i = 0; i + 1 < ids.size(); i++) {
+                stats.merge(new Pair<>(ids.get(i), ids.get(i + 1)), 1, Integer::sum);
+            }
+            Pair<Integer, Integer> pair = stats.keySet().stream()
+                    .min(Comparator.comparingInt(key -> mergeIndexes.getOrDefault(key, Integer.MAX_VALUE)))
+                    .orElseThrow();
+            if (!mergeIndexes.containsKey(pair)) {
+                break;
+            }
+            ids = referenceMerge(ids, pair, mergeIndexes.get(pair));
+        }
+        return ids;
+    }
+
+    private static List<Integer> referenceMerge(List<Integer> ids, Pair<Integer, Integer> pair, int index) {
+        List<Integer> merged = new ArrayList<>();
+        int i = 0;
+        while (i < ids.size()) {
+            if (ids.get(i).equals(pair.first()) && i < ids.size() - 1 && ids.get(i + 1).equals(pair.second())) {
+                merged.add(index);
+                i += 2;
+            } else {
+                merged.add(ids.get(i));
+                i += 1;
+            }
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,71 @@
+package io.quarkiverse.langchain4j.ollama.deployment;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.matchingJsonPath;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import io.quarkiverse.langchain4j.testing.internal.WiremockAware;
+import io.quarkus.test.QuarkusUnitTest;
+
+public class OllamaEmbeddingModelBatchingTest extends WiremockAware {
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class))
+            .overrideConfigKey("quarkus.langchain4j.ollama.base-url", WiremockAware.wiremockUrlForConfig())
+            .overrideConfigKey("quarkus.langchain4j.devservices.enabled", "false")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.ollama.embedding-model.batch-size", "2")
+            .overrideRuntimeConfigKey("quarkus.langchain4j.ollama.embedding-model.max-concurrent-batches", "2");
+
+    @Inject
+    EmbeddingModel embeddingModel;
+
+    @Test
+    void segmentsAreEmbeddedInOrderedBatches() {
+        // the first batch is the slowest one, so that its response is received last
+        stubBatch("a", 200, "[[1.0], [2.0]]");
+        stubBatch("c", 0, "[[3.0], [4.0]]");
+        stubBatch("e", 0, "[[5.0]]");
+
+        List<Embedding> embeddings = embeddingModel.embedAll(List.of(TextSegment.from("a"), TextSegment.from("b"),
+                TextSegment.from("c"), TextSegment.from("d"), TextSegment.from("e"))).content();
+
+        assertThat(embeddings).extracting(embedding -> embedding.vector()[0]).containsExactly(1f, 2f, 3f, 4f, 5f);
+        wiremock().verifyThat(3, postRequestedFor(urlEqualTo("/api/embed")));
+        wiremock().verifyThat(1, postRequestedFor(urlEqualTo("/api/embed"))
+                .withRequestBody(matchingJsonPath("$.input[1]", equalTo("b"))));
+        wiremock().verifyThat(1, postRequestedFor(urlEqualTo("/api/embed"))
+                .withRequestBody(matchingJsonPath("$.input[1]", equalTo("d"))));
+    }
+
+    private void stubBatch(String firstInput, int delay, String embeddings) {
+        wiremock().register(
+                post(urlEqualTo("/api/embed"))
+                        .withRequestBody(matchingJsonPath("$.input[0]", equalTo(firstInput)))
+                        .willReturn(aResponse()
+                                .withFixedDelay(delay)
+                                .withHeader("Content-Type", "application/json")
+                                .withBody("""
+                                        {
+                                          "model": "nomic-embed-text",
+                                          "embeddings": %s
+                                        }
+                                        """.formatted(embeddings))));
+    }
+}
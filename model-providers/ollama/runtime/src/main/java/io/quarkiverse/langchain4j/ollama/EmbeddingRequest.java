@@ -1,9 +1,11 @@
 package io.quarkiverse.langchain4j.ollama;
 
+import java.util.List;
+
 public class EmbeddingRequest {
 
     private final String model;
-    private final String input;
+    private final List<String> input;
 
     private EmbeddingRequest(Builder builder) {
         model = builder.model;
@@ -18,13 +20,13 @@ public class EmbeddingRequest {
         return model;
     }
 
-    public String getInput() {
+    public List<String> getInput() {
         return input;
     }
 
     public static final class Builder {
         private String model = "llama2";
-        private String input;
+        private List<String> input;
 
         private Builder() {
         }
@@ -35,6 +37,11 @@ public class EmbeddingRequest {
         }
 
         public Builder input(String val) {
+            input = List.of(val);
+            return this;
+        }
+
+        public Builder input(List<String> val) {
             input = val;
             return this;
         }
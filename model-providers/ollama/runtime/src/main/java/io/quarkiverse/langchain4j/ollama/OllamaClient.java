@@ -16,6 +16,7 @@ import io.quarkus.rest.client.reactive.QuarkusRestClientBuilder;
 import io.quarkus.tls.TlsConfiguration;
 import io.quarkus.tls.TlsConfigurationRegistry;
 import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
 
 public class OllamaClient {
 
@@ -61,4 +62,8 @@ public class OllamaClient {
     public EmbeddingResponse embedding(EmbeddingRequest request) {
         return restApi.embeddings(request);
     }
+
+    public Uni<EmbeddingResponse> embeddingAsync(EmbeddingRequest request) {
+        return restApi.embeddingsAsync(request);
+    }
 }
@@ -8,47 +8,92 @@ import dev.langchain4j.data.embedding.Embedding;
 import dev.langchain4j.data.segment.TextSegment;
 import dev.langchain4j.model.embedding.EmbeddingModel;
 import dev.langchain4j.model.output.Response;
+import io.smallrye.mutiny.Uni;
 
 public class OllamaEmbeddingModel implements EmbeddingModel {
 
     private final OllamaClient client;
     private final String model;
+    private final int batchSize;
+    private final int maxConcurrentBatches;
 
     private OllamaEmbeddingModel(Builder builder) {
+        if (builder.batchSize < 1 || builder.maxConcurrentBatches < 1) {
+            throw new IllegalArgumentException(
+                    "The batch size and the maximum number of concurrent batches must be strictly positive");
+        }
         client = new OllamaClient(builder.baseUrl, builder.timeout, builder.logRequests, builder.logResponses,
                 builder.configName, builder.tlsConfigurationName);
         model = builder.model;
+        batchSize = builder.batchSize;
+        maxConcurrentBatches = builder.maxConcurrentBatches;
     }
 
     public static Builder builder() {
         return new Builder();
     }
 
+    /**
+     * The segments are sent to {@code /api/embed} in batches of at most {@code batchSize} inputs. When
+     * {@code maxConcurrentBatches} is greater than one, up to that many batches are in flight at the same time.
+     */
     @Override
     public Response<List<Embedding>> embedAll(List<TextSegment> textSegments) {
-        List<Embedding> embeddings = new ArrayList<>();
-
-        textSegments.forEach(textSegment -> {
-            EmbeddingRequest request = EmbeddingRequest.builder()
-                    .model(model)
-                    .input(textSegment.text())
-                    .build();
+        List<List<String>> batches = new ArrayList<>();
+        for (int i = 0; i < textSegments.size(); i += batchSize) {
+            List<String> batch = new ArrayList<>(Math.min(batchSize, textSegments.size() - i));
+            for (TextSegment textSegment : textSegments.subList(i, Math.min(i + batchSize, textSegments.size()))) {
+                batch.add(textSegment.text());
+            }
+            batches.add(batch);
+        }
 
-            EmbeddingResponse response = client.embedding(request);
+        List<EmbeddingResponse> responses;
+        if (batches.size() <= 1 || maxConcurrentBatches == 1) {
+            responses = new ArrayList<>(batches.size());
+            for (List<String> batch : batches) {
+                responses.add(client.embedding(request(batch)));
+            }
+        } else {
+            List<Uni<EmbeddingResponse>> calls = new ArrayList<>(batches.size());
+            for (List<String> batch : batches) {
+                // the requests are only sent when subscribed to, so at most maxConcurrentBatches are in flight
+                calls.add(client.embeddingAsync(request(batch)));
+            }
+            // the responses are in the order of the batches, whatever the order in which they complete
+            responses = Uni.join().all(calls).usingConcurrencyOf(maxConcurrentBatches).andFailFast()
+                    .await().indefinitely();
+        }
 
-            for (float[] embedding : response.getEmbeddings()) {
+        List<Embedding> embeddings = new ArrayList<>(textSegments.size());
+        for (int i = 0; i < batches.size(); i++) {
+            float[][] batchEmbeddings = responses.get(i).getEmbeddings();
+            if (batchEmbeddings == null || batchEmbeddings.length != batches.get(i).size()) {
+                throw new IllegalStateException("Ollama returned %d embeddings for %d inputs".formatted(
+                        batchEmbeddings == null ? 0 : batchEmbeddings.length, batches.get(i).size()));
+            }
+            for (float[] embedding : batchEmbeddings) {
                 embeddings.add(Embedding.from(embedding));
             }
-        });
+        }
 
         return Response.from(embeddings);
     }
 
+    private EmbeddingRequest request(List<String> input) {
+        return EmbeddingRequest.builder()
+                .model(model)
+                .input(input)
+                .build();
+    }
+
     public static final class Builder {
         private String baseUrl = "http://localhost:11434";
         private String tlsConfigurationName;
         private Duration timeout = Duration.ofSeconds(10);
         private String model;
+        private int batchSize = 64;
+        private int maxConcurrentBatches = 1;
 
         private boolean logRequests = false;
         private boolean logResponses = false;
@@ -77,6 +122,16 @@ public class OllamaEmbeddingModel implements EmbeddingModel {
             return this;
         }
 
+        public Builder batchSize(int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        public Builder maxConcurrentBatches(int maxConcurrentBatches) {
+            this.maxConcurrentBatches = maxConcurrentBatches;
+            return this;
+        }
+
         public Builder logRequests(boolean logRequests) {
             this.logRequests = logRequests;
             return this;
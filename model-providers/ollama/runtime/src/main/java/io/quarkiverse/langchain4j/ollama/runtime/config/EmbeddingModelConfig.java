@@ -42,6 +42,18 @@ public interface EmbeddingModelConfig {
     @WithDefault("40")
     Integer topK();
 
+    /**
+     * Maximum number of inputs sent to Ollama in a single embedding request
+     */
+    @WithDefault("64")
+    Integer batchSize();
+
+    /**
+     * Maximum number of embedding requests sent concurrently when embedding more inputs than {@code batch-size}
+     */
+    @WithDefault("1")
+    Integer maxConcurrentBatches();
+
     /**
      * Whether embedding model requests should be logged
      */
@@ -0,0 +1,87 @@
+package org.acme.examples.aiservices;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.moderation.Moderation;
+import dev.langchain4j.model.moderation.ModerationModel;
+import io.quarkiverse.langchain4j.moderation.AsyncModerationModel;
+import io.quarkiverse.langchain4j.openai.testing.internal.OpenAiBaseTest;
+import io.quarkiverse.langchain4j.testing.internal.WiremockAware;
+import io.quarkus.test.QuarkusUnitTest;
+
+/**
+ * Runs the reactive moderation of the OpenAI moderation model with the default configuration, in particular the
+ * default {@code max-retries}.
+ */
+public class AsyncModerationModelTest extends OpenAiBaseTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(
+                    () -> ShrinkWrap.create(JavaArchive.class))
+            .overrideRuntimeConfigKey("quarkus.langchain4j.openai.base-url",
+                    WiremockAware.wiremockUrlForConfig("/v1"));
+
+    @Inject
+    ModerationModel moderationModel;
+
+    @BeforeEach
+    void reset() {
+        resetRequests();
+    }
+
+    @Test
+    void should_moderate_without_blocking() {
+        wiremock().register(post(urlEqualTo("/v1/moderations"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("""
+                                {
+                                    "id": "modr-8Bmx2bYNsgzuAsSuxaQRDCMKHgJbC",
+                                    "model": "text-moderation-006",
+                                    "results": [
+                                        { "flagged": false },
+                                        { "flagged": true }
+                                    ]
+                                }
+                                """)));
+
+        assertThat(moderationModel).isInstanceOf(AsyncModerationModel.class);
+        Moderation moderation = ((AsyncModerationModel) moderationModel)
+                .moderateAsync(List.of(UserMessage.from("I will hug you"), UserMessage.from("I WILL KILL YOU!!!")))
+                .await().atMost(Duration.ofSeconds(10));
+
+        assertThat(moderation.flagged()).isTrue();
+        assertThat(moderation.flaggedText()).isEqualTo("I WILL KILL YOU!!!");
+        wiremock().verifyThat(1, postRequestedFor(urlEqualTo("/v1/moderations")));
+    }
+
+    @Test
+    void should_not_retry_with_the_default_max_retries() {
+        wiremock().register(post(urlEqualTo("/v1/moderations"))
+                .willReturn(aResponse().withStatus(500)));
+
+        assertThatThrownBy(() -> ((AsyncModerationModel) moderationModel)
+                .moderateAsync(List.of(UserMessage.from("I will hug you")))
+                .await().atMost(Duration.ofSeconds(10)))
+                .isNotInstanceOf(IllegalArgumentException.class);
+        wiremock().verifyThat(1, postRequestedFor(urlEqualTo("/v1/moderations")));
+    }
+}
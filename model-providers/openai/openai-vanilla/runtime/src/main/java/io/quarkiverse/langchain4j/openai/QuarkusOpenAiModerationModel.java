@@ -0,0 +1,76 @@
+package io.quarkiverse.langchain4j.openai;
+
+import java.util.List;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.moderation.Moderation;
+import dev.langchain4j.model.openai.OpenAiModerationModel;
+import dev.langchain4j.model.openai.internal.moderation.ModerationRequest;
+import dev.langchain4j.model.openai.internal.moderation.ModerationResponse;
+import dev.langchain4j.model.openai.internal.moderation.ModerationResult;
+import io.quarkiverse.langchain4j.moderation.AsyncModerationModel;
+import io.quarkiverse.langchain4j.openai.common.QuarkusOpenAiClient;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * {@link OpenAiModerationModel} that is also able to moderate messages without blocking the calling thread,
+ * by using the reactive variant of the {@link QuarkusOpenAiClient}.
+ */
+public class QuarkusOpenAiModerationModel extends OpenAiModerationModel implements AsyncModerationModel {
+
+    private final int maxRetries;
+    private final QuarkusOpenAiClient client;
+
+    QuarkusOpenAiModerationModel(QuarkusOpenAiModerationModelBuilderFactory.Builder builder, QuarkusOpenAiClient client) {
+        super(builder);
+        this.maxRetries = builder.maxRetries == null ? 1 : Math.max(1, builder.maxRetries);
+        this.client = client;
+    }
+
+    @Override
+    public Uni<Moderation> moderateAsync(List<ChatMessage> messages) {
+        List<String> inputs = messages.stream().map(QuarkusOpenAiModerationModel::toText).toList();
+        ModerationRequest request = ModerationRequest.builder()
+                .model(modelName())
+                .input(inputs)
+                .build();
+
+        Uni<ModerationResponse> response = Uni.createFrom().emitter(emitter -> client.moderation(request)
+                .onResponse(emitter::complete)
+                .onError(emitter::fail)
+                .execute());
+        // max-retries counts the first attempt, like the blocking variant
+        if (maxRetries > 1) {
+            response = response.onFailure().retry().atMost(maxRetries - 1);
+        }
+        return response.map(r -> toModeration(r, inputs));
+    }
+
+    private static Moderation toModeration(ModerationResponse response, List<String> inputs) {
+        List<ModerationResult> results = response.results();
+        for (int i = 0; i < results.size(); i++) {
+            if (Boolean.TRUE.equals(results.get(i).isFlagged())) {
+                return Moderation.flagged(inputs.get(i));
+            }
+        }
+        return Moderation.notFlagged();
+    }
+
+    private static String toText(ChatMessage chatMessage) {
+        if (chatMessage instanceof SystemMessage systemMessage) {
+            return systemMessage.text();
+        } else if (chatMessage instanceof UserMessage userMessage) {
+            return userMessage.singleText();
+        } else if (chatMessage instanceof AiMessage aiMessage) {
+            return aiMessage.text();
+        } else if (chatMessage instanceof ToolExecutionResultMessage toolExecutionResultMessage) {
+            return toolExecutionResultMessage.text();
+        } else {
+            throw new IllegalArgumentException("Unsupported message type: " + chatMessage.type());
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package io.quarkiverse.langchain4j.openai;
 
+import static dev.langchain4j.internal.Utils.getOrDefault;
+import static dev.langchain4j.model.openai.internal.OpenAiUtils.DEFAULT_USER_AGENT;
+
 import java.net.Proxy;
+import java.time.Duration;
 
 import dev.langchain4j.model.openai.OpenAiModerationModel;
 import dev.langchain4j.model.openai.spi.OpenAiModerationModelBuilderFactory;
+import io.quarkiverse.langchain4j.openai.common.QuarkusOpenAiClient;
 import io.quarkiverse.langchain4j.openai.common.runtime.AdditionalPropertiesHack;
 
 public class QuarkusOpenAiModerationModelBuilderFactory implements OpenAiModerationModelBuilderFactory {
@@ -17,6 +22,13 @@ public class QuarkusOpenAiModerationModelBuilderFactory implements OpenAiModerat
 
         private String configName;
         private String tlsConfigurationName;
+        private String baseUrl;
+        private String apiKey;
+        private String organizationId;
+        private Duration timeout;
+        private Boolean logRequests;
+        private Boolean logResponses;
+        Integer maxRetries;
 
         private Proxy proxy;
 
@@ -35,11 +47,79 @@ public class QuarkusOpenAiModerationModelBuilderFactory implements OpenAiModerat
             return this;
         }
 
+        @Override
+        public Builder baseUrl(String baseUrl) {
+            this.baseUrl = baseUrl;
+            super.baseUrl(baseUrl);
+            return this;
+        }
+
+        @Override
+        public Builder apiKey(String apiKey) {
+            this.apiKey = apiKey;
+            super.apiKey(apiKey);
+            return this;
+        }
+
+        @Override
+        public Builder organizationId(String organizationId) {
+            this.organizationId = organizationId;
+            super.organizationId(organizationId);
+            return this;
+        }
+
+        @Override
+        public Builder timeout(Duration timeout) {
+            this.timeout = timeout;
+            super.timeout(timeout);
+            return this;
+        }
+
+        @Override
+        public Builder maxRetries(Integer maxRetries) {
+            this.maxRetries = maxRetries;
+            super.maxRetries(maxRetries);
+            return this;
+        }
+
+        @Override
+        public Builder logRequests(Boolean logRequests) {
+            this.logRequests = logRequests;
+            super.logRequests(logRequests);
+            return this;
+        }
+
+        @Override
+        public Builder logResponses(Boolean logResponses) {
+            this.logResponses = logResponses;
+            super.logResponses(logResponses);
+            return this;
+        }
+
         @Override
         public OpenAiModerationModel build() {
             AdditionalPropertiesHack.setConfigName(configName);
             AdditionalPropertiesHack.setTlsConfigurationName(tlsConfigurationName);
-            return super.build();
+            return new QuarkusOpenAiModerationModel(this, reactiveClient());
+        }
+
+        /**
+         * Builds the client used for the reactive calls with the same settings as the client that the constructor of
+         * {@link OpenAiModerationModel} builds for the blocking ones, so that both share the same REST client.
+         */
+        private QuarkusOpenAiClient reactiveClient() {
+            return QuarkusOpenAiClient.builder()
+                    .baseUrl(getOrDefault(baseUrl, "https://api.openai.com/v1"))
+                    .apiKey(apiKey)
+                    .organizationId(organizationId)
+                    .connectTimeout(getOrDefault(timeout, Duration.ofSeconds(15)))
+                    .readTimeout(getOrDefault(timeout, Duration.ofSeconds(60)))
+                    .logRequests(getOrDefault(logRequests, false))
+                    .logResponses(getOrDefault(logResponses, false))
+                    .userAgent(DEFAULT_USER_AGENT)
+                    .configName(configName)
+                    .tlsConfigurationName(tlsConfigurationName)
+                    .build();
         }
     }
 }
@@ -1,10 +1,14 @@
 package io.quarkiverse.langchain4j.watsonx.deployment;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.deleteRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.matching;
+import static com.github.tomakehurst.wiremock.client.WireMock.matchingJsonPath;
 import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.putRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
 import static com.github.tomakehurst.wiremock.http.RequestMethod.DELETE;
 import static com.github.tomakehurst.wiremock.http.RequestMethod.GET;
@@ -27,6 +31,9 @@ import static io.quarkiverse.langchain4j.watsonx.deployment.WireMockUtil.URL_WAT
 import static io.quarkiverse.langchain4j.watsonx.deployment.WireMockUtil.VERSION;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -38,11 +45,18 @@ import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import org.jboss.resteasy.reactive.client.api.LoggingScope;
 import org.jboss.shrinkwrap.api.ShrinkWrap;
@@ -50,6 +64,7 @@ import org.jboss.shrinkwrap.api.spec.JavaArchive;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
 
 import com.github.tomakehurst.wiremock.stubbing.Scenario;
 
@@ -71,6 +86,7 @@ import io.quarkiverse.langchain4j.watsonx.exception.COSException;
 import io.quarkiverse.langchain4j.watsonx.exception.TextExtractionException;
 import io.quarkiverse.langchain4j.watsonx.exception.WatsonxException;
 import io.quarkiverse.langchain4j.watsonx.runtime.TextExtraction;
+import io.quarkiverse.langchain4j.watsonx.runtime.TextExtraction.ExtractionResult;
 import io.quarkiverse.langchain4j.watsonx.runtime.TextExtraction.Parameters;
 import io.quarkiverse.langchain4j.watsonx.runtime.TokenGenerationCache;
 import io.quarkiverse.langchain4j.watsonx.runtime.TokenGenerator;
@@ -81,6 +97,8 @@ public class TextExtractionTest extends WireMockAbstract {
 
     static String CONNECTION_ID = "my-connection-id";
     static String BUCKET_NAME = "my-bucket-name";
+    // the prefix of the names of the files uploaded by uploadExtractAndFetchAll
+    static String UUID_PREFIX = "[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}-";
     static String FILE_NAME = "test.pdf";
     static String PROCESS_EXTRACTION_ID = "my-id";
 
@@ -1091,6 +1109,114 @@ public class TextExtractionTest extends WireMockAbstract {
         assertDoesNotThrow(() -> textExtraction.deleteFile(BUCKET_NAME, FILE_NAME));
     }
 
+    @Test
+    void uploadExtractAndFetchAllTest(@TempDir Path folder) throws Exception {
+
+        List<File> files = List.of(
+                createFile(folder, "first.pdf", "first document"),
+                createFile(folder, "second.pdf", "second document"),
+                createFile(folder, "third.pdf", "third document"));
+
+        for (File file : files)
+            mockExtraction(file.getName(), "completed");
+
+        Map<String, ExtractionResult> results = textExtraction.uploadExtractAndFetchAll(files)
+                .collect().asList()
+                .await().atMost(Duration.ofSeconds(10))
+                .stream().collect(Collectors.toMap(result -> result.file().getFileName().toString(), Function.identity()));
+
+        assertEquals(3, results.size());
+        for (File file : files) {
+            ExtractionResult result = results.get(file.getName());
+            assertTrue(result.succeeded());
+            assertEquals("Hello " + file.getName(), result.text());
+            cosServer.verify(1, putRequestedFor(urlMatching(uploadedFileUrl(file.getName())))
+                    .withHeader("Content-Length", equalTo(String.valueOf(file.length())))
+                    .withRequestBody(equalTo(Files.readString(file.toPath()))));
+        }
+        watsonxServer.verify(3, postRequestedFor(urlPathEqualTo("/ml/v1/text/extractions")));
+    }
+
+    @Test
+    void uploadExtractAndFetchAllKeepsGoingAfterAFailureTest(@TempDir Path folder) throws Exception {
+
+        File file = createFile(folder, "first.pdf", "first document");
+        File missingFile = folder.resolve("missing.pdf").toFile();
+        File runningFile = createFile(folder, "running.pdf", "running document");
+        mockExtraction(file.getName(), "completed");
+        mockExtraction(runningFile.getName(), "running");
+
+        Map<String, ExtractionResult> results = textExtraction
+                .uploadExtractAndFetchAll(List.of(missingFile, runningFile, file), Parameters.builder()
+                        .timeout(Duration.ofMillis(500))
+                        .build())
+                .collect().asList()
+                .await().atMost(Duration.ofSeconds(10))
+                .stream().collect(Collectors.toMap(result -> result.file().getFileName().toString(), Function.identity()));
+
+        assertEquals(3, results.size());
+        assertEquals("Hello first.pdf", results.get("first.pdf").text());
+
+        ExtractionResult missing = results.get("missing.pdf");
+        assertFalse(missing.succeeded());
+        assertEquals("file_not_found", assertInstanceOf(TextExtractionException.class, missing.failure()).getCode());
+
+        ExtractionResult running = results.get("running.pdf");
+        assertFalse(running.succeeded());
+        var ex = assertInstanceOf(TextExtractionException.class, running.failure());
+        assertEquals("timeout", ex.getCode());
+        assertEquals("Execution to extract running.pdf file took longer than the timeout set by 500 milliseconds",
+                ex.getMessage());
+
+        cosServer.verify(0, putRequestedFor(urlMatching(uploadedFileUrl("missing.pdf"))));
+        watsonxServer.verify(2, postRequestedFor(urlPathEqualTo("/ml/v1/text/extractions")));
+    }
+
+    @Test
+    void uploadExtractAndFetchAllWithTheSameNameTest(@TempDir Path folder) throws Exception {
+
+        File first = createFile(Files.createDirectory(folder.resolve("first")), "same.pdf", "first document");
+        File second = createFile(Files.createDirectory(folder.resolve("second")), "same.pdf", "second document");
+        mockExtraction("same.pdf", "completed");
+
+        List<ExtractionResult> results = textExtraction.uploadExtractAndFetchAll(List.of(first, second))
+                .collect().asList()
+                .await().atMost(Duration.ofSeconds(10));
+
+        assertEquals(2, results.size());
+        assertTrue(results.stream().allMatch(ExtractionResult::succeeded));
+
+        // each file is uploaded under its own name, and its text is extracted to its own output file
+        var uploads = cosServer.findAll(putRequestedFor(urlMatching(uploadedFileUrl("same.pdf"))));
+        assertEquals(2, uploads.size());
+        assertNotEquals(uploads.get(0).getUrl(), uploads.get(1).getUrl());
+        var outputs = cosServer.findAll(getRequestedFor(urlMatching(uploadedFileUrl("same.md"))));
+        assertEquals(2, outputs.size());
+        assertNotEquals(outputs.get(0).getUrl(), outputs.get(1).getUrl());
+        for (var upload : uploads) {
+            String outputUrl = upload.getUrl().replace(".pdf", ".md");
+            assertTrue(outputs.stream().anyMatch(output -> output.getUrl().equals(outputUrl)));
+        }
+    }
+
+    @Test
+    void uploadExtractAndFetchAllNotAllowedTest(@TempDir Path folder) throws Exception {
+
+        List<File> files = List.of(createFile(folder, "first.pdf", "first document"));
+
+        var failure = assertThrows(CompletionException.class,
+                () -> textExtraction.uploadExtractAndFetchAll(files, Parameters.builder().types(MD, JSON).build())
+                        .collect().asList()
+                        .await().atMost(Duration.ofSeconds(10)));
+        var ex = assertInstanceOf(TextExtractionException.class, failure.getCause());
+        assertEquals("fetch_operation_not_allowed", ex.getCode());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> textExtraction.uploadExtractAndFetchAll(files, Parameters.builder().outputFileName("out.md").build())
+                        .collect().asList()
+                        .await().atMost(Duration.ofSeconds(10)));
+    }
+
     private void mockServers(TextExtractionRequest body, String outputFileName, boolean deleteUploadedFile,
             boolean deleteOutputFile) {
         // Mock the upload local file operation.
@@ -1124,6 +1250,45 @@ public class TextExtractionTest extends WireMockAbstract {
                 .build();
     }
 
+    private File createFile(Path folder, String fileName, String content) throws Exception {
+        return Files.writeString(folder.resolve(fileName), content).toFile();
+    }
+
+    private void mockExtraction(String fileName, String status) {
+        String outputFileName = fileName.replace(".pdf", ".md");
+        String uploadedFileNameRegex = UUID_PREFIX + Pattern.quote(fileName);
+        String outputFileNameRegex = UUID_PREFIX + Pattern.quote(outputFileName);
+        String id = "id-" + fileName;
+
+        TextExtractionRequest body = TextExtractionRequest.builder()
+                .documentReference(TextExtractionDataReference.of(CONNECTION_ID, fileName, BUCKET_NAME))
+                .resultsReference(TextExtractionDataReference.of(CONNECTION_ID, outputFileName, BUCKET_NAME))
+                .parameters(new TextExtractionParameters(List.of(MD), null, null, null, null, null, null))
+                .projectId(PROJECT_ID)
+                .spaceId(null)
+                .build();
+
+        mockCosBuilderMatching(PUT, BUCKET_NAME, uploadedFileNameRegex, 200).build();
+
+        mockCosBuilderMatching(GET, BUCKET_NAME, outputFileNameRegex, 200)
+                .response("Hello " + fileName)
+                .build();
+
+        mockTextExtractionBuilder(POST, URL_WATSONX_TEXT_EXTRACTION_START_API, 200)
+                .response(body, id, "submitted")
+                .body(matchingJsonPath("$.document_reference.location.file_name", matching(uploadedFileNameRegex)))
+                .body(matchingJsonPath("$.results_reference.location.file_name", matching(outputFileNameRegex)))
+                .build();
+
+        mockTextExtractionBuilder(GET, URL_WATSONX_TEXT_EXTRACTION_RESULT_API.formatted(id, PROJECT_ID, VERSION), 200)
+                .response(body, id, status)
+                .build();
+    }
+
+    private String uploadedFileUrl(String fileName) {
+        return "/%s/%s%s".formatted(BUCKET_NAME, UUID_PREFIX, Pattern.quote(fileName));
+    }
+
     private TextExtractionRequest createDefaultRequest() {
         return TextExtractionRequest.builder()
                 .documentReference(TextExtractionDataReference.of(CONNECTION_ID, FILE_NAME, BUCKET_NAME))
@@ -12,6 +12,7 @@ import static com.github.tomakehurst.wiremock.client.WireMock.post;
 import static com.github.tomakehurst.wiremock.client.WireMock.put;
 import static com.github.tomakehurst.wiremock.client.WireMock.trace;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
 import static io.quarkiverse.langchain4j.watsonx.deployment.WireMockUtil.API_KEY;
 import static io.quarkiverse.langchain4j.watsonx.deployment.WireMockUtil.BEARER_TOKEN;
@@ -40,6 +41,7 @@ import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.client.MappingBuilder;
 import com.github.tomakehurst.wiremock.http.RequestMethod;
 import com.github.tomakehurst.wiremock.matching.StringValuePattern;
+import com.github.tomakehurst.wiremock.matching.UrlPattern;
 import com.github.tomakehurst.wiremock.stubbing.StubMapping;
 
 import io.quarkiverse.langchain4j.watsonx.bean.TextExtractionRequest;
@@ -150,6 +152,13 @@ public abstract class WireMockAbstract {
         return new CosBuilder(method, "/%s/%s".formatted(bucketName, fileName), status, "");
     }
 
+    /**
+     * Builder to mock the Cloud Object Storage server, for the files whose name matches a regular expression.
+     */
+    public CosBuilder mockCosBuilderMatching(RequestMethod method, String bucketName, String fileNameRegex, int status) {
+        return new CosBuilder(method, urlMatching("/%s/%s".formatted(bucketName, fileNameRegex)), status);
+    }
+
     /**
      * Builder to mock the Watsonx.ai server for the text extraction api.
      */
@@ -166,15 +175,19 @@ public abstract class WireMockAbstract {
         private int status;
 
         protected ServerBuilder(RequestMethod method, String apiURL, int status, String version) {
+            this(method, urlEqualTo(apiURL.formatted(version)), status);
+        }
+
+        protected ServerBuilder(RequestMethod method, UrlPattern urlPattern, int status) {
             this.builder = switch (method.getName()) {
-                case "GET" -> get(urlEqualTo(apiURL.formatted(version)));
-                case "POST" -> post(urlEqualTo(apiURL.formatted(version)));
-                case "PUT" -> put(urlEqualTo(apiURL.formatted(version)));
-                case "DELETE" -> delete(urlEqualTo(apiURL.formatted(version)));
-                case "PATCH" -> patch(urlEqualTo(apiURL.formatted(version)));
-                case "OPTIONS" -> options(urlEqualTo(apiURL.formatted(version)));
-                case "HEAD" -> head(urlEqualTo(apiURL.formatted(version)));
-                case "TRACE" -> trace(urlEqualTo(apiURL.formatted(version)));
+                case "GET" -> get(urlPattern);
+                case "POST" -> post(urlPattern);
+                case "PUT" -> put(urlPattern);
+                case "DELETE" -> delete(urlPattern);
+                case "PATCH" -> patch(urlPattern);
+                case "OPTIONS" -> options(urlPattern);
+                case "HEAD" -> head(urlPattern);
+                case "TRACE" -> trace(urlPattern);
                 default -> throw new IllegalArgumentException("Unknown request method: " + method);
             };
             this.status = status;
@@ -345,6 +358,11 @@ public abstract class WireMockAbstract {
             super.responseMediaType = MediaType.APPLICATION_XML;
         }
 
+        protected CosBuilder(RequestMethod method, UrlPattern urlPattern, int status) {
+            super(method, urlPattern, status);
+            super.responseMediaType = MediaType.APPLICATION_XML;
+        }
+
         @Override
         public StubMapping build() {
             return cosServer.stubFor(
@@ -5,6 +5,7 @@ import java.io.InputStream;
 import jakarta.ws.rs.DELETE;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.HEAD;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
@@ -23,11 +24,24 @@ public interface COSRestApi {
     public Response createFile(@PathParam("bucketName") String bucketName,
             @PathParam("fileName") String fileName, InputStream is);
 
+    /**
+     * Uploads a local file, the body is read with non-blocking file I/O.
+     */
+    @PUT
+    @Path("{bucketName}/{fileName}")
+    Uni<Response> uploadFile(@PathParam("bucketName") String bucketName,
+            @PathParam("fileName") String fileName, @HeaderParam("Content-Length") long contentLength, java.nio.file.Path file);
+
     @GET
     @Path("{bucketName}/{fileName}")
     public String getFileContent(@PathParam("bucketName") String bucketName,
             @PathParam("fileName") String fileName);
 
+    @GET
+    @Path("{bucketName}/{fileName}")
+    Uni<String> readFileContent(@PathParam("bucketName") String bucketName,
+            @PathParam("fileName") String fileName);
+
     @DELETE
     @Path("{bucketName}/{fileName}")
     Uni<Response> deleteFile(@PathParam("bucketName") String bucketName,
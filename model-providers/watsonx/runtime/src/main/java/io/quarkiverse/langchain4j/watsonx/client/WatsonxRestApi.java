@@ -34,6 +34,7 @@ import io.quarkiverse.langchain4j.watsonx.exception.WatsonxException;
 import io.quarkus.rest.client.reactive.ClientExceptionMapper;
 import io.quarkus.rest.client.reactive.jackson.ClientObjectMapper;
 import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
 
 /**
  * This Microprofile REST client is used as the building block of all the API calls to watsonx. The implementation is provided
@@ -94,6 +95,18 @@ public interface WatsonxRestApi {
             @QueryParam("project_id") String projectId,
             @QueryParam("version") String version);
 
+    @POST
+    @Path("/text/extractions")
+    Uni<TextExtractionResponse> startTextExtractionJobAsync(TextExtractionRequest request,
+            @QueryParam("version") String version);
+
+    @GET
+    @Path("text/extractions/{id}")
+    Uni<TextExtractionResponse> getTextExtractionDetailsAsync(@PathParam("id") String id,
+            @QueryParam("space_id") String spaceId,
+            @QueryParam("project_id") String projectId,
+            @QueryParam("version") String version);
+
     @ClientExceptionMapper
     static WatsonxException toException(jakarta.ws.rs.core.Response response) {
         MediaType mediaType = response.getMediaType();
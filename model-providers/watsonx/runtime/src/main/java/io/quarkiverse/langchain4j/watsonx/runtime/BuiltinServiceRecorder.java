@@ -178,7 +178,8 @@ public class BuiltinServiceRecorder {
                                 apiKey,
                                 iamConfig.baseUrl(),
                                 iamConfig.grantType(),
-                                iamConfig.timeout().orElse(Duration.ofSeconds(10)))))
+                                iamConfig.timeout().orElse(Duration.ofSeconds(10)),
+                                iamConfig.tokenRefreshRatio())))
                 .readTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
                 .connectTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
 
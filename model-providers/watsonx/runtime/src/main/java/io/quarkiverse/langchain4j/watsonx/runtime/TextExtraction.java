@@ -12,13 +12,18 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import jakarta.ws.rs.core.Response;
 
@@ -39,6 +44,13 @@ import io.quarkiverse.langchain4j.watsonx.client.COSRestApi;
 import io.quarkiverse.langchain4j.watsonx.client.WatsonxRestApi;
 import io.quarkiverse.langchain4j.watsonx.exception.COSException;
 import io.quarkiverse.langchain4j.watsonx.exception.TextExtractionException;
+import io.quarkus.arc.Arc;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.file.FileProps;
 
 /**
  * This class provides methods for extracting text from high-value business documents, making them more accessible to AI models
@@ -79,11 +91,31 @@ public class TextExtraction {
         }
     };
 
+    /**
+     * The result of the text extraction of a local file by {@code uploadExtractAndFetchAll}.
+     *
+     * @param file The local file.
+     * @param text The text extracted, {@code null} if the extraction failed.
+     * @param failure The reason why the extraction failed, {@code null} if it succeeded.
+     */
+    public record ExtractionResult(Path file, String text, Throwable failure) {
+        public boolean succeeded() {
+            return isNull(failure);
+        }
+    }
+
+    /**
+     * The default maximum number of files processed at the same time by {@code uploadExtractAndFetchAll}.
+     */
+    public static final int DEFAULT_MAX_CONCURRENCY = 4;
+
     final private WatsonxRestApi watsonxClient;
     final private COSRestApi cosClient;
     final private Reference documentReference;
     final private Reference resultReference;
     final private String projectId, spaceId, version;
+    final private int maxConcurrency;
+    private Vertx vertx;
 
     /**
      * Constructs a {@code TextExtraction} instance with the required parameters to perform text extraction from documents
@@ -106,6 +138,23 @@ public class TextExtraction {
             Reference documentReference, Reference resultReference,
             String projectId, String spaceId, String version,
             COSRestApi cosClient, WatsonxRestApi watsonxClient) {
+        this(documentReference, resultReference, projectId, spaceId, version, cosClient, watsonxClient, null,
+                DEFAULT_MAX_CONCURRENCY);
+    }
+
+    /**
+     * Constructs a {@code TextExtraction} instance, see
+     * {@link #TextExtraction(Reference, Reference, String, String, String, COSRestApi, WatsonxRestApi)}.
+     *
+     * @param vertx The Vert.x instance whose timers are used to poll the status of the extraction jobs, the one of the
+     *        application if {@code null}.
+     * @param maxConcurrency The maximum number of files processed at the same time by {@code uploadExtractAndFetchAll}.
+     */
+    public TextExtraction(
+            Reference documentReference, Reference resultReference,
+            String projectId, String spaceId, String version,
+            COSRestApi cosClient, WatsonxRestApi watsonxClient,
+            Vertx vertx, int maxConcurrency) {
 
         requireNonNull(cosClient);
         requireNonNull(documentReference);
@@ -119,6 +168,11 @@ public class TextExtraction {
         this.version = version;
         this.cosClient = cosClient;
         this.watsonxClient = watsonxClient;
+        this.vertx = vertx;
+
+        if (maxConcurrency < 1)
+            throw new IllegalArgumentException("The maximum concurrency must be at least 1");
+        this.maxConcurrency = maxConcurrency;
     }
 
     /**
@@ -303,14 +357,7 @@ public class TextExtraction {
      */
     public String extractAndFetch(String absolutePath, Parameters parameters) throws TextExtractionException {
         requireNonNull(parameters);
-        if (parameters.types.size() > 1) {
-            throw new TextExtractionException("fetch_operation_not_allowed",
-                    "The fetch operation cannot be executed if more than one file is to be generated");
-        }
-        if (parameters.types.size() == 1 && parameters.types.get(0).equals(PAGE_IMAGES)) {
-            throw new TextExtractionException("fetch_operation_not_allowed",
-                    "The fetch operation cannot be executed for the type \"page_images\"");
-        }
+        checkFetchIsAllowed(parameters);
         var textExtractionResponse = startExtraction(absolutePath, parameters, true);
         return getExtractedText(textExtractionResponse, parameters);
     }
@@ -357,14 +404,7 @@ public class TextExtraction {
      */
     public String uploadExtractAndFetch(File file, Parameters parameters) throws TextExtractionException {
         requireNonNull(parameters);
-        if (parameters.types.size() > 1) {
-            throw new TextExtractionException("fetch_operation_not_allowed",
-                    "The fetch operation cannot be executed if more than one file is to be generated");
-        }
-        if (parameters.types.size() == 1 && parameters.types.get(0).equals(PAGE_IMAGES)) {
-            throw new TextExtractionException("fetch_operation_not_allowed",
-                    "The fetch operation cannot be executed for the type \"page_images\"");
-        }
+        checkFetchIsAllowed(parameters);
         try {
             upload(new BufferedInputStream(new FileInputStream(file)), file.getName(), parameters, true);
         } catch (FileNotFoundException e) {
@@ -418,18 +458,93 @@ public class TextExtraction {
     public String uploadExtractAndFetch(InputStream is, String fileName, Parameters parameters)
             throws TextExtractionException {
         requireNonNull(parameters);
-        if (parameters.types.size() > 1) {
-            throw new TextExtractionException("fetch_operation_not_allowed",
-                    "The fetch operation cannot be executed if more than one file is to be generated");
-        }
-        if (parameters.types.size() == 1 && parameters.types.get(0).equals(PAGE_IMAGES)) {
-            throw new TextExtractionException("fetch_operation_not_allowed",
-                    "The fetch operation cannot be executed for the type \"page_images\"");
-        }
+        checkFetchIsAllowed(parameters);
         upload(is, fileName, parameters, true);
         return extractAndFetch(fileName, parameters);
     }
 
+    /**
+     * Uploads local files to IBM Cloud Object Storage (COS), starts the text extraction processes and returns the extracted
+     * text values. The extracted text of each file is saved as a new <b>Markdown</b> file in COS, preserving the original
+     * filename but using the {@code .md} extension by default. To customize the output behavior, use the method with the
+     * {@link Parameters} class.
+     *
+     * <pre>
+     * {@code
+     * Multi<ExtractionResult> uploadExtractAndFetchAll(List<File> files, Parameters parameters);
+     * }
+     * </pre>
+     *
+     * @param files The local files to be uploaded and processed.
+     * @return The results, emitted as soon as each extraction completes.
+     * @see #uploadExtractAndFetchAll(Multi, Parameters)
+     */
+    public Multi<ExtractionResult> uploadExtractAndFetchAll(List<File> files) {
+        return uploadExtractAndFetchAll(files, Parameters.builder().build());
+    }
+
+    /**
+     * Uploads local files to IBM Cloud Object Storage (COS), starts the text extraction processes and returns the extracted
+     * text values. Output behavior can be customized using the {@link Parameters} class.
+     *
+     * @param files The local files to be uploaded and processed.
+     * @param parameters Configuration parameters, including cleanup behavior.
+     * @return The results, emitted as soon as each extraction completes.
+     * @see #uploadExtractAndFetchAll(Multi, Parameters)
+     */
+    public Multi<ExtractionResult> uploadExtractAndFetchAll(List<File> files, Parameters parameters) {
+        requireNonNull(files);
+        return uploadExtractAndFetchAll(
+                Multi.createFrom().iterable(files).map(new Function<File, Path>() {
+                    @Override
+                    public Path apply(File file) {
+                        return file.toPath();
+                    }
+                }),
+                parameters);
+    }
+
+    /**
+     * Uploads local files to IBM Cloud Object Storage (COS), starts the text extraction processes and returns the extracted
+     * text values. Output behavior can be customized using the {@link Parameters} class, the name of each output file is
+     * derived from the name of the uploaded file.
+     * <p>
+     * Each file is uploaded under its name prefixed by a random UUID, so that the files with the same name, processed at
+     * the same time by this or other calls, do not overwrite each other or their output files.
+     * <p>
+     * No thread is blocked while the files are processed: the files are read with non-blocking file I/O while they are
+     * uploaded, and the status of the extraction jobs is polled with Vert.x timers. At most {@code maxConcurrency} files are
+     * processed at the same time, and the results are emitted, on a Vert.x thread, as soon as each extraction completes.
+     * <p>
+     * A file which cannot be processed does not stop the others: its {@link ExtractionResult} holds the reason of the
+     * failure.
+     *
+     * @param files The local files to be uploaded and processed.
+     * @param parameters Configuration parameters, including cleanup behavior.
+     * @return The results, emitted as soon as each extraction completes.
+     */
+    public Multi<ExtractionResult> uploadExtractAndFetchAll(Multi<Path> files, Parameters parameters) {
+        requireNonNull(files);
+        requireNonNull(parameters);
+
+        try {
+            checkFetchIsAllowed(parameters);
+        } catch (TextExtractionException e) {
+            return Multi.createFrom().failure(e);
+        }
+
+        if (!isNull(parameters.outputFileName) && !parameters.outputFileName.isBlank())
+            return Multi.createFrom().failure(new IllegalArgumentException(
+                    "The output file name is derived from the name of each file, it can not be set when extracting several files"));
+
+        return files.onItem().transformToUni(new Function<Path, Uni<? extends ExtractionResult>>() {
+            @Override
+            public Uni<? extends ExtractionResult> apply(Path file) {
+                return uploadExtractAndFetch(file, parameters);
+            }
+        }).merge(maxConcurrency);
+    }
+
     /**
      * Retrieves the current status of a text extraction process.
      *
@@ -510,48 +625,10 @@ public class TextExtraction {
             throw new IllegalArgumentException(
                     "The asynchronous version of startExtraction doesn't allow the use of the \"removeOutputFile\" and \"removeUploadedFile\" parameters");
 
-        if (isNull(parameters.outputFileName) || parameters.outputFileName.isBlank()) {
-
-            if (parameters.types.size() > 1
-                    || (parameters.types.size() == 1 && parameters.types.get(0).equals(PAGE_IMAGES))) {
-                parameters.outputFileName = "/";
-            } else if (parameters.types.size() == 1) {
-                String extension = switch (parameters.types.get(0)) {
-                    case JSON -> ".json";
-                    case MD -> ".md";
-                    case HTML -> ".html";
-                    case PLAIN_TEXT -> ".txt";
-                    case PAGE_IMAGES -> throw new RuntimeException(
-                            "If you select \"page_images\" as type, the output file name cannot be null.");
-                };
-                var index = absolutePath.lastIndexOf(".");
-                if (index > 0) {
-                    parameters.outputFileName = absolutePath.substring(0, index) + extension;
-                } else {
-                    parameters.outputFileName = absolutePath + extension;
-                }
-            }
-        }
+        if (isNull(parameters.outputFileName) || parameters.outputFileName.isBlank())
+            parameters.outputFileName = outputFileName(absolutePath, parameters);
 
-        Reference documentReference = firstOrDefault(this.documentReference, parameters.documentReference);
-        Reference resultsReference = firstOrDefault(this.resultReference, parameters.resultsReference);
-        TextExtractionDataReference textExtractionDataReference = TextExtractionDataReference.of(documentReference.connection,
-                absolutePath, documentReference.bucket);
-        TextExtractionDataReference textExtractionResultsReference = TextExtractionDataReference.of(resultsReference.connection,
-                parameters.outputFileName,
-                resultsReference.bucket);
-        TextExtractionParameters textExtractionParameters = new TextExtractionParameters(parameters.types, parameters.mode,
-                parameters.ocr,
-                parameters.autoRotationCorrection, parameters.embeddedImages, parameters.dpi,
-                parameters.outputTokensAndBbox);
-
-        var request = TextExtractionRequest.builder()
-                .documentReference(textExtractionDataReference)
-                .resultsReference(textExtractionResultsReference)
-                .parameters(textExtractionParameters)
-                .projectId(projectId)
-                .spaceId(spaceId)
-                .build();
+        var request = createRequest(absolutePath, parameters.outputFileName, parameters);
 
         TextExtractionResponse response = retryOn(new Callable<TextExtractionResponse>() {
             @Override
@@ -599,6 +676,54 @@ public class TextExtraction {
         return response;
     }
 
+    //
+    // Derive the name of the output file from the name of the document.
+    //
+    private static String outputFileName(String absolutePath, Parameters parameters) {
+        if (parameters.types.isEmpty())
+            return null;
+        if (parameters.types.size() > 1
+                || (parameters.types.size() == 1 && parameters.types.get(0).equals(PAGE_IMAGES))) {
+            return "/";
+        }
+        String extension = switch (parameters.types.get(0)) {
+            case JSON -> ".json";
+            case MD -> ".md";
+            case HTML -> ".html";
+            case PLAIN_TEXT -> ".txt";
+            case PAGE_IMAGES -> throw new RuntimeException(
+                    "If you select \"page_images\" as type, the output file name cannot be null.");
+        };
+        var index = absolutePath.lastIndexOf(".");
+        if (index > 0) {
+            return absolutePath.substring(0, index) + extension;
+        } else {
+            return absolutePath + extension;
+        }
+    }
+
+    private TextExtractionRequest createRequest(String absolutePath, String outputFileName, Parameters parameters) {
+        Reference documentReference = firstOrDefault(this.documentReference, parameters.documentReference);
+        Reference resultsReference = firstOrDefault(this.resultReference, parameters.resultsReference);
+        TextExtractionDataReference textExtractionDataReference = TextExtractionDataReference.of(documentReference.connection,
+                absolutePath, documentReference.bucket);
+        TextExtractionDataReference textExtractionResultsReference = TextExtractionDataReference.of(resultsReference.connection,
+                outputFileName,
+                resultsReference.bucket);
+        TextExtractionParameters textExtractionParameters = new TextExtractionParameters(parameters.types, parameters.mode,
+                parameters.ocr,
+                parameters.autoRotationCorrection, parameters.embeddedImages, parameters.dpi,
+                parameters.outputTokensAndBbox);
+
+        return TextExtractionRequest.builder()
+                .documentReference(textExtractionDataReference)
+                .resultsReference(textExtractionResultsReference)
+                .parameters(textExtractionParameters)
+                .projectId(projectId)
+                .spaceId(spaceId)
+                .build();
+    }
+
     private String getExtractedText(TextExtractionResponse textExtractionResponse, Parameters parameters)
             throws TextExtractionException {
         requireNonNull(textExtractionResponse);
@@ -633,45 +758,217 @@ public class TextExtraction {
                         "Status %s not managed".formatted(status));
             };
 
-            if (removeOutputFile) {
-                cosClient.deleteFile(resultsBucketName, outputPath)
-                        .onFailure(WatsonxUtils::isTokenExpired).retry().atMost(1)
-                        .subscribe()
-                        .with(new Consumer<Response>() {
-                            @Override
-                            public void accept(Response response) {
-                                if (response.getStatus() >= 200 || response.getStatus() < 300)
-                                    logger.debug("File %s deleted from the Cloud Object Storage".formatted(outputPath));
-                                else
-                                    logger.error("Error during the execution of the delete operation for the file %s"
-                                            .formatted(outputPath));
-                            }
-                        });
-            }
+            if (removeOutputFile)
+                deleteInBackground(resultsBucketName, outputPath);
 
             return extractedFile;
 
         } finally {
 
-            if (removeUploadedFile) {
-                cosClient.deleteFile(documentBucketName, uploadedPath)
-                        .onFailure(WatsonxUtils::isTokenExpired).retry().atMost(1)
-                        .subscribe()
-                        .with(new Consumer<Response>() {
-                            @Override
-                            public void accept(Response response) {
-                                if (response.getStatus() >= 200 || response.getStatus() < 300)
-                                    logger.debug(
-                                            "File %s deleted from the Cloud Object Storage".formatted(uploadedPath));
-                                else
-                                    logger.error("Error during the execution of the delete operation for the file %s"
-                                            .formatted(uploadedPath));
-                            }
-                        });
-            }
+            if (removeUploadedFile)
+                deleteInBackground(documentBucketName, uploadedPath);
         }
     }
 
+    //
+    // Check that a single file, whose text can be fetched, is generated.
+    //
+    private static void checkFetchIsAllowed(Parameters parameters) throws TextExtractionException {
+        if (parameters.types.size() > 1) {
+            throw new TextExtractionException("fetch_operation_not_allowed",
+                    "The fetch operation cannot be executed if more than one file is to be generated");
+        }
+        if (parameters.types.size() == 1 && parameters.types.get(0).equals(PAGE_IMAGES)) {
+            throw new TextExtractionException("fetch_operation_not_allowed",
+                    "The fetch operation cannot be executed for the type \"page_images\"");
+        }
+    }
+
+    //
+    // Upload a local file, extract its text and fetch it, without blocking the calling thread.
+    //
+    private Uni<ExtractionResult> uploadExtractAndFetch(Path file, Parameters parameters) {
+        String fileName = UUID.randomUUID() + "-" + file.getFileName();
+        String outputFileName = outputFileName(fileName, parameters);
+        TextExtractionRequest request = createRequest(fileName, outputFileName, parameters);
+        Reference documentReference = firstOrDefault(this.documentReference, parameters.documentReference);
+        Reference resultsReference = firstOrDefault(this.resultReference, parameters.resultsReference);
+        boolean removeUploadedFile = parameters.removeUploadedFile.orElse(false);
+        boolean removeOutputFile = parameters.removeOutputFile.orElse(false);
+        long endTime = System.currentTimeMillis() + parameters.timeout.toMillis();
+
+        return upload(file, fileName, documentReference.bucket)
+                .chain(new Function<Response, Uni<? extends String>>() {
+                    @Override
+                    public Uni<? extends String> apply(Response uploaded) {
+                        return watsonxClient.startTextExtractionJobAsync(request, version)
+                                .onFailure(WatsonxUtils::isTokenExpired).retry().atMost(1)
+                                .chain(new Function<TextExtractionResponse, Uni<? extends TextExtractionResponse>>() {
+                                    @Override
+                                    public Uni<? extends TextExtractionResponse> apply(TextExtractionResponse response) {
+                                        return waitUntilJobIsDone(response.metadata().id(), file.getFileName().toString(),
+                                                parameters.timeout, endTime, 100);
+                                    }
+                                })
+                                .chain(new Function<TextExtractionResponse, Uni<? extends String>>() {
+                                    @Override
+                                    public Uni<? extends String> apply(TextExtractionResponse response) {
+                                        return fetchExtractedText(response, resultsReference.bucket, outputFileName);
+                                    }
+                                })
+                                .invoke(new Runnable() {
+                                    @Override
+                                    public void run() {
+                                        if (removeOutputFile)
+                                            deleteInBackground(resultsReference.bucket, outputFileName);
+                                    }
+                                })
+                                .onTermination().invoke(new Runnable() {
+                                    @Override
+                                    public void run() {
+                                        if (removeUploadedFile)
+                                            deleteInBackground(documentReference.bucket, fileName);
+                                    }
+                                });
+                    }
+                })
+                .map(new Function<String, ExtractionResult>() {
+                    @Override
+                    public ExtractionResult apply(String text) {
+                        return new ExtractionResult(file, text, null);
+                    }
+                })
+                .onFailure().recoverWithItem(new Function<Throwable, ExtractionResult>() {
+                    @Override
+                    public ExtractionResult apply(Throwable failure) {
+                        return new ExtractionResult(file, null, failure);
+                    }
+                });
+    }
+
+    //
+    // Upload a local file to the Cloud Object Storage, its content is streamed with non-blocking file I/O.
+    //
+    private Uni<Response> upload(Path file, String fileName, String bucket) {
+        return Uni.createFrom().completionStage(new Supplier<CompletionStage<FileProps>>() {
+            @Override
+            public CompletionStage<FileProps> get() {
+                return vertx().fileSystem().props(file.toString()).toCompletionStage();
+            }
+        }).onFailure().transform(new Function<Throwable, Throwable>() {
+            @Override
+            public Throwable apply(Throwable failure) {
+                return new TextExtractionException("file_not_found", failure.getMessage(), failure);
+            }
+        }).chain(new Function<FileProps, Uni<? extends Response>>() {
+            @Override
+            public Uni<? extends Response> apply(FileProps props) {
+                if (props.isDirectory())
+                    return Uni.createFrom()
+                            .failure(new TextExtractionException("directory_not_allowed", "The file can not be a directory"));
+
+                return cosClient.uploadFile(bucket, fileName, props.size(), file)
+                        .onFailure(WatsonxUtils::isTokenExpired).retry().atMost(1);
+            }
+        });
+    }
+
+    //
+    // Poll the status of an extraction job until it is completed or failed, the sleep time doubles after each attempt.
+    //
+    private Uni<TextExtractionResponse> waitUntilJobIsDone(String id, String absolutePath, Duration timeout, long endTime,
+            long sleepTime) {
+
+        if (System.currentTimeMillis() > endTime)
+            return Uni.createFrom().failure(new TextExtractionException("timeout",
+                    "Execution to extract %s file took longer than the timeout set by %s milliseconds"
+                            .formatted(absolutePath, timeout.toMillis())));
+
+        return delay(sleepTime)
+                .chain(new Supplier<Uni<? extends TextExtractionResponse>>() {
+                    @Override
+                    public Uni<? extends TextExtractionResponse> get() {
+                        return watsonxClient.getTextExtractionDetailsAsync(id, spaceId, projectId, version)
+                                .onFailure(WatsonxUtils::isTokenExpired).retry().atMost(1);
+                    }
+                })
+                .chain(new Function<TextExtractionResponse, Uni<? extends TextExtractionResponse>>() {
+                    @Override
+                    public Uni<? extends TextExtractionResponse> apply(TextExtractionResponse response) {
+                        Status status = response.entity().results().status();
+                        if (status == Status.FAILED || status == Status.COMPLETED)
+                            return Uni.createFrom().item(response);
+                        return waitUntilJobIsDone(id, absolutePath, timeout, endTime, Math.min(sleepTime * 2, 3000));
+                    }
+                });
+    }
+
+    //
+    // Complete after the given delay, using a Vert.x timer instead of a sleeping thread.
+    //
+    private Uni<Void> delay(long millis) {
+        return Uni.createFrom().emitter(new Consumer<UniEmitter<? super Void>>() {
+            @Override
+            public void accept(UniEmitter<? super Void> emitter) {
+                Vertx vertx = vertx();
+                long timerId = vertx.setTimer(millis, new Handler<Long>() {
+                    @Override
+                    public void handle(Long timerId) {
+                        emitter.complete(null);
+                    }
+                });
+                emitter.onTermination(new Runnable() {
+                    @Override
+                    public void run() {
+                        vertx.cancelTimer(timerId);
+                    }
+                });
+            }
+        });
+    }
+
+    private Uni<String> fetchExtractedText(TextExtractionResponse response, String bucket, String outputFileName) {
+        Status status = response.entity().results().status();
+        return switch (status) {
+            case COMPLETED -> cosClient.readFileContent(bucket, outputFileName)
+                    .onFailure(WatsonxUtils::isTokenExpired).retry().atMost(1);
+            case FAILED -> {
+                ServiceError error = response.entity().results().error();
+                yield Uni.createFrom().failure(new TextExtractionException(error.code(), error.message()));
+            }
+            default -> Uni.createFrom().failure(new TextExtractionException("generic_error",
+                    "Status %s not managed".formatted(status)));
+        };
+    }
+
+    private void deleteInBackground(String bucketName, String path) {
+        cosClient.deleteFile(bucketName, path)
+                .onFailure(WatsonxUtils::isTokenExpired).retry().atMost(1)
+                .subscribe()
+                .with(new Consumer<Response>() {
+                    @Override
+                    public void accept(Response response) {
+                        if (response.getStatus() >= 200 && response.getStatus() < 300)
+                            logger.debug("File %s deleted from the Cloud Object Storage".formatted(path));
+                        else
+                            logger.error("Error during the execution of the delete operation for the file %s"
+                                    .formatted(path));
+                    }
+                }, new Consumer<Throwable>() {
+                    @Override
+                    public void accept(Throwable failure) {
+                        logger.error("Error during the execution of the delete operation for the file %s".formatted(path),
+                                failure);
+                    }
+                });
+    }
+
+    private Vertx vertx() {
+        if (isNull(vertx))
+            vertx = Arc.container().instance(Vertx.class).get();
+        return vertx;
+    }
+
     /**
      * Parameters to configure the behavior of the @{link TextExtraction} methods.
      */
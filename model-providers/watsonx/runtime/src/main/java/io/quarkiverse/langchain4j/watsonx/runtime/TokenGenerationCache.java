@@ -9,20 +9,34 @@ import java.util.function.Function;
 
 public class TokenGenerationCache {
 
-    private static final Map<String, TokenGenerator> cache = new ConcurrentHashMap<>();
+    // configurations sharing an API key but not the refresh ratio get their own generator
+    private static final Map<Key, TokenGenerator> cache = new ConcurrentHashMap<>();
 
     public static Optional<TokenGenerator> get(String apiKey) {
-        return Optional.ofNullable(cache.get(apiKey));
+        for (Map.Entry<Key, TokenGenerator> entry : cache.entrySet()) {
+            if (entry.getKey().apiKey().equals(apiKey)) {
+                return Optional.of(entry.getValue());
+            }
+        }
+        return Optional.empty();
     }
 
     public static TokenGenerator getOrCreateTokenGenerator(String apiKey, URL iamBaseUrl, String grantType,
             Duration timeout) {
-        return cache.computeIfAbsent(apiKey,
-                new Function<String, TokenGenerator>() {
+        return getOrCreateTokenGenerator(apiKey, iamBaseUrl, grantType, timeout, TokenGenerator.DEFAULT_REFRESH_RATIO);
+    }
+
+    public static TokenGenerator getOrCreateTokenGenerator(String apiKey, URL iamBaseUrl, String grantType,
+            Duration timeout, double refreshRatio) {
+        return cache.computeIfAbsent(new Key(apiKey, refreshRatio),
+                new Function<Key, TokenGenerator>() {
                     @Override
-                    public TokenGenerator apply(String apiKey) {
-                        return new TokenGenerator(iamBaseUrl, timeout, grantType, apiKey);
+                    public TokenGenerator apply(Key key) {
+                        return new TokenGenerator(iamBaseUrl, timeout, grantType, key.apiKey(), key.refreshRatio());
                     }
                 });
     }
-}
\ No newline at end of file
+
+    private record Key(String apiKey, double refreshRatio) {
+    }
+}
@@ -2,26 +2,38 @@ package io.quarkiverse.langchain4j.watsonx.runtime;
 
 import java.net.URL;
 import java.time.Duration;
-import java.util.Date;
-import java.util.concurrent.Semaphore;
+import java.time.Instant;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
+import io.quarkiverse.langchain4j.auth.TokenCache;
 import io.quarkiverse.langchain4j.watsonx.bean.IdentityTokenRequest;
 import io.quarkiverse.langchain4j.watsonx.bean.IdentityTokenResponse;
 import io.quarkiverse.langchain4j.watsonx.client.IAMRestApi;
 import io.quarkus.rest.client.reactive.QuarkusRestClientBuilder;
 import io.smallrye.mutiny.Uni;
 
+/**
+ * Generates the IAM bearer tokens sent to the watsonx.ai APIs.
+ * <p>
+ * The token is cached by a {@link TokenCache}: it is refreshed in the background once {@code refreshRatio} of its lifetime
+ * has elapsed, so that the requests sent to watsonx.ai do not wait for IAM.
+ */
 public class TokenGenerator {
 
-    private final Semaphore lock = new Semaphore(1);
+    public static final double DEFAULT_REFRESH_RATIO = 0.8;
+
     private final IAMRestApi client;
     private final String apiKey;
     private final String grantType;
-    private IdentityTokenResponse token;
+    private final TokenCache cache;
 
     public TokenGenerator(URL url, Duration timeout, String grantType, String apiKey) {
+        this(url, timeout, grantType, apiKey, DEFAULT_REFRESH_RATIO);
+    }
+
+    public TokenGenerator(URL url, Duration timeout, String grantType, String apiKey, double refreshRatio) {
 
         this.client = QuarkusRestClientBuilder.newBuilder()
                 .baseUrl(url)
@@ -31,43 +43,21 @@ public class TokenGenerator {
 
         this.grantType = grantType;
         this.apiKey = apiKey;
+        this.cache = TokenCache.builder(new Supplier<Uni<TokenCache.Token>>() {
+            @Override
+            public Uni<TokenCache.Token> get() {
+                return client.generateBearer(new IdentityTokenRequest(grantType, apiKey))
+                        .map(new Function<IdentityTokenResponse, TokenCache.Token>() {
+                            @Override
+                            public TokenCache.Token apply(IdentityTokenResponse result) {
+                                return new TokenCache.Token(result.accessToken(), Instant.ofEpochSecond(result.expiration()));
+                            }
+                        });
+            }
+        }).refreshRatio(refreshRatio).build();
     }
 
     public Uni<String> generate() {
-
-        try {
-
-            lock.acquire();
-
-            if (token != null) {
-
-                Date expiration = new Date(TimeUnit.SECONDS.toMillis(token.expiration()));
-                Date now = new Date();
-
-                if (expiration.after(now)) {
-                    lock.release();
-                    return Uni.createFrom().item(token.accessToken());
-                }
-            }
-
-            return client.generateBearer(new IdentityTokenRequest(grantType, apiKey))
-                    .invoke(new Consumer<IdentityTokenResponse>() {
-                        @Override
-                        public void accept(IdentityTokenResponse result) {
-                            token = result;
-                        }
-                    })
-                    .map(IdentityTokenResponse::accessToken)
-                    .onTermination().invoke(new Runnable() {
-                        @Override
-                        public void run() {
-                            lock.release();
-                        }
-                    });
-
-        } catch (Exception e) {
-            lock.release();
-            throw new RuntimeException(e);
-        }
+        return cache.get();
     }
 }
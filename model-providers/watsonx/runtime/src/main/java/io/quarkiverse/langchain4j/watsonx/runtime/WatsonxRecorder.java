@@ -45,11 +45,13 @@ import io.quarkiverse.langchain4j.watsonx.runtime.config.GenerationModelConfig;
 import io.quarkiverse.langchain4j.watsonx.runtime.config.LangChain4jWatsonxConfig;
 import io.quarkiverse.langchain4j.watsonx.runtime.config.ScoringModelConfig;
 import io.quarkiverse.langchain4j.watsonx.runtime.config.TextExtractionConfig;
+import io.quarkus.arc.Arc;
 import io.quarkus.arc.SyntheticCreationalContext;
 import io.quarkus.rest.client.reactive.QuarkusRestClientBuilder;
 import io.quarkus.runtime.RuntimeValue;
 import io.quarkus.runtime.annotations.Recorder;
 import io.smallrye.config.ConfigValidationException;
+import io.vertx.core.Vertx;
 
 @Recorder
 public class WatsonxRecorder {
@@ -73,11 +75,12 @@ public class WatsonxRecorder {
             var iamBaseUrl = watsonRuntimeConfig.iam().baseUrl();
             var granType = watsonRuntimeConfig.iam().grantType();
             var duration = watsonRuntimeConfig.iam().timeout().orElse(Duration.ofSeconds(10));
+            var refreshRatio = watsonRuntimeConfig.iam().tokenRefreshRatio();
             return new Function<>() {
                 @Override
                 public ChatModel apply(SyntheticCreationalContext<ChatModel> context) {
                     return builder
-                            .tokenGenerator(getOrCreateTokenGenerator(apiKey, iamBaseUrl, granType, duration))
+                            .tokenGenerator(getOrCreateTokenGenerator(apiKey, iamBaseUrl, granType, duration, refreshRatio))
                             .listeners(context.getInjectedReference(CHAT_MODEL_LISTENER_TYPE_LITERAL).stream().toList())
                             .build();
                 }
@@ -104,11 +107,12 @@ public class WatsonxRecorder {
             var iamBaseUrl = watsonRuntimeConfig.iam().baseUrl();
             var granType = watsonRuntimeConfig.iam().grantType();
             var duration = watsonRuntimeConfig.iam().timeout().orElse(Duration.ofSeconds(10));
+            var refreshRatio = watsonRuntimeConfig.iam().tokenRefreshRatio();
             return new Function<>() {
                 @Override
                 public StreamingChatModel apply(SyntheticCreationalContext<StreamingChatModel> context) {
                     return builder
-                            .tokenGenerator(getOrCreateTokenGenerator(apiKey, iamBaseUrl, granType, duration))
+                            .tokenGenerator(getOrCreateTokenGenerator(apiKey, iamBaseUrl, granType, duration, refreshRatio))
                             .listeners(context.getInjectedReference(CHAT_MODEL_LISTENER_TYPE_LITERAL).stream().toList())
                             .build();
                 }
@@ -135,11 +139,12 @@ public class WatsonxRecorder {
             var iamBaseUrl = watsonRuntimeConfig.iam().baseUrl();
             var granType = watsonRuntimeConfig.iam().grantType();
             var duration = watsonRuntimeConfig.iam().timeout().orElse(Duration.ofSeconds(10));
+            var refreshRatio = watsonRuntimeConfig.iam().tokenRefreshRatio();
             return new Function<>() {
                 @Override
                 public ChatModel apply(SyntheticCreationalContext<ChatModel> context) {
                     return builder
-                            .tokenGenerator(getOrCreateTokenGenerator(apiKey, iamBaseUrl, granType, duration))
+                            .tokenGenerator(getOrCreateTokenGenerator(apiKey, iamBaseUrl, granType, duration, refreshRatio))
                             .listeners(context.getInjectedReference(CHAT_MODEL_LISTENER_TYPE_LITERAL).stream().toList())
                             .build();
                 }
@@ -168,11 +173,12 @@ public class WatsonxRecorder {
             var iamBaseUrl = watsonRuntimeConfig.iam().baseUrl();
             var granType = watsonRuntimeConfig.iam().grantType();
             var duration = watsonRuntimeConfig.iam().timeout().orElse(Duration.ofSeconds(10));
+            var refreshRatio = watsonRuntimeConfig.iam().tokenRefreshRatio();
             return new Function<>() {
                 @Override
                 public StreamingChatModel apply(SyntheticCreationalContext<StreamingChatModel> context) {
                     return builder
-                            .tokenGenerator(getOrCreateTokenGenerator(apiKey, iamBaseUrl, granType, duration))
+                            .tokenGenerator(getOrCreateTokenGenerator(apiKey, iamBaseUrl, granType, duration, refreshRatio))
                             .listeners(context.getInjectedReference(CHAT_MODEL_LISTENER_TYPE_LITERAL).stream().toList())
                             .build();
                 }
@@ -232,11 +238,12 @@ public class WatsonxRecorder {
             var iamBaseUrl = watsonConfig.iam().baseUrl();
             var granType = watsonConfig.iam().grantType();
             var duration = watsonConfig.iam().timeout().orElse(Duration.ofSeconds(10));
+            var refreshRatio = watsonConfig.iam().tokenRefreshRatio();
             return new Supplier<>() {
                 @Override
                 public WatsonxEmbeddingModel get() {
                     return builder
-                            .tokenGenerator(getOrCreateTokenGenerator(apiKey, iamBaseUrl, granType, duration))
+                            .tokenGenerator(getOrCreateTokenGenerator(apiKey, iamBaseUrl, granType, duration, refreshRatio))
                             .build();
                 }
             };
@@ -295,11 +302,12 @@ public class WatsonxRecorder {
         var iamBaseUrl = watsonConfig.iam().baseUrl();
         var granType = watsonConfig.iam().grantType();
         var duration = watsonConfig.iam().timeout().orElse(Duration.ofSeconds(10));
+        var refreshRatio = watsonConfig.iam().tokenRefreshRatio();
         return new Supplier<>() {
             @Override
             public WatsonxScoringModel get() {
                 return builder
-                        .tokenGenerator(getOrCreateTokenGenerator(apiKey, iamBaseUrl, granType, duration))
+                        .tokenGenerator(getOrCreateTokenGenerator(apiKey, iamBaseUrl, granType, duration, refreshRatio))
                         .build();
             }
         };
@@ -322,6 +330,7 @@ public class WatsonxRecorder {
         URL iamBaseUrl = watsonConfig.iam().baseUrl();
         String granType = watsonConfig.iam().grantType();
         Duration iamDuration = watsonConfig.iam().timeout().orElse(Duration.ofSeconds(10));
+        double iamRefreshRatio = watsonConfig.iam().tokenRefreshRatio();
 
         URL watsonxUrl;
         Duration watsonxDuration = watsonConfig.timeout().orElse(Duration.ofSeconds(10));
@@ -344,7 +353,7 @@ public class WatsonxRecorder {
             @Override
             public TextExtraction get() {
 
-                var tokenGenerator = getOrCreateTokenGenerator(apiKey, iamBaseUrl, granType, iamDuration);
+                var tokenGenerator = getOrCreateTokenGenerator(apiKey, iamBaseUrl, granType, iamDuration, iamRefreshRatio);
 
                 var watsonxClient = QuarkusRestClientBuilder.newBuilder()
                         .baseUrl(watsonxUrl)
@@ -378,7 +387,9 @@ public class WatsonxRecorder {
                         firstOrDefault(runtimeConfig.getValue().defaultConfig().spaceId().orElse(null), watsonConfig.spaceId()),
                         watsonConfig.version(),
                         cosClient.build(COSRestApi.class),
-                        watsonxClient.build(WatsonxRestApi.class));
+                        watsonxClient.build(WatsonxRestApi.class),
+                        Arc.container().instance(Vertx.class).get(),
+                        textExtractionConfig.maxConcurrency());
             }
         };
     }
@@ -29,4 +29,13 @@ public interface IAMConfig {
      */
     @WithDefault("urn:ibm:params:oauth:grant-type:apikey")
     String grantType();
+
+    /**
+     * Fraction of the lifetime of an IAM token after which it is refreshed in the background, between 0 (excluded) and 1
+     * (included).
+     * <p>
+     * The requests sent in the meantime keep using the current token, so that they never wait for IAM.
+     */
+    @WithDefault("0.8")
+    double tokenRefreshRatio();
 }
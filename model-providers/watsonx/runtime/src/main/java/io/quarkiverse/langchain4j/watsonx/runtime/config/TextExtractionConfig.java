@@ -4,6 +4,7 @@ import java.util.Optional;
 
 import io.quarkus.runtime.annotations.ConfigDocDefault;
 import io.quarkus.runtime.annotations.ConfigGroup;
+import io.smallrye.config.WithDefault;
 
 @ConfigGroup
 public interface TextExtractionConfig {
@@ -30,6 +31,12 @@ public interface TextExtractionConfig {
      */
     ResultsReference resultsReference();
 
+    /**
+     * Maximum number of files processed at the same time when extracting the text of several files.
+     */
+    @WithDefault("4")
+    int maxConcurrency();
+
     /**
      * Whether the Cloud Object Storage client should log requests.
      */
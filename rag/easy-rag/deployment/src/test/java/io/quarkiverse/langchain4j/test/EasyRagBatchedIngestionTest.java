@@ -0,0 +1,62 @@
+package io.quarkiverse.langchain4j.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.logging.LogRecord;
+
+import jakarta.enterprise.inject.spi.CDI;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import io.quarkus.test.QuarkusUnitTest;
+
+public class EasyRagBatchedIngestionTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addAsResource(new StringAsset("""
+                            quarkus.langchain4j.easy-rag.path=src/test/resources/ragdocuments
+                            quarkus.langchain4j.easy-rag.max-segment-size=20
+                            quarkus.langchain4j.easy-rag.max-overlap-size=0
+                            quarkus.langchain4j.easy-rag.ingestion.parallelism=2
+                            quarkus.langchain4j.easy-rag.ingestion.embedding-batch-size=1
+                            quarkus.langchain4j.easy-rag.ingestion.max-concurrent-embedding-batches=2
+                            """),
+                            "application.properties"))
+            .setLogRecordPredicate(record -> true)
+            .assertLogRecords(EasyRagBatchedIngestionTest::verifyLogRecords);
+
+    private static void verifyLogRecords(List<LogRecord> logRecords) {
+        // the documents are split into several segments, each of them embedded separately
+        assertThat(logRecords.stream().map(LogRecord::getMessage))
+                .anySatisfy(message -> assertThat(message).matches("Ingested 2 files as ([3-9]|\\d{2,}) documents"));
+    }
+
+    @Test
+    public void verifyThatAllSegmentsAreIngested() {
+        EmbeddingModel embeddingModel = CDI.current().select(EmbeddingModel.class).get();
+        EmbeddingStore<TextSegment> embeddingStore = CDI.current().select(EmbeddingStore.class).get();
+        Embedding question = embeddingModel.embed("When was Charlie born?").content();
+        List<EmbeddingMatch<TextSegment>> matches = embeddingStore
+                .search(EmbeddingSearchRequest.builder().queryEmbedding(question).maxResults(1).build()).matches();
+        assertTrue(matches.get(0).embedded().text().contains("2005"));
+
+        question = embeddingModel.embed("When was David born?").content();
+        matches = embeddingStore.search(EmbeddingSearchRequest.builder().queryEmbedding(question).maxResults(1).build())
+                .matches();
+        assertTrue(matches.get(0).embedded().text().contains("2003"));
+    }
+}
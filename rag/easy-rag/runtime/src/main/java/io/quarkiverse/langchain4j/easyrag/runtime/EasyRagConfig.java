@@ -3,6 +3,7 @@ package io.quarkiverse.langchain4j.easyrag.runtime;
 import static io.quarkus.runtime.annotations.ConfigPhase.RUN_TIME;
 
 import java.util.OptionalDouble;
+import java.util.OptionalInt;
 
 import io.quarkus.runtime.annotations.ConfigGroup;
 import io.quarkus.runtime.annotations.ConfigRoot;
@@ -89,6 +90,11 @@ public interface EasyRagConfig {
     @WithDefault("ON")
     IngestionStrategy ingestionStrategy();
 
+    /**
+     * Configuration related to how the documents are ingested.
+     */
+    IngestionConfig ingestion();
+
     /**
      * Configuration related to the reusing of embeddings.
      * <p>
@@ -115,4 +121,25 @@ public interface EasyRagConfig {
         @WithDefault("easy-rag-embeddings.json")
         String file();
     }
+
+    @ConfigGroup
+    interface IngestionConfig {
+        /**
+         * Number of documents that are parsed and split in parallel. Defaults to the number of available processors.
+         */
+        OptionalInt parallelism();
+
+        /**
+         * Maximum number of segments sent to the embedding model in a single call.
+         */
+        @WithDefault("128")
+        int embeddingBatchSize();
+
+        /**
+         * Maximum number of batches of segments that are embedded and written to the embedding store concurrently.
+         * When this limit is reached, the parsing of documents is paused until a batch has been written.
+         */
+        @WithDefault("2")
+        int maxConcurrentEmbeddingBatches();
+    }
 }
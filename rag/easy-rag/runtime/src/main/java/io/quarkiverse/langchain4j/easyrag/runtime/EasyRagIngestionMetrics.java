@@ -0,0 +1,99 @@
+package io.quarkiverse.langchain4j.easyrag.runtime;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Metrics;
+
+/**
+ * Tracks the progress of an Easy RAG ingestion, and exposes it through Micrometer when it is available. The meters
+ * are only registered while the ingestion runs, so that each ingestion starts from zero.
+ */
+final class EasyRagIngestionMetrics {
+
+    private static final boolean MICROMETER_PRESENT = isMicrometerPresent();
+
+    private final AtomicLong documents = new AtomicLong();
+    private final AtomicLong failedDocuments = new AtomicLong();
+    private final AtomicLong segments = new AtomicLong();
+    // segments that have been split from a document, but not written to the embedding store yet
+    private final AtomicLong pendingSegments = new AtomicLong();
+
+    // removes the meters of this ingestion from the registry, null when they are not registered
+    private Runnable unregister;
+
+    void register() {
+        if (MICROMETER_PRESENT && unregister == null) {
+            unregister = Registration.register(this);
+        }
+    }
+
+    void unregister() {
+        if (unregister != null) {
+            unregister.run();
+            unregister = null;
+        }
+    }
+
+    void documentSplit(int segments) {
+        documents.incrementAndGet();
+        pendingSegments.addAndGet(segments);
+    }
+
+    void documentFailed() {
+        failedDocuments.incrementAndGet();
+    }
+
+    void segmentsStored(int segments) {
+        this.segments.addAndGet(segments);
+        pendingSegments.addAndGet(-segments);
+    }
+
+    void segmentsDropped(int segments) {
+        pendingSegments.addAndGet(-segments);
+    }
+
+    long documents() {
+        return documents.get();
+    }
+
+    long segments() {
+        return segments.get();
+    }
+
+    private static boolean isMicrometerPresent() {
+        try {
+            Class.forName("io.micrometer.core.instrument.Metrics", false, EasyRagIngestionMetrics.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    // separate class so that Micrometer classes are only loaded when Micrometer is present
+    private static final class Registration {
+
+        static Runnable register(EasyRagIngestionMetrics metrics) {
+            List<Meter> meters = List.of(
+                    FunctionCounter.builder("langchain4j.easyrag.ingestion.documents", metrics.documents, AtomicLong::get)
+                            .description("Number of documents read during the ingestion, by whether they could be parsed")
+                            .tag("result", "success")
+                            .register(Metrics.globalRegistry),
+                    FunctionCounter
+                            .builder("langchain4j.easyrag.ingestion.documents", metrics.failedDocuments, AtomicLong::get)
+                            .description("Number of documents read during the ingestion, by whether they could be parsed")
+                            .tag("result", "failure")
+                            .register(Metrics.globalRegistry),
+                    FunctionCounter.builder("langchain4j.easyrag.ingestion.segments", metrics.segments, AtomicLong::get)
+                            .description("Number of segments that have been embedded and written to the embedding store")
+                            .register(Metrics.globalRegistry),
+                    Gauge.builder("langchain4j.easyrag.ingestion.queue.depth", metrics.pendingSegments, AtomicLong::get)
+                            .description("Number of segments waiting to be embedded and written to the embedding store")
+                            .register(Metrics.globalRegistry));
+            return () -> meters.forEach(Metrics.globalRegistry::remove);
+        }
+    }
+}
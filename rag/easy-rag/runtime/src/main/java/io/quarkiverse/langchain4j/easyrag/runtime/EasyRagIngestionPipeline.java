@@ -0,0 +1,201 @@
+package io.quarkiverse.langchain4j.easyrag.runtime;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import dev.langchain4j.data.document.Document;
+import dev.langchain4j.data.document.DocumentSplitter;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+
+/**
+ * Ingests documents without holding all of them in memory:
+ * <ol>
+ * <li>the documents are loaded one by one, as they are consumed,</li>
+ * <li>they are parsed and split in parallel,</li>
+ * <li>the resulting segments are embedded in batches, with a bounded number of batches in flight,</li>
+ * <li>each batch is written to the embedding store as soon as it has been embedded.</li>
+ * </ol>
+ * When the embedding model or the embedding store cannot keep up, the parsing threads block until a batch has been
+ * written, which in turn stops the loading of new documents.
+ */
+final class EasyRagIngestionPipeline {
+
+    private final EmbeddingModel embeddingModel;
+    private final EmbeddingStore<TextSegment> embeddingStore;
+    private final ThreadLocal<DocumentSplitter> splitters;
+    private final int parallelism;
+    private final int embeddingBatchSize;
+    private final int maxConcurrentBatches;
+
+    // each permit is a document being parsed and split, or waiting to be
+    private final Semaphore pendingDocuments;
+    // each permit is a batch being embedded and written to the store
+    private final Semaphore pendingBatches;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    // guarded by itself
+    private final List<TextSegment> currentBatch = new ArrayList<>();
+
+    private final EasyRagIngestionMetrics metrics = new EasyRagIngestionMetrics();
+
+    EasyRagIngestionPipeline(EmbeddingModel embeddingModel, EmbeddingStore<TextSegment> embeddingStore,
+            Supplier<DocumentSplitter> splitterFactory, int parallelism, int embeddingBatchSize,
+            int maxConcurrentBatches) {
+        if (parallelism < 1 || embeddingBatchSize < 1 || maxConcurrentBatches < 1) {
+            throw new IllegalArgumentException("The parallelism, embedding batch size and maximum number of "
+                    + "concurrent embedding batches of the Easy RAG ingestion must be strictly positive");
+        }
+        this.embeddingModel = embeddingModel;
+        this.embeddingStore = embeddingStore;
+        // splitters keep a token count estimator, which is not meant to be shared between threads
+        this.splitters = ThreadLocal.withInitial(splitterFactory);
+        this.parallelism = parallelism;
+        this.embeddingBatchSize = embeddingBatchSize;
+        this.maxConcurrentBatches = maxConcurrentBatches;
+        // a few documents are queued so that the parsing threads don't wait for the next one to be loaded
+        this.pendingDocuments = new Semaphore(2 * parallelism);
+        this.pendingBatches = new Semaphore(maxConcurrentBatches);
+    }
+
+    /**
+     * Ingests the documents supplied by the given iterator, and returns once all of them have been written to the
+     * embedding store.
+     *
+     * @param documents supplies each document, which is loaded by a parsing thread; a supplier returns {@code null}
+     *        when its document cannot be loaded and must be skipped
+     */
+    void ingest(Iterator<Supplier<Document>> documents) {
+        metrics.register();
+        ExecutorService parsers = Executors.newFixedThreadPool(parallelism, threadFactory("easy-rag-parser"));
+        ExecutorService embedders = Executors.newFixedThreadPool(maxConcurrentBatches, threadFactory("easy-rag-embedder"));
+        try {
+            while (documents.hasNext() && failure.get() == null) {
+                Supplier<Document> document = documents.next();
+                pendingDocuments.acquire();
+                parsers.execute(() -> {
+                    try {
+                        split(document, embedders);
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                    } finally {
+                        pendingDocuments.release();
+                    }
+                });
+            }
+            // wait for all the documents to be split, then embed the last, partial, batch
+            pendingDocuments.acquire(2 * parallelism);
+            List<TextSegment> lastBatch;
+            synchronized (currentBatch) {
+                lastBatch = new ArrayList<>(currentBatch);
+                currentBatch.clear();
+            }
+            if (failure.get() != null) {
+                metrics.segmentsDropped(lastBatch.size());
+            } else if (!lastBatch.isEmpty()) {
+                submit(lastBatch, embedders);
+            }
+            pendingBatches.acquire(maxConcurrentBatches);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, e);
+        } finally {
+            parsers.shutdownNow();
+            embedders.shutdownNow();
+            metrics.unregister();
+        }
+
+        Throwable t = failure.get();
+        if (t instanceof RuntimeException e) {
+            throw e;
+        } else if (t instanceof Error e) {
+            throw e;
+        } else if (t != null) {
+            throw new RuntimeException("Unable to ingest the documents", t);
+        }
+    }
+
+    private void split(Supplier<Document> supplier, ExecutorService embedders) throws InterruptedException {
+        Document document = supplier.get();
+        if (document == null) {
+            metrics.documentFailed();
+            return;
+        }
+        List<TextSegment> split = splitters.get().split(document)
+                .stream()
+                // only the text of the segments is ingested
+                .map(segment -> TextSegment.from(segment.text()))
+                .toList();
+        metrics.documentSplit(split.size());
+
+        List<List<TextSegment>> fullBatches = new ArrayList<>();
+        synchronized (currentBatch) {
+            currentBatch.addAll(split);
+            while (currentBatch.size() >= embeddingBatchSize) {
+                List<TextSegment> head = currentBatch.subList(0, embeddingBatchSize);
+                fullBatches.add(new ArrayList<>(head));
+                head.clear();
+            }
+        }
+        for (List<TextSegment> batch : fullBatches) {
+            submit(batch, embedders);
+        }
+    }
+
+    private void submit(List<TextSegment> batch, ExecutorService embedders) throws InterruptedException {
+        // blocks the parsing thread when enough batches are in flight
+        pendingBatches.acquire();
+        try {
+            embedders.execute(() -> {
+                boolean stored = false;
+                try {
+                    // the ingestion fails anyway, don't waste time embedding more segments
+                    if (failure.get() == null) {
+                        List<Embedding> embeddings = embeddingModel.embedAll(batch).content();
+                        embeddingStore.addAll(embeddings, batch);
+                        stored = true;
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                } finally {
+                    if (stored) {
+                        metrics.segmentsStored(batch.size());
+                    } else {
+                        metrics.segmentsDropped(batch.size());
+                    }
+                    pendingBatches.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            pendingBatches.release();
+            throw e;
+        }
+    }
+
+    long documentCount() {
+        return metrics.documents();
+    }
+
+    long segmentCount() {
+        return metrics.segments();
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -1,16 +1,20 @@
 package io.quarkiverse.langchain4j.easyrag.runtime;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import org.jboss.logging.Logger;
 
+import dev.langchain4j.data.document.BlankDocumentException;
 import dev.langchain4j.data.document.Document;
-import dev.langchain4j.data.document.DocumentSplitter;
 import dev.langchain4j.data.document.loader.ClassPathDocumentLoader;
 import dev.langchain4j.data.document.loader.FileSystemDocumentLoader;
 import dev.langchain4j.data.document.splitter.DocumentSplitters;
@@ -18,7 +22,6 @@ import dev.langchain4j.data.segment.TextSegment;
 import dev.langchain4j.model.embedding.EmbeddingModel;
 import dev.langchain4j.model.embedding.onnx.HuggingFaceTokenCountEstimator;
 import dev.langchain4j.store.embedding.EmbeddingStore;
-import dev.langchain4j.store.embedding.EmbeddingStoreIngestor;
 import dev.langchain4j.store.embedding.inmemory.InMemoryEmbeddingStore;
 
 public class EasyRagIngestor {
@@ -66,19 +69,23 @@ public class EasyRagIngestor {
         }
     }
 
-    private List<Document> getDocuments(EasyRagConfig config) {
-        PathMatcher pathMatcher = FileSystems.getDefault().getPathMatcher(config.pathMatcher());
-        boolean recursive = config.recursive();
-
-        return switch (config.pathType()) {
-            case CLASSPATH -> recursive
-                    ? ClassPathDocumentLoader.loadDocumentsRecursively(config.path(), pathMatcher)
-                    : ClassPathDocumentLoader.loadDocuments(config.path(), pathMatcher);
-
-            case FILESYSTEM -> recursive
-                    ? FileSystemDocumentLoader.loadDocumentsRecursively(config.path(), pathMatcher)
-                    : FileSystemDocumentLoader.loadDocuments(config.path(), pathMatcher);
-        };
+    private void ingestDocuments(EasyRagConfig config, Iterator<Supplier<Document>> documents,
+            EmbeddingStore<TextSegment> embeddingStore, EmbeddingModel embeddingModel) {
+        EasyRagConfig.IngestionConfig ingestionConfig = config.ingestion();
+        EasyRagIngestionPipeline pipeline = new EasyRagIngestionPipeline(embeddingModel, embeddingStore,
+                () -> DocumentSplitters.recursive(config.maxSegmentSize(), config.maxOverlapSize(),
+                        new HuggingFaceTokenCountEstimator()),
+                ingestionConfig.parallelism().orElse(Runtime.getRuntime().availableProcessors()),
+                ingestionConfig.embeddingBatchSize(),
+                ingestionConfig.maxConcurrentEmbeddingBatches());
+
+        long start = System.nanoTime();
+        pipeline.ingest(documents);
+        double seconds = Math.max(System.nanoTime() - start, 1) / 1_000_000_000.0;
+
+        LOGGER.info("Ingested " + pipeline.documentCount() + " files as " + pipeline.segmentCount() + " documents");
+        LOGGER.debugf("Ingestion took %.2f s (%.1f files/s, %.1f documents/s)", seconds,
+                pipeline.documentCount() / seconds, pipeline.segmentCount() / seconds);
     }
 
     private void ingestDocumentsFromFilesystem(EasyRagConfig config, EmbeddingStore<TextSegment> embeddingStore,
@@ -91,22 +98,47 @@ public class EasyRagIngestor {
                 config.recursive());
         LOGGER.info(msg);
 
-        List<Document> documents = getDocuments(config);
-        DocumentSplitter documentSplitter = DocumentSplitters.recursive(config.maxSegmentSize(),
-                config.maxOverlapSize(), new HuggingFaceTokenCountEstimator());
-
-        List<Document> splitDocuments = documentSplitter
-                .splitAll(documents)
-                .stream()
-                .map(split -> Document.document(split.text()))
-                .toList();
+        PathMatcher pathMatcher = FileSystems.getDefault().getPathMatcher(config.pathMatcher());
+        boolean recursive = config.recursive();
 
-        EmbeddingStoreIngestor.builder()
-                .embeddingModel(embeddingModel)
-                .embeddingStore(embeddingStore)
-                .build()
-                .ingest(splitDocuments);
+        switch (config.pathType()) {
+            case CLASSPATH -> {
+                // documents packaged with the application are loaded upfront, but still split and embedded in parallel
+                List<Document> documents = recursive
+                        ? ClassPathDocumentLoader.loadDocumentsRecursively(config.path(), pathMatcher)
+                        : ClassPathDocumentLoader.loadDocuments(config.path(), pathMatcher);
+                ingestDocuments(config, documents.stream().<Supplier<Document>> map(document -> () -> document).iterator(),
+                        embeddingStore, embeddingModel);
+            }
+            case FILESYSTEM -> {
+                Path directory = Path.of(config.path());
+                if (!Files.isDirectory(directory)) {
+                    throw new IllegalArgumentException("'%s' is not a directory".formatted(directory));
+                }
+                // the directory is walked lazily, and each file is loaded by the thread that parses it
+                try (Stream<Path> files = recursive ? Files.walk(directory) : Files.list(directory)) {
+                    Iterator<Supplier<Document>> documents = files
+                            .filter(Files::isRegularFile)
+                            .filter(file -> pathMatcher.matches(directory.relativize(file)))
+                            .<Supplier<Document>> map(file -> () -> loadDocument(file))
+                            .iterator();
+                    ingestDocuments(config, documents, embeddingStore, embeddingModel);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
 
-        LOGGER.info("Ingested " + documents.size() + " files as " + splitDocuments.size() + " documents");
+    private static Document loadDocument(Path file) {
+        try {
+            return FileSystemDocumentLoader.loadDocument(file);
+        } catch (BlankDocumentException e) {
+            return null;
+        } catch (Exception e) {
+            String message = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+            LOGGER.warnf("Failed to load '%s': %s", file, message);
+            return null;
+        }
     }
 }